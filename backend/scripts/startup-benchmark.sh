@@ -0,0 +1,38 @@
+#!/usr/bin/env sh
+# Compares time-to-first-request of the standard and the AOT/CDS images.
+# Requires the database from docker-compose: docker-compose up -d db
+set -eu
+
+cd "$(dirname "$0")/.."
+
+NETWORK="${NETWORK:-$(basename "$(cd .. && pwd)")_default}"
+DB_URL="${DB_URL:-jdbc:postgresql://db:5432/taskmanager}"
+RUNS="${RUNS:-5}"
+
+docker build -q -t task-manager-backend:standard . > /dev/null
+docker build -q --target aot -t task-manager-backend:aot . > /dev/null
+
+measure() {
+    image="$1"
+    total=0
+    i=0
+    while [ "$i" -lt "$RUNS" ]; do
+        start=$(date +%s%3N)
+        container=$(docker run -d --rm --network "$NETWORK" -p 18080:8080 \
+            -e SPRING_DATASOURCE_URL="$DB_URL" \
+            -e SPRING_DATASOURCE_USERNAME=taskuser \
+            -e SPRING_DATASOURCE_PASSWORD=taskpass \
+            "$image")
+        until curl -sf -o /dev/null http://localhost:18080/api/tasks; do
+            sleep 0.05
+        done
+        end=$(date +%s%3N)
+        docker stop "$container" > /dev/null
+        total=$((total + end - start))
+        i=$((i + 1))
+    done
+    echo "$image: $((total / RUNS)) ms average time-to-first-request over $RUNS runs"
+}
+
+measure task-manager-backend:standard
+measure task-manager-backend:aot
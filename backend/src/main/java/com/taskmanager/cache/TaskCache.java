@@ -0,0 +1,112 @@
+package com.taskmanager.cache;
+
+import com.taskmanager.dto.TaskResponse;
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.event.TasksInvalidatedEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NoOpCache;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Entity cache of task responses by id, backed by the "tasks" cache. Entries are evicted once a
+ * change commits, on this node or, through the invalidation bus, on another.
+ * <p>
+ * A read that misses takes the id's {@link #version} before it queries and passes it to
+ * {@link #put}; every eviction bumps the version first, so a response read before a change committed
+ * is not cached after that change's eviction. Versions are striped by id, so a write only holds back
+ * the puts of ids sharing its stripe. Cached responses are shared, so callers must not modify them.
+ */
+@Component
+public class TaskCache {
+
+    public static final String CACHE_NAME = "tasks";
+
+    private static final int VERSION_STRIPES = 1024;
+
+    private final Cache cache;
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+
+    public TaskCache(CacheManager cacheManager) {
+        Cache configured = cacheManager.getCache(CACHE_NAME);
+        this.cache = configured != null ? configured : new NoOpCache(CACHE_NAME);
+    }
+
+    public TaskResponse get(Long id) {
+        return cache.get(id, TaskResponse.class);
+    }
+
+    /**
+     * Returns the cached entries among {@code ids}; ids without an entry are simply absent.
+     */
+    public Map<Long, TaskResponse> getAll(Collection<Long> ids) {
+        Map<Long, TaskResponse> found = new HashMap<>();
+        for (Long id : ids) {
+            TaskResponse response = get(id);
+            if (response != null) {
+                found.put(id, response);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Version to pass to {@link #put} for a response read after this call.
+     */
+    public long version(Long id) {
+        return versions.get(stripe(id));
+    }
+
+    /**
+     * Caches {@code response} unless its task was evicted since {@code version} was taken.
+     */
+    public void put(TaskResponse response, long version) {
+        int stripe = stripe(response.getId());
+        if (versions.get(stripe) != version) {
+            return;
+        }
+        cache.put(response.getId(), response);
+        // An eviction that ran between the check and the put must not leave the response behind.
+        if (versions.get(stripe) != version) {
+            cache.evict(response.getId());
+        }
+    }
+
+    public void evict(Long id) {
+        versions.incrementAndGet(stripe(id));
+        cache.evict(id);
+    }
+
+    public void clear() {
+        for (int i = 0; i < VERSION_STRIPES; i++) {
+            versions.incrementAndGet(i);
+        }
+        cache.clear();
+    }
+
+    private static int stripe(Long id) {
+        return Long.hashCode(id) & (VERSION_STRIPES - 1);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTaskChanged(TaskChangedEvent event) {
+        evict(event.getTaskId());
+    }
+
+    @EventListener
+    public void onTasksInvalidated(TasksInvalidatedEvent event) {
+        if (event.isAll()) {
+            clear();
+        } else {
+            event.getTaskIds().forEach(this::evict);
+        }
+    }
+}
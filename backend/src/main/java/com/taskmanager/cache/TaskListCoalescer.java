@@ -0,0 +1,314 @@
+package com.taskmanager.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.taskmanager.config.ListCoalescingProperties;
+import com.taskmanager.dto.PagedResponse;
+import com.taskmanager.dto.TaskField;
+import com.taskmanager.dto.TaskResponse;
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.event.TasksInvalidatedEvent;
+import com.taskmanager.exception.DatabaseUnavailableException;
+import com.taskmanager.repository.TaskRowMappers;
+import com.taskmanager.resilience.StaleResponses;
+import com.taskmanager.service.TaskListQuery;
+import com.taskmanager.store.TaskRowSink;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Single-flight execution of task list pages. Concurrent calls with the same normalized query and
+ * fieldset share one load: the first caller runs it in a read-only transaction of its own, and the
+ * others wait for its page or its exception. With a result TTL, a finished page also answers
+ * identical calls for that long.
+ * <p>
+ * A committed change to any task, or another node's change announced by {@link TasksInvalidatedEvent},
+ * drops every cached page and detaches the loads in flight, so a call that starts after the change's
+ * listeners ran never gets a page read before it. Callers already in a transaction load alone,
+ * since they may see their own uncommitted writes. Shared pages must not be modified.
+ * <p>
+ * With a stale-if-error period, the last page loaded or streamed for each call is also kept that
+ * long, whatever changes since, and whether or not coalescing is on. When a load fails with
+ * {@link DatabaseUnavailableException}, or a stream does before its first row, that page answers the
+ * call instead, marked stale on the response through {@link StaleResponses}.
+ */
+public class TaskListCoalescer {
+
+    public static final String REQUESTS_METRIC = "taskmanager.tasks.list.requests";
+    public static final String RATIO_METRIC = "taskmanager.tasks.list.coalescing.ratio";
+
+    private final TransactionOperations transaction;
+    private final boolean enabled;
+    private final Cache<Key, PagedResponse<TaskResponse>> results;
+    private final Cache<Key, Loaded> lastGood;
+    private final ConcurrentHashMap<Key, CompletableFuture<Loaded>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final Counter executed;
+    private final Counter coalesced;
+    private final Counter cached;
+    private final Counter stale;
+
+    /**
+     * @param transaction the read-only transaction loads run in; failures it reports as
+     *                    {@link DatabaseUnavailableException} fall back to the last good page
+     */
+    public TaskListCoalescer(TransactionOperations transaction, ListCoalescingProperties properties, MeterRegistry registry) {
+        this.transaction = transaction;
+        this.enabled = properties.isEnabled();
+        this.results = enabled && properties.getResultTtl().isPositive()
+                ? Caffeine.newBuilder()
+                        .expireAfterWrite(properties.getResultTtl())
+                        .maximumSize(properties.getMaxCachedResults())
+                        .build()
+                : null;
+        this.lastGood = properties.getStaleIfError().isPositive()
+                ? Caffeine.newBuilder()
+                        .expireAfterWrite(properties.getStaleIfError())
+                        .maximumSize(properties.getMaxCachedResults())
+                        .build()
+                : null;
+        this.executed = requests(registry, "executed");
+        this.coalesced = requests(registry, "coalesced");
+        this.cached = requests(registry, "cached");
+        this.stale = requests(registry, "stale");
+        Gauge.builder(RATIO_METRIC, this, TaskListCoalescer::coalescingRatio)
+                .description("Share of list requests answered without a query of their own")
+                .register(registry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns the page for {@code query} and {@code fields}, from a cached result, from an identical
+     * load in flight, or from {@code loader}; while the database is unavailable, possibly from the last
+     * good page.
+     *
+     * @param query  the list query before tag resolution, which is what identical calls compare on
+     * @param fields sparse fieldset, or {@code null} for all fields
+     */
+    public PagedResponse<TaskResponse> execute(TaskListQuery query,
+                                               Set<TaskField> fields,
+                                               Supplier<PagedResponse<TaskResponse>> loader) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            executed.increment();
+            return transaction.execute(status -> loader.get());
+        }
+        Key key = new Key(query, fields);
+        if (!enabled) {
+            executed.increment();
+            return serve(load(key, loader, generation.get()));
+        }
+        if (results != null) {
+            PagedResponse<TaskResponse> hit = results.getIfPresent(key);
+            if (hit != null) {
+                cached.increment();
+                return hit;
+            }
+        }
+
+        long startedAt = generation.get();
+        CompletableFuture<Loaded> flight = new CompletableFuture<>();
+        CompletableFuture<Loaded> running = inFlight.putIfAbsent(key, flight);
+        if (running != null) {
+            coalesced.increment();
+            return serve(join(running));
+        }
+        executed.increment();
+        try {
+            Loaded loaded = load(key, loader, startedAt);
+            flight.complete(loaded);
+            return serve(loaded);
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private Loaded load(Key key, Supplier<PagedResponse<TaskResponse>> loader, long startedAt) {
+        PagedResponse<TaskResponse> page;
+        try {
+            page = transaction.execute(status -> loader.get());
+        } catch (DatabaseUnavailableException e) {
+            Loaded fallback = lastGood != null ? lastGood.getIfPresent(key) : null;
+            if (fallback == null) {
+                throw e;
+            }
+            return fallback.asStale();
+        }
+        Loaded loaded = new Loaded(page, System.nanoTime(), false);
+        if (lastGood != null) {
+            lastGood.put(key, loaded);
+        }
+        if (results != null && generation.get() == startedAt) {
+            results.put(key, page);
+            // A change that committed between the check and the put must not leave the page behind.
+            if (generation.get() != startedAt) {
+                results.invalidate(key);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Streams the page for {@code query} and {@code fields} to {@code sink} through {@code read}, in
+     * the same read-only transaction loads use; a streamed page is never shared. The rows streamed
+     * are kept as the call's last good page, and while the database is unavailable, the last good
+     * page is streamed instead, provided no row went out yet.
+     *
+     * @param read streams the page to the sink it is given and returns the total number of matching tasks
+     */
+    public long stream(TaskListQuery query,
+                       Set<TaskField> fields,
+                       TaskRowSink sink,
+                       ToLongFunction<TaskRowSink> read) {
+        executed.increment();
+        if (lastGood == null || TransactionSynchronizationManager.isActualTransactionActive()) {
+            return transaction.execute(status -> read.applyAsLong(sink));
+        }
+        Key key = new Key(query, fields);
+        RecordingSink recording = new RecordingSink(sink);
+        long total;
+        try {
+            total = transaction.execute(status -> read.applyAsLong(recording));
+        } catch (DatabaseUnavailableException e) {
+            Loaded fallback = lastGood.getIfPresent(key);
+            if (fallback == null || !recording.rows.isEmpty()) {
+                throw e;
+            }
+            PagedResponse<TaskResponse> page = serve(fallback.asStale());
+            page.getContent().forEach(sink::accept);
+            return page.getTotalElements();
+        }
+        Pageable pageable = query.toPageable();
+        int totalPages = (int) ((total + pageable.getPageSize() - 1) / pageable.getPageSize());
+        lastGood.put(key, new Loaded(new PagedResponse<>(List.copyOf(recording.rows), total, totalPages,
+                pageable.getPageNumber(), pageable.getPageSize()), System.nanoTime(), false));
+        return total;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTaskChanged(TaskChangedEvent event) {
+        invalidate();
+    }
+
+    @EventListener
+    public void onTasksInvalidated(TasksInvalidatedEvent event) {
+        invalidate();
+    }
+
+    private void invalidate() {
+        if (!enabled) {
+            return;
+        }
+        generation.incrementAndGet();
+        inFlight.clear();
+        if (results != null) {
+            results.invalidateAll();
+        }
+    }
+
+    /**
+     * Share of list requests so far that were answered by another request's load or by a cached page.
+     */
+    public double coalescingRatio() {
+        double shared = coalesced.count() + cached.count();
+        double total = shared + executed.count();
+        return total == 0 ? 0 : shared / total;
+    }
+
+    private static Counter requests(MeterRegistry registry, String result) {
+        return Counter.builder(REQUESTS_METRIC)
+                .description("Task list requests by how they were answered")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    /**
+     * Counts a stale answer and marks the response; fresh pages pass through.
+     */
+    private PagedResponse<TaskResponse> serve(Loaded loaded) {
+        if (loaded.stale()) {
+            stale.increment();
+            StaleResponses.mark(Duration.ofNanos(System.nanoTime() - loaded.loadedAt()));
+        }
+        return loaded.page();
+    }
+
+    private static Loaded join(CompletableFuture<Loaded> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record Key(TaskListQuery query, Set<TaskField> fields) {
+    }
+
+    /**
+     * Passes rows on while keeping them as responses, so a streamed page can answer later outages.
+     */
+    private static final class RecordingSink implements TaskRowSink {
+
+        private final TaskRowSink target;
+        private final List<TaskResponse> rows = new ArrayList<>();
+
+        private RecordingSink(TaskRowSink target) {
+            this.target = target;
+        }
+
+        @Override
+        public void accept(ResultSet rs, List<String> tags) throws SQLException {
+            TaskResponse response = TaskRowMappers.RESPONSE.mapRow(rs, rows.size());
+            response.setTags(tags);
+            rows.add(response);
+            target.accept(rs, tags);
+        }
+
+        @Override
+        public void accept(TaskResponse task) {
+            rows.add(task);
+            target.accept(task);
+        }
+    }
+
+    /**
+     * @param loadedAt {@link System#nanoTime()} when the page was read from the database
+     */
+    private record Loaded(PagedResponse<TaskResponse> page, long loadedAt, boolean stale) {
+
+        Loaded asStale() {
+            return new Loaded(page, loadedAt, true);
+        }
+    }
+}
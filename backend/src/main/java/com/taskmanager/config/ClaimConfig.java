@@ -0,0 +1,19 @@
+package com.taskmanager.config;
+
+import com.taskmanager.scheduler.LeaseReaper;
+import com.taskmanager.service.TaskClaimService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ClaimProperties.class)
+public class ClaimConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "taskmanager.claims.reaper", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public LeaseReaper leaseReaper(TaskClaimService taskClaimService, ClaimProperties properties) {
+        return new LeaseReaper(taskClaimService, properties);
+    }
+}
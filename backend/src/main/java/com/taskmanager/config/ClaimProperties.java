@@ -0,0 +1,42 @@
+package com.taskmanager.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "taskmanager.claims")
+public class ClaimProperties {
+
+    /**
+     * Lease granted when a claim does not ask for one.
+     */
+    private Duration defaultLease = Duration.ofMinutes(5);
+
+    /**
+     * Longest lease a claim may ask for; longer requests are shortened to it.
+     */
+    private Duration maxLease = Duration.ofHours(1);
+
+    private Reaper reaper = new Reaper();
+
+    @Getter
+    @Setter
+    public static class Reaper {
+
+        private boolean enabled = true;
+
+        /**
+         * How often expired leases are returned to the queue.
+         */
+        private Duration interval = Duration.ofSeconds(10);
+
+        /**
+         * Leases released per transaction; the reaper repeats until a batch comes back short.
+         */
+        private int batchSize = 500;
+    }
+}
@@ -0,0 +1,26 @@
+package com.taskmanager.config;
+
+import com.taskmanager.embedded.EmbeddedTaskStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.time.Clock;
+
+/**
+ * Replaces the JPA store with {@link EmbeddedTaskStore}, recovered from its directory at startup.
+ */
+@Configuration
+@EnableConfigurationProperties(EmbeddedStoreProperties.class)
+@ConditionalOnProperty(prefix = "taskmanager.embedded", name = "enabled", havingValue = "true")
+public class EmbeddedStoreConfig {
+
+    @Bean(destroyMethod = "close")
+    public EmbeddedTaskStore embeddedTaskStore(EmbeddedStoreProperties properties,
+                                               MeterRegistry meterRegistry) throws IOException {
+        return new EmbeddedTaskStore(properties, Clock.systemDefaultZone(), meterRegistry);
+    }
+}
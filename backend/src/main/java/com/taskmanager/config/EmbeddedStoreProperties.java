@@ -0,0 +1,45 @@
+package com.taskmanager.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "taskmanager.embedded")
+public class EmbeddedStoreProperties {
+
+    /**
+     * Keeps tasks in the embedded store instead of the database. Jobs, history and leader locks
+     * still use the configured datasource, which can be a file-based H2.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Directory for the write-ahead log and snapshots; created if missing. One process at a time.
+     */
+    private String directory = "data/tasks";
+
+    /**
+     * Size of each memory-mapped log segment file.
+     */
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+    /**
+     * Forces every group commit to the storage device. Off, commits still survive a crash of the
+     * process, but not a power loss.
+     */
+    private boolean sync = true;
+
+    /**
+     * Most log records one group commit writes and forces together.
+     */
+    private int maxBatch = 1024;
+
+    /**
+     * Log written since the last snapshot after which a new snapshot is taken and the log before
+     * it deleted.
+     */
+    private DataSize compactAfter = DataSize.ofMegabytes(128);
+}
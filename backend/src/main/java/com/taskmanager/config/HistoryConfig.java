@@ -0,0 +1,25 @@
+package com.taskmanager.config;
+
+import com.taskmanager.history.TaskHistoryRecorder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+
+@Configuration
+@EnableConfigurationProperties(HistoryProperties.class)
+@ConditionalOnProperty(prefix = "taskmanager.history", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class HistoryConfig {
+
+    @Bean
+    public TaskHistoryRecorder taskHistoryRecorder(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                                   HistoryProperties properties) {
+        return new TaskHistoryRecorder(jdbcTemplate, new TransactionTemplate(transactionManager), properties,
+                Clock.systemDefaultZone());
+    }
+}
@@ -0,0 +1,37 @@
+package com.taskmanager.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "taskmanager.history")
+public class HistoryProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * How often committed changes are appended to the revision log.
+     */
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    private int batchSize = 500;
+
+    /**
+     * Revisions pending a flush; beyond it further changes are not recorded.
+     */
+    private int queueCapacity = 100_000;
+
+    /**
+     * Every this many revisions a task's full state is stored instead of a diff.
+     */
+    private int snapshotInterval = 20;
+
+    /**
+     * Request header naming who made a change.
+     */
+    private String actorHeader = "X-User";
+}
@@ -0,0 +1,51 @@
+package com.taskmanager.config;
+
+import com.taskmanager.invalidation.InvalidationBus;
+import com.taskmanager.invalidation.InvalidationTransport;
+import com.taskmanager.invalidation.LoopbackInvalidationTransport;
+import com.taskmanager.invalidation.PostgresInvalidationTransport;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.DriverManager;
+
+@Configuration
+@EnableConfigurationProperties(InvalidationProperties.class)
+@ConditionalOnProperty(prefix = "taskmanager.invalidation", name = "enabled", havingValue = "true")
+public class InvalidationConfig {
+
+    @Bean(destroyMethod = "")
+    @ConditionalOnProperty(prefix = "taskmanager.invalidation", name = "transport", havingValue = "postgres", matchIfMissing = true)
+    public InvalidationTransport postgresInvalidationTransport(JdbcTemplate jdbcTemplate,
+                                                               DataSourceProperties dataSourceProperties,
+                                                               InvalidationProperties properties) {
+        // The listening connection is held for good, so it is opened beside the pool rather than taken from it.
+        return new PostgresInvalidationTransport(jdbcTemplate,
+                () -> DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                        dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword()),
+                properties.getChannel(), properties.getPollTimeout(), properties.getReconnectDelay());
+    }
+
+    @Bean(destroyMethod = "")
+    @ConditionalOnProperty(prefix = "taskmanager.invalidation", name = "transport", havingValue = "loopback")
+    public InvalidationTransport loopbackInvalidationTransport(InvalidationProperties properties) {
+        return new LoopbackInvalidationTransport(properties.getChannel());
+    }
+
+    /**
+     * Closes the transport it was started with.
+     */
+    @Bean(destroyMethod = "close")
+    public InvalidationBus invalidationBus(InvalidationTransport transport,
+                                           ApplicationEventPublisher eventPublisher,
+                                           InvalidationProperties properties,
+                                           MeterRegistry meterRegistry) {
+        return new InvalidationBus(transport, eventPublisher, properties, meterRegistry);
+    }
+}
@@ -0,0 +1,73 @@
+package com.taskmanager.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Broadcasting committed task changes to the other nodes, so their task cache and list results do
+ * not outlive the change.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "taskmanager.invalidation")
+public class InvalidationProperties {
+
+    /**
+     * Whether this node broadcasts its changes and drops cached copies on other nodes' changes; needed
+     * once several nodes cache against one database.
+     */
+    private boolean enabled = false;
+
+    /**
+     * {@code postgres} uses LISTEN/NOTIFY on the datasource's database; {@code loopback} reaches only
+     * the nodes in this JVM, for tests.
+     */
+    private Transport transport = Transport.POSTGRES;
+
+    /**
+     * Notification channel, a lower-case identifier shared by all nodes.
+     */
+    private String channel = "task_invalidations";
+
+    /**
+     * How long changes are collected before they go out as one message; ids changed more than once
+     * meanwhile are sent once.
+     */
+    private Duration batchWindow = Duration.ofMillis(20);
+
+    /**
+     * Most task ids in one message; a larger batch is sent as a flush of everything, which keeps the
+     * payload within the 8000 bytes NOTIFY allows.
+     */
+    private int maxIds = 300;
+
+    /**
+     * Time without changes after which a node repeats its last sequence number, so a lost last
+     * message is noticed within about this long.
+     */
+    private Duration heartbeat = Duration.ofSeconds(5);
+
+    /**
+     * How long a silent node is remembered. One heard from again after that is treated as having
+     * sent messages meanwhile, and everything is flushed.
+     */
+    private Duration originTimeout = Duration.ofMinutes(1);
+
+    /**
+     * How long the listening connection waits for notifications before checking whether it should stop.
+     */
+    private Duration pollTimeout = Duration.ofMillis(500);
+
+    /**
+     * Wait before reopening a failed listening connection.
+     */
+    private Duration reconnectDelay = Duration.ofSeconds(1);
+
+    public enum Transport {
+        POSTGRES,
+        LOOPBACK
+    }
+}
@@ -0,0 +1,18 @@
+package com.taskmanager.config;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Lets filtered DTOs serialize in full unless a request supplies their filter.
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer defaultFilterProvider() {
+        return builder -> builder.filters(new SimpleFilterProvider().setFailOnUnknownId(false));
+    }
+}
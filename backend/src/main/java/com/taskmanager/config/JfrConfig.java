@@ -0,0 +1,18 @@
+package com.taskmanager.config;
+
+import com.taskmanager.jfr.TaskOperationRecorder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(JfrProperties.class)
+@ConditionalOnProperty(prefix = "taskmanager.jfr", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class JfrConfig {
+
+    @Bean
+    public TaskOperationRecorder taskOperationRecorder(JfrProperties properties) {
+        return new TaskOperationRecorder(properties);
+    }
+}
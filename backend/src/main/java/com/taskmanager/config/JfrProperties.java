@@ -0,0 +1,31 @@
+package com.taskmanager.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "taskmanager.jfr")
+public class JfrProperties {
+
+    /**
+     * Whether TaskService calls emit JFR events; they are only recorded while a recording enables
+     * {@code com.taskmanager.TaskOperation}.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Shortest call that is recorded, for operations without a threshold of their own.
+     */
+    private Duration threshold = Duration.ZERO;
+
+    /**
+     * Thresholds by TaskService method name, such as {@code streamAllTasks: 20ms}.
+     */
+    private Map<String, Duration> thresholds = new HashMap<>();
+}
@@ -0,0 +1,37 @@
+package com.taskmanager.config;
+
+import com.taskmanager.job.JobHandler;
+import com.taskmanager.job.JobRunner;
+import com.taskmanager.repository.LeaderLocks;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+/**
+ * The job pool connects to the primary database with its own small Hikari pool. It is kept
+ * inside {@link JobRunner} rather than exposed as a {@code DataSource} bean, which would replace
+ * the auto-configured primary datasource. The handlers read and write the tasks table of the primary
+ * database directly, so they exist only with the JPA store; with another store every job is rejected.
+ */
+@Configuration
+@EnableConfigurationProperties(JobProperties.class)
+public class JobConfig {
+
+    @Bean
+    public JobRunner jobRunner(DataSourceProperties dataSourceProperties,
+                               ObjectProvider<JobHandler> handlers,
+                               JobProperties properties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        dataSource.setPoolName("jobs");
+        dataSource.setMaximumPoolSize(properties.getPoolSize());
+        return new JobRunner(dataSource, handlers.orderedStream().toList(), properties, LeaderLocks.newOwner(),
+                Clock.systemDefaultZone());
+    }
+}
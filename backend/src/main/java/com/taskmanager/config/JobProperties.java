@@ -0,0 +1,45 @@
+package com.taskmanager.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "taskmanager.jobs")
+public class JobProperties {
+
+    /**
+     * Jobs running at the same time.
+     */
+    private int parallelism = 2;
+
+    /**
+     * Submitted jobs waiting for a worker; beyond it submissions are rejected with 503.
+     */
+    private int queueCapacity = 100;
+
+    /**
+     * Size of the connection pool reserved for jobs, separate from the pool serving requests.
+     */
+    private int poolSize = 2;
+
+    /**
+     * Tasks processed and committed per checkpoint.
+     */
+    private int chunkSize = 500;
+
+    /**
+     * How long a node's claim on a running job lasts without renewal, which it does every third of
+     * it. Jobs of a node that dies are taken over by another node once their claim lapses.
+     */
+    private Duration lease = Duration.ofMinutes(1);
+
+    /**
+     * Where import payloads and export results are kept.
+     */
+    private Path directory = Path.of(System.getProperty("java.io.tmpdir"), "taskmanager-jobs");
+}
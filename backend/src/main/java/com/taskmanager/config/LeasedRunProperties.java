@@ -0,0 +1,24 @@
+package com.taskmanager.config;
+
+import java.time.Duration;
+
+/**
+ * Pacing of a background job run in chunks by whichever node holds its lease, read at every run.
+ */
+public interface LeasedRunProperties {
+
+    /**
+     * Time between the end of one run and the start of the next.
+     */
+    Duration getInterval();
+
+    /**
+     * Wait between chunks.
+     */
+    Duration getPause();
+
+    /**
+     * How long the running node holds the cluster-wide lock without renewing it.
+     */
+    Duration getLockLease();
+}
@@ -0,0 +1,20 @@
+package com.taskmanager.config;
+
+import com.taskmanager.cache.TaskListCoalescer;
+import com.taskmanager.resilience.DatabaseGuard;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ListCoalescingProperties.class)
+public class ListCoalescingConfig {
+
+    @Bean
+    public TaskListCoalescer taskListCoalescer(DatabaseGuard databaseGuard,
+                                               ListCoalescingProperties properties,
+                                               MeterRegistry meterRegistry) {
+        return new TaskListCoalescer(databaseGuard, properties, meterRegistry);
+    }
+}
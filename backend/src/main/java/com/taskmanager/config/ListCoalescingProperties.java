@@ -0,0 +1,39 @@
+package com.taskmanager.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "taskmanager.list-coalescing")
+public class ListCoalescingProperties {
+
+    /**
+     * Whether identical concurrent list requests share one query. Off by default, since a shared page
+     * has to be built whole before anyone gets it, while with each request running its own query,
+     * list pages stream straight from the result set. Worth turning on where many clients poll the
+     * same list.
+     */
+    private boolean enabled = false;
+
+    /**
+     * How long a finished page keeps answering identical requests; zero shares only in-flight queries.
+     * Any committed change drops every cached page.
+     */
+    private Duration resultTtl = Duration.ZERO;
+
+    /**
+     * How long the last page loaded for a request keeps answering it while the database is unavailable,
+     * marked stale; zero turns the fallback off. Applies whether or not coalescing is on; a streamed
+     * page falls back only if the database fails before its first row.
+     */
+    private Duration staleIfError = Duration.ofMinutes(10);
+
+    /**
+     * Most pages held for {@link #resultTtl}, and separately for {@link #staleIfError}.
+     */
+    private long maxCachedResults = 1000;
+}
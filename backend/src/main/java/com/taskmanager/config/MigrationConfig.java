@@ -0,0 +1,27 @@
+package com.taskmanager.config;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Flyway migrates at startup, except in a run that only refreshes the context and exits, such as
+ * the CDS training run of the Docker build, which has no database to migrate. Every other bean
+ * touches the database only once the application is ready, so such a run needs none.
+ * <p>
+ * The check reads the environment when the strategy runs rather than being a bean condition, since
+ * the AOT build fixes bean conditions at build time.
+ */
+@Configuration
+public class MigrationConfig {
+
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(Environment environment) {
+        return flyway -> {
+            if (!"onRefresh".equals(environment.getProperty("spring.context.exit"))) {
+                flyway.migrate();
+            }
+        };
+    }
+}
@@ -0,0 +1,56 @@
+package com.taskmanager.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.ratelimit.ClientRateLimiter;
+import com.taskmanager.ratelimit.ConnectionWaitMonitor;
+import com.taskmanager.ratelimit.RateLimitFilter;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+@ConditionalOnProperty(prefix = "taskmanager.rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+    @Bean
+    public static ConnectionWaitMonitor connectionWaitMonitor() {
+        return new ConnectionWaitMonitor();
+    }
+
+    @Bean
+    public static BeanPostProcessor connectionWaitMeasuringPostProcessor(ConnectionWaitMonitor connectionWaitMonitor) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource) {
+                    return connectionWaitMonitor.wrap(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public ClientRateLimiter clientRateLimiter(RateLimitProperties properties) {
+        return new ClientRateLimiter(properties, System::nanoTime);
+    }
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(RateLimitProperties properties,
+                                                                   ClientRateLimiter clientRateLimiter,
+                                                                   ConnectionWaitMonitor connectionWaitMonitor,
+                                                                   ObjectMapper objectMapper) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(
+                new RateLimitFilter(properties, clientRateLimiter, connectionWaitMonitor, objectMapper));
+        registration.addUrlPatterns("/api/tasks", "/api/tasks/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -0,0 +1,84 @@
+package com.taskmanager.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "taskmanager.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Header carrying the client API key.
+     */
+    private String apiKeyHeader = "X-API-Key";
+
+    /**
+     * Known client API keys. Only these get a budget of their own; a request with any other key,
+     * or none, is keyed by remote address, so a client cannot reset its budget by changing keys.
+     */
+    private Set<String> apiKeys = new HashSet<>();
+
+    /**
+     * How often buckets of idle clients are dropped.
+     */
+    private Duration sweepInterval = Duration.ofMinutes(1);
+
+    /**
+     * Tracked clients at which a sweep is started early instead of waiting for the next interval.
+     */
+    private int maxTrackedClients = 100_000;
+
+    private Bucket read = new Bucket(200, 100);
+
+    private Bucket write = new Bucket(50, 20);
+
+    private Shedding shedding = new Shedding();
+
+    @Getter
+    @Setter
+    public static class Bucket {
+
+        private int capacity;
+        private double refillPerSecond;
+
+        public Bucket() {
+        }
+
+        public Bucket(int capacity, double refillPerSecond) {
+            this.capacity = capacity;
+            this.refillPerSecond = refillPerSecond;
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Shedding {
+
+        private boolean enabled = true;
+
+        /**
+         * Average connection pool wait at which requests start being shed.
+         */
+        private long startWaitMillis = 50;
+
+        /**
+         * Average connection pool wait at which the shed ratio reaches {@link #maxShedRatio}.
+         */
+        private long fullWaitMillis = 500;
+
+        /**
+         * Never shed everything, so some requests keep probing the pool and the average can recover.
+         */
+        private double maxShedRatio = 0.9;
+
+        private int retryAfterSeconds = 1;
+    }
+}
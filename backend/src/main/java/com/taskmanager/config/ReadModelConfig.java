@@ -0,0 +1,25 @@
+package com.taskmanager.config;
+
+import com.taskmanager.readmodel.TaskReadModel;
+import com.taskmanager.store.TaskStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Configuration
+@EnableConfigurationProperties(ReadModelProperties.class)
+@ConditionalOnProperty(prefix = "taskmanager.read-model", name = "enabled", havingValue = "true")
+public class ReadModelConfig {
+
+    @Bean
+    public TaskReadModel taskReadModel(TaskStore taskStore,
+                                       PlatformTransactionManager transactionManager,
+                                       ReadModelProperties properties) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return new TaskReadModel(taskStore, readOnly, properties);
+    }
+}
@@ -0,0 +1,19 @@
+package com.taskmanager.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "taskmanager.read-model")
+public class ReadModelProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Heap budget for the columnar index; above it the read model stays off and queries use the database.
+     */
+    private DataSize maxMemory = DataSize.ofMegabytes(256);
+}
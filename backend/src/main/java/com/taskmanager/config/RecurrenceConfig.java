@@ -0,0 +1,27 @@
+package com.taskmanager.config;
+
+import com.taskmanager.repository.LeaderLocks;
+import com.taskmanager.scheduler.RecurrenceMaterializer;
+import com.taskmanager.service.TaskRecurrenceService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+@Configuration
+@EnableConfigurationProperties(RecurrenceProperties.class)
+public class RecurrenceConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "taskmanager.recurrence", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public RecurrenceMaterializer recurrenceMaterializer(TaskRecurrenceService recurrenceService,
+                                                         LeaderLocks leaderLocks,
+                                                         RecurrenceProperties properties,
+                                                         MeterRegistry meterRegistry) {
+        return new RecurrenceMaterializer(recurrenceService, leaderLocks, properties, LeaderLocks.newOwner(),
+                Clock.systemDefaultZone(), meterRegistry);
+    }
+}
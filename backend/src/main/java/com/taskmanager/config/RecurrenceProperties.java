@@ -0,0 +1,64 @@
+package com.taskmanager.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Recurring tasks: how far ahead their occurrences are created as tasks, and how many occurrences
+ * past that are computed for a list request.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "taskmanager.recurrence")
+public class RecurrenceProperties implements LeasedRunProperties {
+
+    /**
+     * Whether this node runs the materializer. Nodes elect one runner through the leader lock, so it
+     * can stay on everywhere.
+     */
+    private boolean enabled = true;
+
+    /**
+     * How far past now occurrences exist as tasks; later ones are only listed.
+     */
+    private Duration horizon = Duration.ofDays(14);
+
+    /**
+     * Time between the end of one materializer run and the start of the next.
+     */
+    private Duration interval = Duration.ofMinutes(10);
+
+    /**
+     * Series extended per transaction, their occurrences inserted in one batch.
+     */
+    private int chunkSize = 100;
+
+    /**
+     * Most occurrences one series gets per run; a series further behind catches up in later runs.
+     */
+    private int maxOccurrencesPerSeries = 500;
+
+    /**
+     * Wait between chunks, which leaves the database room for regular traffic.
+     */
+    private Duration pause = Duration.ofMillis(100);
+
+    /**
+     * How long the node running the materializer holds the cluster-wide lock without renewing it,
+     * which it does after each chunk.
+     */
+    private Duration lockLease = Duration.ofMinutes(5);
+
+    /**
+     * Most series whose later occurrences one list request computes.
+     */
+    private int maxListedSeries = 1000;
+
+    /**
+     * Most computed occurrences in one list request, which bounds its memory and its total count.
+     */
+    private int maxListedOccurrences = 10_000;
+}
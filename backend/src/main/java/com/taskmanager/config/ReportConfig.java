@@ -0,0 +1,23 @@
+package com.taskmanager.config;
+
+import com.taskmanager.report.TaskRollupRecorder;
+import com.taskmanager.repository.TaskRollups;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Configuration
+@EnableConfigurationProperties(ReportProperties.class)
+public class ReportConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "taskmanager.reports", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public TaskRollupRecorder taskRollupRecorder(TaskRollups rollups,
+                                                 PlatformTransactionManager transactionManager,
+                                                 ReportProperties properties) {
+        return new TaskRollupRecorder(rollups, new TransactionTemplate(transactionManager), properties);
+    }
+}
@@ -0,0 +1,30 @@
+package com.taskmanager.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "taskmanager.reports")
+public class ReportProperties {
+
+    /**
+     * Whether task changes are added to the daily rollups as they commit. Without it the rollups
+     * only change through backfill jobs.
+     */
+    private boolean enabled = true;
+
+    /**
+     * How often the counts gathered from committed changes are added to the rollups; a report lags
+     * behind the tasks by up to this much.
+     */
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    /**
+     * Longest range a report may span, in days, after widening to whole buckets.
+     */
+    private int maxDays = 1096;
+}
@@ -0,0 +1,43 @@
+package com.taskmanager.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.resilience.CircuitBreaker;
+import com.taskmanager.resilience.DatabaseGuard;
+import com.taskmanager.resilience.WriteFailFastFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Configuration
+@EnableConfigurationProperties(ResilienceProperties.class)
+public class ResilienceConfig {
+
+    @Bean
+    public DatabaseGuard databaseGuard(PlatformTransactionManager transactionManager,
+                                       ResilienceProperties properties,
+                                       MeterRegistry meterRegistry) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        long timeoutMillis = properties.getReadTimeout().toMillis();
+        readOnly.setTimeout((int) Math.max(1, (timeoutMillis + 999) / 1000));
+        ResilienceProperties.Breaker breaker = properties.getBreaker();
+        return new DatabaseGuard(readOnly,
+                new CircuitBreaker(breaker.getFailureThreshold(), breaker.getOpenDuration(), System::nanoTime),
+                meterRegistry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<WriteFailFastFilter> writeFailFastFilter(DatabaseGuard databaseGuard,
+                                                                           ObjectMapper objectMapper) {
+        FilterRegistrationBean<WriteFailFastFilter> registration = new FilterRegistrationBean<>(
+                new WriteFailFastFilter(databaseGuard, objectMapper));
+        registration.addUrlPatterns("/api/tasks", "/api/tasks/*", "/api/jobs", "/api/jobs/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 20);
+        return registration;
+    }
+}
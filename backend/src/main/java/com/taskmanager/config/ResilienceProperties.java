@@ -0,0 +1,36 @@
+package com.taskmanager.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "taskmanager.resilience")
+public class ResilienceProperties {
+
+    /**
+     * Deadline of a guarded read transaction, applied to every statement in it; rounded up to whole
+     * seconds.
+     */
+    private Duration readTimeout = Duration.ofSeconds(2);
+
+    private Breaker breaker = new Breaker();
+
+    @Getter
+    @Setter
+    public static class Breaker {
+
+        /**
+         * Consecutive failed reads that open the breaker.
+         */
+        private int failureThreshold = 5;
+
+        /**
+         * How long the breaker stays open before one read is let through to test the database.
+         */
+        private Duration openDuration = Duration.ofSeconds(10);
+    }
+}
@@ -0,0 +1,27 @@
+package com.taskmanager.config;
+
+import com.taskmanager.repository.LeaderLocks;
+import com.taskmanager.scheduler.RetentionPurger;
+import com.taskmanager.service.TaskRetentionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+@Configuration
+@EnableConfigurationProperties(RetentionProperties.class)
+public class RetentionConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "taskmanager.retention", name = "enabled", havingValue = "true")
+    public RetentionPurger retentionPurger(TaskRetentionService retentionService,
+                                           LeaderLocks leaderLocks,
+                                           RetentionProperties properties,
+                                           MeterRegistry meterRegistry) {
+        return new RetentionPurger(retentionService, leaderLocks, properties, LeaderLocks.newOwner(),
+                Clock.systemDefaultZone(), meterRegistry);
+    }
+}
@@ -0,0 +1,50 @@
+package com.taskmanager.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "taskmanager.retention")
+public class RetentionProperties implements LeasedRunProperties {
+
+    /**
+     * Whether completed tasks are deleted once past {@link #completedOlderThan}; off by default, since
+     * the deletion cannot be undone.
+     */
+    private boolean enabled = false;
+
+    /**
+     * How long a completed task is kept after its last update.
+     */
+    private Duration completedOlderThan = Duration.ofDays(90);
+
+    /**
+     * Time between the end of one purge run and the start of the next.
+     */
+    private Duration interval = Duration.ofHours(1);
+
+    /**
+     * Tasks deleted per transaction.
+     */
+    private int chunkSize = 500;
+
+    /**
+     * Wait between chunks, which leaves the database room for regular traffic during a large purge.
+     */
+    private Duration pause = Duration.ofMillis(200);
+
+    /**
+     * Most chunks per run, zero for no limit; a longer backlog continues in the next run.
+     */
+    private int maxChunksPerRun = 0;
+
+    /**
+     * How long the node running a purge holds the cluster-wide lock without renewing it, which it does
+     * after each chunk. A node that dies mid-run blocks purges on other nodes for at most this long.
+     */
+    private Duration lockLease = Duration.ofMinutes(5);
+}
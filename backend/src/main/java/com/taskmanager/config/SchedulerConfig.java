@@ -0,0 +1,25 @@
+package com.taskmanager.config;
+
+import com.taskmanager.scheduler.DueDateEventHandler;
+import com.taskmanager.scheduler.DueDateScheduler;
+import com.taskmanager.store.TaskStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties(SchedulerProperties.class)
+@ConditionalOnProperty(prefix = "taskmanager.scheduler", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulerConfig {
+
+    @Bean
+    public DueDateScheduler dueDateScheduler(TaskStore taskStore,
+                                             List<DueDateEventHandler> handlers,
+                                             SchedulerProperties properties) {
+        return new DueDateScheduler(taskStore, handlers, properties, Clock.systemDefaultZone());
+    }
+}
@@ -0,0 +1,44 @@
+package com.taskmanager.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "taskmanager.scheduler")
+public class SchedulerProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Timer resolution; events fire at most one tick late.
+     */
+    private Duration tick = Duration.ofSeconds(1);
+
+    /**
+     * Number of wheel slots, a power of two.
+     */
+    private int wheelSize = 4096;
+
+    /**
+     * How far ahead due dates are kept in memory. The window is reloaded every half horizon.
+     */
+    private Duration horizon = Duration.ofHours(6);
+
+    /**
+     * Lead time of the reminder before the due date; zero disables reminders.
+     */
+    private Duration reminderLead = Duration.ofMinutes(15);
+
+    /**
+     * Hard cap on in-memory timers. Due dates that do not fit are picked up by a later reload.
+     */
+    private int maxTimers = 500_000;
+
+    private int handlerThreads = 2;
+
+    private int handlerQueueCapacity = 10_000;
+}
@@ -0,0 +1,52 @@
+package com.taskmanager.config;
+
+import com.taskmanager.mapper.TaskMapper;
+import com.taskmanager.shard.ShardIds;
+import com.taskmanager.shard.ShardedTaskStore;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the JPA store with {@link ShardedTaskStore}. The shard pools are private to the store
+ * rather than {@code DataSource} beans, so the primary datasource and JPA setup stay untouched.
+ */
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+@ConditionalOnProperty(prefix = "taskmanager.sharding", name = "enabled", havingValue = "true")
+public class ShardingConfig {
+
+    @Bean(destroyMethod = "close")
+    public ShardedTaskStore shardedTaskStore(ShardingProperties properties, TaskMapper taskMapper) {
+        List<JdbcTemplate> shards = new ArrayList<>();
+        List<AutoCloseable> pools = new ArrayList<>();
+        ResourceDatabasePopulator schema = new ResourceDatabasePopulator(new ClassPathResource("db/shard-schema.sql"));
+        for (ShardingProperties.Shard shard : properties.getShards()) {
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(shard.getUrl())
+                    .username(shard.getUsername())
+                    .password(shard.getPassword())
+                    .build();
+            dataSource.setMaximumPoolSize(properties.getMaxPoolSize());
+            dataSource.setPoolName("shard-" + shards.size());
+            pools.add(dataSource);
+            if (properties.isInitializeSchema()) {
+                schema.execute(dataSource);
+            }
+            shards.add(new JdbcTemplate(dataSource));
+        }
+        return new ShardedTaskStore(shards, new ShardIds(Clock.systemDefaultZone(), properties.getNodeId()),
+                taskMapper, Clock.systemDefaultZone(), pools);
+    }
+}
@@ -0,0 +1,45 @@
+package com.taskmanager.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "taskmanager.sharding")
+public class ShardingProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Distinguishes application nodes in generated ids; must be unique per running instance (0-63).
+     */
+    private int nodeId = 0;
+
+    /**
+     * Creates the tasks table on every shard at startup if it does not exist.
+     */
+    private boolean initializeSchema = true;
+
+    /**
+     * Connection pool size per shard.
+     */
+    private int maxPoolSize = 10;
+
+    /**
+     * Shard datasources, in shard-number order. The order is part of every task id and must not change.
+     */
+    private List<Shard> shards = new ArrayList<>();
+
+    @Getter
+    @Setter
+    public static class Shard {
+
+        private String url;
+        private String username;
+        private String password;
+    }
+}
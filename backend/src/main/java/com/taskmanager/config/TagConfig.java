@@ -0,0 +1,28 @@
+package com.taskmanager.config;
+
+import com.taskmanager.entity.Task;
+import com.taskmanager.store.TaskStore;
+import com.taskmanager.tag.TagIndex;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Configuration
+@EnableConfigurationProperties(TagProperties.class)
+public class TagConfig {
+
+    @Bean
+    public TagIndex tagIndex(TaskStore taskStore, PlatformTransactionManager transactionManager, TagProperties properties) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return new TagIndex(consumer -> readOnly.executeWithoutResult(status -> taskStore.forEachTag(consumer)),
+                taskIds -> readOnly.execute(status -> taskStore.findAllById(taskIds).stream()
+                        .collect(Collectors.toMap(Task::getId, task -> List.copyOf(task.getTags())))),
+                properties.isIndexEnabled());
+    }
+}
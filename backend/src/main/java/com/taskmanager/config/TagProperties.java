@@ -0,0 +1,16 @@
+package com.taskmanager.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "taskmanager.tags")
+public class TagProperties {
+
+    /**
+     * Whether tag filters are resolved from the in-memory bitmap index; when off they run as SQL subqueries.
+     */
+    private boolean indexEnabled = true;
+}
@@ -0,0 +1,67 @@
+package com.taskmanager.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.tracing.FileSpanExporter;
+import com.taskmanager.tracing.InMemorySpanCollector;
+import com.taskmanager.tracing.TracingDataSource;
+import com.taskmanager.tracing.TracingJsonHttpMessageConverter;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import javax.sql.DataSource;
+
+/**
+ * Spans come from observations: the HTTP server observation, {@code @Observed} on the controller and
+ * service, {@link TracingDataSource} for JDBC statements and the JSON converter for serialization.
+ * Spring Boot's OpenTelemetry bridge samples them, propagates W3C trace context and hands them to
+ * the span exporter beans defined here.
+ */
+@Configuration
+@EnableConfigurationProperties(TracingProperties.class)
+public class TracingConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "taskmanager.tracing", name = "exporter", havingValue = "memory")
+    public InMemorySpanCollector inMemorySpanCollector(TracingProperties properties) {
+        return new InMemorySpanCollector(properties.getMemoryCapacity());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "taskmanager.tracing", name = "exporter", havingValue = "file")
+    public FileSpanExporter fileSpanExporter(TracingProperties properties) {
+        return new FileSpanExporter(properties.getFile());
+    }
+
+    /**
+     * Wraps the data source for JDBC spans, or just for the statement counts of the JFR task events.
+     */
+    @Bean
+    @ConditionalOnExpression("${taskmanager.tracing.jdbc-spans:true} or ${taskmanager.jfr.enabled:true}")
+    public static BeanPostProcessor tracingDataSourcePostProcessor(ObjectProvider<ObservationRegistry> registry,
+                                                                  Environment environment) {
+        boolean spans = environment.getProperty("taskmanager.tracing.jdbc-spans", Boolean.class, true);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof TracingDataSource)) {
+                    return new TracingDataSource(dataSource, registry::getObject, spans);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MappingJackson2HttpMessageConverter tracingJsonHttpMessageConverter(ObjectMapper objectMapper,
+                                                                               ObservationRegistry registry) {
+        return new TracingJsonHttpMessageConverter(objectMapper, registry);
+    }
+}
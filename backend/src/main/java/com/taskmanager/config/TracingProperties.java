@@ -0,0 +1,45 @@
+package com.taskmanager.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+/**
+ * Where spans go and which JDBC spans are made. Sampling and trace context propagation are Spring
+ * Boot's {@code management.tracing} settings.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "taskmanager.tracing")
+public class TracingProperties {
+
+    /**
+     * Where finished spans are exported; {@code none} still propagates trace context and records the
+     * observations' timers.
+     */
+    private Exporter exporter = Exporter.NONE;
+
+    /**
+     * File the {@code file} exporter appends spans to, one JSON object per line.
+     */
+    private Path file = Path.of("traces/spans.jsonl");
+
+    /**
+     * Most spans the {@code memory} exporter keeps, oldest dropped first.
+     */
+    private int memoryCapacity = 10_000;
+
+    /**
+     * Whether each JDBC statement run within a traced request gets a span of its own. The data source
+     * stays wrapped while JFR task events are on, which count statements.
+     */
+    private boolean jdbcSpans = true;
+
+    public enum Exporter {
+        NONE,
+        MEMORY,
+        FILE
+    }
+}
@@ -0,0 +1,106 @@
+package com.taskmanager.controller;
+
+import com.taskmanager.dto.BulkUpdateJobRequest;
+import com.taskmanager.dto.ExportJobRequest;
+import com.taskmanager.dto.ImportJobRequest;
+import com.taskmanager.dto.JobResponse;
+import com.taskmanager.dto.RollupBackfillJobRequest;
+import com.taskmanager.service.JobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+
+@RestController
+@RequestMapping("/api/jobs")
+@RequiredArgsConstructor
+@Tag(name = "Jobs", description = "Long-running bulk operations")
+public class JobController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final JobService jobService;
+
+    @PostMapping("/exports")
+    @Operation(summary = "Export tasks", description = "Exports matching tasks as newline-delimited JSON")
+    @ApiResponse(responseCode = "202", description = "Job accepted")
+    @ApiResponse(responseCode = "501", description = "Jobs are not supported by this store")
+    @ApiResponse(responseCode = "503", description = "Job queue is full")
+    public ResponseEntity<JobResponse> submitExport(@RequestBody ExportJobRequest request) {
+        return accepted(jobService.submitExport(request));
+    }
+
+    @PostMapping("/imports")
+    @Operation(summary = "Import tasks", description = "Creates up to 10000 tasks in the background")
+    @ApiResponse(responseCode = "202", description = "Job accepted")
+    @ApiResponse(responseCode = "400", description = "Invalid input")
+    @ApiResponse(responseCode = "501", description = "Jobs are not supported by this store")
+    @ApiResponse(responseCode = "503", description = "Job queue is full")
+    public ResponseEntity<JobResponse> submitImport(@Valid @RequestBody ImportJobRequest request) {
+        return accepted(jobService.submitImport(request));
+    }
+
+    @PostMapping("/bulk-updates")
+    @Operation(summary = "Update many tasks", description = "Sets isCompleted and/or assignedTo on every matching task")
+    @ApiResponse(responseCode = "202", description = "Job accepted")
+    @ApiResponse(responseCode = "400", description = "Invalid input")
+    @ApiResponse(responseCode = "501", description = "Jobs are not supported by this store")
+    @ApiResponse(responseCode = "503", description = "Job queue is full")
+    public ResponseEntity<JobResponse> submitBulkUpdate(@Valid @RequestBody BulkUpdateJobRequest request) {
+        return accepted(jobService.submitBulkUpdate(request));
+    }
+
+    @PostMapping("/rollup-backfills")
+    @Operation(summary = "Rebuild report rollups",
+            description = "Rebuilds the daily rollups behind the task reports from the tasks, one day per checkpoint."
+                    + " Covers past days only; today is left to the live updates")
+    @ApiResponse(responseCode = "202", description = "Job accepted")
+    @ApiResponse(responseCode = "400", description = "Invalid input")
+    @ApiResponse(responseCode = "501", description = "Jobs are not supported by this store")
+    @ApiResponse(responseCode = "503", description = "Job queue is full")
+    public ResponseEntity<JobResponse> submitRollupBackfill(@Valid @RequestBody RollupBackfillJobRequest request) {
+        return accepted(jobService.submitRollupBackfill(request));
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get job status and progress")
+    @ApiResponse(responseCode = "200", description = "Job found")
+    @ApiResponse(responseCode = "404", description = "Job not found")
+    public ResponseEntity<JobResponse> getJob(@PathVariable Long id) {
+        return ResponseEntity.ok(jobService.getJob(id));
+    }
+
+    @PostMapping("/{id}/cancel")
+    @Operation(summary = "Cancel a job", description = "Running jobs stop at their next checkpoint")
+    @ApiResponse(responseCode = "200", description = "Cancellation accepted")
+    @ApiResponse(responseCode = "404", description = "Job not found")
+    @ApiResponse(responseCode = "409", description = "Job already finished")
+    public ResponseEntity<JobResponse> cancelJob(@PathVariable Long id) {
+        return ResponseEntity.ok(jobService.cancelJob(id));
+    }
+
+    @GetMapping("/{id}/result")
+    @Operation(summary = "Download an export result")
+    @ApiResponse(responseCode = "200", description = "Result file")
+    @ApiResponse(responseCode = "404", description = "Job not found")
+    @ApiResponse(responseCode = "409", description = "Not an export, or not finished")
+    public ResponseEntity<Resource> getResult(@PathVariable Long id) {
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .body(new FileSystemResource(jobService.getExportResult(id)));
+    }
+
+    private static ResponseEntity<JobResponse> accepted(JobResponse job) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/jobs/" + job.getId()))
+                .body(job);
+    }
+}
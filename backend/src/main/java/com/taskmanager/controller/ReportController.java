@@ -0,0 +1,42 @@
+package com.taskmanager.controller;
+
+import com.taskmanager.dto.TaskReportResponse;
+import com.taskmanager.service.TaskReportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/reports")
+@RequiredArgsConstructor
+@Tag(name = "Reports", description = "Task activity over time")
+public class ReportController {
+
+    private final TaskReportService taskReportService;
+
+    @GetMapping("/tasks")
+    @Operation(summary = "Tasks created and completed per day, week or month",
+            description = "Read from daily rollups kept up to date as tasks change, so the cost depends on the range"
+                    + " and the number of assignees, not on the number of tasks. A task counts as completed on the day"
+                    + " of its last update. Rebuild past days with a rollup backfill job.")
+    @ApiResponse(responseCode = "200", description = "Report")
+    @ApiResponse(responseCode = "400", description = "Invalid bucket or range")
+    public ResponseEntity<TaskReportResponse> getTaskReport(
+            @Parameter(description = "Bucket size: day, week (from Monday), month")
+            @RequestParam(defaultValue = "day") String bucket,
+            @Parameter(description = "First day, widened to the start of its bucket")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day (inclusive), widened to the end of its bucket")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Only tasks assigned to this assignee")
+            @RequestParam(required = false) String assignedTo) {
+        return ResponseEntity.ok(taskReportService.report(bucket, from, to, assignedTo));
+    }
+}
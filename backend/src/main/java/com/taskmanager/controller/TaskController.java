@@ -1,33 +1,68 @@
 package com.taskmanager.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.taskmanager.dto.*;
+import com.taskmanager.mapper.TaskJsonWriter;
+import com.taskmanager.service.TaskClaimService;
+import com.taskmanager.service.TaskHierarchyService;
+import com.taskmanager.service.TaskHistoryService;
+import com.taskmanager.service.TaskListQuery;
 import com.taskmanager.service.TaskService;
+import com.taskmanager.tracing.SerializationObservation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.annotation.Observed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.net.URI;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/tasks")
 @RequiredArgsConstructor
+@Observed(name = "taskmanager.controller")
 @Tag(name = "Tasks", description = "Task management operations")
 public class TaskController {
 
     private final TaskService taskService;
+    private final TaskHistoryService taskHistoryService;
+    private final TaskClaimService taskClaimService;
+    private final TaskHierarchyService taskHierarchyService;
+    private final ObjectMapper objectMapper;
+    private final ObservationRegistry observationRegistry;
 
+    /**
+     * Streams the page from the query result straight to the response through {@link TaskJsonWriter}
+     * rather than returning a {@link PagedResponse} for Jackson to serialize reflectively. The writing
+     * is observed by {@link SerializationObservation}, since it bypasses the message converters.
+     */
     @GetMapping
-    @Operation(summary = "List tasks", description = "Returns paginated, filterable, and sortable task list")
-    @ApiResponse(responseCode = "200", description = "Tasks retrieved successfully")
-    public ResponseEntity<PagedResponse<TaskResponse>> getAllTasks(
+    @Operation(summary = "List tasks", description = "Returns paginated, filterable, and sortable task list. "
+            + "A due date range reaching past the created occurrences of a recurring task also lists the later ones, "
+            + "without an id")
+    @ApiResponse(responseCode = "200", description = "Tasks retrieved successfully",
+            content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                    schema = @Schema(implementation = PagedResponse.class)))
+    @ApiResponse(responseCode = "400", description = "Unknown field requested")
+    @ApiResponse(responseCode = "503", description = "Tag filter cannot be served by this store right now")
+    public void getAllTasks(
             @Parameter(description = "Filter by completion status")
             @RequestParam(required = false) Boolean isCompleted,
             @Parameter(description = "Filter by due date from (inclusive)")
@@ -41,24 +76,142 @@ public class TaskController {
             @Parameter(description = "Page number (0-based)")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size (max 100)")
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Comma-separated fields to return, e.g. title,isCompleted,dueDate (default: all)")
+            @RequestParam(required = false) String fields,
+            @Parameter(description = "Comma-separated tags a task must all carry")
+            @RequestParam(required = false) List<String> tags,
+            @Parameter(description = "Comma-separated tags of which a task must carry at least one")
+            @RequestParam(required = false) List<String> anyTags,
+            @Parameter(hidden = true) HttpServletResponse response) throws IOException {
 
-        return ResponseEntity.ok(taskService.getAllTasks(
-                isCompleted, dueDateFrom, dueDateTo, sortBy, sortDirection, page, size));
+        TaskListQuery query = TaskListQuery.of(isCompleted, dueDateFrom, dueDateTo, sortBy, sortDirection, page, size)
+                .withTags(tags, anyTags);
+        Set<TaskField> selected = TaskField.parse(fields);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream());
+        TaskJsonWriter writer = new TaskJsonWriter(generator, selected);
+        SerializationObservation serialization = new SerializationObservation(writer, observationRegistry);
+        RuntimeException failure = null;
+        try {
+            writer.writeStart();
+            long total = taskService.streamAllTasks(query, selected, serialization);
+            serialization.startIfIdle();
+            writer.writeEnd(total, query.toPageable());
+        } catch (RuntimeException e) {
+            failure = e;
+            // Drop the partial page so the error handler can write its response, unless it already went out.
+            if (!response.isCommitted()) {
+                response.resetBuffer();
+            }
+            throw e;
+        } finally {
+            serialization.stop(failure);
+        }
+        generator.close();
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get task by ID")
     @ApiResponse(responseCode = "200", description = "Task found")
+    @ApiResponse(responseCode = "400", description = "Unknown field requested")
     @ApiResponse(responseCode = "404", description = "Task not found")
-    public ResponseEntity<TaskResponse> getTaskById(@PathVariable Long id) {
-        return ResponseEntity.ok(taskService.getTaskById(id));
+    public ResponseEntity<TaskResponse> getTaskById(
+            @PathVariable Long id,
+            @Parameter(description = "Comma-separated fields to return (default: all)")
+            @RequestParam(required = false) String fields) {
+        return ResponseEntity.ok(taskService.getTaskById(id, TaskField.parse(fields)));
+    }
+
+    @GetMapping("/{id}/history")
+    @Operation(summary = "Get task revision history",
+            description = "Revisions newest first; pass nextBefore as before to get the next page")
+    @ApiResponse(responseCode = "200", description = "History retrieved")
+    @ApiResponse(responseCode = "404", description = "Task not found")
+    public ResponseEntity<TaskHistoryResponse> getTaskHistory(
+            @PathVariable Long id,
+            @Parameter(description = "Only revisions older than this revision number")
+            @RequestParam(required = false) Integer before,
+            @Parameter(description = "Page size (max 100)")
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(taskHistoryService.getHistory(id, before, size));
+    }
+
+    @GetMapping("/{id}/history/at")
+    @Operation(summary = "Get a task as it was at a point in time")
+    @ApiResponse(responseCode = "200", description = "Task state rebuilt")
+    @ApiResponse(responseCode = "404", description = "Task did not exist at that time")
+    public ResponseEntity<TaskResponse> getTaskAt(
+            @PathVariable Long id,
+            @Parameter(description = "Point in time")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime time) {
+        return ResponseEntity.ok(taskHistoryService.getStateAt(id, time));
+    }
+
+    @GetMapping("/{id}/subtree")
+    @Operation(summary = "List the subtasks of a task at any depth",
+            description = "Paginated, filterable and sortable like the task list; the task itself is not included")
+    @ApiResponse(responseCode = "200", description = "Subtasks retrieved")
+    @ApiResponse(responseCode = "404", description = "Task not found")
+    @ApiResponse(responseCode = "501", description = "Subtasks are not supported by this store")
+    public ResponseEntity<PagedResponse<TaskResponse>> getSubtree(
+            @PathVariable Long id,
+            @Parameter(description = "Filter by completion status")
+            @RequestParam(required = false) Boolean isCompleted,
+            @Parameter(description = "Filter by due date from (inclusive)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueDateFrom,
+            @Parameter(description = "Filter by due date to (inclusive)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueDateTo,
+            @Parameter(description = "Sort field: title, dueDate, createdAt")
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @Parameter(description = "Sort direction: asc, desc")
+            @RequestParam(defaultValue = "asc") String sortDirection,
+            @Parameter(description = "Page number (0-based)")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size (max 100)")
+            @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = "Comma-separated tags a task must all carry")
+            @RequestParam(required = false) List<String> tags,
+            @Parameter(description = "Comma-separated tags of which a task must carry at least one")
+            @RequestParam(required = false) List<String> anyTags) {
+        TaskListQuery query = TaskListQuery.of(isCompleted, dueDateFrom, dueDateTo, sortBy, sortDirection, page, size)
+                .withTags(tags, anyTags);
+        return ResponseEntity.ok(taskHierarchyService.getSubtree(id, query));
+    }
+
+    @GetMapping("/{id}/progress")
+    @Operation(summary = "Get the rolled-up completion of a task's subtasks")
+    @ApiResponse(responseCode = "200", description = "Progress computed")
+    @ApiResponse(responseCode = "404", description = "Task not found")
+    @ApiResponse(responseCode = "501", description = "Subtasks are not supported by this store")
+    public ResponseEntity<TaskProgressResponse> getProgress(@PathVariable Long id) {
+        return ResponseEntity.ok(taskHierarchyService.getProgress(id));
+    }
+
+    @PostMapping("/lookup")
+    @Operation(summary = "Get several tasks by ID",
+            description = "Returns the found tasks in request order and lists the ids that do not exist")
+    @ApiResponse(responseCode = "200", description = "Lookup completed")
+    @ApiResponse(responseCode = "400", description = "Invalid input")
+    public ResponseEntity<TaskLookupResponse> lookupTasks(@Valid @RequestBody TaskLookupRequest request) {
+        return ResponseEntity.ok(taskService.lookupTasks(request.getIds()));
+    }
+
+    @PostMapping("/claim")
+    @Operation(summary = "Claim open tasks for a worker",
+            description = "Atomically assigns up to count open, unassigned tasks, earliest due date first, "
+                    + "for a lease; concurrent claimers never receive the same task")
+    @ApiResponse(responseCode = "200", description = "Claim completed; the task list is empty when none was free")
+    @ApiResponse(responseCode = "400", description = "Invalid input")
+    public ResponseEntity<TaskClaimResponse> claimTasks(@Valid @RequestBody TaskClaimRequest request) {
+        return ResponseEntity.ok(taskClaimService.claim(request));
     }
 
     @PostMapping
     @Operation(summary = "Create a new task")
     @ApiResponse(responseCode = "201", description = "Task created")
     @ApiResponse(responseCode = "400", description = "Invalid input")
+    @ApiResponse(responseCode = "501", description = "Recurring tasks are not supported by this store")
     public ResponseEntity<TaskResponse> createTask(@Valid @RequestBody TaskCreateRequest request) {
         TaskResponse created = taskService.createTask(request);
         URI location = URI.create("/api/tasks/" + created.getId());
@@ -76,6 +229,18 @@ public class TaskController {
         return ResponseEntity.ok(taskService.updateTask(id, request));
     }
 
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Partially update a task",
+            description = "JSON Merge Patch: absent members are left unchanged, null clears dueDate, assignedTo or description")
+    @ApiResponse(responseCode = "200", description = "Task updated, or unchanged if the patch was a no-op")
+    @ApiResponse(responseCode = "400", description = "Invalid patch")
+    @ApiResponse(responseCode = "404", description = "Task not found")
+    public ResponseEntity<TaskResponse> patchTask(
+            @PathVariable Long id,
+            @RequestBody Map<String, Object> patch) {
+        return ResponseEntity.ok(taskService.patchTask(id, TaskMergePatch.from(patch)));
+    }
+
     @PatchMapping("/{id}/toggle")
     @Operation(summary = "Toggle task completion status")
     @ApiResponse(responseCode = "200", description = "Task toggled")
@@ -84,8 +249,18 @@ public class TaskController {
         return ResponseEntity.ok(taskService.toggleTask(id));
     }
 
+    @PatchMapping("/{id}/subtree/toggle")
+    @Operation(summary = "Toggle a task and its whole subtree",
+            description = "Toggles the task and sets every task below it to the same completion status")
+    @ApiResponse(responseCode = "200", description = "Subtree toggled; returns its progress afterwards")
+    @ApiResponse(responseCode = "404", description = "Task not found")
+    @ApiResponse(responseCode = "501", description = "Subtasks are not supported by this store")
+    public ResponseEntity<TaskProgressResponse> toggleSubtree(@PathVariable Long id) {
+        return ResponseEntity.ok(taskHierarchyService.toggleSubtree(id));
+    }
+
     @DeleteMapping("/{id}")
-    @Operation(summary = "Delete a task")
+    @Operation(summary = "Delete a task", description = "Subtasks of the task move up to its parent")
     @ApiResponse(responseCode = "204", description = "Task deleted")
     @ApiResponse(responseCode = "404", description = "Task not found")
     @ResponseStatus(HttpStatus.NO_CONTENT)
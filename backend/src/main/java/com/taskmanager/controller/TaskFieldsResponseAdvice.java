@@ -0,0 +1,44 @@
+package com.taskmanager.controller;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.taskmanager.dto.TaskField;
+import com.taskmanager.dto.TaskResponse;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+import java.util.Set;
+
+/**
+ * Applies the {@code fields} request parameter to the JSON written by {@link TaskController}.
+ */
+@ControllerAdvice(assignableTypes = TaskController.class)
+public class TaskFieldsResponseAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    static final String FIELDS_PARAMETER = "fields";
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer,
+                                           MediaType contentType,
+                                           MethodParameter returnType,
+                                           ServerHttpRequest request,
+                                           ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)) {
+            return;
+        }
+        Set<TaskField> fields = TaskField.parse(servletRequest.getServletRequest().getParameter(FIELDS_PARAMETER));
+        if (fields == null) {
+            return;
+        }
+        bodyContainer.setFilters(new SimpleFilterProvider()
+                .setFailOnUnknownId(false)
+                .addFilter(TaskResponse.FIELD_FILTER,
+                        SimpleBeanPropertyFilter.filterOutAllExcept(TaskField.propertyNames(fields))));
+    }
+}
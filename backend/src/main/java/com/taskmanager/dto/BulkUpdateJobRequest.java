@@ -0,0 +1,36 @@
+package com.taskmanager.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Sets {@code isCompleted} and/or {@code assignedTo} on every task matching the filters.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkUpdateJobRequest {
+
+    private Boolean filterIsCompleted;
+    private LocalDateTime filterDueDateFrom;
+    private LocalDateTime filterDueDateTo;
+
+    private Boolean isCompleted;
+
+    @Size(max = 100, message = "Assigned to must not exceed 100 characters")
+    private String assignedTo;
+
+    @JsonIgnore
+    @AssertTrue(message = "At least one of isCompleted or assignedTo must be set")
+    public boolean isChangeRequested() {
+        return isCompleted != null || assignedTo != null;
+    }
+}
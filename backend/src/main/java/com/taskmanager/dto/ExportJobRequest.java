@@ -0,0 +1,22 @@
+package com.taskmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Exports every task matching the filters, as newline-delimited JSON.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExportJobRequest {
+
+    private Boolean isCompleted;
+    private LocalDateTime dueDateFrom;
+    private LocalDateTime dueDateTo;
+}
@@ -0,0 +1,25 @@
+package com.taskmanager.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobRequest {
+
+    public static final int MAX_TASKS = 10_000;
+
+    @NotEmpty(message = "At least one task is required")
+    @Size(max = MAX_TASKS, message = "At most 10000 tasks can be imported per job")
+    private List<@NotNull(message = "Tasks must not be null") @Valid TaskCreateRequest> tasks;
+}
@@ -0,0 +1,56 @@
+package com.taskmanager.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.taskmanager.entity.Job;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class JobResponse {
+
+    private Long id;
+    private Job.Type type;
+    private Job.Status status;
+    private Long totalItems;
+    private Long processedItems;
+
+    /**
+     * Percentage of items processed, when the total is known.
+     */
+    private Integer progress;
+
+    private Boolean cancelRequested;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    public static JobResponse of(Job job) {
+        Integer progress = null;
+        if (job.getTotalItems() != null) {
+            progress = job.getTotalItems() == 0 ? 100
+                    : (int) Math.min(100, job.getProcessedItems() * 100 / job.getTotalItems());
+        }
+        return JobResponse.builder()
+                .id(job.getId())
+                .type(job.getType())
+                .status(job.getStatus())
+                .totalItems(job.getTotalItems())
+                .processedItems(job.getProcessedItems())
+                .progress(progress)
+                .cancelRequested(job.getCancelRequested())
+                .error(job.getError())
+                .createdAt(job.getCreatedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+}
@@ -0,0 +1,31 @@
+package com.taskmanager.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Rebuilds the daily rollups of the days from {@code from} to {@code to}, both inclusive. Without
+ * {@code from} it starts at the day the oldest task was created; {@code to} defaults to, and is
+ * capped at, yesterday.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RollupBackfillJobRequest {
+
+    private LocalDate from;
+    private LocalDate to;
+
+    @JsonIgnore
+    @AssertTrue(message = "From must not be after to")
+    public boolean isRangeValid() {
+        return from == null || to == null || !from.isAfter(to);
+    }
+}
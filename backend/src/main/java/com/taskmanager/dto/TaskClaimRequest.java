@@ -0,0 +1,36 @@
+package com.taskmanager.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskClaimRequest {
+
+    public static final int MAX_COUNT = 100;
+
+    @NotBlank(message = "Worker is required")
+    @Size(max = 100, message = "Worker must not exceed 100 characters")
+    private String worker;
+
+    /**
+     * Tasks to claim at once; defaults to one.
+     */
+    @Min(value = 1, message = "Count must be at least 1")
+    @Max(value = MAX_COUNT, message = "At most 100 tasks can be claimed at once")
+    private Integer count;
+
+    /**
+     * Lease length; defaults to {@code taskmanager.claims.default-lease}.
+     */
+    @Min(value = 1, message = "Lease must be at least 1 second")
+    private Long leaseSeconds;
+}
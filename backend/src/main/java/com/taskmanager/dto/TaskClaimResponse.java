@@ -0,0 +1,24 @@
+package com.taskmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class TaskClaimResponse {
+
+    private String worker;
+
+    /**
+     * When the claimed tasks return to the queue unless completed or reassigned.
+     */
+    private LocalDateTime leaseExpiresAt;
+
+    /**
+     * Claimed tasks, earliest due date first; empty when no open task was free.
+     */
+    private List<TaskResponse> tasks;
+}
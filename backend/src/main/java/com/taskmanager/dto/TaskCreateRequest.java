@@ -8,6 +8,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.Set;
 
 @Data
 @Builder
@@ -15,6 +16,8 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class TaskCreateRequest {
 
+    public static final int MAX_TAGS = 20;
+
     @NotBlank(message = "Title is required")
     @Size(max = 100, message = "Title must not exceed 100 characters")
     private String title;
@@ -25,4 +28,19 @@ public class TaskCreateRequest {
     private LocalDateTime dueDate;
 
     private String assignedTo;
+
+    /**
+     * Makes the new task a subtask of an existing one.
+     */
+    private Long parentId;
+
+    /**
+     * Makes the task recur, as an iCalendar RRULE such as {@code FREQ=WEEKLY;BYDAY=MO,TU,WE,TH,FR};
+     * the due date is the first occurrence and is then required.
+     */
+    @Size(max = 200, message = "Recurrence must not exceed 200 characters")
+    private String recurrence;
+
+    @Size(max = MAX_TAGS, message = "At most 20 tags are allowed")
+    private Set<@NotBlank(message = "Tags must not be blank") @Size(max = 50, message = "Tags must not exceed 50 characters") String> tags;
 }
@@ -0,0 +1,68 @@
+package com.taskmanager.dto;
+
+import com.taskmanager.exception.InvalidFieldSelectionException;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Selectable fields of {@link TaskResponse} for sparse fieldsets ({@code ?fields=title,dueDate}).
+ * Names are the JSON property names, which are also the entity attribute names.
+ */
+public enum TaskField {
+
+    ID("id"),
+    TITLE("title"),
+    DESCRIPTION("description"),
+    IS_COMPLETED("isCompleted"),
+    DUE_DATE("dueDate"),
+    ASSIGNED_TO("assignedTo"),
+    PARENT_ID("parentId"),
+    CREATED_AT("createdAt"),
+    UPDATED_AT("updatedAt");
+
+    private final String propertyName;
+
+    TaskField(String propertyName) {
+        this.propertyName = propertyName;
+    }
+
+    public String getPropertyName() {
+        return propertyName;
+    }
+
+    /**
+     * Parses a comma-separated field list. The id is always included.
+     *
+     * @return the selected fields, or {@code null} when no selection was given (all fields)
+     * @throws InvalidFieldSelectionException if a name is not a task field
+     */
+    public static Set<TaskField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        EnumSet<TaskField> selected = EnumSet.of(ID);
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            selected.add(Arrays.stream(values())
+                    .filter(field -> field.propertyName.equals(trimmed))
+                    .findFirst()
+                    .orElseThrow(() -> new InvalidFieldSelectionException(trimmed, allowedNames())));
+        }
+        return Collections.unmodifiableSet(selected);
+    }
+
+    public static Set<String> propertyNames(Set<TaskField> fields) {
+        return fields.stream().map(TaskField::getPropertyName).collect(Collectors.toSet());
+    }
+
+    private static String allowedNames() {
+        return Arrays.stream(values()).map(TaskField::getPropertyName).collect(Collectors.joining(", "));
+    }
+}
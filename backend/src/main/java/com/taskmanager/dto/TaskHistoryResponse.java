@@ -0,0 +1,21 @@
+package com.taskmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class TaskHistoryResponse {
+
+    /**
+     * Newest first.
+     */
+    private List<TaskRevisionResponse> revisions;
+
+    /**
+     * Value for {@code before} to fetch the next page, or {@code null} on the last page.
+     */
+    private Integer nextBefore;
+}
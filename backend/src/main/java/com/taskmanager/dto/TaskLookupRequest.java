@@ -0,0 +1,24 @@
+package com.taskmanager.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskLookupRequest {
+
+    public static final int MAX_IDS = 100;
+
+    @NotEmpty(message = "At least one id is required")
+    @Size(max = MAX_IDS, message = "At most 100 ids can be looked up at once")
+    private List<@NotNull(message = "Ids must not be null") Long> ids;
+}
@@ -0,0 +1,18 @@
+package com.taskmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class TaskLookupResponse {
+
+    /**
+     * Found tasks, in the order their ids were first requested.
+     */
+    private List<TaskResponse> tasks;
+
+    private List<Long> missingIds;
+}
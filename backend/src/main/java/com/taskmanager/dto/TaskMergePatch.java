@@ -0,0 +1,171 @@
+package com.taskmanager.dto;
+
+import com.taskmanager.exception.InvalidPatchException;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A JSON Merge Patch (RFC 7386) for a task: a member that is absent leaves the field unchanged,
+ * an explicit {@code null} clears it, any other value replaces it.
+ */
+@Getter
+public class TaskMergePatch {
+
+    private static final Set<TaskField> PATCHABLE = EnumSet.of(
+            TaskField.TITLE, TaskField.DESCRIPTION, TaskField.IS_COMPLETED, TaskField.DUE_DATE, TaskField.ASSIGNED_TO,
+            TaskField.PARENT_ID);
+
+    private static final String TAGS = "tags";
+    private static final String RECURRENCE = "recurrence";
+
+    private final Set<TaskField> present = EnumSet.noneOf(TaskField.class);
+    private String title;
+    private String description;
+    private Boolean isCompleted;
+    private LocalDateTime dueDate;
+    private String assignedTo;
+    private Long parentId;
+    private boolean tagsPresent;
+    private Set<String> tags;
+    private boolean recurrencePresent;
+    private String recurrence;
+
+    public boolean has(TaskField field) {
+        return present.contains(field);
+    }
+
+    /**
+     * Whether the patch replaces the tags; {@link #getTags()} is then the new set, empty for {@code null}.
+     */
+    public boolean hasTags() {
+        return tagsPresent;
+    }
+
+    /**
+     * Whether the patch sets the recurrence rule; {@link #getRecurrence()} is then the new rule, or
+     * {@code null} to end the series.
+     */
+    public boolean hasRecurrence() {
+        return recurrencePresent;
+    }
+
+    public boolean isEmpty() {
+        return present.isEmpty() && !tagsPresent && !recurrencePresent;
+    }
+
+    /**
+     * Validates a parsed merge patch document.
+     *
+     * @throws InvalidPatchException if a member is unknown, read-only, of the wrong type or out of bounds
+     */
+    public static TaskMergePatch from(Map<String, Object> document) {
+        TaskMergePatch patch = new TaskMergePatch();
+        for (Map.Entry<String, Object> member : document.entrySet()) {
+            if (TAGS.equals(member.getKey())) {
+                patch.tags = tags(member.getValue());
+                patch.tagsPresent = true;
+                continue;
+            }
+            if (RECURRENCE.equals(member.getKey())) {
+                if (member.getValue() != null && !(member.getValue() instanceof String)) {
+                    throw new InvalidPatchException(RECURRENCE, "Must be a string");
+                }
+                patch.recurrence = (String) member.getValue();
+                patch.recurrencePresent = true;
+                continue;
+            }
+            TaskField field = PATCHABLE.stream()
+                    .filter(candidate -> candidate.getPropertyName().equals(member.getKey()))
+                    .findFirst()
+                    .orElseThrow(() -> new InvalidPatchException(member.getKey(), "Field cannot be patched"));
+            Object value = member.getValue();
+            switch (field) {
+                case TITLE -> {
+                    String title = string(field, value, 100);
+                    if (title == null || title.isBlank()) {
+                        throw new InvalidPatchException(field.getPropertyName(), "Title is required");
+                    }
+                    patch.title = title;
+                }
+                case DESCRIPTION -> patch.description = string(field, value, 500);
+                case IS_COMPLETED -> {
+                    if (!(value instanceof Boolean completed)) {
+                        throw new InvalidPatchException(field.getPropertyName(), "Must be true or false");
+                    }
+                    patch.isCompleted = completed;
+                }
+                case DUE_DATE -> patch.dueDate = dateTime(field, value);
+                case ASSIGNED_TO -> patch.assignedTo = string(field, value, 100);
+                case PARENT_ID -> patch.parentId = id(field, value);
+                default -> throw new InvalidPatchException(field.getPropertyName(), "Field cannot be patched");
+            }
+            patch.present.add(field);
+        }
+        return patch;
+    }
+
+    private static String string(TaskField field, Object value, int maxLength) {
+        if (value == null) {
+            return null;
+        }
+        if (!(value instanceof String text)) {
+            throw new InvalidPatchException(field.getPropertyName(), "Must be a string");
+        }
+        if (text.length() > maxLength) {
+            throw new InvalidPatchException(field.getPropertyName(),
+                    "Must not exceed " + maxLength + " characters");
+        }
+        return text;
+    }
+
+    private static Long id(TaskField field, Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (!(value instanceof Integer || value instanceof Long)) {
+            throw new InvalidPatchException(field.getPropertyName(), "Must be a task id");
+        }
+        return ((Number) value).longValue();
+    }
+
+    private static Set<String> tags(Object value) {
+        if (value == null) {
+            return Set.of();
+        }
+        if (!(value instanceof List<?> items)) {
+            throw new InvalidPatchException(TAGS, "Must be an array of strings");
+        }
+        if (items.size() > TaskUpdateRequest.MAX_TAGS) {
+            throw new InvalidPatchException(TAGS, "At most " + TaskUpdateRequest.MAX_TAGS + " tags are allowed");
+        }
+        Set<String> tags = new LinkedHashSet<>();
+        for (Object item : items) {
+            if (!(item instanceof String tag) || tag.isBlank()) {
+                throw new InvalidPatchException(TAGS, "Tags must be non-blank strings");
+            }
+            if (tag.length() > 50) {
+                throw new InvalidPatchException(TAGS, "Tags must not exceed 50 characters");
+            }
+            tags.add(tag);
+        }
+        return tags;
+    }
+
+    private static LocalDateTime dateTime(TaskField field, Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(value.toString());
+        } catch (DateTimeParseException e) {
+            throw new InvalidPatchException(field.getPropertyName(), "Must be an ISO-8601 date-time");
+        }
+    }
+}
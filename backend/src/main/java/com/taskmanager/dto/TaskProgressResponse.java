@@ -0,0 +1,33 @@
+package com.taskmanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskProgressResponse {
+
+    private Long taskId;
+
+    /**
+     * Tasks below this one at any depth.
+     */
+    private long subtasks;
+
+    private long completedSubtasks;
+
+    /**
+     * Share of the subtasks that are completed, 0 to 100; for a task without subtasks, 0 or 100
+     * by its own state.
+     */
+    private double percentComplete;
+
+    public static TaskProgressResponse of(long taskId, long subtasks, long completedSubtasks, boolean completed) {
+        double percent = subtasks == 0
+                ? (completed ? 100 : 0)
+                : Math.round(completedSubtasks * 10_000.0 / subtasks) / 100.0;
+        return new TaskProgressResponse(taskId, subtasks, completedSubtasks, percent);
+    }
+}
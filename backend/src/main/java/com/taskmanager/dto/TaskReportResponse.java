@@ -0,0 +1,51 @@
+package com.taskmanager.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Tasks created and completed per bucket, over a range widened to whole buckets. Every bucket in
+ * the range is listed, with zeros where nothing happened.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskReportResponse {
+
+    private String bucket;
+    private LocalDate from;
+    private LocalDate to;
+    private List<Bucket> buckets;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Bucket {
+
+        private LocalDate start;
+        private long created;
+        private long completed;
+
+        /**
+         * The same counts per assignee, for assignees with any; {@code assignedTo} is absent for
+         * unassigned tasks.
+         */
+        private List<AssigneeCounts> assignees;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class AssigneeCounts {
+
+        private String assignedTo;
+        private long created;
+        private long completed;
+    }
+}
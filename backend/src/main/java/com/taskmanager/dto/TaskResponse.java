@@ -1,24 +1,50 @@
 package com.taskmanager.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonFilter(TaskResponse.FIELD_FILTER)
 public class TaskResponse {
 
+    /**
+     * Jackson filter that trims the response to a sparse fieldset; without a selection every field is written.
+     */
+    public static final String FIELD_FILTER = "taskFields";
+
     private Long id;
     private String title;
     private String description;
     private Boolean isCompleted;
     private LocalDateTime dueDate;
     private String assignedTo;
+    private Long parentId;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+
+    /**
+     * Sorted tags. Not part of sparse fieldsets, so written only when all fields are requested.
+     */
+    private List<String> tags;
+
+    /**
+     * Recurrence rule of a recurring task. Like the tags, written only when all fields are requested.
+     */
+    private String recurrence;
+
+    /**
+     * The recurring task this one is an occurrence of. An occurrence beyond the materialization
+     * horizon is listed with this set and no {@code id}: it does not exist as a task yet. Like the
+     * tags, written only when all fields are requested.
+     */
+    private Long seriesId;
 }
@@ -0,0 +1,33 @@
+package com.taskmanager.dto;
+
+import com.taskmanager.entity.TaskRevision;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskRevisionResponse {
+
+    private Integer revision;
+    private TaskRevision.Kind kind;
+
+    /**
+     * Whether {@code changes} is the full state rather than only the changed fields.
+     */
+    private Boolean snapshot;
+
+    private LocalDateTime changedAt;
+    private String changedBy;
+
+    /**
+     * New values by task property name.
+     */
+    private Map<String, Object> changes;
+}
@@ -1,5 +1,6 @@
 package com.taskmanager.dto;
 
+import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -7,6 +8,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.Set;
 
 @Data
 @Builder
@@ -14,6 +16,8 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class TaskUpdateRequest {
 
+    public static final int MAX_TAGS = 20;
+
     @Size(max = 100, message = "Title must not exceed 100 characters")
     private String title;
 
@@ -25,4 +29,23 @@ public class TaskUpdateRequest {
     private LocalDateTime dueDate;
 
     private String assignedTo;
+
+    /**
+     * Moves the task, with its subtasks, under another task when present. Detaching it to the top
+     * level takes a merge patch with {@code "parentId": null}.
+     */
+    private Long parentId;
+
+    /**
+     * Sets the recurrence rule when present. Ending a series takes a merge patch with
+     * {@code "recurrence": null}.
+     */
+    @Size(max = 200, message = "Recurrence must not exceed 200 characters")
+    private String recurrence;
+
+    /**
+     * Replaces the task's tags when present; case and surrounding whitespace are ignored.
+     */
+    @Size(max = MAX_TAGS, message = "At most 20 tags are allowed")
+    private Set<@NotBlank(message = "Tags must not be blank") @Size(max = 50, message = "Tags must not exceed 50 characters") String> tags;
 }
@@ -0,0 +1,152 @@
+package com.taskmanager.embedded;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One change to the embedded store, and the binary encoding of changes and tasks shared by the
+ * write-ahead log and snapshots. The changes of one store operation form one log record, so
+ * recovery applies all of them or none.
+ *
+ * @param task the new state for {@link Op#PUT}, otherwise {@code null}
+ */
+record Change(Op op, long id, StoredTask task) {
+
+    enum Op {
+        PUT, DELETE, CLEAR
+    }
+
+    static Change put(StoredTask task) {
+        return new Change(Op.PUT, task.id(), task);
+    }
+
+    static Change delete(long id) {
+        return new Change(Op.DELETE, id, null);
+    }
+
+    static Change clear() {
+        return new Change(Op.CLEAR, 0, null);
+    }
+
+    static byte[] encode(List<Change> changes) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128 * changes.size());
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(changes.size());
+            for (Change change : changes) {
+                out.writeByte(change.op().ordinal());
+                switch (change.op()) {
+                    case PUT -> writeTask(out, change.task());
+                    case DELETE -> out.writeLong(change.id());
+                    case CLEAR -> {
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static List<Change> decode(byte[] record) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+        int count = in.readInt();
+        List<Change> changes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Op op = Op.values()[in.readByte()];
+            changes.add(switch (op) {
+                case PUT -> put(readTask(in));
+                case DELETE -> delete(in.readLong());
+                case CLEAR -> clear();
+            });
+        }
+        return changes;
+    }
+
+    static void writeTask(DataOutput out, StoredTask task) throws IOException {
+        out.writeLong(task.id());
+        writeString(out, task.title());
+        writeString(out, task.description());
+        out.writeBoolean(task.completed());
+        writeTime(out, task.dueDate());
+        writeString(out, task.assignedTo());
+        writeTime(out, task.leaseExpiresAt());
+        out.writeBoolean(task.parentId() != null);
+        if (task.parentId() != null) {
+            out.writeLong(task.parentId());
+        }
+        out.writeInt(task.tags().size());
+        for (String tag : task.tags()) {
+            writeString(out, tag);
+        }
+        writeTime(out, task.createdAt());
+        writeTime(out, task.updatedAt());
+    }
+
+    static StoredTask readTask(DataInput in) throws IOException {
+        long id = in.readLong();
+        String title = readString(in);
+        String description = readString(in);
+        boolean completed = in.readBoolean();
+        LocalDateTime dueDate = readTime(in);
+        String assignedTo = readString(in);
+        LocalDateTime leaseExpiresAt = readTime(in);
+        Long parentId = in.readBoolean() ? in.readLong() : null;
+        int tagCount = in.readInt();
+        List<String> tags = new ArrayList<>(tagCount);
+        for (int i = 0; i < tagCount; i++) {
+            tags.add(readString(in));
+        }
+        LocalDateTime createdAt = readTime(in);
+        LocalDateTime updatedAt = readTime(in);
+        // Versions are not logged: no copy read before a restart can be saved after it.
+        return new StoredTask(id, title, description, completed, dueDate, assignedTo, leaseExpiresAt, parentId,
+                List.copyOf(tags), createdAt, updatedAt, 0);
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeTime(DataOutput out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(value.getNano());
+        }
+    }
+
+    private static LocalDateTime readTime(DataInput in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        long seconds = in.readLong();
+        return LocalDateTime.ofEpochSecond(seconds, in.readInt(), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,735 @@
+package com.taskmanager.embedded;
+
+import com.taskmanager.config.EmbeddedStoreProperties;
+import com.taskmanager.dto.TaskField;
+import com.taskmanager.dto.TaskProgressResponse;
+import com.taskmanager.dto.TaskResponse;
+import com.taskmanager.entity.Task;
+import com.taskmanager.exception.RecurrenceUnsupportedException;
+import com.taskmanager.exception.TaskNotFoundException;
+import com.taskmanager.exception.TaskVersionConflictException;
+import com.taskmanager.readmodel.TaskColumnRow;
+import com.taskmanager.service.TaskListQuery;
+import com.taskmanager.store.MaterializedSeries;
+import com.taskmanager.store.PurgeCursor;
+import com.taskmanager.store.PurgedTasks;
+import com.taskmanager.store.TaskStore;
+import com.taskmanager.tag.TagMatch;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ObjLongConsumer;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Single-node store that keeps every task in memory and makes changes durable through a
+ * {@link WriteAheadLog}, for deployments without a database server.
+ * <p>
+ * Tasks are held by id and in one concurrent skip list per sort field, ordered as
+ * {@code TaskQueryPlans} orders lists: NULLs last ascending and first descending, ties by id. An
+ * unfiltered page walks its sort index for {@code offset + size} entries, and a due date range on
+ * the due date sort walks only that range; any other filter walks the whole sort index.
+ * <p>
+ * Changes are serialized by one lock: each operation applies its changes in memory and queues them
+ * as one log record in the same order, then waits outside the lock for the group commit that makes
+ * them durable. Reads take no lock and see each task as of one change, but may see a change before
+ * its writer returns. The log fails for good on an I/O error, so the changes it did not make durable
+ * are always the newest ones: the first writer to see the failure undoes them all in memory, newest
+ * first, and the store keeps exactly what the log holds. Once the log has grown by
+ * {@code compactAfter}, a snapshot of the whole store replaces it. Recovery at startup loads the
+ * newest snapshot and replays the log written after it.
+ * <p>
+ * Like the sharded store, this store does not join the caller's transaction: a change is kept even
+ * if the transaction around it rolls back. Subtasks are tracked from {@code parentId} alone, so
+ * {@link #attach} and {@link #move} have nothing to do. Recurring tasks are not supported: the log
+ * format has no room for their rule.
+ */
+@Slf4j
+public class EmbeddedTaskStore implements TaskStore, AutoCloseable {
+
+    private final Path directory;
+    private final Clock clock;
+    private final long compactAfterBytes;
+    private final WriteAheadLog wal;
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ConcurrentHashMap<Long, StoredTask> tasks = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<StoredTask> byTitle = new ConcurrentSkipListSet<>(StoredTask.BY_TITLE);
+    private final ConcurrentSkipListSet<StoredTask> byDueDate = new ConcurrentSkipListSet<>(StoredTask.BY_DUE_DATE);
+    private final ConcurrentSkipListSet<StoredTask> byCreatedAt = new ConcurrentSkipListSet<>(StoredTask.BY_CREATED_AT);
+    private final ConcurrentSkipListSet<StoredTask> completedByUpdatedAt = new ConcurrentSkipListSet<>(StoredTask.BY_UPDATED_AT);
+    private final ConcurrentHashMap<Long, Set<Long>> children = new ConcurrentHashMap<>();
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "embedded-compactor");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean compactionQueued = new AtomicBoolean();
+    /**
+     * Writes applied in memory whose log record is not known to be durable yet, oldest first;
+     * guarded by the write lock.
+     */
+    private final Deque<PendingWrite> undecided = new ArrayDeque<>();
+    private long nextId = 1;
+
+    /**
+     * Recovers the store from its directory, creating the directory if needed, and opens the log for writing.
+     */
+    public EmbeddedTaskStore(EmbeddedStoreProperties properties, Clock clock, MeterRegistry registry) throws IOException {
+        this.directory = Path.of(properties.getDirectory());
+        this.clock = clock;
+        this.compactAfterBytes = properties.getCompactAfter().toBytes();
+        Files.createDirectories(directory);
+        long fromSegment = 0;
+        Optional<Snapshots.Loaded> snapshot = Snapshots.loadLatest(directory);
+        if (snapshot.isPresent()) {
+            snapshot.get().tasks().forEach(task -> apply(Change.put(task)));
+            nextId = Math.max(nextId, snapshot.get().nextId());
+            fromSegment = snapshot.get().sequence();
+        }
+        long replayed = WriteAheadLog.replay(directory, fromSegment, record -> {
+            try {
+                Change.decode(record).forEach(this::apply);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unreadable log record in " + directory, e);
+            }
+        });
+        Snapshots.deleteBefore(directory, fromSegment);
+        this.wal = new WriteAheadLog(directory, properties.getSegmentSize().toBytes(), properties.isSync(),
+                properties.getMaxBatch(), registry);
+        log.info("Recovered {} tasks from {} ({} log records replayed)", tasks.size(), directory, replayed);
+    }
+
+    @Override
+    public Optional<Task> findById(Long id) {
+        return Optional.ofNullable(id == null ? null : tasks.get(id)).map(StoredTask::toTask);
+    }
+
+    @Override
+    public List<Task> findAllById(Collection<Long> ids) {
+        return new LinkedHashSet<>(ids).stream()
+                .map(tasks::get)
+                .filter(Objects::nonNull)
+                .map(StoredTask::toTask)
+                .toList();
+    }
+
+    /**
+     * Sets {@code createdAt} and {@code updatedAt} as JPA auditing does, and a new id on insert. An
+     * update replaces the whole record, so it is refused unless the task still exists and, for a copy
+     * read from this store, is still at the version that copy was read at.
+     */
+    @Override
+    public Task save(Task task) {
+        if (task.getRecurrence() != null) {
+            throw new RecurrenceUnsupportedException();
+        }
+        return write(changes -> {
+            LocalDateTime now = LocalDateTime.now(clock);
+            StoredTask current = null;
+            if (task.getId() != null) {
+                current = tasks.get(task.getId());
+                if (current == null) {
+                    throw new TaskNotFoundException(task.getId());
+                }
+                if (task.getVersion() != null && task.getVersion() != current.version()) {
+                    throw new TaskVersionConflictException(task.getId());
+                }
+            }
+            long id = current != null ? current.id() : nextId;
+            LocalDateTime createdAt = current != null ? current.createdAt() : now;
+            long version = current != null ? current.version() + 1 : 0;
+            task.setId(id);
+            task.setCreatedAt(createdAt);
+            task.setUpdatedAt(now);
+            task.setVersion(version);
+            changes.add(Change.put(StoredTask.of(task, id, createdAt, now, version)));
+            return task;
+        });
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return id != null && tasks.containsKey(id);
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        write(changes -> {
+            if (existsById(id)) {
+                changes.add(Change.delete(id));
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public void deleteAll() {
+        write(changes -> {
+            changes.add(Change.clear());
+            return null;
+        });
+    }
+
+    /**
+     * Sparse fieldsets read full tasks; the response filter drops the unselected fields.
+     */
+    @Override
+    public Page<TaskResponse> findPage(TaskListQuery query, Set<TaskField> fields) {
+        Pageable pageable = query.toPageable();
+        NavigableSet<StoredTask> index = switch (query.getSortBy()) {
+            case "title" -> byTitle;
+            case "dueDate" -> query.getDueDateFrom() != null || query.getDueDateTo() != null
+                    ? dueDateRange(query.getDueDateFrom(), query.getDueDateTo())
+                    : byDueDate;
+            default -> byCreatedAt;
+        };
+        if (!query.getDirection().isAscending()) {
+            index = index.descendingSet();
+        }
+        Predicate<StoredTask> filter = filter(query);
+        boolean unfiltered = !query.hasFilters();
+        List<TaskResponse> content = new ArrayList<>(pageable.getPageSize());
+        long total = 0;
+        for (StoredTask task : index) {
+            if (!isCurrent(task) || !filter.test(task)) {
+                continue;
+            }
+            if (total >= pageable.getOffset()) {
+                if (content.size() == pageable.getPageSize()) {
+                    if (unfiltered) {
+                        total = tasks.size();
+                        break;
+                    }
+                } else {
+                    content.add(toResponse(task));
+                }
+            }
+            total++;
+        }
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    @Override
+    public Optional<TaskResponse> findById(Long id, Set<TaskField> fields) {
+        return Optional.ofNullable(id == null ? null : tasks.get(id)).map(EmbeddedTaskStore::toResponse);
+    }
+
+    @Override
+    public List<Task> findOpenDueBetween(LocalDateTime from, LocalDateTime to, int limit) {
+        List<Task> due = new ArrayList<>();
+        for (StoredTask task : dueDateRange(from, to)) {
+            if (due.size() >= limit) {
+                break;
+            }
+            if (isCurrent(task) && task.isOpen()) {
+                due.add(task.toTask());
+            }
+        }
+        return due;
+    }
+
+    @Override
+    public void forEachTag(ObjLongConsumer<String> consumer) {
+        for (StoredTask task : tasks.values()) {
+            task.tags().forEach(tag -> consumer.accept(tag, task.id()));
+        }
+    }
+
+    @Override
+    public void forEachColumnRow(Consumer<TaskColumnRow> consumer) {
+        for (StoredTask task : tasks.values()) {
+            consumer.accept(new TaskColumnRow(task.id(), task.completed(), task.dueDate(), task.createdAt(), task.title()));
+        }
+    }
+
+    @Override
+    public List<Task> claim(String worker, int limit, LocalDateTime leaseUntil, LocalDateTime now) {
+        return write(changes -> {
+            List<Task> claimed = new ArrayList<>();
+            for (StoredTask task : byDueDate) {
+                if (claimed.size() >= limit) {
+                    break;
+                }
+                if (task.isOpen() && task.assignedTo() == null) {
+                    claimed.add(task.toTask());
+                    changes.add(Change.put(task.withAssignee(worker, leaseUntil, now)));
+                }
+            }
+            return claimed;
+        });
+    }
+
+    @Override
+    public List<Task> releaseExpiredLeases(LocalDateTime now, int limit) {
+        return write(changes -> {
+            List<StoredTask> expired = tasks.values().stream()
+                    .filter(task -> task.isOpen() && task.leaseExpiresAt() != null && task.leaseExpiresAt().isBefore(now))
+                    .sorted(Comparator.comparing(StoredTask::leaseExpiresAt).thenComparingLong(StoredTask::id))
+                    .limit(limit)
+                    .toList();
+            expired.forEach(task -> changes.add(Change.put(task.withAssignee(null, null, now))));
+            return expired.stream().map(StoredTask::toTask).toList();
+        });
+    }
+
+    /**
+     * A subtask of a purged task moves up to the nearest ancestor that stays.
+     */
+    @Override
+    public PurgedTasks purgeCompleted(LocalDateTime cutoff, PurgeCursor after, int limit, LocalDateTime now) {
+        return write(changes -> {
+            NavigableSet<StoredTask> candidates = after == null
+                    ? completedByUpdatedAt
+                    : completedByUpdatedAt.tailSet(StoredTask.updatedAtBound(after.getUpdatedAt(), after.getId()), false);
+            List<StoredTask> expired = new ArrayList<>();
+            for (StoredTask task : candidates) {
+                if (expired.size() >= limit || !task.updatedAt().isBefore(cutoff)) {
+                    break;
+                }
+                expired.add(task);
+            }
+            if (expired.isEmpty()) {
+                return PurgedTasks.none();
+            }
+            Set<Long> ids = expired.stream().map(StoredTask::id).collect(Collectors.toSet());
+            Map<Long, Task> promoted = new LinkedHashMap<>();
+            Map<Long, Long> newParents = new HashMap<>();
+            for (StoredTask task : expired) {
+                for (Long childId : childrenOf(task.id())) {
+                    if (ids.contains(childId)) {
+                        continue;
+                    }
+                    Long parentId = task.parentId();
+                    while (parentId != null && ids.contains(parentId)) {
+                        parentId = tasks.get(parentId).parentId();
+                    }
+                    StoredTask child = tasks.get(childId);
+                    promoted.put(childId, child.toTask());
+                    if (parentId != null) {
+                        newParents.put(childId, parentId);
+                    }
+                    changes.add(Change.put(child.withParent(parentId, now)));
+                }
+                changes.add(Change.delete(task.id()));
+            }
+            StoredTask last = expired.get(expired.size() - 1);
+            PurgeCursor next = expired.size() < limit ? null : new PurgeCursor(last.updatedAt(), last.id());
+            return new PurgedTasks(expired.stream().map(StoredTask::toTask).toList(), List.copyOf(promoted.values()),
+                    newParents, next);
+        });
+    }
+
+    @Override
+    public MaterializedSeries materializeSeries(LocalDateTime horizon, Long afterId, int limit,
+                                                Function<Task, List<Task>> occurrences) {
+        return MaterializedSeries.none();
+    }
+
+    @Override
+    public List<Task> findSeriesMaterializedBefore(LocalDateTime to, int limit) {
+        return List.of();
+    }
+
+    @Override
+    public void attach(long taskId, long parentId) {
+    }
+
+    @Override
+    public boolean isInSubtree(long rootId, long taskId) {
+        Long current = taskId;
+        while (current != null) {
+            if (current == rootId) {
+                return true;
+            }
+            StoredTask task = tasks.get(current);
+            current = task != null ? task.parentId() : null;
+        }
+        return false;
+    }
+
+    @Override
+    public void move(long taskId, Long parentId) {
+    }
+
+    @Override
+    public List<Task> detach(long taskId, LocalDateTime now) {
+        return write(changes -> {
+            StoredTask task = tasks.get(taskId);
+            if (task == null) {
+                return List.of();
+            }
+            List<Task> promoted = new ArrayList<>();
+            for (Long childId : childrenOf(taskId)) {
+                StoredTask child = tasks.get(childId);
+                promoted.add(child.toTask());
+                changes.add(Change.put(child.withParent(task.parentId(), now)));
+            }
+            return promoted;
+        });
+    }
+
+    @Override
+    public Page<TaskResponse> findSubtree(long rootId, TaskListQuery query) {
+        Pageable pageable = query.toPageable();
+        Comparator<StoredTask> order = switch (query.getSortBy()) {
+            case "title" -> StoredTask.BY_TITLE;
+            case "dueDate" -> StoredTask.BY_DUE_DATE;
+            default -> StoredTask.BY_CREATED_AT;
+        };
+        List<StoredTask> matching = descendants(rootId).stream()
+                .filter(filter(query))
+                .sorted(query.getDirection().isAscending() ? order : order.reversed())
+                .toList();
+        int from = (int) Math.min(pageable.getOffset(), matching.size());
+        int to = Math.min(from + pageable.getPageSize(), matching.size());
+        List<TaskResponse> content = matching.subList(from, to).stream().map(EmbeddedTaskStore::toResponse).toList();
+        return new PageImpl<>(content, pageable, matching.size());
+    }
+
+    @Override
+    public Optional<TaskProgressResponse> subtreeProgress(long rootId) {
+        StoredTask root = tasks.get(rootId);
+        if (root == null) {
+            return Optional.empty();
+        }
+        List<StoredTask> subtree = descendants(rootId);
+        long completed = subtree.stream().filter(StoredTask::completed).count();
+        return Optional.of(TaskProgressResponse.of(rootId, subtree.size(), completed, root.completed()));
+    }
+
+    @Override
+    public List<Task> setSubtreeCompleted(long rootId, boolean completed, LocalDateTime now) {
+        return write(changes -> {
+            StoredTask root = tasks.get(rootId);
+            if (root == null) {
+                return List.of();
+            }
+            List<StoredTask> subtree = new ArrayList<>(descendants(rootId));
+            subtree.add(0, root);
+            List<Task> changed = new ArrayList<>();
+            for (StoredTask task : subtree) {
+                if (task.completed() != completed) {
+                    changed.add(task.toTask());
+                    changes.add(Change.put(task.withCompleted(completed, now)));
+                }
+            }
+            return changed;
+        });
+    }
+
+    /**
+     * Writes a snapshot of the store and deletes the log segments and snapshots it replaces. Writers
+     * wait only while the tasks are copied.
+     */
+    public synchronized void compact() throws IOException {
+        CompletableFuture<Long> rolled;
+        List<StoredTask> state;
+        long snapshotNextId;
+        writeLock.lock();
+        try {
+            rolled = wal.roll();
+            state = List.copyOf(tasks.values());
+            snapshotNextId = nextId;
+        } finally {
+            writeLock.unlock();
+        }
+        long sequence = await(rolled);
+        Snapshots.write(directory, sequence, snapshotNextId, state);
+        Snapshots.deleteBefore(directory, sequence);
+        WriteAheadLog.deleteBefore(directory, sequence);
+    }
+
+    /**
+     * Compacts what was logged since the last snapshot, so the next start replays nothing, and
+     * closes the log.
+     */
+    @Override
+    public void close() throws IOException {
+        compactor.shutdown();
+        try {
+            compactor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            if (wal.bytesSinceRoll() > 0) {
+                compact();
+            }
+        } finally {
+            wal.close();
+        }
+    }
+
+    /**
+     * Runs {@code operation} under the write lock, applies the changes it collects and waits until
+     * they are durable; if they cannot be made durable, undoes them before failing.
+     */
+    private <T> T write(Function<List<Change>, T> operation) {
+        List<Change> changes = new ArrayList<>();
+        T result;
+        PendingWrite pending;
+        writeLock.lock();
+        try {
+            while (!undecided.isEmpty() && undecided.peekFirst().isDurable()) {
+                undecided.pollFirst();
+            }
+            result = operation.apply(changes);
+            if (changes.isEmpty()) {
+                return result;
+            }
+            CompletableFuture<Long> durable = wal.append(Change.encode(changes));
+            if (durable.isCompletedExceptionally()) {
+                await(durable);
+            }
+            List<Change> undo = new ArrayList<>();
+            changes.forEach(change -> undo.addAll(applyUndoable(change)));
+            pending = new PendingWrite(durable, undo);
+            undecided.addLast(pending);
+        } finally {
+            writeLock.unlock();
+        }
+        try {
+            await(pending.durable());
+        } catch (RuntimeException e) {
+            undoUndecided();
+            throw e;
+        }
+        if (wal.bytesSinceRoll() >= compactAfterBytes && compactionQueued.compareAndSet(false, true)) {
+            compactor.execute(this::compactInBackground);
+        }
+        return result;
+    }
+
+    /**
+     * Undoes every write not known to be durable, newest first. Called once a write failed: the log
+     * has failed for good then, so the writes still in flight after it fail too.
+     */
+    private void undoUndecided() {
+        writeLock.lock();
+        try {
+            while (!undecided.isEmpty() && !undecided.peekLast().isDurable()) {
+                List<Change> undo = undecided.pollLast().undo();
+                for (int i = undo.size() - 1; i >= 0; i--) {
+                    apply(undo.get(i));
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Applies {@code change} and returns the changes that restore the state before it, to be applied
+     * in reverse order.
+     */
+    private List<Change> applyUndoable(Change change) {
+        List<Change> undo = switch (change.op()) {
+            case PUT, DELETE -> {
+                long id = change.op() == Change.Op.PUT ? change.task().id() : change.id();
+                StoredTask previous = tasks.get(id);
+                yield List.of(previous != null ? Change.put(previous) : Change.delete(id));
+            }
+            case CLEAR -> tasks.values().stream().map(Change::put).toList();
+        };
+        apply(change);
+        return undo;
+    }
+
+    private void compactInBackground() {
+        try {
+            compact();
+        } catch (IOException | RuntimeException e) {
+            log.error("Embedded store compaction failed, the log keeps growing", e);
+        } finally {
+            compactionQueued.set(false);
+        }
+    }
+
+    /**
+     * Indexes a new version before publishing it and drops the old one after, so a concurrent
+     * reader finds at most one version of each task current.
+     */
+    private void apply(Change change) {
+        switch (change.op()) {
+            case PUT -> {
+                StoredTask task = change.task();
+                index(task);
+                StoredTask previous = tasks.put(task.id(), task);
+                if (previous != null) {
+                    unindex(previous);
+                }
+                nextId = Math.max(nextId, task.id() + 1);
+            }
+            case DELETE -> {
+                StoredTask previous = tasks.remove(change.id());
+                if (previous != null) {
+                    unindex(previous);
+                }
+            }
+            case CLEAR -> {
+                tasks.clear();
+                byTitle.clear();
+                byDueDate.clear();
+                byCreatedAt.clear();
+                completedByUpdatedAt.clear();
+                children.clear();
+            }
+        }
+    }
+
+    private void index(StoredTask task) {
+        byTitle.add(task);
+        byDueDate.add(task);
+        byCreatedAt.add(task);
+        if (task.completed()) {
+            completedByUpdatedAt.add(task);
+        }
+        if (task.parentId() != null) {
+            children.computeIfAbsent(task.parentId(), parent -> ConcurrentHashMap.newKeySet()).add(task.id());
+        }
+    }
+
+    private void unindex(StoredTask task) {
+        byTitle.remove(task);
+        byDueDate.remove(task);
+        byCreatedAt.remove(task);
+        completedByUpdatedAt.remove(task);
+        if (task.parentId() != null) {
+            StoredTask current = tasks.get(task.id());
+            if (current == null || !task.parentId().equals(current.parentId())) {
+                children.computeIfPresent(task.parentId(), (parent, ids) -> {
+                    ids.remove(task.id());
+                    return ids.isEmpty() ? null : ids;
+                });
+            }
+        }
+    }
+
+    /**
+     * Whether {@code task} is the version an index entry should stand for; a stale entry may still
+     * be in an index while its task is being replaced.
+     */
+    private boolean isCurrent(StoredTask task) {
+        return tasks.get(task.id()) == task;
+    }
+
+    private NavigableSet<StoredTask> dueDateRange(LocalDateTime from, LocalDateTime to) {
+        return byDueDate.subSet(
+                StoredTask.dueDateBound(from != null ? from : LocalDateTime.MIN, Long.MIN_VALUE), true,
+                StoredTask.dueDateBound(to != null ? to : LocalDateTime.MAX, Long.MAX_VALUE), true);
+    }
+
+    private List<Long> childrenOf(long taskId) {
+        return List.copyOf(children.getOrDefault(taskId, Set.of()));
+    }
+
+    private List<StoredTask> descendants(long rootId) {
+        List<StoredTask> found = new ArrayList<>();
+        Deque<Long> pending = new ArrayDeque<>(childrenOf(rootId));
+        while (!pending.isEmpty()) {
+            StoredTask task = tasks.get(pending.poll());
+            if (task != null) {
+                found.add(task);
+                pending.addAll(childrenOf(task.id()));
+            }
+        }
+        return found;
+    }
+
+    /**
+     * The filters of {@code query}; an unresolved tag filter is checked against each task's tags.
+     */
+    private static Predicate<StoredTask> filter(TaskListQuery query) {
+        Boolean completed = query.getIsCompleted();
+        LocalDateTime from = query.getDueDateFrom();
+        LocalDateTime to = query.getDueDateTo();
+        TagMatch tagMatch = query.getTagMatch();
+        return task -> {
+            if (completed != null && completed != task.completed()) {
+                return false;
+            }
+            if (from != null && (task.dueDate() == null || task.dueDate().isBefore(from))) {
+                return false;
+            }
+            if (to != null && (task.dueDate() == null || task.dueDate().isAfter(to))) {
+                return false;
+            }
+            if (tagMatch != null) {
+                return tagMatch.contains(task.id());
+            }
+            return task.tags().containsAll(query.getTags())
+                    && (query.getAnyTags().isEmpty() || task.tags().stream().anyMatch(query.getAnyTags()::contains));
+        };
+    }
+
+    private static TaskResponse toResponse(StoredTask task) {
+        return TaskResponse.builder()
+                .id(task.id())
+                .title(task.title())
+                .description(task.description())
+                .isCompleted(task.completed())
+                .dueDate(task.dueDate())
+                .assignedTo(task.assignedTo())
+                .parentId(task.parentId())
+                .createdAt(task.createdAt())
+                .updatedAt(task.updatedAt())
+                .tags(task.tags())
+                .build();
+    }
+
+    /**
+     * @param undo the changes that restore the state before the write, to be applied in reverse order
+     */
+    private record PendingWrite(CompletableFuture<Long> durable, List<Change> undo) {
+
+        boolean isDurable() {
+            return durable.isDone() && !durable.isCompletedExceptionally();
+        }
+    }
+
+    private static long await(CompletableFuture<Long> durable) {
+        try {
+            return durable.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.taskmanager.embedded;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Full copies of the embedded store in {@code snapshot-<sequence>.dat} files. A snapshot holds the
+ * effect of every log segment before {@code sequence}, so recovery loads it and replays the
+ * segments from {@code sequence} on. It is written to a temporary file, forced and renamed into
+ * place, and ends with a CRC32C of its contents; a snapshot that fails the check is skipped for the
+ * one before it.
+ */
+@Slf4j
+final class Snapshots {
+
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".dat";
+    private static final int MAGIC = 0x54534B53;
+    private static final int VERSION = 1;
+
+    private Snapshots() {
+    }
+
+    /**
+     * @param sequence the first log segment the snapshot does not cover
+     * @param nextId   the id the store assigns next
+     */
+    record Loaded(long sequence, long nextId, List<StoredTask> tasks) {
+    }
+
+    static void write(Path directory, long sequence, long nextId, Collection<StoredTask> tasks) throws IOException {
+        Path target = directory.resolve(name(sequence));
+        Path temporary = directory.resolve(name(sequence) + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            CheckedOutputStream checked = new CheckedOutputStream(
+                    new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16), new CRC32C());
+            DataOutputStream out = new DataOutputStream(checked);
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(sequence);
+            out.writeLong(nextId);
+            out.writeInt(tasks.size());
+            for (StoredTask task : tasks) {
+                Change.writeTask(out, task);
+            }
+            out.writeLong(checked.getChecksum().getValue());
+            out.flush();
+            channel.force(true);
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * The newest snapshot that passes its checksum, or empty if there is none at all.
+     *
+     * @throws IllegalStateException if there are snapshots but none is readable, since the log
+     *                               segments they covered are gone
+     */
+    static Optional<Loaded> loadLatest(Path directory) throws IOException {
+        List<Long> sequences = sequences(directory);
+        for (int i = sequences.size() - 1; i >= 0; i--) {
+            Path path = directory.resolve(name(sequences.get(i)));
+            try {
+                return Optional.of(read(path));
+            } catch (IOException | RuntimeException e) {
+                log.warn("Skipping unreadable snapshot {}", path, e);
+            }
+        }
+        if (!sequences.isEmpty()) {
+            throw new IllegalStateException("No readable snapshot in " + directory);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Deletes snapshots older than {@code sequence}, and temporary files a crash left behind.
+     */
+    static void deleteBefore(Path directory, long sequence) throws IOException {
+        for (long older : sequences(directory)) {
+            if (older < sequence) {
+                Files.deleteIfExists(directory.resolve(name(older)));
+            }
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(path -> path.getFileName().toString().endsWith(SUFFIX + ".tmp")).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    private static Loaded read(Path path) throws IOException {
+        try (CheckedInputStream checked = new CheckedInputStream(
+                new BufferedInputStream(Files.newInputStream(path), 1 << 16), new CRC32C())) {
+            DataInputStream in = new DataInputStream(checked);
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Not a task snapshot: " + path);
+            }
+            long sequence = in.readLong();
+            long nextId = in.readLong();
+            int count = in.readInt();
+            List<StoredTask> tasks = new ArrayList<>(Math.min(count, 1 << 16));
+            for (int i = 0; i < count; i++) {
+                tasks.add(Change.readTask(in));
+            }
+            long expected = checked.getChecksum().getValue();
+            if (in.readLong() != expected) {
+                throw new IOException("Snapshot checksum mismatch: " + path);
+            }
+            return new Loaded(sequence, nextId, tasks);
+        }
+    }
+
+    private static List<Long> sequences(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(PREFIX) && name.endsWith(SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static String name(long sequence) {
+        return String.format("%s%020d%s", PREFIX, sequence, SUFFIX);
+    }
+}
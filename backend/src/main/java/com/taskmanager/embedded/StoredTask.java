@@ -0,0 +1,105 @@
+package com.taskmanager.embedded;
+
+import com.taskmanager.entity.Task;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Immutable state of one task in the embedded store. Every change replaces the whole record, so
+ * readers never see a task half-updated, and indexes can hold records rather than copies of keys.
+ *
+ * @param tags    sorted, as JPA loads them
+ * @param version counts the changes to the task since the store opened, so that a save from a stale
+ *                copy can be refused; kept in memory only, as copies do not outlive the process
+ */
+record StoredTask(long id,
+                  String title,
+                  String description,
+                  boolean completed,
+                  LocalDateTime dueDate,
+                  String assignedTo,
+                  LocalDateTime leaseExpiresAt,
+                  Long parentId,
+                  List<String> tags,
+                  LocalDateTime createdAt,
+                  LocalDateTime updatedAt,
+                  long version) {
+
+    /**
+     * List order of the sort fields: NULLs last, ties broken by id.
+     */
+    static final Comparator<StoredTask> BY_TITLE = order(StoredTask::title);
+    static final Comparator<StoredTask> BY_DUE_DATE = order(StoredTask::dueDate);
+    static final Comparator<StoredTask> BY_CREATED_AT = order(StoredTask::createdAt);
+    static final Comparator<StoredTask> BY_UPDATED_AT = order(StoredTask::updatedAt);
+
+    static StoredTask of(Task task, long id, LocalDateTime createdAt, LocalDateTime updatedAt, long version) {
+        return new StoredTask(id, task.getTitle(), task.getDescription(), Boolean.TRUE.equals(task.getIsCompleted()),
+                task.getDueDate(), task.getAssignedTo(), task.getLeaseExpiresAt(), task.getParentId(),
+                task.getTags() == null ? List.of() : task.getTags().stream().sorted().toList(), createdAt, updatedAt,
+                version);
+    }
+
+    /**
+     * Search key for range scans of the due date index: with {@link Long#MIN_VALUE} it sorts before
+     * every task due at {@code dueDate}, with {@link Long#MAX_VALUE} after them.
+     */
+    static StoredTask dueDateBound(LocalDateTime dueDate, long id) {
+        return new StoredTask(id, null, null, false, dueDate, null, null, null, List.of(), null, null, 0);
+    }
+
+    /**
+     * Search key for the updated-at index, as {@link #dueDateBound}.
+     */
+    static StoredTask updatedAtBound(LocalDateTime updatedAt, long id) {
+        return new StoredTask(id, null, null, false, null, null, null, null, List.of(), null, updatedAt, 0);
+    }
+
+    /**
+     * A detached, mutable copy for callers of the store.
+     */
+    Task toTask() {
+        return Task.builder()
+                .id(id)
+                .title(title)
+                .description(description)
+                .isCompleted(completed)
+                .dueDate(dueDate)
+                .assignedTo(assignedTo)
+                .leaseExpiresAt(leaseExpiresAt)
+                .parentId(parentId)
+                .tags(new LinkedHashSet<>(tags))
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .version(version)
+                .build();
+    }
+
+    boolean isOpen() {
+        return !completed;
+    }
+
+    StoredTask withCompleted(boolean completed, LocalDateTime now) {
+        return new StoredTask(id, title, description, completed, dueDate, assignedTo, leaseExpiresAt, parentId, tags,
+                createdAt, now, version + 1);
+    }
+
+    StoredTask withAssignee(String assignedTo, LocalDateTime leaseExpiresAt, LocalDateTime now) {
+        return new StoredTask(id, title, description, completed, dueDate, assignedTo, leaseExpiresAt, parentId, tags,
+                createdAt, now, version + 1);
+    }
+
+    StoredTask withParent(Long parentId, LocalDateTime now) {
+        return new StoredTask(id, title, description, completed, dueDate, assignedTo, leaseExpiresAt, parentId, tags,
+                createdAt, now, version + 1);
+    }
+
+    private static <T extends Comparable<? super T>> Comparator<StoredTask> order(Function<StoredTask, T> field) {
+        return Comparator.comparing(field, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparingLong(StoredTask::id);
+    }
+}
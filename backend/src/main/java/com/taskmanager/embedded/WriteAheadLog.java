@@ -0,0 +1,291 @@
+package com.taskmanager.embedded;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only log of store changes in memory-mapped segment files {@code wal-<sequence>.log}.
+ * Each record is its length, a CRC32C of the payload and the payload; a zero length ends a segment.
+ * <p>
+ * One committer thread writes records in the order they were appended. Whatever queues up while
+ * it forces one batch to disk goes out in the next batch with a single force, so under concurrent
+ * writers the cost of a sync is shared by all records in the group. Without sync the mapped pages
+ * still reach the page cache, so commits survive a crash of the process but not of the machine.
+ * <p>
+ * Recovery reads each segment up to its first record that is incomplete or fails its checksum,
+ * which can only be a write torn by a crash, and a reopened log starts a new segment after the
+ * last one. An I/O failure fails the log for good: every later append fails too.
+ */
+@Slf4j
+class WriteAheadLog implements AutoCloseable {
+
+    static final String BATCH_METRIC = "taskmanager.embedded.wal.batch";
+
+    private static final String PREFIX = "wal-";
+    private static final String SUFFIX = ".log";
+    private static final int HEADER_BYTES = 8;
+    private static final Entry CLOSE = new Entry(null, null);
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final boolean sync;
+    private final int maxBatch;
+    private final BlockingQueue<Entry> queue = new LinkedBlockingQueue<>();
+    private final DistributionSummary batchSizes;
+    private final Thread committer;
+    private MappedByteBuffer segment;
+    private long sequence;
+    private volatile long bytesSinceRoll;
+    private volatile IOException failure;
+    private volatile boolean closed;
+
+    /**
+     * Opens the log for appending in a new segment after every existing one.
+     */
+    WriteAheadLog(Path directory, long segmentBytes, boolean sync, int maxBatch, MeterRegistry registry) throws IOException {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.sync = sync;
+        this.maxBatch = maxBatch;
+        this.batchSizes = DistributionSummary.builder(BATCH_METRIC)
+                .description("Log records written and forced together by one group commit")
+                .register(registry);
+        List<Long> existing = segments(directory);
+        this.sequence = existing.isEmpty() ? 0 : existing.get(existing.size() - 1);
+        startSegment(0);
+        this.committer = new Thread(this::run, "embedded-wal");
+        committer.setDaemon(true);
+        committer.start();
+    }
+
+    /**
+     * Queues a record for the next group commit.
+     *
+     * @return completes once the record is written, and forced if sync is on
+     */
+    CompletableFuture<Long> append(byte[] record) {
+        return enqueue(new Entry(record, new CompletableFuture<>()));
+    }
+
+    /**
+     * Starts a new segment once every record appended before has been written.
+     *
+     * @return completes with the sequence of the new segment
+     */
+    CompletableFuture<Long> roll() {
+        return enqueue(new Entry(null, new CompletableFuture<>()));
+    }
+
+    /**
+     * Log bytes written since the last {@link #roll()}.
+     */
+    long bytesSinceRoll() {
+        return bytesSinceRoll;
+    }
+
+    /**
+     * Writes out the records queued so far and stops the committer.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        queue.add(CLOSE);
+        try {
+            committer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<Entry> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        abandoned.stream()
+                .filter(entry -> entry != CLOSE)
+                .forEach(entry -> entry.done().completeExceptionally(new IllegalStateException("Write-ahead log is closed")));
+    }
+
+    /**
+     * Feeds every intact record of the segments from {@code fromSequence} on to {@code handler}, in order.
+     *
+     * @return the number of records replayed
+     */
+    static long replay(Path directory, long fromSequence, Consumer<byte[]> handler) throws IOException {
+        long records = 0;
+        for (long segmentSequence : segments(directory)) {
+            if (segmentSequence < fromSequence) {
+                continue;
+            }
+            Path path = segmentPath(directory, segmentSequence);
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                while (buffer.remaining() >= HEADER_BYTES) {
+                    int length = buffer.getInt();
+                    if (length == 0) {
+                        break;
+                    }
+                    int checksum = buffer.getInt();
+                    if (length < 0 || length > buffer.remaining()) {
+                        log.warn("Ignoring a torn record at the end of {}", path);
+                        break;
+                    }
+                    byte[] payload = new byte[length];
+                    buffer.get(payload);
+                    if (checksum(payload) != checksum) {
+                        log.warn("Ignoring a torn record at the end of {}", path);
+                        break;
+                    }
+                    handler.accept(payload);
+                    records++;
+                }
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Deletes the segments older than {@code sequence}, which a snapshot has made redundant.
+     */
+    static void deleteBefore(Path directory, long sequence) throws IOException {
+        for (long segmentSequence : segments(directory)) {
+            if (segmentSequence < sequence) {
+                Files.deleteIfExists(segmentPath(directory, segmentSequence));
+            }
+        }
+    }
+
+    static List<Long> segments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(PREFIX) && name.endsWith(SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private CompletableFuture<Long> enqueue(Entry entry) {
+        if (closed) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Write-ahead log is closed"));
+        }
+        if (failure != null) {
+            return CompletableFuture.failedFuture(new UncheckedIOException("Write-ahead log failed", failure));
+        }
+        queue.add(entry);
+        return entry.done();
+    }
+
+    private void run() {
+        List<Entry> batch = new ArrayList<>(maxBatch);
+        boolean open = true;
+        while (open) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                break;
+            }
+            queue.drainTo(batch, maxBatch - 1);
+            open = !batch.remove(CLOSE);
+            if (!batch.isEmpty()) {
+                commit(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void commit(List<Entry> batch) {
+        if (failure != null) {
+            batch.forEach(entry -> entry.done().completeExceptionally(new UncheckedIOException("Write-ahead log failed", failure)));
+            return;
+        }
+        List<Long> results = new ArrayList<>(batch.size());
+        int records = 0;
+        try {
+            int start = segment.position();
+            for (Entry entry : batch) {
+                if (entry.record() == null) {
+                    force(start);
+                    startSegment(0);
+                    start = 0;
+                    bytesSinceRoll = 0;
+                    results.add(sequence);
+                    continue;
+                }
+                int size = HEADER_BYTES + entry.record().length;
+                if (segment.remaining() < size + Integer.BYTES) {
+                    force(start);
+                    startSegment(size + Integer.BYTES);
+                    start = 0;
+                }
+                segment.putInt(entry.record().length);
+                segment.putInt(checksum(entry.record()));
+                segment.put(entry.record());
+                bytesSinceRoll += size;
+                results.add(sequence);
+                records++;
+            }
+            force(start);
+        } catch (IOException | RuntimeException e) {
+            failure = e instanceof IOException io ? io : new IOException(e);
+            log.error("Write-ahead log failed, the embedded store rejects further changes", e);
+            batch.forEach(entry -> entry.done().completeExceptionally(new UncheckedIOException("Write-ahead log failed", failure)));
+            return;
+        }
+        if (records > 0) {
+            batchSizes.record(records);
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).done().complete(results.get(i));
+        }
+    }
+
+    private void force(int start) {
+        if (sync && segment.position() > start) {
+            segment.force(start, segment.position() - start);
+        }
+    }
+
+    /**
+     * Maps the next segment, at least {@code minBytes} long for a record larger than a segment.
+     */
+    private void startSegment(long minBytes) throws IOException {
+        sequence++;
+        try (FileChannel channel = FileChannel.open(segmentPath(directory, sequence),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(segmentBytes, minBytes));
+        }
+    }
+
+    private static Path segmentPath(Path directory, long sequence) {
+        return directory.resolve(String.format("%s%020d%s", PREFIX, sequence, SUFFIX));
+    }
+
+    private static int checksum(byte[] payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * @param record the payload, or {@code null} for a roll
+     */
+    private record Entry(byte[] record, CompletableFuture<Long> done) {
+    }
+}
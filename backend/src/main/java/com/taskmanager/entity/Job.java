@@ -0,0 +1,97 @@
+package com.taskmanager.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A long-running bulk operation. Progress columns are written by the job workers through their
+ * own connection pool; the checkpoint is committed together with each chunk of work, so a job
+ * resumed after a restart continues exactly where the last committed chunk ended.
+ */
+@Entity
+@Table(name = "jobs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Job {
+
+    public enum Type {
+        EXPORT, IMPORT, BULK_UPDATE, ROLLUP_BACKFILL
+    }
+
+    public enum Status {
+        QUEUED, RUNNING, SUCCEEDED, FAILED, CANCELLED;
+
+        public boolean isFinished() {
+            return this == SUCCEEDED || this == FAILED || this == CANCELLED;
+        }
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Type type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Status status;
+
+    /**
+     * Job arguments as JSON.
+     */
+    @Column(length = 2000)
+    private String parameters;
+
+    private Long totalItems;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Long processedItems = 0L;
+
+    /**
+     * Last processed task id, the next input index for imports, or the epoch day to rebuild next
+     * for rollup backfills.
+     */
+    @Builder.Default
+    @Column(nullable = false)
+    private Long checkpointPosition = 0L;
+
+    /**
+     * Committed length of the result file.
+     */
+    @Builder.Default
+    @Column(nullable = false)
+    private Long checkpointBytes = 0L;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Boolean cancelRequested = false;
+
+    @Column(length = 1000)
+    private String error;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime startedAt;
+
+    /**
+     * The node running the job, or that ran it last.
+     */
+    @Column(length = 200)
+    private String owner;
+
+    /**
+     * When the running node's claim lapses unless it renews it; any node may take the job over afterwards.
+     */
+    private LocalDateTime leaseUntil;
+
+    private LocalDateTime finishedAt;
+}
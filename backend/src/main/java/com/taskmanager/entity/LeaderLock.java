@@ -0,0 +1,36 @@
+package com.taskmanager.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A named lease held by one application node at a time, so that cluster-wide background jobs run on
+ * a single node. Maintained in plain SQL by {@link com.taskmanager.repository.LeaderLocks}; mapped so
+ * that the schema creates the table.
+ */
+@Entity
+@Table(name = "leader_locks")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderLock {
+
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    /**
+     * The node holding the lease, or that held it last.
+     */
+    @Column(nullable = false, length = 200)
+    private String owner;
+
+    /**
+     * When the lease lapses unless renewed; any node may take it over afterwards.
+     */
+    @Column(name = "locked_until", nullable = false)
+    private LocalDateTime lockedUntil;
+}
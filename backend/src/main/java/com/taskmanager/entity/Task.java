@@ -4,15 +4,26 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.DynamicUpdate;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_parent_id", columnList = "parent_id"),
+        @Index(name = "idx_tasks_created_at", columnList = "created_at"),
+        @Index(name = "idx_tasks_completed_updated_at", columnList = "is_completed, updated_at, id"),
+        @Index(name = "idx_tasks_materialized_until", columnList = "materialized_until"),
+        @Index(name = "uk_tasks_series_due_date", columnList = "series_id, due_date", unique = true)
+})
 @EntityListeners(AuditingEntityListener.class)
+@DynamicUpdate
 @Getter
 @Setter
 @NoArgsConstructor
@@ -42,6 +53,58 @@ public class Task {
     @Column(length = 100)
     private String assignedTo;
 
+    /**
+     * When a claim made through {@code POST /api/tasks/claim} lapses and the task returns to the
+     * queue; {@code null} for tasks assigned directly.
+     */
+    private LocalDateTime leaseExpiresAt;
+
+    /**
+     * The task this one is a subtask of, or {@code null} for a top-level task. Ancestry is also kept
+     * in {@link TaskClosure}, which subtree reads go through.
+     */
+    private Long parentId;
+
+    /**
+     * Makes this task the first occurrence of a series, in the canonical form of
+     * {@link com.taskmanager.recurrence.RecurrenceRule}; {@code null} for a one-off task.
+     */
+    @Column(length = 200)
+    private String recurrence;
+
+    /**
+     * The recurring task this one was created as an occurrence of, or {@code null}. At most one
+     * occurrence per series and due date exists, which keeps concurrent materializers from
+     * duplicating one.
+     */
+    private Long seriesId;
+
+    /**
+     * For a recurring task, how far its occurrences exist as tasks; later ones are computed when
+     * listed. Set exactly when {@link #recurrence} is.
+     */
+    private LocalDateTime materializedUntil;
+
+    /**
+     * Normalized labels (trimmed, lower case). The {@code task_tags} table is the source of truth;
+     * {@link com.taskmanager.tag.TagIndex} serves tag filters from memory.
+     */
+    @Builder.Default
+    @ElementCollection
+    @CollectionTable(name = "task_tags", joinColumns = @JoinColumn(name = "task_id"),
+            indexes = @Index(name = "idx_task_tags_tag", columnList = "tag"))
+    @Column(name = "tag", nullable = false, length = 50)
+    @OrderBy
+    @BatchSize(size = 100)
+    private Set<String> tags = new LinkedHashSet<>();
+
+    /**
+     * Version of the embedded store's record this copy was read at; saving it back fails if the task
+     * has changed since. Not mapped: the JPA store does not check it.
+     */
+    @Transient
+    private Long version;
+
     @CreatedDate
     @Column(updatable = false)
     private LocalDateTime createdAt;
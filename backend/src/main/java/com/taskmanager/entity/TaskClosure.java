@@ -0,0 +1,46 @@
+package com.taskmanager.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * One ancestor-descendant pair of the task hierarchy, for every pair and not only parent and child,
+ * so a whole subtree is one indexed range of {@code ancestor_id}. A task has no row for itself;
+ * top-level tasks without subtasks have no rows at all. Maintained in plain SQL by
+ * {@link com.taskmanager.repository.TaskHierarchy}; mapped so that Criteria queries can join it.
+ */
+@Entity
+@Table(name = "task_closure", indexes = {
+        @Index(name = "idx_task_closure_descendant", columnList = "descendant_id")
+})
+@IdClass(TaskClosure.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskClosure {
+
+    @Id
+    @Column(name = "ancestor_id")
+    private Long ancestorId;
+
+    @Id
+    @Column(name = "descendant_id")
+    private Long descendantId;
+
+    /**
+     * Number of parent links between the two, 1 for a direct subtask.
+     */
+    @Column(nullable = false)
+    private Integer depth;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long ancestorId;
+        private Long descendantId;
+    }
+}
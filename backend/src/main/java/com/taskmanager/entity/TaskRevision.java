@@ -0,0 +1,57 @@
+package com.taskmanager.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of a task's append-only history. {@code changes} holds only the fields that changed,
+ * in the binary encoding of {@link com.taskmanager.history.RevisionCodec}; snapshot revisions hold
+ * the full state instead, so rebuilding a past state never reads more than one snapshot interval
+ * of diffs.
+ */
+@Entity
+@Table(name = "task_revisions", indexes = {
+        @Index(name = "uk_task_revisions_task_revision", columnList = "task_id, revision", unique = true)
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TaskRevision {
+
+    public enum Kind {
+        CREATED, UPDATED, DELETED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "task_id", nullable = false)
+    private Long taskId;
+
+    /**
+     * Per-task sequence number, starting at 1.
+     */
+    @Column(nullable = false)
+    private Integer revision;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Kind kind;
+
+    @Column(name = "is_snapshot", nullable = false)
+    private Boolean snapshot;
+
+    @Column(nullable = false)
+    private LocalDateTime changedAt;
+
+    @Column(length = 100)
+    private String changedBy;
+
+    @Column(nullable = false, length = 4000)
+    private byte[] changes;
+}
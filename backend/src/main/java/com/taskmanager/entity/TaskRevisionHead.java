@@ -0,0 +1,31 @@
+package com.taskmanager.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * The latest revision of a task's history, locked by whatever appends to that history so that
+ * nodes number revisions one after another. Maintained in plain SQL by
+ * {@link com.taskmanager.history.TaskHistoryRecorder}; mapped so that the schema creates the table.
+ */
+@Entity
+@Table(name = "task_revision_heads")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskRevisionHead {
+
+    @Id
+    @Column(name = "task_id")
+    private Long taskId;
+
+    @Column(name = "last_revision", nullable = false)
+    private Integer lastRevision;
+
+    /**
+     * The latest snapshot revision, 0 before the first.
+     */
+    @Column(name = "last_snapshot", nullable = false)
+    private Integer lastSnapshot;
+}
@@ -0,0 +1,48 @@
+package com.taskmanager.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Task activity of one day for one assignee: tasks created that day, and completed tasks last
+ * updated that day. Reports add these up per week or month, so they read at most one row per day
+ * and assignee however many tasks there are. Maintained in plain SQL by
+ * {@link com.taskmanager.repository.TaskRollups}; mapped so that the schema creates the table.
+ */
+@Entity
+@Table(name = "task_daily_rollups")
+@IdClass(TaskRollup.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskRollup {
+
+    @Id
+    @Column(name = "activity_date")
+    private LocalDate activityDate;
+
+    /**
+     * Empty for unassigned tasks, since a key column cannot be null.
+     */
+    @Id
+    @Column(name = "assigned_to", length = 100)
+    private String assignedTo;
+
+    @Column(name = "created_count", nullable = false)
+    private long createdCount;
+
+    @Column(name = "completed_count", nullable = false)
+    private long completedCount;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private LocalDate activityDate;
+        private String assignedTo;
+    }
+}
@@ -0,0 +1,32 @@
+package com.taskmanager.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One day of the daily rollups, locked by whatever writes that day's rows so that live changes and
+ * backfills take turns. Maintained in plain SQL by {@link com.taskmanager.repository.TaskRollups};
+ * mapped so that the schema creates the table.
+ */
+@Entity
+@Table(name = "task_rollup_days")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskRollupDay {
+
+    @Id
+    @Column(name = "activity_date")
+    private LocalDate activityDate;
+
+    /**
+     * When the day's rows were last rebuilt from the tasks table; null while they only hold the
+     * changes counted live.
+     */
+    @Column(name = "rebuilt_at")
+    private LocalDateTime rebuiltAt;
+}
@@ -0,0 +1,36 @@
+package com.taskmanager.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+
+/**
+ * What deleted and purged tasks counted for one day and assignee when they were removed, which a
+ * rebuild from the tasks table adds back so that removing tasks does not rewrite past reports.
+ * Maintained in plain SQL by {@link com.taskmanager.repository.TaskRollups}; mapped so that the
+ * schema creates the table.
+ */
+@Entity
+@Table(name = "task_rollup_removals")
+@IdClass(TaskRollup.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskRollupRemoval {
+
+    @Id
+    @Column(name = "activity_date")
+    private LocalDate activityDate;
+
+    @Id
+    @Column(name = "assigned_to", length = 100)
+    private String assignedTo;
+
+    @Column(name = "created_count", nullable = false)
+    private long createdCount;
+
+    @Column(name = "completed_count", nullable = false)
+    private long completedCount;
+}
@@ -0,0 +1,43 @@
+package com.taskmanager.event;
+
+import lombok.Value;
+
+/**
+ * Published by {@code TaskService} inside the write transaction. Consumers that keep derived
+ * state should listen with {@code @TransactionalEventListener} so they only see committed changes.
+ */
+@Value
+public class TaskChangedEvent {
+
+    public enum ChangeType { CREATED, UPDATED, DELETED }
+
+    ChangeType type;
+    Long taskId;
+
+    /**
+     * State before the change; {@code null} for {@link ChangeType#CREATED}, and for
+     * {@link ChangeType#DELETED} when published without the deleted state.
+     */
+    TaskSnapshot before;
+
+    /**
+     * State after the change; {@code null} for {@link ChangeType#DELETED}.
+     */
+    TaskSnapshot after;
+
+    public static TaskChangedEvent created(TaskSnapshot after) {
+        return new TaskChangedEvent(ChangeType.CREATED, after.getId(), null, after);
+    }
+
+    public static TaskChangedEvent updated(TaskSnapshot before, TaskSnapshot after) {
+        return new TaskChangedEvent(ChangeType.UPDATED, after.getId(), before, after);
+    }
+
+    public static TaskChangedEvent deleted(Long taskId) {
+        return new TaskChangedEvent(ChangeType.DELETED, taskId, null, null);
+    }
+
+    public static TaskChangedEvent deleted(TaskSnapshot before) {
+        return new TaskChangedEvent(ChangeType.DELETED, before.getId(), before, null);
+    }
+}
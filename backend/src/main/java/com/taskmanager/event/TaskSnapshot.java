@@ -0,0 +1,46 @@
+package com.taskmanager.event;
+
+import com.taskmanager.entity.Task;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Immutable copy of a task's state at the moment of a change, detached from the persistence context.
+ */
+@Value
+@Builder
+public class TaskSnapshot {
+
+    Long id;
+    String title;
+    String description;
+    Boolean isCompleted;
+    LocalDateTime dueDate;
+    String assignedTo;
+    Long parentId;
+    LocalDateTime createdAt;
+    LocalDateTime updatedAt;
+
+    /**
+     * Sorted tags; empty when the task was read without them.
+     */
+    List<String> tags;
+
+    public static TaskSnapshot of(Task task) {
+        return TaskSnapshot.builder()
+                .id(task.getId())
+                .title(task.getTitle())
+                .description(task.getDescription())
+                .isCompleted(task.getIsCompleted())
+                .dueDate(task.getDueDate())
+                .assignedTo(task.getAssignedTo())
+                .parentId(task.getParentId())
+                .createdAt(task.getCreatedAt())
+                .updatedAt(task.getUpdatedAt())
+                .tags(task.getTags() == null ? List.of() : task.getTags().stream().sorted().toList())
+                .build();
+    }
+}
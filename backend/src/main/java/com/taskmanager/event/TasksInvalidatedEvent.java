@@ -0,0 +1,30 @@
+package com.taskmanager.event;
+
+import lombok.Value;
+
+import java.util.Set;
+
+/**
+ * Published when another node has committed changes to tasks: cached copies of {@link #taskIds}, or of
+ * every task when {@link #all} is set, and every cached list result may be stale. This node's own
+ * changes are covered by {@link TaskChangedEvent} and do not come back as this event.
+ */
+@Value
+public class TasksInvalidatedEvent {
+
+    Set<Long> taskIds;
+
+    /**
+     * Set when this node cannot tell which tasks changed, because the broadcast overflowed or
+     * messages were lost.
+     */
+    boolean all;
+
+    public static TasksInvalidatedEvent of(Set<Long> taskIds) {
+        return new TasksInvalidatedEvent(Set.copyOf(taskIds), false);
+    }
+
+    public static TasksInvalidatedEvent everything() {
+        return new TasksInvalidatedEvent(Set.of(), true);
+    }
+}
@@ -0,0 +1,18 @@
+package com.taskmanager.exception;
+
+import lombok.Getter;
+
+/**
+ * The database did not answer in time or is known to be down; the request may be retried once
+ * {@link #getRetryAfterSeconds()} have passed.
+ */
+@Getter
+public class DatabaseUnavailableException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public DatabaseUnavailableException(long retryAfterSeconds, Throwable cause) {
+        super("Database is unavailable, please retry later", cause);
+        this.retryAfterSeconds = Math.max(1, retryAfterSeconds);
+    }
+}
@@ -1,9 +1,15 @@
 package com.taskmanager.exception;
 
 import com.taskmanager.dto.ErrorResponse;
+import com.taskmanager.resilience.DatabaseGuard;
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionTimedOutException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -24,6 +30,172 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
     }
 
+    @ExceptionHandler(TaskVersionConflictException.class)
+    public ResponseEntity<ErrorResponse> handleTaskVersionConflict(TaskVersionConflictException ex) {
+        ErrorResponse error = ErrorResponse.builder()
+                .status(HttpStatus.CONFLICT.value())
+                .message(ex.getMessage())
+                .timestamp(LocalDateTime.now())
+                .build();
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    @ExceptionHandler(JobNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleJobNotFound(JobNotFoundException ex) {
+        ErrorResponse error = ErrorResponse.builder()
+                .status(HttpStatus.NOT_FOUND.value())
+                .message(ex.getMessage())
+                .timestamp(LocalDateTime.now())
+                .build();
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+    }
+
+    @ExceptionHandler(JobStateException.class)
+    public ResponseEntity<ErrorResponse> handleJobState(JobStateException ex) {
+        ErrorResponse error = ErrorResponse.builder()
+                .status(HttpStatus.CONFLICT.value())
+                .message(ex.getMessage())
+                .timestamp(LocalDateTime.now())
+                .build();
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    @ExceptionHandler(JobQueueFullException.class)
+    public ResponseEntity<ErrorResponse> handleJobQueueFull(JobQueueFullException ex) {
+        ErrorResponse error = ErrorResponse.builder()
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .message(ex.getMessage())
+                .timestamp(LocalDateTime.now())
+                .build();
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+    }
+
+    @ExceptionHandler(TagFilterUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleTagFilterUnavailable(TagFilterUnavailableException ex) {
+        ErrorResponse error = ErrorResponse.builder()
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .message(ex.getMessage())
+                .timestamp(LocalDateTime.now())
+                .build();
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+    }
+
+    @ExceptionHandler(DatabaseUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleDatabaseUnavailable(DatabaseUnavailableException ex) {
+        ErrorResponse error = ErrorResponse.builder()
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .message(ex.getMessage())
+                .timestamp(LocalDateTime.now())
+                .build();
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+                .body(error);
+    }
+
+    /**
+     * Connection and timeout failures outside {@link DatabaseGuard}, such as in writes.
+     */
+    @ExceptionHandler({CannotCreateTransactionException.class, TransactionTimedOutException.class,
+            QueryTimeoutException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<ErrorResponse> handleDatabaseFailure(Exception ex) {
+        return handleDatabaseUnavailable(new DatabaseUnavailableException(1, ex));
+    }
+
+    @ExceptionHandler(SubtasksUnsupportedException.class)
+    public ResponseEntity<ErrorResponse> handleSubtasksUnsupported(SubtasksUnsupportedException ex) {
+        ErrorResponse error = ErrorResponse.builder()
+                .status(HttpStatus.NOT_IMPLEMENTED.value())
+                .message(ex.getMessage())
+                .timestamp(LocalDateTime.now())
+                .build();
+        return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).body(error);
+    }
+
+    @ExceptionHandler(InvalidParentException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidParent(InvalidParentException ex) {
+        ErrorResponse error = ErrorResponse.builder()
+                .status(HttpStatus.BAD_REQUEST.value())
+                .message("Validation failed")
+                .timestamp(LocalDateTime.now())
+                .errors(List.of(new ErrorResponse.FieldError("parentId", ex.getMessage())))
+                .build();
+        return ResponseEntity.badRequest().body(error);
+    }
+
+    @ExceptionHandler(RecurrenceUnsupportedException.class)
+    public ResponseEntity<ErrorResponse> handleRecurrenceUnsupported(RecurrenceUnsupportedException ex) {
+        ErrorResponse error = ErrorResponse.builder()
+                .status(HttpStatus.NOT_IMPLEMENTED.value())
+                .message(ex.getMessage())
+                .timestamp(LocalDateTime.now())
+                .build();
+        return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).body(error);
+    }
+
+    @ExceptionHandler(JobsUnsupportedException.class)
+    public ResponseEntity<ErrorResponse> handleJobsUnsupported(JobsUnsupportedException ex) {
+        ErrorResponse error = ErrorResponse.builder()
+                .status(HttpStatus.NOT_IMPLEMENTED.value())
+                .message(ex.getMessage())
+                .timestamp(LocalDateTime.now())
+                .build();
+        return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED).body(error);
+    }
+
+    @ExceptionHandler(InvalidRecurrenceException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidRecurrence(InvalidRecurrenceException ex) {
+        ErrorResponse error = ErrorResponse.builder()
+                .status(HttpStatus.BAD_REQUEST.value())
+                .message("Validation failed")
+                .timestamp(LocalDateTime.now())
+                .errors(List.of(new ErrorResponse.FieldError("recurrence", ex.getMessage())))
+                .build();
+        return ResponseEntity.badRequest().body(error);
+    }
+
+    @ExceptionHandler(InvalidFieldSelectionException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidFieldSelection(InvalidFieldSelectionException ex) {
+        ErrorResponse error = ErrorResponse.builder()
+                .status(HttpStatus.BAD_REQUEST.value())
+                .message(ex.getMessage())
+                .timestamp(LocalDateTime.now())
+                .build();
+        return ResponseEntity.badRequest().body(error);
+    }
+
+    @ExceptionHandler(InvalidPatchException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidPatch(InvalidPatchException ex) {
+        ErrorResponse error = ErrorResponse.builder()
+                .status(HttpStatus.BAD_REQUEST.value())
+                .message("Validation failed")
+                .timestamp(LocalDateTime.now())
+                .errors(List.of(new ErrorResponse.FieldError(ex.getField(), ex.getMessage())))
+                .build();
+        return ResponseEntity.badRequest().body(error);
+    }
+
+    @ExceptionHandler(PageTooDeepException.class)
+    public ResponseEntity<ErrorResponse> handlePageTooDeep(PageTooDeepException ex) {
+        ErrorResponse error = ErrorResponse.builder()
+                .status(HttpStatus.BAD_REQUEST.value())
+                .message("Validation failed")
+                .timestamp(LocalDateTime.now())
+                .errors(List.of(new ErrorResponse.FieldError("page", ex.getMessage())))
+                .build();
+        return ResponseEntity.badRequest().body(error);
+    }
+
+    @ExceptionHandler(InvalidReportException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidReport(InvalidReportException ex) {
+        ErrorResponse error = ErrorResponse.builder()
+                .status(HttpStatus.BAD_REQUEST.value())
+                .message("Validation failed")
+                .timestamp(LocalDateTime.now())
+                .errors(List.of(new ErrorResponse.FieldError(ex.getField(), ex.getMessage())))
+                .build();
+        return ResponseEntity.badRequest().body(error);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidation(MethodArgumentNotValidException ex) {
         List<ErrorResponse.FieldError> fieldErrors = ex.getBindingResult()
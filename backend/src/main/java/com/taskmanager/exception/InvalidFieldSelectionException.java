@@ -0,0 +1,8 @@
+package com.taskmanager.exception;
+
+public class InvalidFieldSelectionException extends RuntimeException {
+
+    public InvalidFieldSelectionException(String field, String allowedFields) {
+        super("Unknown field: " + field + ". Allowed fields: " + allowedFields);
+    }
+}
@@ -0,0 +1,8 @@
+package com.taskmanager.exception;
+
+public class InvalidParentException extends RuntimeException {
+
+    public InvalidParentException(String message) {
+        super(message);
+    }
+}
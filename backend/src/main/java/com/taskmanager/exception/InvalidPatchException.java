@@ -0,0 +1,14 @@
+package com.taskmanager.exception;
+
+import lombok.Getter;
+
+@Getter
+public class InvalidPatchException extends RuntimeException {
+
+    private final String field;
+
+    public InvalidPatchException(String field, String message) {
+        super(message);
+        this.field = field;
+    }
+}
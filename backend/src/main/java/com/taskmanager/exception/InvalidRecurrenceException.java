@@ -0,0 +1,8 @@
+package com.taskmanager.exception;
+
+public class InvalidRecurrenceException extends RuntimeException {
+
+    public InvalidRecurrenceException(String message) {
+        super(message);
+    }
+}
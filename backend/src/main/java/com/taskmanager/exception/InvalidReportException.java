@@ -0,0 +1,14 @@
+package com.taskmanager.exception;
+
+import lombok.Getter;
+
+@Getter
+public class InvalidReportException extends RuntimeException {
+
+    private final String field;
+
+    public InvalidReportException(String field, String message) {
+        super(message);
+        this.field = field;
+    }
+}
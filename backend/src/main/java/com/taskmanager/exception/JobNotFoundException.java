@@ -0,0 +1,8 @@
+package com.taskmanager.exception;
+
+public class JobNotFoundException extends RuntimeException {
+
+    public JobNotFoundException(Long id) {
+        super("Job not found with id: " + id);
+    }
+}
@@ -0,0 +1,8 @@
+package com.taskmanager.exception;
+
+public class JobQueueFullException extends RuntimeException {
+
+    public JobQueueFullException() {
+        super("Too many jobs are queued, try again later");
+    }
+}
@@ -0,0 +1,11 @@
+package com.taskmanager.exception;
+
+/**
+ * The job exists but is not in a state that allows the requested operation.
+ */
+public class JobStateException extends RuntimeException {
+
+    public JobStateException(String message) {
+        super(message);
+    }
+}
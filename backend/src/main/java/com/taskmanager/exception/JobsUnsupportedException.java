@@ -0,0 +1,8 @@
+package com.taskmanager.exception;
+
+public class JobsUnsupportedException extends RuntimeException {
+
+    public JobsUnsupportedException() {
+        super("Jobs are not supported by the configured task store");
+    }
+}
@@ -0,0 +1,8 @@
+package com.taskmanager.exception;
+
+public class PageTooDeepException extends RuntimeException {
+
+    public PageTooDeepException(int maxDepth) {
+        super("Page ends past row " + maxDepth + ", the deepest this list can be paged to; narrow the filters instead");
+    }
+}
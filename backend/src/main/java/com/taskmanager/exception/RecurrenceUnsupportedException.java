@@ -0,0 +1,8 @@
+package com.taskmanager.exception;
+
+public class RecurrenceUnsupportedException extends RuntimeException {
+
+    public RecurrenceUnsupportedException() {
+        super("Recurring tasks are not supported by the configured task store");
+    }
+}
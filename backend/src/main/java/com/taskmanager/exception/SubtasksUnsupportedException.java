@@ -0,0 +1,8 @@
+package com.taskmanager.exception;
+
+public class SubtasksUnsupportedException extends RuntimeException {
+
+    public SubtasksUnsupportedException() {
+        super("Subtasks are not supported by the configured task store");
+    }
+}
@@ -0,0 +1,8 @@
+package com.taskmanager.exception;
+
+public class TagFilterUnavailableException extends RuntimeException {
+
+    public TagFilterUnavailableException(int maxMatches) {
+        super("Tag filters need the tag index and at most " + maxMatches + " matching tasks here, try again later or narrow the tags");
+    }
+}
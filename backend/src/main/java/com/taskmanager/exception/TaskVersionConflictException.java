@@ -0,0 +1,11 @@
+package com.taskmanager.exception;
+
+/**
+ * The task was changed by another write since the copy being saved was read.
+ */
+public class TaskVersionConflictException extends RuntimeException {
+
+    public TaskVersionConflictException(Long id) {
+        super("Task " + id + " was changed by another request; reload it and try again");
+    }
+}
@@ -0,0 +1,177 @@
+package com.taskmanager.history;
+
+import com.taskmanager.dto.TaskField;
+import com.taskmanager.event.TaskSnapshot;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Binary encoding of a set of task field values: a format version byte, then per field a fixed
+ * field code, a value tag and the value. Strings are a varint length plus UTF-8, timestamps a
+ * zigzag varint of epoch microseconds (UTC), ids a zigzag varint, booleans live in the tag.
+ * A typical single-field change encodes in well under 20 bytes.
+ * <p>
+ * Field codes are part of the stored format and must never be reused.
+ */
+public final class RevisionCodec {
+
+    private static final byte VERSION = 1;
+
+    private static final byte TAG_NULL = 0;
+    private static final byte TAG_STRING = 1;
+    private static final byte TAG_TRUE = 2;
+    private static final byte TAG_FALSE = 3;
+    private static final byte TAG_TIMESTAMP = 4;
+    private static final byte TAG_LONG = 5;
+
+    private RevisionCodec() {
+    }
+
+    /**
+     * Fields whose changes are recorded. {@code updatedAt} is implied by the revision time.
+     */
+    public static Map<TaskField, Object> diff(TaskSnapshot before, TaskSnapshot after) {
+        Map<TaskField, Object> changes = new EnumMap<>(TaskField.class);
+        putIfChanged(changes, TaskField.TITLE, before.getTitle(), after.getTitle());
+        putIfChanged(changes, TaskField.DESCRIPTION, before.getDescription(), after.getDescription());
+        putIfChanged(changes, TaskField.IS_COMPLETED, before.getIsCompleted(), after.getIsCompleted());
+        putIfChanged(changes, TaskField.DUE_DATE, before.getDueDate(), after.getDueDate());
+        putIfChanged(changes, TaskField.ASSIGNED_TO, before.getAssignedTo(), after.getAssignedTo());
+        putIfChanged(changes, TaskField.PARENT_ID, before.getParentId(), after.getParentId());
+        return changes;
+    }
+
+    public static Map<TaskField, Object> state(TaskSnapshot task) {
+        Map<TaskField, Object> state = new EnumMap<>(TaskField.class);
+        state.put(TaskField.TITLE, task.getTitle());
+        state.put(TaskField.DESCRIPTION, task.getDescription());
+        state.put(TaskField.IS_COMPLETED, task.getIsCompleted());
+        state.put(TaskField.DUE_DATE, task.getDueDate());
+        state.put(TaskField.ASSIGNED_TO, task.getAssignedTo());
+        state.put(TaskField.PARENT_ID, task.getParentId());
+        state.put(TaskField.CREATED_AT, task.getCreatedAt());
+        return state;
+    }
+
+    public static byte[] encode(Map<TaskField, Object> values) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(16);
+        out.write(VERSION);
+        for (Map.Entry<TaskField, Object> entry : values.entrySet()) {
+            out.write(code(entry.getKey()));
+            Object value = entry.getValue();
+            if (value == null) {
+                out.write(TAG_NULL);
+            } else if (value instanceof Boolean flag) {
+                out.write(flag ? TAG_TRUE : TAG_FALSE);
+            } else if (value instanceof LocalDateTime time) {
+                out.write(TAG_TIMESTAMP);
+                long micros = time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+                writeVarint(out, (micros << 1) ^ (micros >> 63));
+            } else if (value instanceof Long number) {
+                out.write(TAG_LONG);
+                writeVarint(out, (number << 1) ^ (number >> 63));
+            } else {
+                byte[] utf8 = value.toString().getBytes(StandardCharsets.UTF_8);
+                out.write(TAG_STRING);
+                writeVarint(out, utf8.length);
+                out.write(utf8, 0, utf8.length);
+            }
+        }
+        return out.toByteArray();
+    }
+
+    public static Map<TaskField, Object> decode(byte[] bytes) {
+        ByteBuffer in = ByteBuffer.wrap(bytes);
+        byte version = in.get();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Unsupported revision format " + version);
+        }
+        Map<TaskField, Object> values = new EnumMap<>(TaskField.class);
+        while (in.hasRemaining()) {
+            TaskField field = field(in.get());
+            byte tag = in.get();
+            Object value = switch (tag) {
+                case TAG_NULL -> null;
+                case TAG_TRUE -> Boolean.TRUE;
+                case TAG_FALSE -> Boolean.FALSE;
+                case TAG_TIMESTAMP -> {
+                    long zigzag = readVarint(in);
+                    long micros = (zigzag >>> 1) ^ -(zigzag & 1);
+                    yield LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                            (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+                }
+                case TAG_LONG -> {
+                    long zigzag = readVarint(in);
+                    yield (zigzag >>> 1) ^ -(zigzag & 1);
+                }
+                case TAG_STRING -> {
+                    byte[] utf8 = new byte[(int) readVarint(in)];
+                    in.get(utf8);
+                    yield new String(utf8, StandardCharsets.UTF_8);
+                }
+                default -> throw new IllegalArgumentException("Unknown value tag " + tag);
+            };
+            values.put(field, value);
+        }
+        return values;
+    }
+
+    private static void putIfChanged(Map<TaskField, Object> changes, TaskField field, Object before, Object after) {
+        if (!Objects.equals(before, after)) {
+            changes.put(field, after);
+        }
+    }
+
+    private static int code(TaskField field) {
+        return switch (field) {
+            case TITLE -> 1;
+            case DESCRIPTION -> 2;
+            case IS_COMPLETED -> 3;
+            case DUE_DATE -> 4;
+            case ASSIGNED_TO -> 5;
+            case CREATED_AT -> 6;
+            case PARENT_ID -> 7;
+            default -> throw new IllegalArgumentException(field + " is not recorded in revisions");
+        };
+    }
+
+    private static TaskField field(byte code) {
+        return switch (code) {
+            case 1 -> TaskField.TITLE;
+            case 2 -> TaskField.DESCRIPTION;
+            case 3 -> TaskField.IS_COMPLETED;
+            case 4 -> TaskField.DUE_DATE;
+            case 5 -> TaskField.ASSIGNED_TO;
+            case 6 -> TaskField.CREATED_AT;
+            case 7 -> TaskField.PARENT_ID;
+            default -> throw new IllegalArgumentException("Unknown field code " + code);
+        };
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    private static long readVarint(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+}
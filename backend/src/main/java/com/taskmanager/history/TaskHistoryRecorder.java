@@ -0,0 +1,229 @@
+package com.taskmanager.history;
+
+import com.taskmanager.config.HistoryProperties;
+import com.taskmanager.dto.TaskField;
+import com.taskmanager.entity.TaskRevision;
+import com.taskmanager.event.TaskChangedEvent;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appends committed task changes to {@code task_revisions}. Changes are queued after commit and
+ * written by one flusher thread in batched inserts, so writers pay for neither the encoding nor
+ * an extra statement. A batch that fails to write is kept and written first by the next flush; a
+ * change still in the queue when the process dies is not recorded.
+ * <p>
+ * Revision numbers come from the task's row in {@code task_revision_heads}, which the flush locks,
+ * in ascending task order so that concurrent flushes cannot deadlock, and advances in the same
+ * transaction as the inserts. Nodes appending to the same task's history therefore take turns and
+ * continue each other's sequence. Inserting a head that another node inserted first fails the
+ * flush, and the retry finds the row.
+ */
+@Slf4j
+public class TaskHistoryRecorder {
+
+    private static final String INSERT = "INSERT INTO task_revisions"
+            + " (task_id, revision, kind, is_snapshot, changed_at, changed_by, changes) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String ADVANCE = "UPDATE task_revision_heads"
+            + " SET last_revision = ?, last_snapshot = ? WHERE task_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final HistoryProperties properties;
+    private final Clock clock;
+    private final BlockingQueue<PendingRevision> pending;
+    private final ScheduledExecutorService flusher;
+    private List<PendingRevision> failed = List.of();
+
+    public TaskHistoryRecorder(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                               HistoryProperties properties, Clock clock) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.clock = clock;
+        this.pending = new LinkedBlockingQueue<>(properties.getQueueCapacity());
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-history-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long interval = properties.getFlushInterval().toMillis();
+        flusher.scheduleWithFixedDelay(this::flushSafely, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTaskChanged(TaskChangedEvent event) {
+        LocalDateTime changedAt = event.getAfter() != null && event.getAfter().getUpdatedAt() != null
+                ? event.getAfter().getUpdatedAt()
+                : LocalDateTime.now(clock);
+        if (!pending.offer(new PendingRevision(event, changedAt, currentActor()))) {
+            log.warn("Revision queue is full, change to task {} is not recorded", event.getTaskId());
+        }
+    }
+
+    /**
+     * Writes everything queued so far, starting with the batch the last flush failed to write.
+     */
+    public synchronized void flush() {
+        List<PendingRevision> batch = new ArrayList<>(failed);
+        failed = List.of();
+        pending.drainTo(batch, Math.max(0, properties.getBatchSize() - batch.size()));
+        while (!batch.isEmpty()) {
+            try {
+                write(batch);
+            } catch (RuntimeException e) {
+                failed = batch;
+                throw e;
+            }
+            batch = new ArrayList<>(properties.getBatchSize());
+            pending.drainTo(batch, properties.getBatchSize());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdownNow();
+        flushSafely();
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.warn("Failed to append task revisions, retrying with the next flush", e);
+        }
+    }
+
+    private void write(List<PendingRevision> batch) {
+        transactionTemplate.executeWithoutResult(status -> append(batch));
+    }
+
+    private void append(List<PendingRevision> batch) {
+        SortedSet<Long> taskIds = new TreeSet<>();
+        batch.forEach(revision -> taskIds.add(revision.event().getTaskId()));
+        Map<Long, RevisionCursor> cursors = lockHeads(taskIds);
+
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (PendingRevision revision : batch) {
+            TaskChangedEvent event = revision.event();
+            RevisionCursor cursor = cursors.get(event.getTaskId());
+            int number = cursor.last + 1;
+            boolean snapshot;
+            Map<TaskField, Object> changes;
+            TaskRevision.Kind kind;
+            switch (event.getType()) {
+                case CREATED -> {
+                    kind = TaskRevision.Kind.CREATED;
+                    snapshot = true;
+                    changes = RevisionCodec.state(event.getAfter());
+                }
+                case UPDATED -> {
+                    kind = TaskRevision.Kind.UPDATED;
+                    snapshot = cursor.lastSnapshot == 0 || number - cursor.lastSnapshot >= properties.getSnapshotInterval();
+                    changes = snapshot
+                            ? RevisionCodec.state(event.getAfter())
+                            : RevisionCodec.diff(event.getBefore(), event.getAfter());
+                }
+                default -> {
+                    kind = TaskRevision.Kind.DELETED;
+                    snapshot = false;
+                    changes = Collections.emptyMap();
+                }
+            }
+            cursor.last = number;
+            if (snapshot) {
+                cursor.lastSnapshot = number;
+            }
+            rows.add(new Object[]{event.getTaskId(), number, kind.name(), snapshot,
+                    Timestamp.valueOf(revision.changedAt()), revision.actor(), RevisionCodec.encode(changes)});
+        }
+        jdbcTemplate.batchUpdate(INSERT, rows);
+
+        List<Object[]> heads = new ArrayList<>(cursors.size());
+        cursors.forEach((taskId, cursor) -> heads.add(new Object[]{cursor.last, cursor.lastSnapshot, taskId}));
+        jdbcTemplate.batchUpdate(ADVANCE, heads);
+    }
+
+    /**
+     * Locks the tasks' heads, creating those not there yet, and returns where each history stands.
+     */
+    private Map<Long, RevisionCursor> lockHeads(SortedSet<Long> taskIds) {
+        Map<Long, RevisionCursor> cursors = new HashMap<>();
+        String placeholders = String.join(", ", Collections.nCopies(taskIds.size(), "?"));
+        jdbcTemplate.query("SELECT task_id, last_revision, last_snapshot FROM task_revision_heads"
+                        + " WHERE task_id IN (" + placeholders + ") ORDER BY task_id FOR UPDATE",
+                rs -> {
+                    cursors.put(rs.getLong("task_id"),
+                            new RevisionCursor(rs.getInt("last_revision"), rs.getInt("last_snapshot")));
+                },
+                taskIds.toArray());
+
+        List<Object[]> created = new ArrayList<>();
+        for (Long taskId : taskIds) {
+            if (!cursors.containsKey(taskId)) {
+                cursors.put(taskId, new RevisionCursor(0, 0));
+                created.add(new Object[]{taskId});
+            }
+        }
+        if (!created.isEmpty()) {
+            jdbcTemplate.batchUpdate(
+                    "INSERT INTO task_revision_heads (task_id, last_revision, last_snapshot) VALUES (?, 0, 0)", created);
+        }
+        return cursors;
+    }
+
+    private String currentActor() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            HttpServletRequest request = attributes.getRequest();
+            String actor = request.getHeader(properties.getActorHeader());
+            if (actor != null && !actor.isBlank()) {
+                return actor.length() > 100 ? actor.substring(0, 100) : actor;
+            }
+        }
+        return null;
+    }
+
+    private record PendingRevision(TaskChangedEvent event, LocalDateTime changedAt, String actor) {
+    }
+
+    private static final class RevisionCursor {
+
+        private int last;
+        private int lastSnapshot;
+
+        private RevisionCursor(int last, int lastSnapshot) {
+            this.last = last;
+            this.lastSnapshot = lastSnapshot;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.taskmanager.invalidation;
+
+import com.taskmanager.config.InvalidationProperties;
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.event.TasksInvalidatedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tells the other nodes which tasks this node changed, and this node which tasks they changed, so
+ * cached copies are dropped everywhere once a change commits.
+ * <p>
+ * Ids of committed changes are collected for a batch window and sent as one message, each id once;
+ * a batch over the id limit goes out as a flush of everything instead. Received task messages are
+ * published as {@link TasksInvalidatedEvent}s for the caches to act on, this node's own ignored.
+ * <p>
+ * Every node numbers its messages, and repeats the last number in a heartbeat while it has nothing
+ * to send. Whenever a receiver cannot be sure it saw everything, it publishes a flush of everything:
+ * on a gap in a node's numbers, on a node it does not know that is past its first message, on a
+ * malformed message and whenever the transport (re)connects. A failed send still uses up its number,
+ * so the other nodes flush on the gap.
+ */
+@Slf4j
+public class InvalidationBus implements InvalidationTransport.Listener, AutoCloseable {
+
+    public static final String MESSAGES_METRIC = "taskmanager.invalidation.messages";
+    public static final String FLUSHES_METRIC = "taskmanager.invalidation.flushes";
+
+    /**
+     * Sequence of an origin whose earlier messages a flush has made irrelevant.
+     */
+    private static final long RESYNCED = -1;
+
+    private final InvalidationTransport transport;
+    private final ApplicationEventPublisher eventPublisher;
+    private final InvalidationProperties properties;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private final Map<String, Origin> origins = new HashMap<>();
+    private final ScheduledExecutorService executor;
+    private final MeterRegistry registry;
+    private final Counter sent;
+    private final Counter received;
+    private long sequence;
+    private long lastSentAt = System.nanoTime();
+
+    public InvalidationBus(InvalidationTransport transport, ApplicationEventPublisher eventPublisher,
+                           InvalidationProperties properties, MeterRegistry registry) {
+        this.transport = transport;
+        this.eventPublisher = eventPublisher;
+        this.properties = properties;
+        this.registry = registry;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "invalidation-publisher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.sent = messages(registry, "sent");
+        this.received = messages(registry, "received");
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        transport.start(this);
+        long window = properties.getBatchWindow().toMillis();
+        executor.scheduleWithFixedDelay(this::publishPending, window, window, TimeUnit.MILLISECONDS);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTaskChanged(TaskChangedEvent event) {
+        pending.add(event.getTaskId());
+    }
+
+    /**
+     * Sends the ids collected since the last batch, or a heartbeat when there are none and nothing was
+     * sent for a heartbeat interval. Runs every batch window.
+     */
+    public synchronized void publishPending() {
+        try {
+            if (pending.isEmpty()) {
+                if (System.nanoTime() - lastSentAt >= properties.getHeartbeat().toNanos()) {
+                    send(InvalidationMessage.heartbeat(nodeId, sequence));
+                }
+            } else {
+                Set<Long> taskIds = new HashSet<>();
+                for (Iterator<Long> ids = pending.iterator(); ids.hasNext(); ) {
+                    taskIds.add(ids.next());
+                    ids.remove();
+                }
+                sequence++;
+                send(taskIds.size() > properties.getMaxIds()
+                        ? InvalidationMessage.all(nodeId, sequence)
+                        : InvalidationMessage.tasks(nodeId, sequence, taskIds));
+            }
+            forgetSilentOrigins();
+        } catch (RuntimeException e) {
+            log.warn("Publishing invalidations failed", e);
+        }
+    }
+
+    @Override
+    public void onMessage(String payload) {
+        InvalidationMessage message;
+        try {
+            message = InvalidationMessage.decode(payload);
+        } catch (IllegalArgumentException e) {
+            log.warn("Dropping a malformed invalidation message and flushing", e);
+            flush("malformed");
+            return;
+        }
+        if (message.origin().equals(nodeId)) {
+            return;
+        }
+        received.increment();
+        synchronized (origins) {
+            Origin origin = origins.get(message.origin());
+            long last = origin == null ? 0 : origin.sequence();
+            origins.put(message.origin(), new Origin(Math.max(last, message.sequence()), System.nanoTime()));
+            if (last == RESYNCED) {
+                if (message.kind() != InvalidationMessage.Kind.HEARTBEAT) {
+                    invalidate(message);
+                }
+            } else if (message.kind() == InvalidationMessage.Kind.HEARTBEAT) {
+                if (message.sequence() > last) {
+                    flush("gap");
+                }
+            } else if (message.sequence() > last + 1) {
+                log.info("Missed invalidations {} to {} from node {}, flushing", last + 1, message.sequence() - 1, message.origin());
+                flush("gap");
+            } else if (message.sequence() == last + 1) {
+                invalidate(message);
+            }
+        }
+    }
+
+    @Override
+    public void onReset() {
+        synchronized (origins) {
+            origins.replaceAll((id, origin) -> new Origin(RESYNCED, origin.heardAt()));
+            flush("reset");
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(properties.getBatchWindow().toMillis() * 2, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        publishPending();
+        transport.close();
+    }
+
+    /**
+     * Identifies this node in its messages; new on every start.
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private void invalidate(InvalidationMessage message) {
+        if (message.kind() == InvalidationMessage.Kind.ALL) {
+            flush("remote");
+        } else {
+            eventPublisher.publishEvent(TasksInvalidatedEvent.of(message.taskIds()));
+        }
+    }
+
+    private void flush(String reason) {
+        Counter.builder(FLUSHES_METRIC)
+                .description("Times every cached task and list result was dropped, by cause")
+                .tag("reason", reason)
+                .register(registry)
+                .increment();
+        eventPublisher.publishEvent(TasksInvalidatedEvent.everything());
+    }
+
+    private void send(InvalidationMessage message) {
+        lastSentAt = System.nanoTime();
+        try {
+            transport.send(message.encode());
+            sent.increment();
+        } catch (RuntimeException e) {
+            log.warn("Broadcasting invalidation {} failed, other nodes flush on the gap", message.sequence(), e);
+        }
+    }
+
+    private void forgetSilentOrigins() {
+        long cutoff = System.nanoTime() - properties.getOriginTimeout().toNanos();
+        synchronized (origins) {
+            origins.values().removeIf(origin -> origin.heardAt() - cutoff < 0);
+        }
+    }
+
+    private static Counter messages(MeterRegistry registry, String direction) {
+        return Counter.builder(MESSAGES_METRIC)
+                .description("Invalidation messages by direction, heartbeats included")
+                .tag("direction", direction)
+                .register(registry);
+    }
+
+    /**
+     * @param sequence the highest number heard, or {@link #RESYNCED}
+     * @param heardAt  {@link System#nanoTime()} of the last message
+     */
+    private record Origin(long sequence, long heardAt) {
+    }
+}
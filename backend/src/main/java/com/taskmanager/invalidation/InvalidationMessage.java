@@ -0,0 +1,81 @@
+package com.taskmanager.invalidation;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * One broadcast of the invalidation bus, encoded as {@code origin:sequence:kind:ids} so it fits a
+ * PostgreSQL {@code NOTIFY} payload. Each node numbers its task and flush messages 1, 2, 3, ...; a
+ * heartbeat repeats the last number, so a receiver also notices a lost message that nothing follows.
+ *
+ * @param origin   the sending node, a new id on every start
+ * @param sequence the number of the message, or of the last one for a heartbeat
+ * @param taskIds  the changed tasks of a {@link Kind#TASKS} message, empty otherwise
+ */
+record InvalidationMessage(String origin, long sequence, Kind kind, Set<Long> taskIds) {
+
+    enum Kind {
+        /**
+         * These tasks changed, and with them any list result.
+         */
+        TASKS('T'),
+        /**
+         * Anything may have changed.
+         */
+        ALL('A'),
+        /**
+         * Nothing changed since the last message.
+         */
+        HEARTBEAT('H');
+
+        private final char code;
+
+        Kind(char code) {
+            this.code = code;
+        }
+
+        static Kind of(String code) {
+            for (Kind kind : values()) {
+                if (code.length() == 1 && kind.code == code.charAt(0)) {
+                    return kind;
+                }
+            }
+            throw new IllegalArgumentException("Unknown invalidation kind: " + code);
+        }
+    }
+
+    static InvalidationMessage tasks(String origin, long sequence, Set<Long> taskIds) {
+        return new InvalidationMessage(origin, sequence, Kind.TASKS, taskIds);
+    }
+
+    static InvalidationMessage all(String origin, long sequence) {
+        return new InvalidationMessage(origin, sequence, Kind.ALL, Set.of());
+    }
+
+    static InvalidationMessage heartbeat(String origin, long sequence) {
+        return new InvalidationMessage(origin, sequence, Kind.HEARTBEAT, Set.of());
+    }
+
+    String encode() {
+        String ids = taskIds.stream().map(String::valueOf).collect(Collectors.joining(","));
+        return origin + ":" + sequence + ":" + kind.code + ":" + ids;
+    }
+
+    /**
+     * @throws IllegalArgumentException if {@code payload} is not an encoded message
+     */
+    static InvalidationMessage decode(String payload) {
+        String[] parts = payload.split(":", 4);
+        if (parts.length != 4 || parts[0].isEmpty()) {
+            throw new IllegalArgumentException("Malformed invalidation message: " + payload);
+        }
+        Set<Long> taskIds = new HashSet<>();
+        if (!parts[3].isEmpty()) {
+            for (String id : parts[3].split(",")) {
+                taskIds.add(Long.parseLong(id));
+            }
+        }
+        return new InvalidationMessage(parts[0], Long.parseLong(parts[1]), Kind.of(parts[2]), taskIds);
+    }
+}
@@ -0,0 +1,35 @@
+package com.taskmanager.invalidation;
+
+/**
+ * Carries invalidation payloads between nodes. Payloads from one sender arrive in the order sent,
+ * at most once; a receiver can miss some, but only where it is told through
+ * {@link Listener#onReset()} or where the sequence numbers show a gap. A sender also receives its own
+ * payloads.
+ */
+public interface InvalidationTransport extends AutoCloseable {
+
+    /**
+     * Starts delivering payloads to {@code listener}, from a thread of the transport.
+     */
+    void start(Listener listener);
+
+    /**
+     * Broadcasts {@code payload} to every started node.
+     *
+     * @throws RuntimeException if it could not be sent
+     */
+    void send(String payload);
+
+    @Override
+    void close();
+
+    interface Listener {
+
+        void onMessage(String payload);
+
+        /**
+         * The transport is (again) receiving; payloads sent before may have been missed.
+         */
+        void onReset();
+    }
+}
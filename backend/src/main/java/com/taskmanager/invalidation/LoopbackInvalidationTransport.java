@@ -0,0 +1,62 @@
+package com.taskmanager.invalidation;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Delivers payloads to every transport started on the same channel in this JVM, each on a thread of
+ * the receiver, the way {@code NOTIFY} does between connections. Lets several application contexts
+ * in one test share a bus without a PostgreSQL server.
+ */
+public class LoopbackInvalidationTransport implements InvalidationTransport {
+
+    private static final ConcurrentMap<String, Set<LoopbackInvalidationTransport>> CHANNELS = new ConcurrentHashMap<>();
+
+    private final String channel;
+    private final ExecutorService delivery;
+    private volatile Listener listener;
+
+    public LoopbackInvalidationTransport(String channel) {
+        this.channel = channel;
+        this.delivery = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "invalidation-loopback");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void start(Listener listener) {
+        this.listener = listener;
+        CHANNELS.computeIfAbsent(channel, name -> ConcurrentHashMap.newKeySet()).add(this);
+        delivery.execute(listener::onReset);
+    }
+
+    @Override
+    public void send(String payload) {
+        for (LoopbackInvalidationTransport receiver : CHANNELS.getOrDefault(channel, Set.of())) {
+            receiver.deliver(payload);
+        }
+    }
+
+    @Override
+    public void close() {
+        CHANNELS.computeIfPresent(channel, (name, receivers) -> {
+            receivers.remove(this);
+            return receivers.isEmpty() ? null : receivers;
+        });
+        delivery.shutdown();
+    }
+
+    private void deliver(String payload) {
+        try {
+            delivery.execute(() -> listener.onMessage(payload));
+        } catch (RejectedExecutionException e) {
+            // Closed while the payload was on its way, like a connection that stopped listening.
+        }
+    }
+}
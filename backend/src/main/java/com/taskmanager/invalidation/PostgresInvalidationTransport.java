@@ -0,0 +1,131 @@
+package com.taskmanager.invalidation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCallback;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.regex.Pattern;
+
+/**
+ * Broadcasts through PostgreSQL {@code NOTIFY} on one channel. Payloads are sent with
+ * {@code pg_notify} on a pooled connection, committing on their own, and received on a dedicated
+ * connection outside the pool that {@code LISTEN}s and polls for notifications. When that connection
+ * fails it is reopened after a delay; notifications sent meanwhile are lost, which the listener learns
+ * through {@link Listener#onReset()} once listening again.
+ */
+@Slf4j
+public class PostgresInvalidationTransport implements InvalidationTransport {
+
+    private static final Pattern CHANNEL = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Connector connector;
+    private final String channel;
+    private final Duration pollTimeout;
+    private final Duration reconnectDelay;
+    private volatile boolean running;
+    private volatile Connection connection;
+    private Thread receiver;
+
+    @FunctionalInterface
+    public interface Connector {
+        Connection connect() throws SQLException;
+    }
+
+    /**
+     * @param connector opens the listening connection, which must not come from a pool
+     */
+    public PostgresInvalidationTransport(JdbcTemplate jdbcTemplate, Connector connector, String channel,
+                                         Duration pollTimeout, Duration reconnectDelay) {
+        if (!CHANNEL.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Invalidation channel must be a lower-case identifier: " + channel);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.connector = connector;
+        this.channel = channel;
+        this.pollTimeout = pollTimeout;
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    @Override
+    public void start(Listener listener) {
+        running = true;
+        receiver = new Thread(() -> receive(listener), "invalidation-listener");
+        receiver.setDaemon(true);
+        receiver.start();
+    }
+
+    @Override
+    public void send(String payload) {
+        jdbcTemplate.execute("SELECT pg_notify(?, ?)", (PreparedStatementCallback<Boolean>) statement -> {
+            statement.setString(1, channel);
+            statement.setString(2, payload);
+            return statement.execute();
+        });
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        closeConnection();
+        if (receiver != null) {
+            receiver.interrupt();
+            try {
+                receiver.join(pollTimeout.plus(reconnectDelay).toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void receive(Listener listener) {
+        while (running) {
+            try {
+                connection = connector.connect();
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                listener.onReset();
+                PGConnection notifications = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] received = notifications.getNotifications((int) pollTimeout.toMillis());
+                    if (received != null) {
+                        for (PGNotification notification : received) {
+                            listener.onMessage(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    break;
+                }
+                log.warn("Invalidation channel {} lost, listening again in {}", channel, reconnectDelay, e);
+                closeConnection();
+                try {
+                    Thread.sleep(reconnectDelay.toMillis());
+                } catch (InterruptedException interrupted) {
+                    break;
+                }
+            }
+        }
+        closeConnection();
+    }
+
+    private void closeConnection() {
+        Connection current = connection;
+        connection = null;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (SQLException e) {
+                log.debug("Closing the invalidation connection failed", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.taskmanager.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One {@link com.taskmanager.service.TaskService} operation, committed by {@link TaskOperationRecorder}
+ * when a recording enables it and the call took at least its configured threshold. The event's own
+ * duration is the call's.
+ */
+@Name(TaskOperationEvent.NAME)
+@Label("Task Operation")
+@Category({"Task Manager", "Service"})
+@Description("A TaskService call with the shape of its query and the work it did")
+@StackTrace(false)
+public class TaskOperationEvent extends jdk.jfr.Event {
+
+    public static final String NAME = "com.taskmanager.TaskOperation";
+
+    @Label("Operation")
+    @Description("TaskService method name")
+    String operation;
+
+    @Label("Filter")
+    @Description("Which filters, tag constraints and sort a list used, without their values")
+    String filter;
+
+    @Label("Page Size")
+    int pageSize;
+
+    @Label("Rows")
+    @Description("Tasks returned or written")
+    int rows;
+
+    @Label("Statements")
+    @Description("JDBC statements the call executed on its own thread")
+    int statements;
+
+    @Label("Error")
+    @Description("Simple class name of the exception the call failed with")
+    String error;
+}
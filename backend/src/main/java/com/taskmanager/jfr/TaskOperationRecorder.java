@@ -0,0 +1,165 @@
+package com.taskmanager.jfr;
+
+import com.taskmanager.config.JfrProperties;
+import com.taskmanager.dto.PagedResponse;
+import com.taskmanager.dto.TaskLookupResponse;
+import com.taskmanager.dto.TaskResponse;
+import com.taskmanager.service.TaskListQuery;
+import com.taskmanager.store.TaskRowSink;
+import com.taskmanager.tracing.StatementCounter;
+import jdk.jfr.FlightRecorder;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.StringJoiner;
+
+/**
+ * Emits a {@link TaskOperationEvent} for every public {@link com.taskmanager.service.TaskService}
+ * call while a recording enables the event. Outside a recording a call costs one enabled check.
+ * Runs outside the transaction advice, so an event includes the commit and the statements it flushes.
+ * A call shorter than the threshold configured for its operation is not committed; the recording's
+ * own threshold for the event applies on top.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TaskOperationRecorder {
+
+    private final JfrProperties properties;
+
+    public TaskOperationRecorder(JfrProperties properties) {
+        this.properties = properties;
+        FlightRecorder.register(TaskOperationEvent.class);
+    }
+
+    @Around("execution(public * com.taskmanager.service.TaskService.*(..))")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        TaskOperationEvent event = new TaskOperationEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        String operation = joinPoint.getSignature().getName();
+        Object[] args = joinPoint.getArgs();
+        CountingSink sink = countRows(args);
+        long started = System.nanoTime();
+        event.begin();
+        Object result = null;
+        Throwable failure = null;
+        try (StatementCounter.Scope statements = StatementCounter.open()) {
+            try {
+                result = joinPoint.proceed(args);
+                return result;
+            } catch (Throwable e) {
+                failure = e;
+                throw e;
+            } finally {
+                event.end();
+                if (System.nanoTime() - started >= threshold(operation).toNanos() && event.shouldCommit()) {
+                    TaskListQuery query = listQuery(args);
+                    event.operation = operation;
+                    event.filter = query != null ? filterShape(query) : null;
+                    event.pageSize = query != null ? query.getSize() : 0;
+                    event.rows = sink != null ? sink.rows : rows(result);
+                    event.statements = statements.count();
+                    event.error = failure != null ? failure.getClass().getSimpleName() : null;
+                    event.commit();
+                }
+            }
+        }
+    }
+
+    private Duration threshold(String operation) {
+        return properties.getThresholds().getOrDefault(operation, properties.getThreshold());
+    }
+
+    /**
+     * The filters, tag constraints and sort of {@code query} without their values, such as
+     * {@code isCompleted,tags sort=title:desc}, so that calls of the same shape group together.
+     */
+    static String filterShape(TaskListQuery query) {
+        StringJoiner filters = new StringJoiner(",");
+        if (query.getIsCompleted() != null) {
+            filters.add("isCompleted");
+        }
+        if (query.getDueDateFrom() != null) {
+            filters.add("dueDateFrom");
+        }
+        if (query.getDueDateTo() != null) {
+            filters.add("dueDateTo");
+        }
+        if (!query.getTags().isEmpty()) {
+            filters.add("tags");
+        }
+        if (!query.getAnyTags().isEmpty()) {
+            filters.add("anyTags");
+        }
+        filters.setEmptyValue("none");
+        return filters + " sort=" + query.getSortBy() + ":" + query.getDirection().name().toLowerCase(Locale.ROOT);
+    }
+
+    private static TaskListQuery listQuery(Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof TaskListQuery query) {
+                return query;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Replaces a {@link TaskRowSink} argument with one that counts the rows written to it.
+     */
+    private static CountingSink countRows(Object[] args) {
+        for (int i = 0; i < args.length; i++) {
+            if (args[i] instanceof TaskRowSink sink) {
+                CountingSink counting = new CountingSink(sink);
+                args[i] = counting;
+                return counting;
+            }
+        }
+        return null;
+    }
+
+    private static int rows(Object result) {
+        if (result instanceof PagedResponse<?> page) {
+            return page.getContent().size();
+        }
+        if (result instanceof TaskLookupResponse lookup) {
+            return lookup.getTasks().size();
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        return result instanceof TaskResponse ? 1 : 0;
+    }
+
+    private static final class CountingSink implements TaskRowSink {
+
+        private final TaskRowSink sink;
+        private int rows;
+
+        CountingSink(TaskRowSink sink) {
+            this.sink = sink;
+        }
+
+        @Override
+        public void accept(ResultSet rs, List<String> tags) throws SQLException {
+            rows++;
+            sink.accept(rs, tags);
+        }
+
+        @Override
+        public void accept(TaskResponse task) {
+            rows++;
+            sink.accept(task);
+        }
+    }
+}
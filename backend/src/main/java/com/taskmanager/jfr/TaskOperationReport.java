@@ -0,0 +1,123 @@
+package com.taskmanager.jfr;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the {@link TaskOperationEvent}s of a JFR recording and prints, per operation, the call count,
+ * latency percentiles and the average rows and statements per call, slowest total first. With
+ * {@code --by-filter}, list operations are broken down by filter shape as well.
+ * <p>
+ * Run with {@code ./gradlew jfrReport --args="recording.jfr [--by-filter]"}.
+ */
+public final class TaskOperationReport {
+
+    private TaskOperationReport() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0 || args.length > 2 || args.length == 2 && !args[1].equals("--by-filter")) {
+            System.err.println("usage: TaskOperationReport <recording.jfr> [--by-filter]");
+            System.exit(2);
+        }
+        print(summarize(Path.of(args[0]), args.length == 2), System.out);
+    }
+
+    /**
+     * @param byFilter whether operations are grouped by filter shape as well as by name
+     */
+    public static List<OperationStats> summarize(Path recording, boolean byFilter) throws IOException {
+        Map<String, Accumulator> operations = new LinkedHashMap<>();
+        try (RecordingFile file = new RecordingFile(recording)) {
+            while (file.hasMoreEvents()) {
+                RecordedEvent event = file.readEvent();
+                if (!event.getEventType().getName().equals(TaskOperationEvent.NAME)) {
+                    continue;
+                }
+                String operation = event.getString("operation");
+                String filter = event.getString("filter");
+                String key = byFilter && filter != null ? operation + " [" + filter + "]" : operation;
+                operations.computeIfAbsent(key, name -> new Accumulator()).add(event);
+            }
+        }
+        List<OperationStats> stats = new ArrayList<>(operations.size());
+        operations.forEach((name, accumulator) -> stats.add(accumulator.toStats(name)));
+        stats.sort(Comparator.comparing(OperationStats::total).reversed());
+        return stats;
+    }
+
+    public static void print(List<OperationStats> stats, PrintStream out) {
+        if (stats.isEmpty()) {
+            out.println("No " + TaskOperationEvent.NAME + " events in the recording.");
+            return;
+        }
+        out.printf("%-60s %8s %10s %10s %10s %10s %10s %8s %8s %6s%n",
+                "operation", "count", "mean ms", "p50 ms", "p90 ms", "p99 ms", "max ms", "rows", "stmts", "errors");
+        for (OperationStats stat : stats) {
+            out.printf("%-60s %8d %10.3f %10.3f %10.3f %10.3f %10.3f %8.1f %8.1f %6d%n",
+                    stat.operation(), stat.count(), millis(stat.mean()), millis(stat.p50()), millis(stat.p90()),
+                    millis(stat.p99()), millis(stat.max()), stat.meanRows(), stat.meanStatements(), stat.errors());
+        }
+    }
+
+    private static double millis(Duration duration) {
+        return duration.toNanos() / 1_000_000.0;
+    }
+
+    /**
+     * Latency distribution and average work of one operation.
+     */
+    public record OperationStats(String operation, int count, Duration total, Duration mean, Duration p50,
+                                 Duration p90, Duration p99, Duration max, double meanRows,
+                                 double meanStatements, int errors) {
+    }
+
+    private static final class Accumulator {
+
+        private long[] durations = new long[64];
+        private int count;
+        private long rows;
+        private long statements;
+        private int errors;
+
+        void add(RecordedEvent event) {
+            if (count == durations.length) {
+                durations = Arrays.copyOf(durations, count * 2);
+            }
+            durations[count++] = event.getDuration().toNanos();
+            rows += event.getInt("rows");
+            statements += event.getInt("statements");
+            if (event.getString("error") != null) {
+                errors++;
+            }
+        }
+
+        OperationStats toStats(String operation) {
+            long[] sorted = Arrays.copyOf(durations, count);
+            Arrays.sort(sorted);
+            long total = Arrays.stream(sorted).sum();
+            return new OperationStats(operation, count, Duration.ofNanos(total), Duration.ofNanos(total / count),
+                    percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                    Duration.ofNanos(sorted[count - 1]), (double) rows / count, (double) statements / count, errors);
+        }
+
+        /**
+         * Nearest-rank percentile of sorted durations.
+         */
+        private static Duration percentile(long[] sorted, double quantile) {
+            int rank = (int) Math.ceil(quantile * sorted.length);
+            return Duration.ofNanos(sorted[Math.max(rank, 1) - 1]);
+        }
+    }
+}
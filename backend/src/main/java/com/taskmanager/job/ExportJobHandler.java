@@ -0,0 +1,77 @@
+package com.taskmanager.job;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.dto.ExportJobRequest;
+import com.taskmanager.dto.TaskResponse;
+import com.taskmanager.entity.Job;
+import com.taskmanager.repository.TaskRowMappers;
+import com.taskmanager.repository.TaskTags;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Writes matching tasks to the result file as newline-delimited JSON, in id order. The committed
+ * file length is part of the checkpoint, so a resumed export truncates any partially written
+ * chunk before continuing.
+ */
+@Component
+@ConditionalOnExpression("!${taskmanager.sharding.enabled:false} and !${taskmanager.embedded.enabled:false}")
+@RequiredArgsConstructor
+public class ExportJobHandler implements JobHandler {
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public Job.Type type() {
+        return Job.Type.EXPORT;
+    }
+
+    @Override
+    public void run(JobContext context) throws Exception {
+        ExportJobRequest request = objectMapper.readValue(context.getJob().getParameters(), ExportJobRequest.class);
+        TaskFilterSql filter = new TaskFilterSql(request.getIsCompleted(), request.getDueDateFrom(), request.getDueDateTo());
+        context.initTotal(() -> context.getJdbcTemplate().queryForObject(
+                filter.countSql(), Long.class, filter.countArguments()));
+
+        Files.createDirectories(context.getDirectory());
+        try (FileChannel channel = FileChannel.open(context.resultFile(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            long bytes = context.getJob().getCheckpointBytes();
+            long lastId = context.getJob().getCheckpointPosition();
+            channel.truncate(bytes);
+            channel.position(bytes);
+            TaskTags taskTags = new TaskTags(context.getJdbcTemplate());
+
+            while (true) {
+                List<TaskResponse> rows = context.getJdbcTemplate().query(
+                        filter.chunkSql(TaskRowMappers.COLUMNS), TaskRowMappers.RESPONSE,
+                        filter.chunkArguments(lastId, context.getChunkSize()));
+                if (rows.isEmpty()) {
+                    return;
+                }
+                taskTags.fill(rows);
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+                for (TaskResponse row : rows) {
+                    buffer.write(objectMapper.writeValueAsBytes(row));
+                    buffer.write('\n');
+                }
+                channel.write(ByteBuffer.wrap(buffer.toByteArray()));
+                channel.force(false);
+
+                bytes += buffer.size();
+                lastId = rows.get(rows.size() - 1).getId();
+                long position = lastId;
+                long committedBytes = bytes;
+                context.inChunk(() -> context.checkpoint(position, committedBytes, rows.size()));
+            }
+        }
+    }
+}
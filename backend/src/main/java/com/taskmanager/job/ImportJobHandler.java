@@ -0,0 +1,111 @@
+package com.taskmanager.job;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.dto.TaskCreateRequest;
+import com.taskmanager.entity.Job;
+import com.taskmanager.entity.Task;
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.event.TaskSnapshot;
+import com.taskmanager.exception.InvalidParentException;
+import com.taskmanager.mapper.TaskMapper;
+import com.taskmanager.repository.TaskHierarchy;
+import com.taskmanager.repository.TaskTags;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Creates the tasks from the uploaded payload. Each chunk's inserts and its checkpoint commit
+ * together, so a resumed import neither skips nor duplicates tasks. A {@code parentId} must name a
+ * task that exists by the time its subtask is imported, which may be one earlier in the payload.
+ */
+@Component
+@ConditionalOnExpression("!${taskmanager.sharding.enabled:false} and !${taskmanager.embedded.enabled:false}")
+@RequiredArgsConstructor
+public class ImportJobHandler implements JobHandler {
+
+    private static final String INSERT = "INSERT INTO tasks (title, description, is_completed, due_date, assigned_to,"
+            + " parent_id, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public Job.Type type() {
+        return Job.Type.IMPORT;
+    }
+
+    @Override
+    public void run(JobContext context) throws Exception {
+        List<TaskCreateRequest> requests = objectMapper.readValue(
+                context.inputFile().toFile(), new TypeReference<List<TaskCreateRequest>>() {
+                });
+        context.initTotal(() -> (long) requests.size());
+
+        int next = Math.toIntExact(context.getJob().getCheckpointPosition());
+        while (next < requests.size()) {
+            int end = Math.min(next + context.getChunkSize(), requests.size());
+            List<TaskCreateRequest> chunk = requests.subList(next, end);
+            context.inChunk(() -> {
+                for (TaskCreateRequest request : chunk) {
+                    Task task = insert(context, request);
+                    eventPublisher.publishEvent(TaskChangedEvent.created(TaskSnapshot.of(task)));
+                }
+                context.checkpoint(end, 0, chunk.size());
+            });
+            next = end;
+        }
+    }
+
+    private Task insert(JobContext context, TaskCreateRequest request) {
+        LocalDateTime now = context.now();
+        Long parentId = request.getParentId();
+        if (parentId != null && context.getJdbcTemplate().queryForList(
+                "SELECT id FROM tasks WHERE id = ?", Long.class, parentId).isEmpty()) {
+            throw new InvalidParentException("Parent task " + parentId + " does not exist");
+        }
+        KeyHolder keys = new GeneratedKeyHolder();
+        context.getJdbcTemplate().update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT, new String[]{"id"});
+            statement.setString(1, request.getTitle());
+            statement.setString(2, request.getDescription());
+            statement.setBoolean(3, false);
+            statement.setTimestamp(4, request.getDueDate() == null ? null : Timestamp.valueOf(request.getDueDate()));
+            statement.setString(5, request.getAssignedTo());
+            statement.setObject(6, parentId, Types.BIGINT);
+            statement.setTimestamp(7, Timestamp.valueOf(now));
+            statement.setTimestamp(8, Timestamp.valueOf(now));
+            return statement;
+        }, keys);
+        long id = Objects.requireNonNull(keys.getKey()).longValue();
+        Set<String> tags = TaskMapper.normalizeTags(request.getTags());
+        new TaskTags(context.getJdbcTemplate()).insert(id, tags);
+        if (parentId != null) {
+            new TaskHierarchy(context.getJdbcTemplate()).attach(id, parentId);
+        }
+        return Task.builder()
+                .id(id)
+                .title(request.getTitle())
+                .description(request.getDescription())
+                .isCompleted(false)
+                .dueDate(request.getDueDate())
+                .assignedTo(request.getAssignedTo())
+                .parentId(parentId)
+                .createdAt(now)
+                .updatedAt(now)
+                .tags(tags)
+                .build();
+    }
+}
@@ -0,0 +1,11 @@
+package com.taskmanager.job;
+
+/**
+ * Thrown from a checkpoint when cancellation was requested; rolls back the current chunk.
+ */
+class JobCancelledException extends RuntimeException {
+
+    JobCancelledException(Long jobId) {
+        super("Job " + jobId + " was cancelled");
+    }
+}
@@ -0,0 +1,89 @@
+package com.taskmanager.job;
+
+import com.taskmanager.entity.Job;
+import lombok.Getter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+
+/**
+ * What a {@link JobHandler} works with: the job as loaded when it started or resumed, and JDBC
+ * access through the job connection pool.
+ */
+@Getter
+public class JobContext {
+
+    private final Job job;
+    private final String owner;
+    private final JdbcTemplate jdbcTemplate;
+    private final int chunkSize;
+    private final Path directory;
+    private final Clock clock;
+    private final TransactionTemplate transactionTemplate;
+
+    JobContext(Job job, String owner, JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+               int chunkSize, Path directory, Clock clock) {
+        this.job = job;
+        this.owner = owner;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+        this.directory = directory;
+        this.clock = clock;
+    }
+
+    public LocalDateTime now() {
+        return LocalDateTime.now(clock);
+    }
+
+    public Path inputFile() {
+        return JobFiles.input(directory, job.getId());
+    }
+
+    public Path resultFile() {
+        return JobFiles.result(directory, job.getId());
+    }
+
+    /**
+     * Records the total once; a resumed job keeps the total counted when it first started.
+     */
+    public void initTotal(Supplier<Long> total) {
+        if (job.getTotalItems() == null) {
+            long value = total.get();
+            jdbcTemplate.update("UPDATE jobs SET total_items = ? WHERE id = ? AND owner = ?", value, job.getId(), owner);
+            job.setTotalItems(value);
+        }
+    }
+
+    /**
+     * Runs one chunk in a transaction on the job pool. The chunk must end with {@link #checkpoint}.
+     */
+    public void inChunk(Runnable chunk) {
+        transactionTemplate.executeWithoutResult(status -> chunk.run());
+    }
+
+    /**
+     * Advances the checkpoint inside the current chunk's transaction, or throws if the job was
+     * cancelled or taken over by another node, which rolls the chunk back.
+     */
+    public void checkpoint(long position, long bytes, int processed) {
+        int updated = jdbcTemplate.update(
+                "UPDATE jobs SET checkpoint_position = ?, checkpoint_bytes = ?, processed_items = processed_items + ?"
+                        + " WHERE id = ? AND owner = ? AND cancel_requested = FALSE",
+                position, bytes, processed, job.getId(), owner);
+        if (updated == 0) {
+            String current = jdbcTemplate.queryForObject("SELECT owner FROM jobs WHERE id = ?", String.class, job.getId());
+            if (!owner.equals(current)) {
+                throw new JobLeaseLostException(job.getId());
+            }
+            throw new JobCancelledException(job.getId());
+        }
+        job.setCheckpointPosition(position);
+        job.setCheckpointBytes(bytes);
+        job.setProcessedItems(job.getProcessedItems() + processed);
+    }
+}
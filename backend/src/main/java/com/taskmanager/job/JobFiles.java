@@ -0,0 +1,17 @@
+package com.taskmanager.job;
+
+import java.nio.file.Path;
+
+public final class JobFiles {
+
+    private JobFiles() {
+    }
+
+    public static Path input(Path directory, Long jobId) {
+        return directory.resolve("job-" + jobId + ".input.json");
+    }
+
+    public static Path result(Path directory, Long jobId) {
+        return directory.resolve("job-" + jobId + ".result.ndjson");
+    }
+}
@@ -0,0 +1,14 @@
+package com.taskmanager.job;
+
+import com.taskmanager.entity.Job;
+
+/**
+ * Runs one type of job. Implementations process work in chunks, each committed together with
+ * {@link JobContext#checkpoint}, and must resume from the checkpoint stored on the job.
+ */
+public interface JobHandler {
+
+    Job.Type type();
+
+    void run(JobContext context) throws Exception;
+}
@@ -0,0 +1,11 @@
+package com.taskmanager.job;
+
+/**
+ * Thrown from a checkpoint when another node has taken the job over; rolls back the current chunk.
+ */
+class JobLeaseLostException extends RuntimeException {
+
+    JobLeaseLostException(Long jobId) {
+        super("Job " + jobId + " was taken over by another node");
+    }
+}
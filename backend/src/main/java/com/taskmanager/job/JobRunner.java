@@ -0,0 +1,226 @@
+package com.taskmanager.job;
+
+import com.taskmanager.config.JobProperties;
+import com.taskmanager.entity.Job;
+import com.taskmanager.exception.JobQueueFullException;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs jobs on a bounded pool of low-priority worker threads that use a connection pool of their
+ * own, so bulk work never waits for, or holds, connections that requests need.
+ * <p>
+ * A node claims a job by setting itself as the job's owner with a lease, which it renews while the
+ * job runs; only queued jobs and running jobs whose lease has lapsed can be claimed, so two nodes
+ * never run the same job, and checkpoints and the final status are written only by the owner. Jobs
+ * left queued or running by a node that stopped are picked up, once their lease lapses, by any node
+ * at its start or at its next lease check, and continue from their last checkpoint.
+ */
+@Slf4j
+public class JobRunner {
+
+    private static final RowMapper<Job> JOB_MAPPER = (rs, rowNum) -> Job.builder()
+            .id(rs.getLong("id"))
+            .type(Job.Type.valueOf(rs.getString("type")))
+            .status(Job.Status.valueOf(rs.getString("status")))
+            .parameters(rs.getString("parameters"))
+            .totalItems(rs.getObject("total_items", Long.class))
+            .processedItems(rs.getLong("processed_items"))
+            .checkpointPosition(rs.getLong("checkpoint_position"))
+            .checkpointBytes(rs.getLong("checkpoint_bytes"))
+            .cancelRequested(rs.getBoolean("cancel_requested"))
+            .build();
+
+    private final HikariDataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<Job.Type, JobHandler> handlers = new EnumMap<>(Job.Type.class);
+    private final JobProperties properties;
+    private final Clock clock;
+    private final String owner;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService leases;
+    private final Set<Long> submitted = ConcurrentHashMap.newKeySet();
+    private volatile boolean stopping;
+
+    /**
+     * @param owner identifies this node in the jobs table; must differ between nodes
+     */
+    public JobRunner(HikariDataSource dataSource, List<JobHandler> handlers, JobProperties properties,
+                     String owner, Clock clock) {
+        this.dataSource = dataSource;
+        this.owner = owner;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        handlers.forEach(handler -> this.handlers.put(handler.type(), handler));
+        this.properties = properties;
+        this.clock = clock;
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                properties.getParallelism(), properties.getParallelism(), 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "job-worker-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                });
+        this.leases = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "job-leases");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        resumeUnfinished();
+        long interval = properties.getLease().toMillis() / 3;
+        leases.scheduleWithFixedDelay(this::checkLeases, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Submits the jobs no live node holds: queued ones, and running ones whose lease has lapsed.
+     * A queued job another node is about to run is claimed by whichever node gets to it first.
+     */
+    public void resumeUnfinished() {
+        List<Long> unfinished = jdbcTemplate.queryForList(
+                "SELECT id FROM jobs WHERE status = 'QUEUED'"
+                        + " OR (status = 'RUNNING' AND (lease_until IS NULL OR lease_until <= ?)) ORDER BY id",
+                Long.class, LocalDateTime.now(clock));
+        int resumed = 0;
+        for (Long id : unfinished) {
+            if (submitted.contains(id)) {
+                continue;
+            }
+            try {
+                submit(id);
+                resumed++;
+            } catch (JobQueueFullException e) {
+                log.warn("Job queue is full, job {} stays queued until a later lease check", id);
+                break;
+            }
+        }
+        if (resumed > 0) {
+            log.info("Resumed {} unfinished jobs", resumed);
+        }
+    }
+
+    /**
+     * Whether a handler for {@code type} is registered. Handlers work on the primary database's
+     * tasks table, so none is with the sharded or embedded store.
+     */
+    public boolean supports(Job.Type type) {
+        return handlers.containsKey(type);
+    }
+
+    public void submit(Long jobId) {
+        if (!submitted.add(jobId)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    run(jobId);
+                } finally {
+                    submitted.remove(jobId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            submitted.remove(jobId);
+            throw new JobQueueFullException();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        stopping = true;
+        leases.shutdownNow();
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+        dataSource.close();
+    }
+
+    /**
+     * Renews the leases of the jobs this node runs, then picks up the jobs other nodes left behind.
+     */
+    private void checkLeases() {
+        try {
+            LocalDateTime now = LocalDateTime.now(clock);
+            jdbcTemplate.update("UPDATE jobs SET lease_until = ? WHERE owner = ? AND status = 'RUNNING'",
+                    now.plus(properties.getLease()), owner);
+            resumeUnfinished();
+        } catch (Exception e) {
+            log.warn("Failed to renew job leases", e);
+        }
+    }
+
+    private void run(Long jobId) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        int claimed = jdbcTemplate.update(
+                "UPDATE jobs SET status = 'RUNNING', owner = ?, lease_until = ?, started_at = COALESCE(started_at, ?)"
+                        + " WHERE id = ? AND (status = 'QUEUED'"
+                        + " OR (status = 'RUNNING' AND (lease_until IS NULL OR lease_until <= ?)))",
+                owner, now.plus(properties.getLease()), now, jobId, now);
+        if (claimed == 0) {
+            return;
+        }
+        Job job = jdbcTemplate.queryForObject("SELECT * FROM jobs WHERE id = ?", JOB_MAPPER, jobId);
+        if (job.getCancelRequested()) {
+            finish(jobId, Job.Status.CANCELLED, null);
+            return;
+        }
+        JobHandler handler = handlers.get(job.getType());
+        if (handler == null) {
+            finish(jobId, Job.Status.FAILED, "Jobs are not supported by the configured task store");
+            return;
+        }
+        try {
+            handler.run(new JobContext(job, owner, jdbcTemplate, transactionTemplate,
+                    properties.getChunkSize(), properties.getDirectory(), clock));
+            finish(jobId, Job.Status.SUCCEEDED, null);
+        } catch (JobCancelledException e) {
+            finish(jobId, Job.Status.CANCELLED, null);
+        } catch (JobLeaseLostException e) {
+            log.warn("Job {} stopped, another node took it over", jobId);
+        } catch (Exception e) {
+            if (stopping) {
+                log.info("Job {} interrupted by shutdown, another node or the next start resumes it", jobId);
+                // Let other nodes take the job over at once rather than after the lease.
+                jdbcTemplate.update("UPDATE jobs SET lease_until = NULL WHERE id = ? AND owner = ?", jobId, owner);
+                return;
+            }
+            log.warn("Job {} failed", jobId, e);
+            String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            finish(jobId, Job.Status.FAILED, message.length() > 1000 ? message.substring(0, 1000) : message);
+        }
+    }
+
+    private void finish(Long jobId, Job.Status status, String error) {
+        jdbcTemplate.update(
+                "UPDATE jobs SET status = ?, error = ?, finished_at = ?, lease_until = NULL WHERE id = ? AND owner = ?",
+                status.name(), error, LocalDateTime.now(clock), jobId, owner);
+    }
+}
@@ -0,0 +1,56 @@
+package com.taskmanager.job;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The task list filters as SQL conditions for keyset scans over {@code tasks} in id order.
+ */
+final class TaskFilterSql {
+
+    private final String conditions;
+    private final List<Object> arguments;
+
+    TaskFilterSql(Boolean isCompleted, LocalDateTime dueDateFrom, LocalDateTime dueDateTo) {
+        StringBuilder sql = new StringBuilder();
+        List<Object> args = new ArrayList<>(3);
+        if (isCompleted != null) {
+            sql.append(" AND is_completed = ?");
+            args.add(isCompleted);
+        }
+        if (dueDateFrom != null) {
+            sql.append(" AND due_date >= ?");
+            args.add(dueDateFrom);
+        }
+        if (dueDateTo != null) {
+            sql.append(" AND due_date <= ?");
+            args.add(dueDateTo);
+        }
+        this.conditions = sql.toString();
+        this.arguments = List.copyOf(args);
+    }
+
+    String countSql() {
+        return "SELECT COUNT(*) FROM tasks WHERE 1 = 1" + conditions;
+    }
+
+    Object[] countArguments() {
+        return arguments.toArray();
+    }
+
+    /**
+     * Next chunk after {@code afterId}: binds the id, then the filters, then the limit.
+     */
+    String chunkSql(String columns) {
+        return "SELECT " + columns + " FROM tasks WHERE id > ?" + conditions + " ORDER BY id LIMIT ?";
+    }
+
+    Object[] chunkArguments(long afterId, int limit) {
+        List<Object> args = new ArrayList<>(arguments.size() + 2);
+        args.add(afterId);
+        args.addAll(arguments);
+        args.add(limit);
+        return args.toArray();
+    }
+}
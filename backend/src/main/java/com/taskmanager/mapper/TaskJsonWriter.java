@@ -0,0 +1,269 @@
+package com.taskmanager.mapper;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.taskmanager.dto.PagedResponse;
+import com.taskmanager.dto.TaskField;
+import com.taskmanager.dto.TaskResponse;
+import com.taskmanager.store.TaskRowSink;
+import org.springframework.data.domain.Pageable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Writes a {@link PagedResponse} of tasks straight to a {@link JsonGenerator}, producing the same
+ * JSON as Jackson's bean serialization of {@link TaskResponse} without building one per row.
+ * Property names are pre-encoded and timestamps are formatted as ISO-8601 into a reused buffer,
+ * with the date part cached across rows of the same day.
+ * <p>
+ * Not thread-safe; use one instance per response.
+ */
+public final class TaskJsonWriter implements TaskRowSink {
+
+    private static final SerializableString CONTENT = new SerializedString("content");
+    private static final SerializableString TOTAL_ELEMENTS = new SerializedString("totalElements");
+    private static final SerializableString TOTAL_PAGES = new SerializedString("totalPages");
+    private static final SerializableString PAGE = new SerializedString("page");
+    private static final SerializableString SIZE = new SerializedString("size");
+    private static final SerializableString TAGS = new SerializedString("tags");
+    private static final SerializableString RECURRENCE = new SerializedString("recurrence");
+    private static final SerializableString SERIES_ID = new SerializedString("seriesId");
+
+    private static final SerializableString[] NAMES = new SerializableString[TaskField.values().length];
+
+    static {
+        for (TaskField field : TaskField.values()) {
+            NAMES[field.ordinal()] = new SerializedString(field.getPropertyName());
+        }
+    }
+
+    private final JsonGenerator generator;
+    private final boolean[] selected = new boolean[TaskField.values().length];
+    private final boolean allFields;
+    private final char[] timestamp = new char[29];
+    private LocalDate cachedDate;
+
+    /**
+     * @param fields sparse fieldset, or {@code null} for all fields, the tags and the series fields
+     */
+    public TaskJsonWriter(JsonGenerator generator, Set<TaskField> fields) {
+        this.generator = generator;
+        this.allFields = fields == null;
+        for (TaskField field : fields != null ? fields : EnumSet.allOf(TaskField.class)) {
+            selected[field.ordinal()] = true;
+        }
+    }
+
+    /**
+     * Opens the page object and its {@code content} array.
+     */
+    public void writeStart() throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(CONTENT);
+        generator.writeStartArray();
+    }
+
+    /**
+     * Closes the {@code content} array and writes the paging fields.
+     */
+    public void writeEnd(long totalElements, Pageable pageable) throws IOException {
+        generator.writeEndArray();
+        generator.writeFieldName(TOTAL_ELEMENTS);
+        generator.writeNumber(totalElements);
+        generator.writeFieldName(TOTAL_PAGES);
+        generator.writeNumber((int) ((totalElements + pageable.getPageSize() - 1) / pageable.getPageSize()));
+        generator.writeFieldName(PAGE);
+        generator.writeNumber(pageable.getPageNumber());
+        generator.writeFieldName(SIZE);
+        generator.writeNumber(pageable.getPageSize());
+        generator.writeEndObject();
+    }
+
+    @Override
+    public void accept(ResultSet rs, List<String> tags) throws SQLException {
+        try {
+            generator.writeStartObject();
+            if (selected[TaskField.ID.ordinal()]) {
+                generator.writeFieldName(NAMES[TaskField.ID.ordinal()]);
+                generator.writeNumber(rs.getLong("id"));
+            }
+            writeString(TaskField.TITLE, rs.getString("title"));
+            writeString(TaskField.DESCRIPTION, rs.getString("description"));
+            if (selected[TaskField.IS_COMPLETED.ordinal()]) {
+                boolean completed = rs.getBoolean("is_completed");
+                generator.writeFieldName(NAMES[TaskField.IS_COMPLETED.ordinal()]);
+                if (rs.wasNull()) {
+                    generator.writeNull();
+                } else {
+                    generator.writeBoolean(completed);
+                }
+            }
+            writeTimestamp(TaskField.DUE_DATE, rs, "due_date");
+            writeString(TaskField.ASSIGNED_TO, rs.getString("assigned_to"));
+            writeLong(TaskField.PARENT_ID, rs.getObject("parent_id", Long.class));
+            writeTimestamp(TaskField.CREATED_AT, rs, "created_at");
+            writeTimestamp(TaskField.UPDATED_AT, rs, "updated_at");
+            writeTags(tags);
+            if (allFields) {
+                writeSeries(rs.getString("recurrence"), rs.getObject("series_id", Long.class));
+            }
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void accept(TaskResponse task) {
+        try {
+            generator.writeStartObject();
+            if (selected[TaskField.ID.ordinal()]) {
+                generator.writeFieldName(NAMES[TaskField.ID.ordinal()]);
+                if (task.getId() == null) {
+                    generator.writeNull();
+                } else {
+                    generator.writeNumber(task.getId());
+                }
+            }
+            writeString(TaskField.TITLE, task.getTitle());
+            writeString(TaskField.DESCRIPTION, task.getDescription());
+            if (selected[TaskField.IS_COMPLETED.ordinal()]) {
+                generator.writeFieldName(NAMES[TaskField.IS_COMPLETED.ordinal()]);
+                if (task.getIsCompleted() == null) {
+                    generator.writeNull();
+                } else {
+                    generator.writeBoolean(task.getIsCompleted());
+                }
+            }
+            writeTimestamp(TaskField.DUE_DATE, task.getDueDate());
+            writeString(TaskField.ASSIGNED_TO, task.getAssignedTo());
+            writeLong(TaskField.PARENT_ID, task.getParentId());
+            writeTimestamp(TaskField.CREATED_AT, task.getCreatedAt());
+            writeTimestamp(TaskField.UPDATED_AT, task.getUpdatedAt());
+            writeTags(task.getTags());
+            if (allFields) {
+                writeSeries(task.getRecurrence(), task.getSeriesId());
+            }
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeString(TaskField field, String value) throws IOException {
+        if (selected[field.ordinal()]) {
+            generator.writeFieldName(NAMES[field.ordinal()]);
+            generator.writeString(value);
+        }
+    }
+
+    private void writeLong(TaskField field, Long value) throws IOException {
+        if (selected[field.ordinal()]) {
+            generator.writeFieldName(NAMES[field.ordinal()]);
+            if (value == null) {
+                generator.writeNull();
+            } else {
+                generator.writeNumber(value);
+            }
+        }
+    }
+
+    private void writeTags(List<String> tags) throws IOException {
+        if (!allFields) {
+            return;
+        }
+        generator.writeFieldName(TAGS);
+        if (tags == null) {
+            generator.writeNull();
+            return;
+        }
+        generator.writeStartArray();
+        for (String tag : tags) {
+            generator.writeString(tag);
+        }
+        generator.writeEndArray();
+    }
+
+    private void writeSeries(String recurrence, Long seriesId) throws IOException {
+        generator.writeFieldName(RECURRENCE);
+        generator.writeString(recurrence);
+        generator.writeFieldName(SERIES_ID);
+        if (seriesId == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(seriesId);
+        }
+    }
+
+    private void writeTimestamp(TaskField field, ResultSet rs, String column) throws SQLException, IOException {
+        if (selected[field.ordinal()]) {
+            writeTimestamp(field, rs.getObject(column, LocalDateTime.class));
+        }
+    }
+
+    private void writeTimestamp(TaskField field, LocalDateTime value) throws IOException {
+        if (!selected[field.ordinal()]) {
+            return;
+        }
+        generator.writeFieldName(NAMES[field.ordinal()]);
+        if (value == null) {
+            generator.writeNull();
+        } else if (value.getYear() < 0 || value.getYear() > 9999) {
+            generator.writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value));
+        } else {
+            generator.writeString(timestamp, 0, format(value));
+        }
+    }
+
+    /**
+     * Formats like {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME}: seconds always present, the
+     * fraction only when non-zero and without trailing zeros.
+     *
+     * @return the number of characters written to {@link #timestamp}
+     */
+    private int format(LocalDateTime value) {
+        LocalDate date = value.toLocalDate();
+        if (!date.equals(cachedDate)) {
+            digits(date.getYear(), 0, 4);
+            timestamp[4] = '-';
+            digits(date.getMonthValue(), 5, 2);
+            timestamp[7] = '-';
+            digits(date.getDayOfMonth(), 8, 2);
+            timestamp[10] = 'T';
+            cachedDate = date;
+        }
+        digits(value.getHour(), 11, 2);
+        timestamp[13] = ':';
+        digits(value.getMinute(), 14, 2);
+        timestamp[16] = ':';
+        digits(value.getSecond(), 17, 2);
+        int nano = value.getNano();
+        if (nano == 0) {
+            return 19;
+        }
+        timestamp[19] = '.';
+        digits(nano, 20, 9);
+        int end = 29;
+        while (timestamp[end - 1] == '0') {
+            end--;
+        }
+        return end;
+    }
+
+    private void digits(int value, int offset, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            timestamp[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
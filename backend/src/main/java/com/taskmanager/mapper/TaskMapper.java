@@ -5,6 +5,12 @@ import com.taskmanager.dto.TaskResponse;
 import com.taskmanager.entity.Task;
 import org.springframework.stereotype.Component;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
 @Component
 public class TaskMapper {
 
@@ -14,7 +20,9 @@ public class TaskMapper {
                 .description(request.getDescription())
                 .dueDate(request.getDueDate())
                 .assignedTo(request.getAssignedTo())
+                .parentId(request.getParentId())
                 .isCompleted(false)
+                .tags(normalizeTags(request.getTags()))
                 .build();
     }
 
@@ -26,8 +34,27 @@ public class TaskMapper {
                 .isCompleted(task.getIsCompleted())
                 .dueDate(task.getDueDate())
                 .assignedTo(task.getAssignedTo())
+                .parentId(task.getParentId())
                 .createdAt(task.getCreatedAt())
                 .updatedAt(task.getUpdatedAt())
+                .tags(task.getTags() == null ? List.of() : task.getTags().stream().sorted().toList())
+                .recurrence(task.getRecurrence())
+                .seriesId(task.getSeriesId())
                 .build();
     }
+
+    /**
+     * Trims and lower-cases tags and drops blanks and duplicates; {@code null} becomes an empty set.
+     */
+    public static Set<String> normalizeTags(Collection<String> tags) {
+        Set<String> normalized = new TreeSet<>();
+        if (tags != null) {
+            for (String tag : tags) {
+                if (tag != null && !tag.isBlank()) {
+                    normalized.add(tag.trim().toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return normalized;
+    }
 }
@@ -0,0 +1,83 @@
+package com.taskmanager.ratelimit;
+
+import com.taskmanager.config.RateLimitProperties;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-client token buckets, kept separately for reads and writes so a bulk reader cannot
+ * starve its own writes (and vice versa). The maps are concurrent and each bucket is lock-free.
+ * Idle buckets are swept on a background thread, never on the request path.
+ */
+public class ClientRateLimiter {
+
+    public enum Kind { READ, WRITE }
+
+    private final RateLimitProperties properties;
+    private final LongSupplier nanoClock;
+    private final ConcurrentMap<String, TokenBucket> readBuckets = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, TokenBucket> writeBuckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweepPending = new AtomicBoolean();
+    private final ScheduledExecutorService sweeper;
+
+    public ClientRateLimiter(RateLimitProperties properties, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.nanoClock = nanoClock;
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rate-limit-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long interval = properties.getSweepInterval().toMillis();
+        sweeper.scheduleWithFixedDelay(this::sweepIdle, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @return 0 when the request may proceed, otherwise the nanoseconds the client should wait
+     */
+    public long tryAcquire(String clientKey, Kind kind) {
+        ConcurrentMap<String, TokenBucket> buckets = kind == Kind.READ ? readBuckets : writeBuckets;
+        RateLimitProperties.Bucket limits = kind == Kind.READ ? properties.getRead() : properties.getWrite();
+
+        TokenBucket bucket = buckets.get(clientKey);
+        if (bucket == null) {
+            if (buckets.size() >= properties.getMaxTrackedClients() && sweepPending.compareAndSet(false, true)) {
+                sweeper.execute(this::sweepIdle);
+            }
+            bucket = buckets.computeIfAbsent(clientKey,
+                    key -> new TokenBucket(limits.getCapacity(), limits.getRefillPerSecond(), nanoClock));
+        }
+        return bucket.tryAcquire();
+    }
+
+    /**
+     * Drops the buckets of clients that have been idle long enough for them to be full again.
+     */
+    public void sweepIdle() {
+        sweepPending.set(false);
+        readBuckets.values().removeIf(TokenBucket::isIdle);
+        writeBuckets.values().removeIf(TokenBucket::isIdle);
+    }
+
+    public int trackedClients() {
+        return readBuckets.size() + writeBuckets.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sweeper.shutdownNow();
+    }
+}
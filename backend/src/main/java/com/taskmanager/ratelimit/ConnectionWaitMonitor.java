@@ -0,0 +1,68 @@
+package com.taskmanager.ratelimit;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures how long callers wait to borrow a pooled connection and keeps an exponentially
+ * weighted moving average of it. The average is updated with a CAS loop, never a lock.
+ */
+public class ConnectionWaitMonitor {
+
+    private static final double SMOOTHING = 0.2;
+
+    private final AtomicLong averageNanosBits = new AtomicLong(Double.doubleToLongBits(0.0));
+
+    public void record(long waitNanos) {
+        while (true) {
+            long currentBits = averageNanosBits.get();
+            double current = Double.longBitsToDouble(currentBits);
+            double updated = current + SMOOTHING * (waitNanos - current);
+            if (averageNanosBits.compareAndSet(currentBits, Double.doubleToLongBits(updated))) {
+                return;
+            }
+        }
+    }
+
+    public double averageWaitMillis() {
+        return Double.longBitsToDouble(averageNanosBits.get()) / 1_000_000.0;
+    }
+
+    public DataSource wrap(DataSource dataSource) {
+        return new MeasuredDataSource(dataSource, this);
+    }
+
+    static class MeasuredDataSource extends DelegatingDataSource {
+
+        private final ConnectionWaitMonitor monitor;
+
+        MeasuredDataSource(DataSource target, ConnectionWaitMonitor monitor) {
+            super(target);
+            this.monitor = monitor;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            long start = System.nanoTime();
+            try {
+                return super.getConnection();
+            } finally {
+                monitor.record(System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            long start = System.nanoTime();
+            try {
+                return super.getConnection(username, password);
+            } finally {
+                monitor.record(System.nanoTime() - start);
+            }
+        }
+    }
+}
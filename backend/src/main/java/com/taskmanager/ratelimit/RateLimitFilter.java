@@ -0,0 +1,107 @@
+package com.taskmanager.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.config.RateLimitProperties;
+import com.taskmanager.dto.ErrorResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Admission control in front of the task API: sheds load while the connection pool is
+ * congested (503) and enforces per-client read/write rate limits (429).
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimitProperties properties;
+    private final ClientRateLimiter rateLimiter;
+    private final ConnectionWaitMonitor waitMonitor;
+    private final ObjectMapper objectMapper;
+
+    public RateLimitFilter(RateLimitProperties properties,
+                           ClientRateLimiter rateLimiter,
+                           ConnectionWaitMonitor waitMonitor,
+                           ObjectMapper objectMapper) {
+        this.properties = properties;
+        this.rateLimiter = rateLimiter;
+        this.waitMonitor = waitMonitor;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (HttpMethod.OPTIONS.matches(request.getMethod())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        if (shouldShed()) {
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE,
+                    properties.getShedding().getRetryAfterSeconds(),
+                    "Service is under heavy load, please retry later");
+            return;
+        }
+
+        ClientRateLimiter.Kind kind = isRead(request) ? ClientRateLimiter.Kind.READ : ClientRateLimiter.Kind.WRITE;
+        long waitNanos = rateLimiter.tryAcquire(clientKey(request), kind);
+        if (waitNanos > 0) {
+            long retryAfter = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, retryAfter, "Rate limit exceeded");
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private boolean shouldShed() {
+        RateLimitProperties.Shedding shedding = properties.getShedding();
+        if (!shedding.isEnabled()) {
+            return false;
+        }
+        double waitMillis = waitMonitor.averageWaitMillis();
+        if (waitMillis <= shedding.getStartWaitMillis()) {
+            return false;
+        }
+        double span = Math.max(1, shedding.getFullWaitMillis() - shedding.getStartWaitMillis());
+        double ratio = Math.min(shedding.getMaxShedRatio(), (waitMillis - shedding.getStartWaitMillis()) / span);
+        return ThreadLocalRandom.current().nextDouble() < ratio;
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        String apiKey = request.getHeader(properties.getApiKeyHeader());
+        if (apiKey != null && properties.getApiKeys().contains(apiKey)) {
+            return "key:" + apiKey;
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static boolean isRead(HttpServletRequest request) {
+        return HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds, String message)
+            throws IOException {
+        ErrorResponse error = ErrorResponse.builder()
+                .status(status.value())
+                .message(message)
+                .timestamp(LocalDateTime.now())
+                .build();
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+}
@@ -0,0 +1,53 @@
+package com.taskmanager.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token bucket in its GCRA form: the whole state is one "theoretical arrival time",
+ * so acquiring a token is a single compare-and-set and an idle bucket needs no refill work.
+ */
+public class TokenBucket {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicLong theoreticalArrival;
+
+    public TokenBucket(int capacity, double refillPerSecond, LongSupplier nanoClock) {
+        if (capacity < 1 || refillPerSecond <= 0) {
+            throw new IllegalArgumentException("Bucket capacity and refill rate must be positive");
+        }
+        this.emissionIntervalNanos = (long) (1_000_000_000L / refillPerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * capacity;
+        this.nanoClock = nanoClock;
+        this.theoreticalArrival = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    /**
+     * Takes one token.
+     *
+     * @return 0 when the token was granted, otherwise the nanoseconds until one becomes available
+     */
+    public long tryAcquire() {
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, now) + emissionIntervalNanos;
+            long wait = next - now - burstToleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * A bucket whose arrival time lies in the past is full, so dropping it loses no state.
+     */
+    boolean isIdle() {
+        return theoreticalArrival.get() <= nanoClock.getAsLong();
+    }
+}
@@ -0,0 +1,30 @@
+package com.taskmanager.readmodel;
+
+import com.taskmanager.entity.Task;
+import com.taskmanager.event.TaskSnapshot;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * The columns the read model needs from one task, as read by a scan or taken from a change event.
+ */
+@Value
+public class TaskColumnRow {
+
+    Long id;
+    Boolean isCompleted;
+    LocalDateTime dueDate;
+    LocalDateTime createdAt;
+    String title;
+
+    public static TaskColumnRow of(TaskSnapshot snapshot) {
+        return new TaskColumnRow(snapshot.getId(), snapshot.getIsCompleted(), snapshot.getDueDate(),
+                snapshot.getCreatedAt(), snapshot.getTitle());
+    }
+
+    public static TaskColumnRow of(Task task) {
+        return new TaskColumnRow(task.getId(), task.getIsCompleted(), task.getDueDate(),
+                task.getCreatedAt(), task.getTitle());
+    }
+}
@@ -0,0 +1,248 @@
+package com.taskmanager.readmodel;
+
+import com.taskmanager.service.TaskListQuery;
+import com.taskmanager.tag.TagMatch;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * Immutable columnar snapshot of the task list: rows ordered by id in primitive arrays, a
+ * completion bitset, and one ascending permutation per sort field (descending order walks it
+ * backwards). Timestamps are stored as epoch microseconds, matching the database resolution.
+ * <p>
+ * Missing due dates sort last ascending and first descending, as PostgreSQL orders NULLs.
+ * Titles compare with {@link String#compareTo}, i.e. the "C" collation.
+ */
+public final class TaskColumns {
+
+    /**
+     * Fixed bytes per task: id, due and created columns, three permutation entries, a title reference and the bit.
+     */
+    public static final int FIXED_BYTES_PER_TASK = 8 + 8 + 8 + 3 * 4 + 4 + 1;
+
+    private static final long NO_DUE_DATE = Long.MAX_VALUE;
+
+    private final int size;
+    private final long[] ids;
+    private final BitSet completed;
+    private final long[] dueMicros;
+    private final long[] createdMicros;
+    private final String[] titles;
+    private final int[] byCreated;
+    private final int[] byDue;
+    private final int[] byTitle;
+    private final long titleChars;
+
+    private TaskColumns(int size, long[] ids, BitSet completed, long[] dueMicros, long[] createdMicros,
+                        String[] titles, int[] byCreated, int[] byDue, int[] byTitle) {
+        this.size = size;
+        this.ids = ids;
+        this.completed = completed;
+        this.dueMicros = dueMicros;
+        this.createdMicros = createdMicros;
+        this.titles = titles;
+        this.byCreated = byCreated;
+        this.byDue = byDue;
+        this.byTitle = byTitle;
+        long chars = 0;
+        for (int i = 0; i < size; i++) {
+            chars += titles[i].length();
+        }
+        this.titleChars = chars;
+    }
+
+    public static TaskColumns empty() {
+        return new TaskColumns(0, new long[0], new BitSet(), new long[0], new long[0], new String[0],
+                new int[0], new int[0], new int[0]);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Estimated heap footprint per task, including the title strings.
+     */
+    public long estimatedBytesPerTask() {
+        if (size == 0) {
+            return FIXED_BYTES_PER_TASK;
+        }
+        long titleBytes = size * 40L + titleChars;
+        return FIXED_BYTES_PER_TASK + titleBytes / size;
+    }
+
+    /**
+     * Returns a snapshot with {@code changes} applied; a {@code null} value deletes that id.
+     * Unchanged rows keep their relative order in every permutation, so only the changed rows
+     * are sorted and merged back in.
+     */
+    public TaskColumns apply(SortedMap<Long, TaskColumnRow> changes) {
+        int capacity = size + changes.size();
+        long[] newIds = new long[capacity];
+        BitSet newCompleted = new BitSet(capacity);
+        long[] newDue = new long[capacity];
+        long[] newCreated = new long[capacity];
+        String[] newTitles = new String[capacity];
+        int[] remap = new int[size];
+        int[] changed = new int[changes.size()];
+        int changedCount = 0;
+
+        Iterator<Map.Entry<Long, TaskColumnRow>> iterator = changes.entrySet().iterator();
+        Map.Entry<Long, TaskColumnRow> change = iterator.hasNext() ? iterator.next() : null;
+        int n = 0;
+        int i = 0;
+        while (i < size || change != null) {
+            if (change == null || (i < size && ids[i] < change.getKey())) {
+                newIds[n] = ids[i];
+                newCompleted.set(n, completed.get(i));
+                newDue[n] = dueMicros[i];
+                newCreated[n] = createdMicros[i];
+                newTitles[n] = titles[i];
+                remap[i++] = n++;
+                continue;
+            }
+            if (i < size && ids[i] == change.getKey()) {
+                remap[i++] = -1;
+            }
+            TaskColumnRow row = change.getValue();
+            if (row != null) {
+                newIds[n] = row.getId();
+                newCompleted.set(n, Boolean.TRUE.equals(row.getIsCompleted()));
+                newDue[n] = row.getDueDate() == null ? NO_DUE_DATE : toMicros(row.getDueDate());
+                newCreated[n] = row.getCreatedAt() == null ? Long.MIN_VALUE : toMicros(row.getCreatedAt());
+                newTitles[n] = row.getTitle() == null ? "" : row.getTitle();
+                changed[changedCount++] = n++;
+            }
+            change = iterator.hasNext() ? iterator.next() : null;
+        }
+
+        long[] finalIds = Arrays.copyOf(newIds, n);
+        long[] finalDue = Arrays.copyOf(newDue, n);
+        long[] finalCreated = Arrays.copyOf(newCreated, n);
+        String[] finalTitles = Arrays.copyOf(newTitles, n);
+
+        IndexComparator createdOrder = (a, b) -> {
+            int result = Long.compare(finalCreated[a], finalCreated[b]);
+            return result != 0 ? result : Long.compare(finalIds[a], finalIds[b]);
+        };
+        IndexComparator dueOrder = (a, b) -> {
+            int result = Long.compare(finalDue[a], finalDue[b]);
+            return result != 0 ? result : Long.compare(finalIds[a], finalIds[b]);
+        };
+        IndexComparator titleOrder = (a, b) -> {
+            int result = finalTitles[a].compareTo(finalTitles[b]);
+            return result != 0 ? result : Long.compare(finalIds[a], finalIds[b]);
+        };
+
+        int[] sortedChanged = Arrays.copyOf(changed, changedCount);
+        return new TaskColumns(n, finalIds, newCompleted, finalDue, finalCreated, finalTitles,
+                mergePermutation(byCreated, remap, sortedChanged, createdOrder, n),
+                mergePermutation(byDue, remap, sortedChanged, dueOrder, n),
+                mergePermutation(byTitle, remap, sortedChanged, titleOrder, n));
+    }
+
+    public TaskIdPage query(TaskListQuery query) {
+        int[] permutation = switch (query.getSortBy()) {
+            case "title" -> byTitle;
+            case "dueDate" -> byDue;
+            default -> byCreated;
+        };
+        boolean descending = query.getDirection() == Sort.Direction.DESC;
+        long offset = (long) query.getPage() * query.getSize();
+        List<Long> page = new ArrayList<>(query.getSize());
+
+        Boolean wantCompleted = query.getIsCompleted();
+        boolean dueFilter = query.getDueDateFrom() != null || query.getDueDateTo() != null;
+        long from = query.getDueDateFrom() == null ? Long.MIN_VALUE : toMicros(query.getDueDateFrom());
+        long to = query.getDueDateTo() == null ? NO_DUE_DATE - 1 : toMicros(query.getDueDateTo());
+        TagMatch tagMatch = query.getTagMatch();
+
+        if (!dueFilter && tagMatch == null) {
+            long total = wantCompleted == null ? size
+                    : wantCompleted ? completed.cardinality() : size - completed.cardinality();
+            long matched = 0;
+            for (int k = 0; k < size && page.size() < query.getSize(); k++) {
+                int row = permutation[descending ? size - 1 - k : k];
+                if (wantCompleted != null && completed.get(row) != wantCompleted) {
+                    continue;
+                }
+                if (matched++ >= offset) {
+                    page.add(ids[row]);
+                }
+            }
+            return new TaskIdPage(page, total);
+        }
+
+        long matched = 0;
+        for (int k = 0; k < size; k++) {
+            int row = permutation[descending ? size - 1 - k : k];
+            if (wantCompleted != null && completed.get(row) != wantCompleted) {
+                continue;
+            }
+            if (dueFilter) {
+                long due = dueMicros[row];
+                if (due == NO_DUE_DATE || due < from || due > to) {
+                    continue;
+                }
+            }
+            if (tagMatch != null && !tagMatch.contains(ids[row])) {
+                continue;
+            }
+            if (matched++ >= offset && page.size() < query.getSize()) {
+                page.add(ids[row]);
+            }
+        }
+        return new TaskIdPage(page, matched);
+    }
+
+    private static int[] mergePermutation(int[] previous, int[] remap, int[] changed,
+                                          IndexComparator order, int size) {
+        int[] kept = new int[size];
+        int keptCount = 0;
+        for (int row : previous) {
+            int mapped = remap[row];
+            if (mapped >= 0) {
+                kept[keptCount++] = mapped;
+            }
+        }
+
+        Integer[] sortedChanged = new Integer[changed.length];
+        for (int i = 0; i < changed.length; i++) {
+            sortedChanged[i] = changed[i];
+        }
+        Arrays.sort(sortedChanged, order::compare);
+
+        int[] merged = new int[size];
+        int a = 0;
+        int b = 0;
+        int m = 0;
+        while (a < keptCount && b < sortedChanged.length) {
+            merged[m++] = order.compare(kept[a], sortedChanged[b]) <= 0 ? kept[a++] : sortedChanged[b++];
+        }
+        while (a < keptCount) {
+            merged[m++] = kept[a++];
+        }
+        while (b < sortedChanged.length) {
+            merged[m++] = sortedChanged[b++];
+        }
+        return merged;
+    }
+
+    private static long toMicros(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + dateTime.getNano() / 1_000;
+    }
+
+    @FunctionalInterface
+    private interface IndexComparator {
+        int compare(int a, int b);
+    }
+}
@@ -0,0 +1,12 @@
+package com.taskmanager.readmodel;
+
+import lombok.Value;
+
+import java.util.List;
+
+@Value
+public class TaskIdPage {
+
+    List<Long> ids;
+    long totalElements;
+}
@@ -0,0 +1,224 @@
+package com.taskmanager.readmodel;
+
+import com.taskmanager.config.ReadModelProperties;
+import com.taskmanager.entity.Task;
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.event.TasksInvalidatedEvent;
+import com.taskmanager.service.TaskListQuery;
+import com.taskmanager.store.TaskStore;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * In-process index that answers list queries (filters, sort, pagination, total count) from a
+ * {@link TaskColumns} snapshot instead of the database.
+ * <p>
+ * The snapshot is built by a streaming scan of the active {@link TaskStore} at startup. Committed
+ * changes are collected as a delta and folded into a new snapshot by the next query, so a burst of
+ * writes costs one merge. Until the scan finishes, or if the store outgrows the memory budget,
+ * {@link #query} returns empty and callers fall back to the store.
+ * <p>
+ * Each node holds its own model: other nodes' changes, announced by {@link TasksInvalidatedEvent},
+ * are added to the delta by reading the tasks named, or by a new scan when the announcement names
+ * none. Scans and reads run one at a time on a worker thread of the model's own.
+ */
+@Slf4j
+public class TaskReadModel {
+
+    private static final TaskColumnRow DELETED = new TaskColumnRow(null, null, null, null, null);
+
+    private final TaskStore taskStore;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ReadModelProperties properties;
+    private final ExecutorService worker;
+    private final ConcurrentMap<Long, TaskColumnRow> delta = new ConcurrentHashMap<>();
+    private final Object mergeLock = new Object();
+    private final Object readLock = new Object();
+    private final Set<Long> changedDuringRead = new HashSet<>();
+    private boolean reading;
+    private volatile TaskColumns columns = TaskColumns.empty();
+    private volatile boolean ready;
+    private volatile boolean disabled;
+
+    public TaskReadModel(TaskStore taskStore,
+                         TransactionTemplate readOnlyTransaction,
+                         ReadModelProperties properties) {
+        this.taskStore = taskStore;
+        this.readOnlyTransaction = readOnlyTransaction;
+        this.properties = properties;
+        this.worker = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-read-model");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startRebuild() {
+        worker.execute(this::rebuild);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (disabled) {
+            return;
+        }
+        synchronized (readLock) {
+            delta.put(event.getTaskId(), event.getAfter() == null ? DELETED : TaskColumnRow.of(event.getAfter()));
+            if (reading) {
+                changedDuringRead.add(event.getTaskId());
+            }
+        }
+    }
+
+    @EventListener
+    public void onTasksInvalidated(TasksInvalidatedEvent event) {
+        if (disabled) {
+            return;
+        }
+        if (event.isAll()) {
+            worker.execute(this::rebuild);
+        } else {
+            Set<Long> taskIds = event.getTaskIds();
+            worker.execute(() -> refresh(taskIds));
+        }
+    }
+
+    /**
+     * Re-reads the given tasks, changed by another node, and adds them to the delta. Tasks this node
+     * changes meanwhile keep what their own change put there, since it committed after the read
+     * started. A failed read leaves the model unready and starts a new scan.
+     */
+    public void refresh(Set<Long> taskIds) {
+        synchronized (readLock) {
+            if (!ready || disabled) {
+                return;
+            }
+            reading = true;
+        }
+        Map<Long, TaskColumnRow> current = new HashMap<>();
+        try {
+            List<Task> found = readOnlyTransaction.execute(status -> taskStore.findAllById(taskIds));
+            found.forEach(task -> current.put(task.getId(), TaskColumnRow.of(task)));
+        } catch (RuntimeException e) {
+            log.warn("Reading changed tasks failed, rebuilding the task read model", e);
+            synchronized (readLock) {
+                reading = false;
+                changedDuringRead.clear();
+            }
+            rebuild();
+            return;
+        }
+
+        synchronized (readLock) {
+            reading = false;
+            for (Long taskId : taskIds) {
+                if (!changedDuringRead.contains(taskId)) {
+                    delta.put(taskId, current.getOrDefault(taskId, DELETED));
+                }
+            }
+            changedDuringRead.clear();
+        }
+    }
+
+    /**
+     * @return the page, or empty while not ready or when the query has a tag filter the tag index did not resolve
+     */
+    public Optional<TaskIdPage> query(TaskListQuery query) {
+        if (!ready || (query.hasTagFilter() && query.getTagMatch() == null)) {
+            return Optional.empty();
+        }
+        return Optional.of(current().query(query));
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int size() {
+        return columns.size();
+    }
+
+    public long estimatedBytesPerTask() {
+        return columns.estimatedBytesPerTask();
+    }
+
+    /**
+     * Replaces the snapshot with a fresh scan of the store, answering no queries meanwhile. Changes
+     * that commit during the scan are kept in the delta and folded in afterwards.
+     */
+    public void rebuild() {
+        if (disabled) {
+            return;
+        }
+        ready = false;
+        delta.clear();
+        long started = System.nanoTime();
+        try {
+            TreeMap<Long, TaskColumnRow> rows = readOnlyTransaction.execute(status -> {
+                TreeMap<Long, TaskColumnRow> scanned = new TreeMap<>();
+                taskStore.forEachColumnRow(row -> scanned.put(row.getId(), row));
+                return scanned;
+            });
+            TaskColumns built = TaskColumns.empty().apply(rows);
+            long budgetBytes = properties.getMaxMemory().toBytes();
+            if (built.size() * built.estimatedBytesPerTask() > budgetBytes) {
+                log.warn("Task read model disabled: {} tasks at ~{} bytes each exceed the {} byte budget",
+                        built.size(), built.estimatedBytesPerTask(), budgetBytes);
+                disabled = true;
+                delta.clear();
+                return;
+            }
+            synchronized (mergeLock) {
+                columns = built;
+            }
+            ready = true;
+            log.info("Task read model built with {} tasks (~{} bytes/task) in {} ms",
+                    built.size(), built.estimatedBytesPerTask(), (System.nanoTime() - started) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Task read model build failed, list queries keep using the database", e);
+        }
+    }
+
+    private TaskColumns current() {
+        if (delta.isEmpty()) {
+            return columns;
+        }
+        synchronized (mergeLock) {
+            if (delta.isEmpty()) {
+                return columns;
+            }
+            TreeMap<Long, TaskColumnRow> changes = new TreeMap<>();
+            for (Long id : delta.keySet()) {
+                TaskColumnRow row = delta.remove(id);
+                if (row != null) {
+                    changes.put(id, row == DELETED ? null : row);
+                }
+            }
+            columns = columns.apply(changes);
+            return columns;
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.taskmanager.recurrence;
+
+import com.taskmanager.exception.InvalidRecurrenceException;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * A recurrence rule in the subset of iCalendar RRULE syntax (RFC 5545) that tasks support:
+ * {@code FREQ=DAILY|WEEKLY|MONTHLY}, optionally with {@code INTERVAL}, {@code BYDAY} (weekly only)
+ * and {@code UNTIL}; "every weekday" is {@code FREQ=WEEKLY;BYDAY=MO,TU,WE,TH,FR}. The recurring
+ * task's due date is the rule's start and its first occurrence; later occurrences keep its time of
+ * day. A monthly rule skips months without the start's day, as RFC 5545 does.
+ * <p>
+ * Occurrences are computed from the start by arithmetic, so asking for those of a distant range
+ * does not walk the ones before it.
+ */
+public final class RecurrenceRule {
+
+    public static final int MAX_LENGTH = 200;
+    public static final int MAX_INTERVAL = 1000;
+
+    private static final DateTimeFormatter UNTIL_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter UNTIL_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final Map<String, DayOfWeek> DAYS = Map.of(
+            "MO", DayOfWeek.MONDAY, "TU", DayOfWeek.TUESDAY, "WE", DayOfWeek.WEDNESDAY, "TH", DayOfWeek.THURSDAY,
+            "FR", DayOfWeek.FRIDAY, "SA", DayOfWeek.SATURDAY, "SU", DayOfWeek.SUNDAY);
+
+    private final Frequency frequency;
+    private final int interval;
+    private final Set<DayOfWeek> days;
+    private final LocalDateTime until;
+
+    private RecurrenceRule(Frequency frequency, int interval, Set<DayOfWeek> days, LocalDateTime until) {
+        this.frequency = frequency;
+        this.interval = interval;
+        this.days = days;
+        this.until = until;
+    }
+
+    /**
+     * Parses a rule, with or without the {@code RRULE:} prefix; names are case-insensitive.
+     *
+     * @throws InvalidRecurrenceException if the rule is malformed or outside the supported subset
+     */
+    public static RecurrenceRule parse(String rule) {
+        if (rule == null || rule.isBlank()) {
+            throw new InvalidRecurrenceException("Recurrence rule must not be blank");
+        }
+        if (rule.length() > MAX_LENGTH) {
+            throw new InvalidRecurrenceException("Recurrence rule must not exceed " + MAX_LENGTH + " characters");
+        }
+        String text = rule.trim().toUpperCase(Locale.ROOT);
+        if (text.startsWith("RRULE:")) {
+            text = text.substring("RRULE:".length());
+        }
+        Frequency frequency = null;
+        int interval = 1;
+        Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+        LocalDateTime until = null;
+        for (String part : text.split(";")) {
+            int equals = part.indexOf('=');
+            if (equals <= 0) {
+                throw new InvalidRecurrenceException("Expected NAME=VALUE but got '" + part + "'");
+            }
+            String name = part.substring(0, equals);
+            String value = part.substring(equals + 1);
+            switch (name) {
+                case "FREQ" -> frequency = frequency(value);
+                case "INTERVAL" -> interval = interval(value);
+                case "BYDAY" -> days = days(value);
+                case "UNTIL" -> until = until(value);
+                default -> throw new InvalidRecurrenceException(name + " is not supported");
+            }
+        }
+        if (frequency == null) {
+            throw new InvalidRecurrenceException("FREQ is required");
+        }
+        if (!days.isEmpty() && frequency != Frequency.WEEKLY) {
+            throw new InvalidRecurrenceException("BYDAY is supported only with FREQ=WEEKLY");
+        }
+        return new RecurrenceRule(frequency, interval, days, until);
+    }
+
+    /**
+     * Occurrences of the rule starting at {@code start} that fall after {@code after} and not after
+     * {@code to}, earliest first, at most {@code limit} of them. {@code start} itself is never
+     * returned: it is the recurring task.
+     */
+    public List<LocalDateTime> occurrences(LocalDateTime start, LocalDateTime after, LocalDateTime to, int limit) {
+        LocalDateTime last = until != null && until.isBefore(to) ? until : to;
+        LocalDateTime from = after.isBefore(start) ? start : after;
+        List<LocalDateTime> occurrences = new ArrayList<>();
+        if (!from.isBefore(last) || limit <= 0) {
+            return occurrences;
+        }
+        for (long period = firstPeriod(start, from); ; period++) {
+            for (LocalDateTime candidate : candidates(start, period)) {
+                if (candidate.isAfter(last)) {
+                    return occurrences;
+                }
+                if (candidate.isAfter(from)) {
+                    occurrences.add(candidate);
+                    if (occurrences.size() >= limit) {
+                        return occurrences;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * The rule in canonical form, which is how it is stored.
+     */
+    @Override
+    public String toString() {
+        StringBuilder rule = new StringBuilder("FREQ=").append(frequency);
+        if (interval != 1) {
+            rule.append(";INTERVAL=").append(interval);
+        }
+        if (!days.isEmpty()) {
+            rule.append(";BYDAY=").append(days.stream()
+                    .map(day -> day.name().substring(0, 2))
+                    .collect(Collectors.joining(",")));
+        }
+        if (until != null) {
+            rule.append(";UNTIL=").append(UNTIL_DATE_TIME.format(until));
+        }
+        return rule.toString();
+    }
+
+    /**
+     * The period, counted in intervals from the start's, that holds the first occurrence after
+     * {@code from} or ends just before it.
+     */
+    private long firstPeriod(LocalDateTime start, LocalDateTime from) {
+        long elapsed = switch (frequency) {
+            case DAILY -> ChronoUnit.DAYS.between(start.toLocalDate(), from.toLocalDate());
+            case WEEKLY -> ChronoUnit.WEEKS.between(weekOf(start.toLocalDate()), weekOf(from.toLocalDate()));
+            case MONTHLY -> ChronoUnit.MONTHS.between(start.toLocalDate().withDayOfMonth(1), from.toLocalDate().withDayOfMonth(1));
+        };
+        return Math.max(0, elapsed / interval - 1);
+    }
+
+    /**
+     * The candidate occurrences of one period in order, those before the start left out.
+     */
+    private List<LocalDateTime> candidates(LocalDateTime start, long period) {
+        LocalDate startDate = start.toLocalDate();
+        LocalTime time = start.toLocalTime();
+        long steps = period * interval;
+        return switch (frequency) {
+            case DAILY -> List.of(startDate.plusDays(steps).atTime(time));
+            case WEEKLY -> {
+                if (days.isEmpty()) {
+                    yield List.of(startDate.plusWeeks(steps).atTime(time));
+                }
+                LocalDate week = weekOf(startDate).plusWeeks(steps);
+                List<LocalDateTime> inWeek = new ArrayList<>(days.size());
+                for (DayOfWeek day : days) {
+                    LocalDate date = week.plusDays(day.getValue() - 1L);
+                    if (!date.isBefore(startDate)) {
+                        inWeek.add(date.atTime(time));
+                    }
+                }
+                yield inWeek;
+            }
+            case MONTHLY -> {
+                LocalDate month = startDate.withDayOfMonth(1).plusMonths(steps);
+                yield startDate.getDayOfMonth() <= month.lengthOfMonth()
+                        ? List.of(month.withDayOfMonth(startDate.getDayOfMonth()).atTime(time))
+                        : List.of();
+            }
+        };
+    }
+
+    private static LocalDate weekOf(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    private static Frequency frequency(String value) {
+        try {
+            return Frequency.valueOf(value);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRecurrenceException("FREQ must be DAILY, WEEKLY or MONTHLY");
+        }
+    }
+
+    private static int interval(String value) {
+        try {
+            int interval = Integer.parseInt(value);
+            if (interval >= 1 && interval <= MAX_INTERVAL) {
+                return interval;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new InvalidRecurrenceException("INTERVAL must be a number from 1 to " + MAX_INTERVAL);
+    }
+
+    private static Set<DayOfWeek> days(String value) {
+        Set<DayOfWeek> days = EnumSet.noneOf(DayOfWeek.class);
+        for (String day : value.split(",")) {
+            DayOfWeek parsed = DAYS.get(day);
+            if (parsed == null) {
+                throw new InvalidRecurrenceException("BYDAY must list days as MO, TU, WE, TH, FR, SA or SU");
+            }
+            days.add(parsed);
+        }
+        return days;
+    }
+
+    /**
+     * A date-only {@code UNTIL} includes the whole day. Times are local, like due dates; a trailing
+     * {@code Z} is accepted and ignored.
+     */
+    private static LocalDateTime until(String value) {
+        try {
+            if (value.length() == 8) {
+                return LocalDate.parse(value, UNTIL_DATE).atTime(LocalTime.MAX);
+            }
+            return LocalDateTime.parse(value.endsWith("Z") ? value.substring(0, value.length() - 1) : value, UNTIL_DATE_TIME);
+        } catch (DateTimeParseException e) {
+            throw new InvalidRecurrenceException("UNTIL must be a date (20250131) or date and time (20250131T090000)");
+        }
+    }
+
+    private enum Frequency {
+        DAILY,
+        WEEKLY,
+        MONTHLY
+    }
+}
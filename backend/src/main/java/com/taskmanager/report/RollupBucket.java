@@ -0,0 +1,66 @@
+package com.taskmanager.report;
+
+import com.taskmanager.exception.InvalidReportException;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Locale;
+
+/**
+ * The period a report adds daily rollups up to. Weeks start on Monday.
+ */
+public enum RollupBucket {
+
+    DAY {
+        @Override
+        public LocalDate start(LocalDate day) {
+            return day;
+        }
+
+        @Override
+        public LocalDate next(LocalDate start) {
+            return start.plusDays(1);
+        }
+    },
+    WEEK {
+        @Override
+        public LocalDate start(LocalDate day) {
+            return day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        }
+
+        @Override
+        public LocalDate next(LocalDate start) {
+            return start.plusWeeks(1);
+        }
+    },
+    MONTH {
+        @Override
+        public LocalDate start(LocalDate day) {
+            return day.withDayOfMonth(1);
+        }
+
+        @Override
+        public LocalDate next(LocalDate start) {
+            return start.plusMonths(1);
+        }
+    };
+
+    /**
+     * First day of the bucket that {@code day} falls in.
+     */
+    public abstract LocalDate start(LocalDate day);
+
+    /**
+     * First day of the bucket after the one starting on {@code start}.
+     */
+    public abstract LocalDate next(LocalDate start);
+
+    public static RollupBucket parse(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidReportException("bucket", "Bucket must be one of day, week, month");
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.taskmanager.report;
+
+import com.taskmanager.config.ReportProperties;
+import com.taskmanager.entity.TaskRollup;
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.event.TaskSnapshot;
+import com.taskmanager.repository.TaskRollups;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the daily rollups in step with committed task changes. A task counts as created on the
+ * day of its {@code createdAt} and, while completed, as completed on the day of its last update,
+ * both under its current assignee; a change moves its counts from the old state's day and
+ * assignee to the new one's, which is what rebuilding the day from the rows would give. Deleting a
+ * task leaves its counts, so purging old tasks does not rewrite past reports; what it counted is
+ * recorded as removed, which rebuilds add back to what they count from the rows.
+ * <p>
+ * Changes are summed in memory per day and assignee after commit and applied by one flusher thread,
+ * one statement per touched row and flush, so writers never contend on a rollup row. A change can
+ * move counts off a past day, which a backfill may have rebuilt since the change committed; such
+ * days are rebuilt again rather than added to (see {@link TaskRollups}). Counts that fail to flush
+ * are kept for the next attempt; counts not yet flushed when the process dies are lost, until a
+ * backfill rebuilds their days.
+ */
+@Slf4j
+public class TaskRollupRecorder {
+
+    private static final Comparator<TaskRollup> KEY_ORDER =
+            Comparator.comparing(TaskRollup::getActivityDate).thenComparing(TaskRollup::getAssignedTo);
+
+    private final TaskRollups rollups;
+    private final TransactionTemplate transactionTemplate;
+    private final ReportProperties properties;
+    private final ScheduledExecutorService flusher;
+    private Map<TaskRollup.Key, long[]> pending = new HashMap<>();
+    private Map<TaskRollup.Key, long[]> removed = new HashMap<>();
+
+    public TaskRollupRecorder(TaskRollups rollups, TransactionTemplate transactionTemplate, ReportProperties properties) {
+        this.rollups = rollups;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "task-rollup-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long interval = properties.getFlushInterval().toMillis();
+        flusher.scheduleWithFixedDelay(this::flushSafely, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTaskChanged(TaskChangedEvent event) {
+        synchronized (this) {
+            if (event.getType() == TaskChangedEvent.ChangeType.DELETED) {
+                count(removed, event.getBefore(), 1);
+                return;
+            }
+            count(pending, event.getBefore(), -1);
+            count(pending, event.getAfter(), 1);
+        }
+    }
+
+    /**
+     * Adds everything counted so far to the rollups, rebuilding instead the days a backfill has
+     * rebuilt, and records what removed tasks counted.
+     */
+    public void flush() {
+        Map<TaskRollup.Key, long[]> batch;
+        Map<TaskRollup.Key, long[]> removedBatch;
+        synchronized (this) {
+            if (pending.isEmpty() && removed.isEmpty()) {
+                return;
+            }
+            batch = pending;
+            removedBatch = removed;
+            pending = new HashMap<>();
+            removed = new HashMap<>();
+        }
+        List<TaskRollup> deltas = rollups(batch);
+        List<TaskRollup> removals = rollups(removedBatch);
+        SortedSet<LocalDate> days = new TreeSet<>();
+        deltas.forEach(delta -> days.add(delta.getActivityDate()));
+        removals.forEach(removal -> days.add(removal.getActivityDate()));
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Set<LocalDate> rebuilt = rollups.lockDays(days);
+                rollups.add(deltas.stream().filter(delta -> !rebuilt.contains(delta.getActivityDate())).toList());
+                rollups.addRemoved(removals);
+                rebuilt.forEach(rollups::rebuild);
+            });
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                mergeInto(pending, batch);
+                mergeInto(removed, removedBatch);
+            }
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdownNow();
+        flushSafely();
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.warn("Failed to add task changes to the rollups, retrying with the next flush", e);
+        }
+    }
+
+    /**
+     * The non-zero counts as rows, in the same order on every node, so concurrent flushes cannot deadlock.
+     */
+    private static List<TaskRollup> rollups(Map<TaskRollup.Key, long[]> counts) {
+        List<TaskRollup> rows = new ArrayList<>(counts.size());
+        counts.forEach((key, dayCounts) -> {
+            if (dayCounts[0] != 0 || dayCounts[1] != 0) {
+                rows.add(new TaskRollup(key.getActivityDate(), key.getAssignedTo(), dayCounts[0], dayCounts[1]));
+            }
+        });
+        rows.sort(KEY_ORDER);
+        return rows;
+    }
+
+    private static void mergeInto(Map<TaskRollup.Key, long[]> target, Map<TaskRollup.Key, long[]> counts) {
+        counts.forEach((key, dayCounts) -> {
+            long[] current = target.computeIfAbsent(key, k -> new long[2]);
+            current[0] += dayCounts[0];
+            current[1] += dayCounts[1];
+        });
+    }
+
+    /**
+     * Adds the state's counts to {@code target} with the given sign; nothing for a deletion published
+     * without the deleted state.
+     */
+    private static void count(Map<TaskRollup.Key, long[]> target, TaskSnapshot task, int sign) {
+        if (task == null) {
+            return;
+        }
+        String assignedTo = task.getAssignedTo() == null ? "" : task.getAssignedTo();
+        if (task.getCreatedAt() != null) {
+            counts(target, task.getCreatedAt(), assignedTo)[0] += sign;
+        }
+        if (Boolean.TRUE.equals(task.getIsCompleted()) && task.getUpdatedAt() != null) {
+            counts(target, task.getUpdatedAt(), assignedTo)[1] += sign;
+        }
+    }
+
+    private static long[] counts(Map<TaskRollup.Key, long[]> target, LocalDateTime time, String assignedTo) {
+        return target.computeIfAbsent(new TaskRollup.Key(time.toLocalDate(), assignedTo), key -> new long[2]);
+    }
+}
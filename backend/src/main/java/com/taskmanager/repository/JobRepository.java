@@ -0,0 +1,28 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.entity.Job;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface JobRepository extends JpaRepository<Job, Long> {
+
+    List<Job> findByStatusInOrderByIdAsc(Collection<Job.Status> statuses);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update Job j set j.status = com.taskmanager.entity.Job.Status.CANCELLED, j.finishedAt = :now"
+            + " where j.id = :id and j.status = com.taskmanager.entity.Job.Status.QUEUED")
+    int cancelQueued(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update Job j set j.cancelRequested = true"
+            + " where j.id = :id and j.status = com.taskmanager.entity.Job.Status.RUNNING")
+    int requestCancel(@Param("id") Long id);
+}
@@ -0,0 +1,62 @@
+package com.taskmanager.repository;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Leader election through leases in the {@code leader_locks} table. Taking or renewing a lease is a
+ * single conditional update, or the insert of the lock's first row, so it is atomic on any database
+ * and needs no session held open the way an advisory lock does. Lease times come from the caller's
+ * clock, so node clocks must agree to well within the lease. Runs outside any transaction, each
+ * statement committing on its own.
+ */
+@Repository
+public class LeaderLocks {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public LeaderLocks(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * A lock owner for this run of the process: pid@host, and a random part so that a restarted
+     * process does not inherit the lease its predecessor held.
+     */
+    public static String newOwner() {
+        return ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID();
+    }
+
+    /**
+     * Takes or renews the lease on {@code name} for {@code owner} until {@code until}, unless another
+     * owner holds it past {@code now}.
+     *
+     * @return whether {@code owner} holds the lease
+     */
+    public boolean tryAcquire(String name, String owner, LocalDateTime until, LocalDateTime now) {
+        int updated = jdbcTemplate.update(
+                "UPDATE leader_locks SET owner = ?, locked_until = ? WHERE name = ? AND (owner = ? OR locked_until <= ?)",
+                owner, until, name, owner, now);
+        if (updated > 0) {
+            return true;
+        }
+        try {
+            jdbcTemplate.update("INSERT INTO leader_locks (name, owner, locked_until) VALUES (?, ?, ?)", name, owner, until);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Ends {@code owner}'s lease on {@code name} at {@code now}, if it still holds it.
+     */
+    public void release(String name, String owner, LocalDateTime now) {
+        jdbcTemplate.update("UPDATE leader_locks SET locked_until = ? WHERE name = ? AND owner = ?", now, name, owner);
+    }
+}
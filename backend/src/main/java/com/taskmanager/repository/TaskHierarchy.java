@@ -0,0 +1,186 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.dto.TaskProgressResponse;
+import com.taskmanager.entity.Task;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Maintains the {@code task_closure} table beside {@code tasks.parent_id} and runs the subtree
+ * statements that read it. Every change to the hierarchy is a fixed number of set-based
+ * statements, whatever the size of the subtree it moves. Must run inside the transaction that
+ * changes the tasks themselves.
+ */
+@Repository
+public class TaskHierarchy {
+
+    /**
+     * Links a task and its subtree below a parent: every ancestor of the parent, and the parent
+     * itself, to every descendant of the task, and the task itself.
+     */
+    private static final String LINK = "INSERT INTO task_closure (ancestor_id, descendant_id, depth)"
+            + " SELECT a.ancestor_id, s.descendant_id, a.depth + s.depth + 1"
+            + " FROM (SELECT ancestor_id, depth FROM task_closure WHERE descendant_id = ?"
+            + " UNION ALL SELECT CAST(? AS BIGINT), 0) a"
+            + " CROSS JOIN (SELECT descendant_id, depth FROM task_closure WHERE ancestor_id = ?"
+            + " UNION ALL SELECT CAST(? AS BIGINT), 0) s";
+
+    private static final String UNLINK = "DELETE FROM task_closure"
+            + " WHERE ancestor_id IN (SELECT ancestor_id FROM task_closure WHERE descendant_id = ?)"
+            + " AND (descendant_id = ? OR descendant_id IN (SELECT descendant_id FROM task_closure WHERE ancestor_id = ?))";
+
+    private static final String SHORTEN = "UPDATE task_closure SET depth = depth - 1"
+            + " WHERE ancestor_id IN (SELECT ancestor_id FROM task_closure WHERE descendant_id = ?)"
+            + " AND descendant_id IN (SELECT descendant_id FROM task_closure WHERE ancestor_id = ?)";
+
+    private static final String SUBTREE = "(id = ? OR id IN (SELECT descendant_id FROM task_closure WHERE ancestor_id = ?))";
+
+    private static final String PROGRESS = "SELECT r.is_completed AS root_completed, COUNT(t.id) AS total,"
+            + " COUNT(CASE WHEN t.is_completed THEN 1 END) AS completed"
+            + " FROM tasks r"
+            + " LEFT JOIN task_closure c ON c.ancestor_id = r.id"
+            + " LEFT JOIN tasks t ON t.id = c.descendant_id"
+            + " WHERE r.id = ?"
+            + " GROUP BY r.id, r.is_completed";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskHierarchy(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Places a newly inserted task, which has no subtasks yet, below {@code parentId}.
+     */
+    public void attach(long taskId, long parentId) {
+        jdbcTemplate.update(LINK, parentId, parentId, taskId, taskId);
+    }
+
+    /**
+     * Whether {@code taskId} is {@code rootId} or one of its descendants.
+     */
+    public boolean isInSubtree(long rootId, long taskId) {
+        if (rootId == taskId) {
+            return true;
+        }
+        Integer count = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM task_closure WHERE ancestor_id = ? AND descendant_id = ?",
+                Integer.class, rootId, taskId);
+        return count != null && count > 0;
+    }
+
+    /**
+     * Moves a task and its whole subtree below {@code parentId}, or to the top level for
+     * {@code null}: the links to its old ancestors go and links to the new ones are added, while
+     * the links inside the subtree stay as they are. The caller updates {@code tasks.parent_id}
+     * and must have ruled out moving a task into its own subtree.
+     */
+    public void move(long taskId, Long parentId) {
+        jdbcTemplate.update(UNLINK, taskId, taskId, taskId);
+        if (parentId != null) {
+            jdbcTemplate.update(LINK, parentId, parentId, taskId, taskId);
+        }
+    }
+
+    /**
+     * Takes a task about to be deleted out of the hierarchy. Its subtasks move up to its parent,
+     * keeping their own subtrees, and descendants further down come one level closer to the
+     * ancestors above it.
+     *
+     * @return the promoted subtasks as they were before the change
+     */
+    public List<Task> detach(long taskId, LocalDateTime now) {
+        List<Long> parent = jdbcTemplate.queryForList("SELECT parent_id FROM tasks WHERE id = ?", Long.class, taskId);
+        if (parent.isEmpty()) {
+            return List.of();
+        }
+        List<Task> children = jdbcTemplate.query(
+                "SELECT " + TaskRowMappers.COLUMNS + " FROM tasks WHERE parent_id = ? FOR UPDATE",
+                TaskRowMappers.TASK, taskId);
+        jdbcTemplate.update(SHORTEN, taskId, taskId);
+        jdbcTemplate.update("DELETE FROM task_closure WHERE ancestor_id = ? OR descendant_id = ?", taskId, taskId);
+        if (!children.isEmpty()) {
+            jdbcTemplate.update("UPDATE tasks SET parent_id = ?, updated_at = ? WHERE parent_id = ?",
+                    parent.get(0), now, taskId);
+        }
+        return children;
+    }
+
+    /**
+     * Those of {@code taskIds} that have subtasks.
+     */
+    public List<Long> parentsAmong(Collection<Long> taskIds) {
+        if (taskIds.isEmpty()) {
+            return List.of();
+        }
+        return jdbcTemplate.queryForList("SELECT DISTINCT parent_id FROM tasks WHERE parent_id IN (" + placeholders(taskIds) + ")",
+                Long.class, taskIds.toArray());
+    }
+
+    /**
+     * Drops the remaining links of tasks about to be deleted, which must have no subtasks left:
+     * each is then only a descendant in {@code task_closure}.
+     */
+    public void unlinkLeaves(Collection<Long> taskIds) {
+        if (!taskIds.isEmpty()) {
+            jdbcTemplate.update("DELETE FROM task_closure WHERE descendant_id IN (" + placeholders(taskIds) + ")",
+                    taskIds.toArray());
+        }
+    }
+
+    /**
+     * The current parent of each of {@code taskIds} that has one, by task id.
+     */
+    public Map<Long, Long> parentsOf(Collection<Long> taskIds) {
+        Map<Long, Long> parents = new HashMap<>();
+        if (!taskIds.isEmpty()) {
+            jdbcTemplate.query("SELECT id, parent_id FROM tasks WHERE parent_id IS NOT NULL AND id IN (" + placeholders(taskIds) + ")",
+                    rs -> {
+                        parents.put(rs.getLong("id"), rs.getLong("parent_id"));
+                    }, taskIds.toArray());
+        }
+        return parents;
+    }
+
+    /**
+     * Completion of the tasks below {@code rootId}, counted in one aggregate over the subtree.
+     *
+     * @return empty if the task does not exist
+     */
+    public Optional<TaskProgressResponse> progress(long rootId) {
+        return jdbcTemplate.query(PROGRESS, (rs, rowNum) -> TaskProgressResponse.of(
+                        rootId, rs.getLong("total"), rs.getLong("completed"), rs.getBoolean("root_completed")), rootId)
+                .stream()
+                .findFirst();
+    }
+
+    /**
+     * Sets the completion of {@code rootId} and every task below it in a single update, touching
+     * only the rows whose state actually changes. Those rows are locked first so the caller gets
+     * their state before the change.
+     *
+     * @return the changed tasks as they were before the update
+     */
+    public List<Task> setCompleted(long rootId, boolean completed, LocalDateTime now) {
+        List<Task> changed = jdbcTemplate.query(
+                "SELECT " + TaskRowMappers.COLUMNS + " FROM tasks WHERE " + SUBTREE + " AND is_completed <> ? FOR UPDATE",
+                TaskRowMappers.TASK, rootId, rootId, completed);
+        if (!changed.isEmpty()) {
+            jdbcTemplate.update("UPDATE tasks SET is_completed = ?, updated_at = ? WHERE " + SUBTREE + " AND is_completed <> ?",
+                    completed, now, rootId, rootId, completed);
+        }
+        return changed;
+    }
+
+    private static String placeholders(Collection<?> values) {
+        return String.join(", ", Collections.nCopies(values.size(), "?"));
+    }
+}
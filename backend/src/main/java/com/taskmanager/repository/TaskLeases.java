@@ -0,0 +1,67 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.entity.Task;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Work-queue claims on the {@code tasks} table. Candidates are selected {@code FOR UPDATE SKIP LOCKED},
+ * so concurrent claimers each lock a disjoint set of rows instead of queueing behind one another or
+ * claiming the same task twice. Both operations must run inside a transaction, which holds the row
+ * locks from the select until the update commits.
+ */
+@Repository
+public class TaskLeases {
+
+    private static final String CLAIMABLE = "SELECT " + TaskRowMappers.COLUMNS + " FROM tasks"
+            + " WHERE is_completed = FALSE AND assigned_to IS NULL"
+            + " ORDER BY due_date ASC NULLS LAST, id ASC LIMIT ? FOR UPDATE SKIP LOCKED";
+
+    private static final String EXPIRED = "SELECT " + TaskRowMappers.COLUMNS + " FROM tasks"
+            + " WHERE is_completed = FALSE AND lease_expires_at < ?"
+            + " ORDER BY lease_expires_at ASC, id ASC LIMIT ? FOR UPDATE SKIP LOCKED";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskLeases(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Assigns up to {@code limit} open, unassigned tasks to {@code worker}, earliest due date first.
+     *
+     * @return the claimed tasks as they were before the claim
+     */
+    public List<Task> claim(String worker, int limit, LocalDateTime leaseUntil, LocalDateTime now) {
+        List<Task> claimed = jdbcTemplate.query(CLAIMABLE, TaskRowMappers.TASK, limit);
+        update(claimed, "assigned_to = ?, lease_expires_at = ?, updated_at = ?", worker, leaseUntil, now);
+        return claimed;
+    }
+
+    /**
+     * Returns up to {@code limit} open tasks whose lease ended before {@code now} to the queue.
+     *
+     * @return the released tasks as they were before the release
+     */
+    public List<Task> releaseExpired(LocalDateTime now, int limit) {
+        List<Task> expired = jdbcTemplate.query(EXPIRED, TaskRowMappers.TASK, now, limit);
+        update(expired, "assigned_to = NULL, lease_expires_at = NULL, updated_at = ?", now);
+        return expired;
+    }
+
+    private void update(List<Task> tasks, String assignments, Object... values) {
+        if (tasks.isEmpty()) {
+            return;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(tasks.size(), "?"));
+        List<Object> args = new ArrayList<>(values.length + tasks.size());
+        Collections.addAll(args, values);
+        tasks.forEach(task -> args.add(task.getId()));
+        jdbcTemplate.update("UPDATE tasks SET " + assignments + " WHERE id IN (" + placeholders + ")", args.toArray());
+    }
+}
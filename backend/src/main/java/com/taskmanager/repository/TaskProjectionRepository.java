@@ -0,0 +1,145 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.dto.TaskField;
+import com.taskmanager.dto.TaskResponse;
+import com.taskmanager.service.TaskListQuery;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reads only the selected columns for sparse fieldsets. Each combination of fields, filter shape
+ * and sort renders one JPQL string, memoized here, so Hibernate's query plan cache and the
+ * driver's prepared statements are reused across requests. Filters mirror {@link TaskSpecifications}.
+ */
+@Repository
+@Transactional(readOnly = true)
+public class TaskProjectionRepository {
+
+    private final Map<String, String> jpqlByShape = new ConcurrentHashMap<>();
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public Page<TaskResponse> findPage(TaskListQuery query, Set<TaskField> fields) {
+        String selectJpql = jpqlByShape.computeIfAbsent(
+                "select:" + shapeKey(query, fields), key -> selectJpql(query, fields));
+        TypedQuery<Tuple> select = entityManager.createQuery(selectJpql, Tuple.class)
+                .setFirstResult((int) query.toPageable().getOffset())
+                .setMaxResults(query.getSize());
+        bindFilters(select, query);
+        List<TaskResponse> content = select.getResultList().stream()
+                .map(tuple -> toResponse(tuple, fields))
+                .toList();
+
+        String countJpql = jpqlByShape.computeIfAbsent(
+                "count:" + filterKey(query), key -> "select count(t) from Task t" + whereClause(query));
+        TypedQuery<Long> count = entityManager.createQuery(countJpql, Long.class);
+        bindFilters(count, query);
+        return new PageImpl<>(content, query.toPageable(), count.getSingleResult());
+    }
+
+    public Optional<TaskResponse> findById(Long id, Set<TaskField> fields) {
+        String jpql = jpqlByShape.computeIfAbsent(
+                "byId:" + fieldMask(fields), key -> "select " + selectList(fields) + " from Task t where t.id = :id");
+        return entityManager.createQuery(jpql, Tuple.class)
+                .setParameter("id", id)
+                .getResultList()
+                .stream()
+                .findFirst()
+                .map(tuple -> toResponse(tuple, fields));
+    }
+
+    private static String selectJpql(TaskListQuery query, Set<TaskField> fields) {
+        String direction = query.getDirection() == Sort.Direction.DESC ? "desc" : "asc";
+        return "select " + selectList(fields) + " from Task t" + whereClause(query)
+                + " order by t." + query.getSortBy() + " " + direction;
+    }
+
+    private static String selectList(Set<TaskField> fields) {
+        StringBuilder select = new StringBuilder();
+        for (TaskField field : fields) {
+            if (!select.isEmpty()) {
+                select.append(", ");
+            }
+            select.append("t.").append(field.getPropertyName()).append(" as ").append(field.getPropertyName());
+        }
+        return select.toString();
+    }
+
+    private static String whereClause(TaskListQuery query) {
+        StringBuilder where = new StringBuilder();
+        if (query.getIsCompleted() != null) {
+            where.append(" and t.isCompleted = :isCompleted");
+        }
+        if (query.getDueDateFrom() != null) {
+            where.append(" and t.dueDate >= :dueDateFrom");
+        }
+        if (query.getDueDateTo() != null) {
+            where.append(" and t.dueDate <= :dueDateTo");
+        }
+        return where.isEmpty() ? "" : " where" + where.substring(4);
+    }
+
+    private static void bindFilters(TypedQuery<?> typedQuery, TaskListQuery query) {
+        if (query.getIsCompleted() != null) {
+            typedQuery.setParameter("isCompleted", query.getIsCompleted());
+        }
+        if (query.getDueDateFrom() != null) {
+            typedQuery.setParameter("dueDateFrom", query.getDueDateFrom());
+        }
+        if (query.getDueDateTo() != null) {
+            typedQuery.setParameter("dueDateTo", query.getDueDateTo());
+        }
+    }
+
+    private static String shapeKey(TaskListQuery query, Set<TaskField> fields) {
+        return fieldMask(fields) + ":" + filterKey(query) + ":" + query.getSortBy() + ":" + query.getDirection();
+    }
+
+    private static String filterKey(TaskListQuery query) {
+        return (query.getIsCompleted() != null ? "c" : "")
+                + (query.getDueDateFrom() != null ? "f" : "")
+                + (query.getDueDateTo() != null ? "t" : "");
+    }
+
+    private static int fieldMask(Set<TaskField> fields) {
+        int mask = 0;
+        for (TaskField field : fields) {
+            mask |= 1 << field.ordinal();
+        }
+        return mask;
+    }
+
+    private static TaskResponse toResponse(Tuple tuple, Set<TaskField> fields) {
+        TaskResponse response = new TaskResponse();
+        for (TaskField field : fields) {
+            Object value = tuple.get(field.getPropertyName());
+            switch (field) {
+                case ID -> response.setId((Long) value);
+                case TITLE -> response.setTitle((String) value);
+                case DESCRIPTION -> response.setDescription((String) value);
+                case IS_COMPLETED -> response.setIsCompleted((Boolean) value);
+                case DUE_DATE -> response.setDueDate((LocalDateTime) value);
+                case ASSIGNED_TO -> response.setAssignedTo((String) value);
+                case PARENT_ID -> response.setParentId((Long) value);
+                case CREATED_AT -> response.setCreatedAt((LocalDateTime) value);
+                case UPDATED_AT -> response.setUpdatedAt((LocalDateTime) value);
+            }
+        }
+        return response;
+    }
+}
@@ -0,0 +1,190 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.dto.TaskResponse;
+import com.taskmanager.service.TaskListQuery;
+import com.taskmanager.store.TaskRowSink;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Precompiled SQL for every list query shape: the 8 null/non-null combinations of the
+ * {@link TaskSpecifications} filters times each of {@link TaskListQuery#ALLOWED_SORT_FIELDS} and
+ * direction. The statements are rendered once at startup and executed as prepared statements
+ * with bound parameters, so a list request does no Criteria building, SQL rendering or plan-cache
+ * lookup, and the statement text stays stable for the driver's server-side prepared statement cache.
+ * <p>
+ * Rows map straight to {@link TaskResponse}, each with its tags aggregated into an array column
+ * by the same statement, so a page is one read of one snapshot. NULLs sort last ascending and first
+ * descending on every database, as PostgreSQL orders them by default, and ties in the sort field are
+ * broken by id.
+ */
+@Repository
+public class TaskQueryPlans {
+
+    private static final List<String> SORT_FIELDS = List.copyOf(new TreeSet<>(TaskListQuery.ALLOWED_SORT_FIELDS));
+    private static final int FILTER_SHAPES = 8;
+    private static final String TAGS_COLUMN = "(SELECT ARRAY_AGG(task_tags.tag ORDER BY task_tags.tag) FROM task_tags"
+            + " WHERE task_tags.task_id = tasks.id) AS tag_list";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String[] selectByShape;
+    private final String[] countByFilter;
+
+    public TaskQueryPlans(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.countByFilter = new String[FILTER_SHAPES];
+        this.selectByShape = new String[FILTER_SHAPES * SORT_FIELDS.size() * 2];
+        for (int filter = 0; filter < FILTER_SHAPES; filter++) {
+            String where = whereClause(filter);
+            countByFilter[filter] = "SELECT COUNT(*) FROM tasks" + where;
+            for (int sort = 0; sort < SORT_FIELDS.size(); sort++) {
+                String column = column(SORT_FIELDS.get(sort));
+                for (Sort.Direction direction : Sort.Direction.values()) {
+                    String dir = direction.isAscending() ? "ASC NULLS LAST" : "DESC NULLS FIRST";
+                    String orderAndLimit = " ORDER BY " + column + " " + dir + ", id " + dir + " LIMIT ? OFFSET ?";
+                    selectByShape[shapeIndex(filter, sort, direction)] = "SELECT " + TaskRowMappers.COLUMNS + ", "
+                            + TAGS_COLUMN + " FROM tasks" + where + orderAndLimit;
+                }
+            }
+        }
+    }
+
+    public Page<TaskResponse> findPage(TaskListQuery query) {
+        Pageable pageable = query.toPageable();
+        List<TaskResponse> content = select(query, pageable.getPageSize(), pageable.getOffset());
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(query));
+    }
+
+    /**
+     * Passes the page's rows, with their tags, to {@code sink} as they are read. The count query
+     * only runs when the page size does not already determine the total, as in {@link #findPage}.
+     *
+     * @return the total number of matching rows
+     */
+    public long streamPage(TaskListQuery query, TaskRowSink sink) {
+        Pageable pageable = query.toPageable();
+        List<Object> args = filterArguments(query);
+        args.add(pageable.getPageSize());
+        args.add(pageable.getOffset());
+        int[] rows = new int[1];
+        jdbcTemplate.query(selectByShape[shapeIndex(query)], rs -> {
+            sink.accept(rs, tags(rs));
+            rows[0]++;
+        }, args.toArray());
+        if (rows[0] < pageable.getPageSize() && (pageable.getOffset() == 0 || rows[0] > 0)) {
+            return pageable.getOffset() + rows[0];
+        }
+        return count(query);
+    }
+
+    /**
+     * The first {@code limit} matching rows in query order, ignoring the requested page.
+     */
+    public List<TaskResponse> findFirst(TaskListQuery query, int limit) {
+        return select(query, limit, 0);
+    }
+
+    public long count(TaskListQuery query) {
+        Long total = jdbcTemplate.queryForObject(
+                countByFilter[filterShape(query)], Long.class, filterArguments(query).toArray());
+        return total != null ? total : 0L;
+    }
+
+    /**
+     * Number of distinct precompiled data statements.
+     */
+    public int planCount() {
+        return selectByShape.length;
+    }
+
+    private List<TaskResponse> select(TaskListQuery query, int limit, long offset) {
+        List<Object> args = filterArguments(query);
+        args.add(limit);
+        args.add(offset);
+        return jdbcTemplate.query(selectByShape[shapeIndex(query)], (rs, rowNum) -> {
+            TaskResponse response = TaskRowMappers.RESPONSE.mapRow(rs, rowNum);
+            response.setTags(tags(rs));
+            return response;
+        }, args.toArray());
+    }
+
+    /**
+     * The current row's tags in order; the aggregate is NULL for a task without tags.
+     */
+    private static List<String> tags(ResultSet rs) throws SQLException {
+        Array array = rs.getArray("tag_list");
+        if (array == null) {
+            return List.of();
+        }
+        try {
+            List<String> tags = new ArrayList<>();
+            for (Object tag : (Object[]) array.getArray()) {
+                tags.add((String) tag);
+            }
+            return tags;
+        } finally {
+            array.free();
+        }
+    }
+
+    private static int shapeIndex(TaskListQuery query) {
+        return shapeIndex(filterShape(query), SORT_FIELDS.indexOf(query.getSortBy()), query.getDirection());
+    }
+
+    private static int filterShape(TaskListQuery query) {
+        return (query.getIsCompleted() != null ? 1 : 0)
+                | (query.getDueDateFrom() != null ? 2 : 0)
+                | (query.getDueDateTo() != null ? 4 : 0);
+    }
+
+    private static int shapeIndex(int filter, int sort, Sort.Direction direction) {
+        return (filter * SORT_FIELDS.size() + sort) * 2 + direction.ordinal();
+    }
+
+    private static String whereClause(int filter) {
+        List<String> conditions = new ArrayList<>(3);
+        if ((filter & 1) != 0) {
+            conditions.add("is_completed = ?");
+        }
+        if ((filter & 2) != 0) {
+            conditions.add("due_date >= ?");
+        }
+        if ((filter & 4) != 0) {
+            conditions.add("due_date <= ?");
+        }
+        return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+    }
+
+    private static List<Object> filterArguments(TaskListQuery query) {
+        List<Object> args = new ArrayList<>(5);
+        if (query.getIsCompleted() != null) {
+            args.add(query.getIsCompleted());
+        }
+        if (query.getDueDateFrom() != null) {
+            args.add(query.getDueDateFrom());
+        }
+        if (query.getDueDateTo() != null) {
+            args.add(query.getDueDateTo());
+        }
+        return args;
+    }
+
+    private static String column(String sortField) {
+        return switch (sortField) {
+            case "dueDate" -> "due_date";
+            case "title" -> "title";
+            default -> "created_at";
+        };
+    }
+}
@@ -0,0 +1,120 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.entity.Task;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Materializes occurrences of recurring tasks as rows. Series are locked {@code FOR UPDATE SKIP LOCKED}
+ * in id order from a keyset cursor, so two materializers never extend the same series at once and
+ * a series that a request is editing waits for the next run. Occurrences go in as one JDBC batch
+ * per chunk; the unique {@code (series_id, due_date)} index rejects any duplicate that slips past
+ * the locks. Must run inside a transaction, which holds the locks until the inserts commit.
+ */
+@Repository
+public class TaskRecurrences {
+
+    private static final String DUE = "SELECT " + TaskRowMappers.COLUMNS + " FROM tasks"
+            + " WHERE materialized_until < ? AND id > ?"
+            + " ORDER BY id ASC LIMIT ? FOR UPDATE SKIP LOCKED";
+
+    private static final String INSERT_COLUMNS =
+            "title, description, is_completed, due_date, assigned_to, series_id, created_at, updated_at";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskRecurrences(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Locks up to {@code limit} recurring tasks materialized only until before {@code horizon}, in
+     * id order from just past {@code afterId}, or from the start for {@code null}. Tags are not loaded.
+     */
+    public List<Task> lockDue(LocalDateTime horizon, Long afterId, int limit) {
+        return jdbcTemplate.query(DUE, TaskRowMappers.TASK, horizon, afterId == null ? 0L : afterId, limit);
+    }
+
+    /**
+     * Inserts occurrences in one batch. Those without an id get a generated one; either all or none
+     * must have one.
+     */
+    public void insert(List<Task> occurrences) {
+        if (occurrences.isEmpty()) {
+            return;
+        }
+        if (occurrences.get(0).getId() != null) {
+            jdbcTemplate.batchUpdate("INSERT INTO tasks (id, " + INSERT_COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                    occurrences, occurrences.size(), (ps, task) -> {
+                        ps.setLong(1, task.getId());
+                        bind(ps, 2, task);
+                    });
+            return;
+        }
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(
+                        "INSERT INTO tasks (" + INSERT_COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?)", new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        bind(ps, 1, occurrences.get(i));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return occurrences.size();
+                    }
+                },
+                keys);
+        List<Map<String, Object>> generated = keys.getKeyList();
+        for (int i = 0; i < occurrences.size(); i++) {
+            occurrences.get(i).setId(((Number) generated.get(i).values().iterator().next()).longValue());
+        }
+    }
+
+    /**
+     * Records how far each series is materialized, without touching {@code updated_at}: the series
+     * itself did not change.
+     */
+    public void markMaterialized(List<Task> series) {
+        if (series.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(series.size());
+        for (Task task : series) {
+            rows.add(new Object[]{task.getMaterializedUntil(), task.getId()});
+        }
+        jdbcTemplate.batchUpdate("UPDATE tasks SET materialized_until = ? WHERE id = ?", rows);
+    }
+
+    /**
+     * Up to {@code limit} recurring tasks materialized only until before {@code to}, in id order.
+     * Tags are not loaded.
+     */
+    public List<Task> findMaterializedBefore(LocalDateTime to, int limit) {
+        return jdbcTemplate.query("SELECT " + TaskRowMappers.COLUMNS + " FROM tasks WHERE materialized_until < ?"
+                + " ORDER BY id ASC LIMIT ?", TaskRowMappers.TASK, to, limit);
+    }
+
+    private static void bind(PreparedStatement ps, int first, Task task) throws SQLException {
+        ps.setString(first, task.getTitle());
+        ps.setString(first + 1, task.getDescription());
+        ps.setBoolean(first + 2, task.getIsCompleted());
+        ps.setObject(first + 3, task.getDueDate());
+        ps.setString(first + 4, task.getAssignedTo());
+        ps.setLong(first + 5, task.getSeriesId());
+        ps.setObject(first + 6, task.getCreatedAt());
+        ps.setObject(first + 7, task.getUpdatedAt());
+    }
+}
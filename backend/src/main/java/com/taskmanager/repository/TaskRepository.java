@@ -1,10 +1,41 @@
 package com.taskmanager.repository;
 
 import com.taskmanager.entity.Task;
+import com.taskmanager.readmodel.TaskColumnRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
+
+    /**
+     * Fetches the tags with the task, so responses can be built after the session closes.
+     */
+    @Override
+    @EntityGraph(attributePaths = "tags")
+    Optional<Task> findById(Long id);
+
+    @Override
+    @EntityGraph(attributePaths = "tags")
+    List<Task> findAllById(Iterable<Long> ids);
+
+    List<Task> findByIsCompletedFalseAndDueDateBetweenOrderByDueDateAsc(
+            LocalDateTime from, LocalDateTime to, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.taskmanager.readmodel.TaskColumnRow(t.id, t.isCompleted, t.dueDate, t.createdAt, t.title) "
+            + "from Task t order by t.id")
+    Stream<TaskColumnRow> streamColumnRows();
 }
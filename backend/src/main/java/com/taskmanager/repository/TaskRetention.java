@@ -0,0 +1,60 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.entity.Task;
+import com.taskmanager.store.PurgeCursor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Deletes completed tasks past their retention period, in chunks that walk the
+ * {@code (is_completed, updated_at, id)} index from a keyset cursor, so each chunk reads only the
+ * rows it deletes however far the purge has got. Candidates are locked {@code FOR UPDATE SKIP LOCKED}:
+ * a task that a request is changing right now is left for the next run instead of blocking it. Must
+ * run inside a transaction, which holds the locks until the delete commits.
+ */
+@Repository
+public class TaskRetention {
+
+    private static final String EXPIRED = "SELECT " + TaskRowMappers.COLUMNS + " FROM tasks"
+            + " WHERE is_completed = TRUE AND updated_at < ?";
+
+    private static final String AFTER_CURSOR = " AND (updated_at, id) > (?, ?)";
+
+    private static final String CHUNK = " ORDER BY updated_at ASC, id ASC LIMIT ? FOR UPDATE SKIP LOCKED";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskRetention(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Locks up to {@code limit} completed tasks last updated before {@code cutoff}, in
+     * {@code (updatedAt, id)} order from just past {@code after}, or from the start for {@code null}.
+     */
+    public List<Task> lockExpired(LocalDateTime cutoff, PurgeCursor after, int limit) {
+        if (after == null) {
+            return jdbcTemplate.query(EXPIRED + CHUNK, TaskRowMappers.TASK, cutoff, limit);
+        }
+        return jdbcTemplate.query(EXPIRED + AFTER_CURSOR + CHUNK, TaskRowMappers.TASK,
+                cutoff, after.getUpdatedAt(), after.getId(), limit);
+    }
+
+    /**
+     * Deletes the tasks with their tags. Their hierarchy links must already be gone.
+     */
+    public void delete(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        Object[] args = ids.toArray();
+        jdbcTemplate.update("DELETE FROM task_tags WHERE task_id IN (" + placeholders + ")", args);
+        jdbcTemplate.update("DELETE FROM tasks WHERE id IN (" + placeholders + ")", args);
+    }
+}
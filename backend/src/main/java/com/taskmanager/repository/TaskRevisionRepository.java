@@ -0,0 +1,22 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.entity.TaskRevision;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface TaskRevisionRepository extends JpaRepository<TaskRevision, Long> {
+
+    List<TaskRevision> findByTaskIdAndRevisionLessThanOrderByRevisionDesc(Long taskId, Integer revision, Limit limit);
+
+    Optional<TaskRevision> findFirstByTaskIdAndSnapshotTrueAndChangedAtLessThanEqualOrderByRevisionDesc(
+            Long taskId, LocalDateTime at);
+
+    List<TaskRevision> findByTaskIdAndRevisionGreaterThanAndChangedAtLessThanEqualOrderByRevisionAsc(
+            Long taskId, Integer revision, LocalDateTime at);
+}
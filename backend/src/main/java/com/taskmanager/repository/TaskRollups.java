@@ -0,0 +1,177 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.entity.TaskRollup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeMap;
+
+/**
+ * Reads and writes the daily rollups in {@code task_daily_rollups}. Live changes are added to a
+ * day's counts, while a rebuild replaces them with counts grouped from the tasks table plus what
+ * removed tasks counted, kept in {@code task_rollup_removals}, so a rebuild leaves deleted and
+ * purged tasks in past reports just as live counting does. All of these first lock the day in
+ * {@code task_rollup_days}, and once a day has been rebuilt, changes to it are applied by
+ * rebuilding it again: a rebuild may already have seen a change whose counts are still to be
+ * added, and adding them would count it twice, while a rebuild after the change commits always
+ * counts it once. Inserting a day or rollup row that another transaction inserted first fails the
+ * caller's transaction, and the retry finds the row.
+ */
+@Repository
+public class TaskRollups {
+
+    private static final String INSERT = "INSERT INTO task_daily_rollups"
+            + " (activity_date, assigned_to, created_count, completed_count) VALUES (?, ?, ?, ?)";
+
+    private static final String CREATED = "SELECT COALESCE(assigned_to, '') AS assignee, COUNT(*) AS tasks FROM tasks"
+            + " WHERE created_at >= ? AND created_at < ? GROUP BY COALESCE(assigned_to, '')";
+
+    private static final String COMPLETED = "SELECT COALESCE(assigned_to, '') AS assignee, COUNT(*) AS tasks FROM tasks"
+            + " WHERE is_completed = TRUE AND updated_at >= ? AND updated_at < ? GROUP BY COALESCE(assigned_to, '')";
+
+    private static final String ADD = "UPDATE task_daily_rollups"
+            + " SET created_count = created_count + ?, completed_count = completed_count + ?"
+            + " WHERE activity_date = ? AND assigned_to = ?";
+
+    private static final String INSERT_REMOVED = "INSERT INTO task_rollup_removals"
+            + " (activity_date, assigned_to, created_count, completed_count) VALUES (?, ?, ?, ?)";
+
+    private static final String ADD_REMOVED = "UPDATE task_rollup_removals"
+            + " SET created_count = created_count + ?, completed_count = completed_count + ?"
+            + " WHERE activity_date = ? AND assigned_to = ?";
+
+    private static final String REMOVED = "SELECT assigned_to, created_count, completed_count"
+            + " FROM task_rollup_removals WHERE activity_date = ?";
+
+    private static final RowMapper<TaskRollup> ROLLUP = (rs, rowNum) -> new TaskRollup(
+            rs.getObject("activity_date", LocalDate.class),
+            rs.getString("assigned_to"),
+            rs.getLong("created_count"),
+            rs.getLong("completed_count"));
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskRollups(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Locks the days in {@code task_rollup_days}, in ascending order so that concurrent callers
+     * cannot deadlock, creating those not there yet. Must run inside a transaction, which holds the
+     * locks until it ends.
+     *
+     * @return the days that have been rebuilt, whose changes must be applied by {@link #rebuild}
+     */
+    public Set<LocalDate> lockDays(SortedSet<LocalDate> days) {
+        Set<LocalDate> rebuilt = new HashSet<>();
+        for (LocalDate day : days) {
+            if (lockDay(day)) {
+                rebuilt.add(day);
+            }
+        }
+        return rebuilt;
+    }
+
+    /**
+     * Replaces the day's rows with the tasks created, and the completed tasks last updated, that
+     * day, each an index range scan, plus the tasks removed since, and marks the day rebuilt. Must
+     * run inside a transaction.
+     */
+    public void rebuild(LocalDate day) {
+        lockDay(day);
+        LocalDateTime start = day.atStartOfDay();
+        LocalDateTime end = day.plusDays(1).atStartOfDay();
+        Map<String, long[]> counts = new TreeMap<>();
+        jdbcTemplate.query(CREATED, rs -> {
+            counts.computeIfAbsent(rs.getString("assignee"), assignee -> new long[2])[0] = rs.getLong("tasks");
+        }, start, end);
+        jdbcTemplate.query(COMPLETED, rs -> {
+            counts.computeIfAbsent(rs.getString("assignee"), assignee -> new long[2])[1] = rs.getLong("tasks");
+        }, start, end);
+        jdbcTemplate.query(REMOVED, rs -> {
+            long[] dayCounts = counts.computeIfAbsent(rs.getString("assigned_to"), assignee -> new long[2]);
+            dayCounts[0] += rs.getLong("created_count");
+            dayCounts[1] += rs.getLong("completed_count");
+        }, day);
+
+        jdbcTemplate.update("DELETE FROM task_daily_rollups WHERE activity_date = ?", day);
+        List<Object[]> rows = new ArrayList<>(counts.size());
+        counts.forEach((assignee, dayCounts) -> rows.add(new Object[]{day, assignee, dayCounts[0], dayCounts[1]}));
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT, rows);
+        }
+        jdbcTemplate.update("UPDATE task_rollup_days SET rebuilt_at = CURRENT_TIMESTAMP WHERE activity_date = ?", day);
+    }
+
+    /**
+     * Adds each delta to its day and assignee, creating the rows not there yet. Must run inside a
+     * transaction holding the locks of the deltas' days, so a failure applies none of them.
+     */
+    public void add(List<TaskRollup> deltas) {
+        addTo(ADD, INSERT, deltas);
+    }
+
+    /**
+     * Adds what removed tasks counted to {@code task_rollup_removals}, leaving the rollups as they
+     * are. Must run inside a transaction holding the locks of the days.
+     */
+    public void addRemoved(List<TaskRollup> removed) {
+        addTo(ADD_REMOVED, INSERT_REMOVED, removed);
+    }
+
+    private void addTo(String update, String insert, List<TaskRollup> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(deltas.size());
+        for (TaskRollup delta : deltas) {
+            rows.add(new Object[]{delta.getCreatedCount(), delta.getCompletedCount(),
+                    delta.getActivityDate(), delta.getAssignedTo()});
+        }
+        int[] updated = jdbcTemplate.batchUpdate(update, rows);
+        List<Object[]> missing = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                TaskRollup delta = deltas.get(i);
+                missing.add(new Object[]{delta.getActivityDate(), delta.getAssignedTo(),
+                        delta.getCreatedCount(), delta.getCompletedCount()});
+            }
+        }
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate(insert, missing);
+        }
+    }
+
+    private boolean lockDay(LocalDate day) {
+        List<Boolean> rebuilt = jdbcTemplate.query(
+                "SELECT rebuilt_at FROM task_rollup_days WHERE activity_date = ? FOR UPDATE",
+                (rs, rowNum) -> rs.getObject("rebuilt_at") != null, day);
+        if (rebuilt.isEmpty()) {
+            jdbcTemplate.update("INSERT INTO task_rollup_days (activity_date) VALUES (?)", day);
+            return false;
+        }
+        return rebuilt.get(0);
+    }
+
+    /**
+     * The rollups from {@code from} to {@code to}, both inclusive, by day and then assignee; only
+     * {@code assignedTo}'s when given.
+     */
+    public List<TaskRollup> find(LocalDate from, LocalDate to, String assignedTo) {
+        String sql = "SELECT activity_date, assigned_to, created_count, completed_count FROM task_daily_rollups"
+                + " WHERE activity_date >= ? AND activity_date <= ?";
+        if (assignedTo == null) {
+            return jdbcTemplate.query(sql + " ORDER BY activity_date, assigned_to", ROLLUP, from, to);
+        }
+        return jdbcTemplate.query(sql + " AND assigned_to = ? ORDER BY activity_date", ROLLUP, from, to, assignedTo);
+    }
+}
@@ -0,0 +1,55 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.dto.TaskResponse;
+import com.taskmanager.entity.Task;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+/**
+ * Row mapping for the plain-JDBC paths that read the {@code tasks} table without JPA.
+ */
+public final class TaskRowMappers {
+
+    public static final String COLUMNS =
+            "id, title, description, is_completed, due_date, assigned_to, parent_id, recurrence, series_id,"
+                    + " materialized_until, created_at, updated_at";
+
+    public static final RowMapper<Task> TASK = (rs, rowNum) -> Task.builder()
+            .id(rs.getLong("id"))
+            .title(rs.getString("title"))
+            .description(rs.getString("description"))
+            .isCompleted(rs.getBoolean("is_completed"))
+            .dueDate(timestamp(rs, "due_date"))
+            .assignedTo(rs.getString("assigned_to"))
+            .parentId(rs.getObject("parent_id", Long.class))
+            .recurrence(rs.getString("recurrence"))
+            .seriesId(rs.getObject("series_id", Long.class))
+            .materializedUntil(timestamp(rs, "materialized_until"))
+            .createdAt(timestamp(rs, "created_at"))
+            .updatedAt(timestamp(rs, "updated_at"))
+            .build();
+
+    public static final RowMapper<TaskResponse> RESPONSE = (rs, rowNum) -> TaskResponse.builder()
+            .id(rs.getLong("id"))
+            .title(rs.getString("title"))
+            .description(rs.getString("description"))
+            .isCompleted(rs.getBoolean("is_completed"))
+            .dueDate(timestamp(rs, "due_date"))
+            .assignedTo(rs.getString("assigned_to"))
+            .parentId(rs.getObject("parent_id", Long.class))
+            .recurrence(rs.getString("recurrence"))
+            .seriesId(rs.getObject("series_id", Long.class))
+            .createdAt(timestamp(rs, "created_at"))
+            .updatedAt(timestamp(rs, "updated_at"))
+            .build();
+
+    private TaskRowMappers() {
+    }
+
+    private static LocalDateTime timestamp(ResultSet rs, String column) throws SQLException {
+        return rs.getObject(column, LocalDateTime.class);
+    }
+}
@@ -1,9 +1,15 @@
 package com.taskmanager.repository;
 
 import com.taskmanager.entity.Task;
+import com.taskmanager.entity.TaskClosure;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Set;
 
 public final class TaskSpecifications {
 
@@ -30,4 +36,54 @@ public final class TaskSpecifications {
         }
         return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("dueDate"), to);
     }
+
+    public static Specification<Task> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> ids.isEmpty() ? cb.disjunction() : root.get("id").in(ids);
+    }
+
+    /**
+     * Tasks carrying every tag in {@code tags}: a grouped {@code task_tags} subquery per task.
+     */
+    public static Specification<Task> hasAllTags(Set<String> tags) {
+        if (tags == null || tags.isEmpty()) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            Subquery<Long> tagged = query.subquery(Long.class);
+            Root<Task> task = tagged.from(Task.class);
+            Join<Task, String> tag = task.join("tags");
+            tagged.select(task.get("id"))
+                    .where(tag.in(tags))
+                    .groupBy(task.get("id"))
+                    .having(cb.equal(cb.countDistinct(tag), (long) tags.size()));
+            return root.get("id").in(tagged);
+        };
+    }
+
+    public static Specification<Task> hasAnyTag(Set<String> tags) {
+        if (tags == null || tags.isEmpty()) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            Subquery<Long> tagged = query.subquery(Long.class);
+            Root<Task> task = tagged.from(Task.class);
+            Join<Task, String> tag = task.join("tags");
+            tagged.select(task.get("id")).where(tag.in(tags));
+            return root.get("id").in(tagged);
+        };
+    }
+
+    /**
+     * Tasks below {@code rootId} at any depth, the root itself excluded: one indexed range of
+     * {@code task_closure} however deep or wide the subtree is.
+     */
+    public static Specification<Task> inSubtree(long rootId) {
+        return (root, query, cb) -> {
+            Subquery<Long> subtree = query.subquery(Long.class);
+            Root<TaskClosure> closure = subtree.from(TaskClosure.class);
+            subtree.select(closure.get("descendantId"))
+                    .where(cb.equal(closure.get("ancestorId"), rootId));
+            return root.get("id").in(subtree);
+        };
+    }
 }
@@ -0,0 +1,104 @@
+package com.taskmanager.repository;
+
+import com.taskmanager.dto.TaskResponse;
+import com.taskmanager.entity.Task;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Plain-JDBC access to {@code task_tags} for the paths that read or write {@code tasks} without
+ * JPA. Tags are read for a whole page in one statement, never per row.
+ */
+@Repository
+public class TaskTags {
+
+    private static final int SCAN_FETCH_SIZE = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TaskTags(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Tags of the given tasks in tag order; tasks without tags are absent from the map.
+     */
+    public Map<Long, List<String>> find(Collection<Long> taskIds) {
+        Map<Long, List<String>> tags = new HashMap<>();
+        if (taskIds.isEmpty()) {
+            return tags;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(taskIds.size(), "?"));
+        jdbcTemplate.query("SELECT task_id, tag FROM task_tags WHERE task_id IN (" + placeholders + ")"
+                        + " ORDER BY task_id, tag",
+                rs -> {
+                    tags.computeIfAbsent(rs.getLong("task_id"), id -> new ArrayList<>()).add(rs.getString("tag"));
+                },
+                taskIds.toArray());
+        return tags;
+    }
+
+    /**
+     * Sets the tags of each response, an empty list for tasks without tags.
+     */
+    public void fill(List<TaskResponse> tasks) {
+        Map<Long, List<String>> tags = find(tasks.stream().map(TaskResponse::getId).toList());
+        for (TaskResponse task : tasks) {
+            task.setTags(tags.getOrDefault(task.getId(), List.of()));
+        }
+    }
+
+    public void insert(long taskId, Collection<String> tags) {
+        if (tags.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(tags.size());
+        for (String tag : tags) {
+            rows.add(new Object[]{taskId, tag});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO task_tags (task_id, tag) VALUES (?, ?)", rows);
+    }
+
+    /**
+     * Inserts the tags of several new tasks in one batch.
+     */
+    public void insertAll(Collection<Task> tasks) {
+        List<Object[]> rows = new ArrayList<>();
+        for (Task task : tasks) {
+            for (String tag : task.getTags()) {
+                rows.add(new Object[]{task.getId(), tag});
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate("INSERT INTO task_tags (task_id, tag) VALUES (?, ?)", rows);
+        }
+    }
+
+    public void replace(long taskId, Collection<String> tags) {
+        delete(taskId);
+        insert(taskId, tags);
+    }
+
+    public void delete(long taskId) {
+        jdbcTemplate.update("DELETE FROM task_tags WHERE task_id = ?", taskId);
+    }
+
+    /**
+     * Streams every (tag, task id) pair, in no particular order.
+     */
+    public void forEach(ObjLongConsumer<String> consumer) {
+        JdbcTemplate scan = new JdbcTemplate(jdbcTemplate.getDataSource());
+        scan.setFetchSize(SCAN_FETCH_SIZE);
+        scan.query("SELECT task_id, tag FROM task_tags", rs -> {
+            consumer.accept(rs.getString("tag"), rs.getLong("task_id"));
+        });
+    }
+}
@@ -0,0 +1,128 @@
+package com.taskmanager.resilience;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Consecutive-failure circuit breaker. Closed, every call is let through; after
+ * {@code failureThreshold} failures in a row it opens and rejects calls for {@code openDuration}.
+ * Then a single trial call is let through (half-open): its success closes the breaker, its failure
+ * opens it again for another period.
+ * <p>
+ * Every transition starts a new generation, and {@link #tryAcquire} hands out the current one as
+ * the call's permit. An outcome only counts towards the generation its call started in, so a slow
+ * call let through before the breaker opened cannot close it, and only the trial call's outcome
+ * decides a half-open breaker.
+ * <p>
+ * The state, its generation and when it opened are one immutable snapshot behind a volatile field:
+ * {@link #tryAcquire} while closed, {@link #isOpen} and {@link #retryAfter} are a single volatile
+ * read; transitions synchronize on the breaker.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /**
+     * Returned by {@link #tryAcquire} when the call is rejected.
+     */
+    public static final long REJECTED = -1;
+
+    private record Phase(State state, long generation, long openedAt) {
+    }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier nanoClock;
+    private volatile Phase phase = new Phase(State.CLOSED, 0, 0);
+    private volatile int consecutiveFailures;
+
+    /**
+     * @param nanoClock monotonic time in nanoseconds, {@code System::nanoTime} outside tests
+     */
+    public CircuitBreaker(int failureThreshold, Duration openDuration, LongSupplier nanoClock) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openNanos = openDuration.toNanos();
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * @return {@link #REJECTED}, or the permit of a call that may go ahead, which the caller must
+     * report back through {@link #onSuccess} or {@link #onFailure}
+     */
+    public long tryAcquire() {
+        Phase current = phase;
+        if (current.state() == State.CLOSED) {
+            return current.generation();
+        }
+        synchronized (this) {
+            current = phase;
+            if (current.state() == State.CLOSED) {
+                return current.generation();
+            }
+            if (current.state() == State.OPEN && nanoClock.getAsLong() - current.openedAt() >= openNanos) {
+                phase = new Phase(State.HALF_OPEN, current.generation() + 1, current.openedAt());
+                return phase.generation();
+            }
+            return REJECTED;
+        }
+    }
+
+    public void onSuccess(long permit) {
+        Phase current = phase;
+        if (current.generation() != permit || (current.state() == State.CLOSED && consecutiveFailures == 0)) {
+            return;
+        }
+        synchronized (this) {
+            current = phase;
+            if (current.generation() != permit) {
+                return;
+            }
+            consecutiveFailures = 0;
+            if (current.state() == State.HALF_OPEN) {
+                phase = new Phase(State.CLOSED, current.generation() + 1, 0);
+            }
+        }
+    }
+
+    public synchronized void onFailure(long permit) {
+        Phase current = phase;
+        if (current.generation() != permit) {
+            return;
+        }
+        if (current.state() == State.HALF_OPEN
+                || (current.state() == State.CLOSED && ++consecutiveFailures >= failureThreshold)) {
+            consecutiveFailures = 0;
+            phase = new Phase(State.OPEN, current.generation() + 1, nanoClock.getAsLong());
+        }
+    }
+
+    /**
+     * Whether calls are being rejected: open and still within the open period, or half-open with the
+     * trial call under way.
+     */
+    public boolean isOpen() {
+        Phase current = phase;
+        return current.state() == State.HALF_OPEN
+                || (current.state() == State.OPEN && remainingOpenNanos(current) > 0);
+    }
+
+    /**
+     * Time until the breaker lets a trial call through, zero unless it is open.
+     */
+    public Duration retryAfter() {
+        Phase current = phase;
+        return current.state() == State.OPEN
+                ? Duration.ofNanos(Math.max(0, remainingOpenNanos(current)))
+                : Duration.ZERO;
+    }
+
+    public State state() {
+        return phase.state();
+    }
+
+    private long remainingOpenNanos(Phase current) {
+        return openNanos - (nanoClock.getAsLong() - current.openedAt());
+    }
+}
@@ -0,0 +1,113 @@
+package com.taskmanager.resilience;
+
+import com.taskmanager.exception.DatabaseUnavailableException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionOperations;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTimeoutException;
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * Read-only transactions with a deadline, behind a {@link CircuitBreaker}. A read that cannot get a
+ * connection, loses it, or runs past the deadline counts as a failure and surfaces as
+ * {@link DatabaseUnavailableException}; any other outcome, including a domain exception, shows the
+ * database answering and counts as a success. While the breaker is open, reads fail at once without
+ * touching the pool, and {@link #isOpen()} tells writers to do the same.
+ * <p>
+ * A read nested in a transaction that is already running joins it and leaves the accounting to
+ * the outer one.
+ */
+public class DatabaseGuard implements TransactionOperations {
+
+    public static final String BREAKER_METRIC = "taskmanager.database.breaker.open";
+
+    private final TransactionOperations readOnly;
+    private final CircuitBreaker breaker;
+
+    /**
+     * @param readOnly the read-only transaction, with the read deadline as its timeout
+     */
+    public DatabaseGuard(TransactionOperations readOnly, CircuitBreaker breaker, MeterRegistry registry) {
+        this.readOnly = readOnly;
+        this.breaker = breaker;
+        Gauge.builder(BREAKER_METRIC, breaker, b -> b.isOpen() ? 1 : 0)
+                .description("Whether database reads are being rejected by the circuit breaker")
+                .register(registry);
+    }
+
+    @Override
+    public <T> T execute(TransactionCallback<T> action) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return readOnly.execute(action);
+        }
+        long permit = breaker.tryAcquire();
+        if (permit == CircuitBreaker.REJECTED) {
+            throw new DatabaseUnavailableException(retryAfterSeconds(), null);
+        }
+        boolean failed = false;
+        try {
+            return readOnly.execute(action);
+        } catch (RuntimeException e) {
+            if (isUnavailable(e)) {
+                failed = true;
+                breaker.onFailure(permit);
+                throw e instanceof DatabaseUnavailableException unavailable
+                        ? unavailable
+                        : new DatabaseUnavailableException(retryAfterSeconds(), e);
+            }
+            throw e;
+        } finally {
+            if (!failed) {
+                breaker.onSuccess(permit);
+            }
+        }
+    }
+
+    public boolean isOpen() {
+        return breaker.isOpen();
+    }
+
+    /**
+     * Seconds a rejected caller should wait before retrying, at least one.
+     */
+    public long retryAfterSeconds() {
+        return Math.max(1, (breaker.retryAfter().toMillis() + 999) / 1000);
+    }
+
+    /**
+     * Whether {@code e} or one of its causes shows the database unreachable or too slow, as opposed
+     * to a query that was answered with an error.
+     */
+    public static boolean isUnavailable(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DatabaseUnavailableException
+                    || cause instanceof CannotCreateTransactionException
+                    || cause instanceof TransactionTimedOutException
+                    || cause instanceof QueryTimeoutException
+                    || cause instanceof DataAccessResourceFailureException
+                    || cause instanceof TransientDataAccessResourceException
+                    || cause instanceof RecoverableDataAccessException
+                    || cause instanceof SQLTimeoutException
+                    || cause instanceof SQLTransientConnectionException
+                    || cause instanceof SQLNonTransientConnectionException
+                    || cause instanceof SQLRecoverableException) {
+                return true;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,33 @@
+package com.taskmanager.resilience;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+
+/**
+ * Marks the response of the current request as served from a copy kept for when the database is
+ * unavailable: {@value #HEADER} is set, and {@code Age} carries how old the copy is.
+ */
+public final class StaleResponses {
+
+    public static final String HEADER = "X-Stale-Response";
+
+    private StaleResponses() {
+    }
+
+    /**
+     * Does nothing outside a request or once the response is committed.
+     */
+    public static void mark(Duration age) {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            HttpServletResponse response = attributes.getResponse();
+            if (response != null && !response.isCommitted()) {
+                response.setHeader(HEADER, "true");
+                response.setHeader(HttpHeaders.AGE, Long.toString(age.toSeconds()));
+            }
+        }
+    }
+}
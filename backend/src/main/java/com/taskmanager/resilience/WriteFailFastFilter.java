@@ -0,0 +1,56 @@
+package com.taskmanager.resilience;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.dto.ErrorResponse;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+
+/**
+ * Rejects writes with 503 while the {@link DatabaseGuard} breaker is open, before a transaction
+ * would wait for a connection. Reads pass; the guard answers them from what is still cached.
+ */
+public class WriteFailFastFilter extends OncePerRequestFilter {
+
+    private final DatabaseGuard databaseGuard;
+    private final ObjectMapper objectMapper;
+
+    public WriteFailFastFilter(DatabaseGuard databaseGuard, ObjectMapper objectMapper) {
+        this.databaseGuard = databaseGuard;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        if (isWrite(request) && databaseGuard.isOpen()) {
+            ErrorResponse error = ErrorResponse.builder()
+                    .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                    .message("Database is unavailable, please retry later")
+                    .timestamp(LocalDateTime.now())
+                    .build();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(databaseGuard.retryAfterSeconds()));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), error);
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private static boolean isWrite(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod())
+                && !HttpMethod.HEAD.matches(request.getMethod())
+                && !HttpMethod.OPTIONS.matches(request.getMethod());
+    }
+}
@@ -0,0 +1,18 @@
+package com.taskmanager.scheduler;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+public class DueDateEvent {
+
+    public enum Type { REMINDER, OVERDUE }
+
+    Type type;
+    Long taskId;
+    String title;
+    String assignedTo;
+    LocalDateTime dueDate;
+    LocalDateTime firedAt;
+}
@@ -0,0 +1,10 @@
+package com.taskmanager.scheduler;
+
+/**
+ * Receives reminder and overdue notifications. Every handler bean is invoked for every event,
+ * off the scheduler's tick thread, so a slow handler delays other handlers but never the timers.
+ */
+public interface DueDateEventHandler {
+
+    void onDueDateEvent(DueDateEvent event);
+}
@@ -0,0 +1,203 @@
+package com.taskmanager.scheduler;
+
+import com.taskmanager.config.SchedulerProperties;
+import com.taskmanager.entity.Task;
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.event.TaskSnapshot;
+import com.taskmanager.store.TaskStore;
+import jakarta.annotation.PreDestroy;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the due dates of open tasks inside a rolling horizon on a {@link HashedTimingWheel} and
+ * fires reminder/overdue events to every {@link DueDateEventHandler}.
+ * <p>
+ * The database is read once per half horizon; in between, committed task changes update the
+ * wheel incrementally. Changes are queued and applied on the tick thread, so writers never
+ * contend on the wheel.
+ */
+@Slf4j
+public class DueDateScheduler {
+
+    private final TaskStore taskStore;
+    private final List<DueDateEventHandler> handlers;
+    private final SchedulerProperties properties;
+    private final Clock clock;
+    private final HashedTimingWheel<TimerKey, PendingTask> wheel;
+    private final Queue<Runnable> commands = new ConcurrentLinkedQueue<>();
+    private final ScheduledExecutorService ticker;
+    private final ThreadPoolExecutor dispatcher;
+    private volatile long horizonEndMillis;
+
+    public DueDateScheduler(TaskStore taskStore,
+                            List<DueDateEventHandler> handlers,
+                            SchedulerProperties properties,
+                            Clock clock) {
+        this.taskStore = taskStore;
+        this.handlers = handlers;
+        this.properties = properties;
+        this.clock = clock;
+        this.wheel = new HashedTimingWheel<>(properties.getTick().toMillis(), properties.getWheelSize(), clock.millis());
+        this.ticker = Executors.newScheduledThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "due-date-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.dispatcher = new ThreadPoolExecutor(
+                properties.getHandlerThreads(), properties.getHandlerThreads(), 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getHandlerQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "due-date-handler");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, executor) -> log.warn("Due-date handler queue is full, dropping event"));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long tickMillis = properties.getTick().toMillis();
+        long reloadMillis = Math.max(tickMillis, properties.getHorizon().toMillis() / 2);
+        ticker.scheduleAtFixedRate(this::reloadHorizon, 0, reloadMillis, TimeUnit.MILLISECONDS);
+        ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdownNow();
+        dispatcher.shutdownNow();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTaskChanged(TaskChangedEvent event) {
+        TaskSnapshot after = event.getAfter();
+        if (after == null || Boolean.TRUE.equals(after.getIsCompleted()) || after.getDueDate() == null) {
+            commands.add(() -> cancel(event.getTaskId()));
+            return;
+        }
+        PendingTask pending = PendingTask.of(after);
+        commands.add(() -> {
+            if (toMillis(pending.getDueDate()) <= horizonEndMillis) {
+                schedule(pending);
+            } else {
+                cancel(pending.getTaskId());
+            }
+        });
+    }
+
+    int pendingTimers() {
+        return wheel.size();
+    }
+
+    private void reloadHorizon() {
+        try {
+            LocalDateTime from = LocalDateTime.now(clock);
+            LocalDateTime to = from.plus(properties.getHorizon());
+            List<Task> due = taskStore.findOpenDueBetween(from, to, properties.getMaxTimers() / 2);
+            horizonEndMillis = toMillis(to);
+            for (Task task : due) {
+                PendingTask pending = PendingTask.of(task);
+                commands.add(() -> schedule(pending));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not load upcoming due dates, keeping the current horizon", e);
+        }
+    }
+
+    private void tick() {
+        try {
+            Runnable command;
+            while ((command = commands.poll()) != null) {
+                command.run();
+            }
+            wheel.advanceTo(clock.millis(), this::fire);
+        } catch (RuntimeException e) {
+            log.error("Due-date scheduler tick failed", e);
+        }
+    }
+
+    private void schedule(PendingTask pending) {
+        TimerKey overdueKey = new TimerKey(pending.getTaskId(), DueDateEvent.Type.OVERDUE);
+        if (wheel.size() >= properties.getMaxTimers() && !wheel.contains(overdueKey)) {
+            return;
+        }
+        long dueMillis = toMillis(pending.getDueDate());
+        wheel.schedule(overdueKey, dueMillis, pending);
+
+        TimerKey reminderKey = new TimerKey(pending.getTaskId(), DueDateEvent.Type.REMINDER);
+        long reminderMillis = dueMillis - properties.getReminderLead().toMillis();
+        if (!properties.getReminderLead().isZero() && reminderMillis > clock.millis()) {
+            wheel.schedule(reminderKey, reminderMillis, pending);
+        } else {
+            wheel.cancel(reminderKey);
+        }
+    }
+
+    private void cancel(Long taskId) {
+        wheel.cancel(new TimerKey(taskId, DueDateEvent.Type.OVERDUE));
+        wheel.cancel(new TimerKey(taskId, DueDateEvent.Type.REMINDER));
+    }
+
+    private void fire(TimerKey key, PendingTask pending) {
+        DueDateEvent event = new DueDateEvent(key.getType(), pending.getTaskId(), pending.getTitle(),
+                pending.getAssignedTo(), pending.getDueDate(), LocalDateTime.now(clock));
+        dispatcher.execute(() -> {
+            for (DueDateEventHandler handler : handlers) {
+                try {
+                    handler.onDueDateEvent(event);
+                } catch (RuntimeException e) {
+                    log.warn("Due-date handler {} failed for task {}", handler.getClass().getSimpleName(),
+                            event.getTaskId(), e);
+                }
+            }
+        });
+    }
+
+    private long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(clock.getZone()).toInstant().toEpochMilli();
+    }
+
+    @Value
+    private static class TimerKey {
+        Long taskId;
+        DueDateEvent.Type type;
+    }
+
+    /**
+     * The few fields an event needs, so a timer costs far less than a full task.
+     */
+    @Value
+    private static class PendingTask {
+        Long taskId;
+        String title;
+        String assignedTo;
+        LocalDateTime dueDate;
+
+        static PendingTask of(TaskSnapshot task) {
+            return new PendingTask(task.getId(), task.getTitle(), task.getAssignedTo(), task.getDueDate());
+        }
+
+        /**
+         * From a task read without its tags, which a snapshot would load.
+         */
+        static PendingTask of(Task task) {
+            return new PendingTask(task.getId(), task.getTitle(), task.getAssignedTo(), task.getDueDate());
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.taskmanager.scheduler;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Single-level hashed timing wheel. Scheduling and cancelling are O(1); each tick only visits
+ * the timers hashed to the current slot, and timers further out than one revolution carry a
+ * round counter instead of living in a second structure.
+ * <p>
+ * Not thread-safe: {@link DueDateScheduler} confines it to its tick thread.
+ */
+public class HashedTimingWheel<K, T> {
+
+    private final long tickMillis;
+    private final int mask;
+    private final Slot<K, T>[] slots;
+    private final Map<K, Timer<K, T>> timers = new HashMap<>();
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public HashedTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("tickMillis must be positive and wheelSize a power of two");
+        }
+        this.tickMillis = tickMillis;
+        this.mask = wheelSize - 1;
+        this.slots = new Slot[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            slots[i] = new Slot<>();
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * Schedules {@code payload} for {@code deadlineMillis}, replacing any timer with the same key.
+     * Deadlines in the past fire as soon as the current tick has elapsed.
+     */
+    public void schedule(K key, long deadlineMillis, T payload) {
+        cancel(key);
+        long deadlineTick = Math.max(deadlineMillis / tickMillis, currentTick);
+        Timer<K, T> timer = new Timer<>(key, payload, (deadlineTick - currentTick) / slots.length);
+        slots[(int) (deadlineTick & mask)].add(timer);
+        timers.put(key, timer);
+    }
+
+    public boolean cancel(K key) {
+        Timer<K, T> timer = timers.remove(key);
+        if (timer == null) {
+            return false;
+        }
+        timer.slot.remove(timer);
+        return true;
+    }
+
+    public boolean contains(K key) {
+        return timers.containsKey(key);
+    }
+
+    public int size() {
+        return timers.size();
+    }
+
+    /**
+     * Processes every tick that has fully elapsed by {@code nowMillis}, handing expired timers to
+     * {@code expired}. A timer therefore fires at most one tick after its deadline.
+     */
+    public void advanceTo(long nowMillis, BiConsumer<K, T> expired) {
+        long lastElapsedTick = nowMillis / tickMillis - 1;
+        while (currentTick <= lastElapsedTick) {
+            Slot<K, T> slot = slots[(int) (currentTick & mask)];
+            Timer<K, T> timer = slot.head;
+            while (timer != null) {
+                Timer<K, T> next = timer.next;
+                if (timer.remainingRounds <= 0) {
+                    slot.remove(timer);
+                    timers.remove(timer.key);
+                    expired.accept(timer.key, timer.payload);
+                } else {
+                    timer.remainingRounds--;
+                }
+                timer = next;
+            }
+            currentTick++;
+        }
+    }
+
+    private static final class Timer<K, T> {
+
+        private final K key;
+        private final T payload;
+        private long remainingRounds;
+        private Slot<K, T> slot;
+        private Timer<K, T> prev;
+        private Timer<K, T> next;
+
+        private Timer(K key, T payload, long remainingRounds) {
+            this.key = key;
+            this.payload = payload;
+            this.remainingRounds = remainingRounds;
+        }
+    }
+
+    private static final class Slot<K, T> {
+
+        private Timer<K, T> head;
+
+        private void add(Timer<K, T> timer) {
+            timer.slot = this;
+            timer.next = head;
+            if (head != null) {
+                head.prev = timer;
+            }
+            head = timer;
+        }
+
+        private void remove(Timer<K, T> timer) {
+            if (timer.prev != null) {
+                timer.prev.next = timer.next;
+            } else {
+                head = timer.next;
+            }
+            if (timer.next != null) {
+                timer.next.prev = timer.prev;
+            }
+            timer.prev = null;
+            timer.next = null;
+            timer.slot = null;
+        }
+    }
+}
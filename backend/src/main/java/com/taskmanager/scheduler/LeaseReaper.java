@@ -0,0 +1,68 @@
+package com.taskmanager.scheduler;
+
+import com.taskmanager.config.ClaimProperties;
+import com.taskmanager.service.TaskClaimService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically returns tasks whose claim lease expired to the work queue. Each batch is its own
+ * transaction and selects with {@code SKIP LOCKED}, so reapers on several nodes split the work
+ * instead of blocking each other or claimers.
+ */
+@Slf4j
+public class LeaseReaper {
+
+    private final TaskClaimService taskClaimService;
+    private final ClaimProperties properties;
+    private final ScheduledExecutorService executor;
+
+    public LeaseReaper(TaskClaimService taskClaimService, ClaimProperties properties) {
+        this.taskClaimService = taskClaimService;
+        this.properties = properties;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "lease-reaper");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long interval = properties.getReaper().getInterval().toMillis();
+        executor.scheduleWithFixedDelay(this::reap, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Releases expired leases until a batch comes back short.
+     *
+     * @return the number of tasks released
+     */
+    public int reap() {
+        int total = 0;
+        try {
+            int released;
+            do {
+                released = taskClaimService.releaseExpiredLeases();
+                total += released;
+            } while (released >= properties.getReaper().getBatchSize() && !Thread.currentThread().isInterrupted());
+        } catch (Exception e) {
+            log.warn("Failed to release expired task leases", e);
+        }
+        if (total > 0) {
+            log.info("Released {} tasks with expired leases", total);
+        }
+        return total;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
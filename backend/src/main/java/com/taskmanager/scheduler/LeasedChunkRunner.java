@@ -0,0 +1,121 @@
+package com.taskmanager.scheduler;
+
+import com.taskmanager.config.LeasedRunProperties;
+import com.taskmanager.repository.LeaderLocks;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+/**
+ * Runs a cluster-wide background job in chunks on the node holding its lease in {@link LeaderLocks}.
+ * A run takes the lease, then runs chunk after chunk, pausing between them and renewing the lease
+ * after each, and stops once it has lost the lease. Runs are scheduled on a thread of the runner's
+ * own, one interval after the previous one ended.
+ */
+@Slf4j
+public class LeasedChunkRunner {
+
+    /**
+     * What {@link #run} returns when another node holds the lease.
+     */
+    public static final int NOT_LEADER = -1;
+
+    private final String job;
+    private final String lock;
+    private final LeaderLocks leaderLocks;
+    private final LeasedRunProperties properties;
+    private final String owner;
+    private final Clock clock;
+    private final Timer chunks;
+    private final ScheduledExecutorService executor;
+
+    /**
+     * @param job   names the job in log lines and its thread, such as {@code retention purge}
+     * @param owner identifies this node in the lock table; must differ between nodes
+     */
+    public LeasedChunkRunner(String job, String lock, LeaderLocks leaderLocks, LeasedRunProperties properties,
+                             String owner, Clock clock, Timer chunks) {
+        this.job = job;
+        this.lock = lock;
+        this.leaderLocks = leaderLocks;
+        this.properties = properties;
+        this.owner = owner;
+        this.clock = clock;
+        this.chunks = chunks;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, job.replace(' ', '-'));
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts running {@code run} every interval.
+     */
+    public void schedule(Runnable run) {
+        long interval = properties.getInterval().toMillis();
+        executor.scheduleWithFixedDelay(run, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Runs chunks while this node holds the lease, the first with a {@code null} cursor and each
+     * later one with the cursor the previous one returned, until a chunk returns {@code null},
+     * {@code maxChunks} have run, the thread is interrupted or the lease passes to another node. The
+     * lease is released at the end, also when a chunk throws.
+     *
+     * @param maxChunks most chunks in this run, zero for no limit
+     * @return the number of chunks run, or {@link #NOT_LEADER}
+     */
+    public <C> int run(UnaryOperator<C> chunk, int maxChunks) {
+        LocalDateTime startedAt = LocalDateTime.now(clock);
+        if (!leaderLocks.tryAcquire(lock, owner, startedAt.plus(properties.getLockLease()), startedAt)) {
+            log.debug("Skipping {}, another node holds the lock", job);
+            return NOT_LEADER;
+        }
+        int chunkCount = 0;
+        try {
+            C cursor = null;
+            do {
+                long chunkStarted = System.nanoTime();
+                cursor = chunk.apply(cursor);
+                chunks.record(System.nanoTime() - chunkStarted, TimeUnit.NANOSECONDS);
+                chunkCount++;
+            } while (cursor != null && (maxChunks <= 0 || chunkCount < maxChunks) && pause() && renewLease());
+        } finally {
+            leaderLocks.release(lock, owner, LocalDateTime.now(clock));
+        }
+        return chunkCount;
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * @return whether the run should go on, which it should not once interrupted
+     */
+    private boolean pause() {
+        try {
+            Thread.sleep(properties.getPause().toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private boolean renewLease() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        if (leaderLocks.tryAcquire(lock, owner, now.plus(properties.getLockLease()), now)) {
+            return true;
+        }
+        log.warn("Stopping {}, the lock passed to another node", job);
+        return false;
+    }
+}
@@ -0,0 +1,16 @@
+package com.taskmanager.scheduler;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class LoggingDueDateEventHandler implements DueDateEventHandler {
+
+    @Override
+    public void onDueDateEvent(DueDateEvent event) {
+        log.info("Task {} '{}' {} (due {})", event.getTaskId(), event.getTitle(),
+                event.getType() == DueDateEvent.Type.OVERDUE ? "is overdue" : "is due soon",
+                event.getDueDate());
+    }
+}
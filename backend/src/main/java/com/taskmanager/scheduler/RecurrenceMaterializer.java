@@ -0,0 +1,95 @@
+package com.taskmanager.scheduler;
+
+import com.taskmanager.config.RecurrenceProperties;
+import com.taskmanager.repository.LeaderLocks;
+import com.taskmanager.service.TaskRecurrenceService;
+import com.taskmanager.store.MaterializedSeries;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Periodically creates the occurrences of recurring tasks that fall within the horizon, so only a
+ * few weeks of any series exist as tasks at a time. A run walks the series that fall short of the
+ * horizon in id-ordered chunks, one transaction and one insert batch each, pausing between chunks.
+ * Only the node holding the {@value #LOCK} lease runs, through {@link LeasedChunkRunner}. Should two
+ * runs overlap all the same, the row locks on each series keep them from extending it twice.
+ */
+@Slf4j
+public class RecurrenceMaterializer {
+
+    public static final String LOCK = "task-recurrence";
+    public static final String CREATED_METRIC = "taskmanager.recurrence.created";
+    public static final String CHUNK_METRIC = "taskmanager.recurrence.chunk";
+
+    private final TaskRecurrenceService recurrenceService;
+    private final RecurrenceProperties properties;
+    private final Clock clock;
+    private final LeasedChunkRunner runner;
+    private final Counter created;
+
+    /**
+     * @param owner identifies this node in the lock table; must differ between nodes
+     */
+    public RecurrenceMaterializer(TaskRecurrenceService recurrenceService, LeaderLocks leaderLocks,
+                                  RecurrenceProperties properties, String owner, Clock clock, MeterRegistry registry) {
+        this.recurrenceService = recurrenceService;
+        this.properties = properties;
+        this.clock = clock;
+        this.runner = new LeasedChunkRunner("recurrence materialization", LOCK, leaderLocks, properties, owner, clock,
+                Timer.builder(CHUNK_METRIC)
+                        .description("Recurrence materialization chunks, each one transaction")
+                        .register(registry));
+        this.created = Counter.builder(CREATED_METRIC)
+                .description("Occurrences of recurring tasks created as tasks")
+                .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        runner.schedule(this::materialize);
+    }
+
+    /**
+     * Extends every series that falls short of the horizon, chunk by chunk, until none is left or the
+     * lease is lost. Does nothing while another node holds the lease.
+     *
+     * @return the number of occurrences created
+     */
+    public int materialize() {
+        LocalDateTime horizon = LocalDateTime.now(clock).plus(properties.getHorizon());
+        long started = System.nanoTime();
+        AtomicInteger total = new AtomicInteger();
+        int chunkCount;
+        try {
+            chunkCount = runner.<Long>run(cursor -> {
+                MaterializedSeries chunk = recurrenceService.materializeChunk(horizon, cursor, properties.getChunkSize());
+                total.addAndGet(chunk.getCreated().size());
+                created.increment(chunk.getCreated().size());
+                return chunk.getNext();
+            }, 0);
+        } catch (Exception e) {
+            log.warn("Recurrence materialization failed after creating {} occurrences", total.get(), e);
+            return total.get();
+        }
+        if (total.get() > 0) {
+            log.info("Created {} occurrences of recurring tasks up to {} in {} chunks and {} ms",
+                    total.get(), horizon, chunkCount, Duration.ofNanos(System.nanoTime() - started).toMillis());
+        }
+        return total.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runner.shutdown();
+    }
+}
@@ -0,0 +1,116 @@
+package com.taskmanager.scheduler;
+
+import com.taskmanager.config.RetentionProperties;
+import com.taskmanager.repository.LeaderLocks;
+import com.taskmanager.service.TaskRetentionService;
+import com.taskmanager.store.PurgeCursor;
+import com.taskmanager.store.PurgedTasks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Periodically deletes completed tasks past their retention period. A run walks the expired tasks
+ * in keyset-ordered chunks, one transaction each, pausing between chunks so a large backlog drains
+ * without crowding out regular traffic. Only the node holding the {@value #LOCK} lease runs, through
+ * {@link LeasedChunkRunner}.
+ */
+@Slf4j
+public class RetentionPurger {
+
+    public static final String LOCK = "task-retention";
+    public static final String DELETED_METRIC = "taskmanager.retention.deleted";
+    public static final String CHUNK_METRIC = "taskmanager.retention.chunk";
+    public static final String RUN_DELETED_METRIC = "taskmanager.retention.run.deleted";
+    public static final String RUN_ACTIVE_METRIC = "taskmanager.retention.run.active";
+
+    private final TaskRetentionService retentionService;
+    private final RetentionProperties properties;
+    private final Clock clock;
+    private final LeasedChunkRunner runner;
+    private final Counter deleted;
+    private final AtomicLong runDeleted = new AtomicLong();
+    private final AtomicLong runActive = new AtomicLong();
+
+    /**
+     * @param owner identifies this node in the lock table; must differ between nodes
+     */
+    public RetentionPurger(TaskRetentionService retentionService, LeaderLocks leaderLocks, RetentionProperties properties,
+                           String owner, Clock clock, MeterRegistry registry) {
+        this.retentionService = retentionService;
+        this.properties = properties;
+        this.clock = clock;
+        this.runner = new LeasedChunkRunner("retention purge", LOCK, leaderLocks, properties, owner, clock,
+                Timer.builder(CHUNK_METRIC)
+                        .description("Retention purge chunks, each one transaction")
+                        .register(registry));
+        this.deleted = Counter.builder(DELETED_METRIC)
+                .description("Completed tasks deleted after their retention period")
+                .register(registry);
+        Gauge.builder(RUN_DELETED_METRIC, runDeleted, AtomicLong::get)
+                .description("Tasks deleted so far by the current purge run, or by the last one")
+                .register(registry);
+        Gauge.builder(RUN_ACTIVE_METRIC, runActive, AtomicLong::get)
+                .description("1 while this node is running a purge")
+                .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        runner.schedule(this::purge);
+    }
+
+    /**
+     * Deletes expired tasks chunk by chunk until none are left, the run's chunk limit is reached or
+     * the lease is lost. Does nothing while another node holds the lease.
+     *
+     * @return the number of tasks deleted
+     */
+    public int purge() {
+        LocalDateTime cutoff = LocalDateTime.now(clock).minus(properties.getCompletedOlderThan());
+        long started = System.nanoTime();
+        int chunkCount;
+        try {
+            chunkCount = runner.<PurgeCursor>run(cursor -> {
+                if (cursor == null) {
+                    // The first chunk of a run this node holds the lease for.
+                    runDeleted.set(0);
+                    runActive.set(1);
+                }
+                PurgedTasks purged = retentionService.purgeChunk(cutoff, cursor, properties.getChunkSize());
+                deleted.increment(purged.getDeleted().size());
+                runDeleted.addAndGet(purged.getDeleted().size());
+                return purged.getNext();
+            }, properties.getMaxChunksPerRun());
+        } catch (Exception e) {
+            log.warn("Retention purge failed after deleting {} tasks", runDeleted.get(), e);
+            return (int) runDeleted.get();
+        } finally {
+            runActive.set(0);
+        }
+        if (chunkCount == LeasedChunkRunner.NOT_LEADER) {
+            return 0;
+        }
+        int total = (int) runDeleted.get();
+        if (total > 0) {
+            log.info("Deleted {} completed tasks older than {} in {} chunks and {} ms",
+                    total, cutoff, chunkCount, Duration.ofNanos(System.nanoTime() - started).toMillis());
+        }
+        return total;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runner.shutdown();
+    }
+}
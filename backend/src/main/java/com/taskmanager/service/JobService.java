@@ -0,0 +1,130 @@
+package com.taskmanager.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.config.JobProperties;
+import com.taskmanager.dto.BulkUpdateJobRequest;
+import com.taskmanager.dto.ExportJobRequest;
+import com.taskmanager.dto.ImportJobRequest;
+import com.taskmanager.dto.JobResponse;
+import com.taskmanager.dto.RollupBackfillJobRequest;
+import com.taskmanager.entity.Job;
+import com.taskmanager.exception.JobNotFoundException;
+import com.taskmanager.exception.JobQueueFullException;
+import com.taskmanager.exception.JobStateException;
+import com.taskmanager.exception.JobsUnsupportedException;
+import com.taskmanager.job.JobFiles;
+import com.taskmanager.job.JobRunner;
+import com.taskmanager.repository.JobRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+@Service
+@RequiredArgsConstructor
+public class JobService {
+
+    private final JobRepository jobRepository;
+    private final JobRunner jobRunner;
+    private final JobProperties jobProperties;
+    private final ObjectMapper objectMapper;
+
+    public JobResponse submitExport(ExportJobRequest request) {
+        return submit(Job.Type.EXPORT, toJson(request), null);
+    }
+
+    /**
+     * The payload is written to the job directory rather than the jobs table, which only holds
+     * small parameters.
+     */
+    public JobResponse submitImport(ImportJobRequest request) {
+        return submit(Job.Type.IMPORT, null, request);
+    }
+
+    public JobResponse submitBulkUpdate(BulkUpdateJobRequest request) {
+        return submit(Job.Type.BULK_UPDATE, toJson(request), null);
+    }
+
+    public JobResponse submitRollupBackfill(RollupBackfillJobRequest request) {
+        return submit(Job.Type.ROLLUP_BACKFILL, toJson(request), null);
+    }
+
+    @Transactional(readOnly = true)
+    public JobResponse getJob(Long id) {
+        return JobResponse.of(findJob(id));
+    }
+
+    /**
+     * A queued job is cancelled at once; a running job stops at its next checkpoint, keeping
+     * the chunks committed so far.
+     */
+    @Transactional
+    public JobResponse cancelJob(Long id) {
+        Job job = findJob(id);
+        if (job.getStatus().isFinished()) {
+            throw new JobStateException("Job " + id + " is already " + job.getStatus());
+        }
+        if (jobRepository.cancelQueued(id, LocalDateTime.now()) == 0) {
+            jobRepository.requestCancel(id);
+        }
+        return JobResponse.of(findJob(id));
+    }
+
+    @Transactional(readOnly = true)
+    public Path getExportResult(Long id) {
+        Job job = findJob(id);
+        if (job.getType() != Job.Type.EXPORT) {
+            throw new JobStateException("Job " + id + " is not an export and has no result file");
+        }
+        if (job.getStatus() != Job.Status.SUCCEEDED) {
+            throw new JobStateException("Job " + id + " is " + job.getStatus() + ", the result is available once it succeeds");
+        }
+        return JobFiles.result(jobProperties.getDirectory(), id);
+    }
+
+    private JobResponse submit(Job.Type type, String parameters, ImportJobRequest input) {
+        if (!jobRunner.supports(type)) {
+            throw new JobsUnsupportedException();
+        }
+        Job job = jobRepository.save(Job.builder()
+                .type(type)
+                .status(Job.Status.QUEUED)
+                .parameters(parameters)
+                .createdAt(LocalDateTime.now())
+                .build());
+        try {
+            if (input != null) {
+                Files.createDirectories(jobProperties.getDirectory());
+                objectMapper.writeValue(JobFiles.input(jobProperties.getDirectory(), job.getId()).toFile(),
+                        input.getTasks());
+            }
+            jobRunner.submit(job.getId());
+        } catch (IOException e) {
+            jobRepository.delete(job);
+            throw new UncheckedIOException(e);
+        } catch (JobQueueFullException e) {
+            jobRepository.delete(job);
+            throw e;
+        }
+        return JobResponse.of(job);
+    }
+
+    private Job findJob(Long id) {
+        return jobRepository.findById(id)
+                .orElseThrow(() -> new JobNotFoundException(id));
+    }
+
+    private String toJson(Object parameters) {
+        try {
+            return objectMapper.writeValueAsString(parameters);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Job parameters are not serializable", e);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.taskmanager.service;
+
+import com.taskmanager.config.ClaimProperties;
+import com.taskmanager.dto.TaskClaimRequest;
+import com.taskmanager.dto.TaskClaimResponse;
+import com.taskmanager.dto.TaskResponse;
+import com.taskmanager.entity.Task;
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.event.TaskSnapshot;
+import com.taskmanager.mapper.TaskMapper;
+import com.taskmanager.store.TaskStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Work-queue access to tasks: workers claim open, unassigned tasks for a lease and the reaper
+ * returns tasks whose lease ran out.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskClaimService {
+
+    private final TaskStore taskStore;
+    private final TaskMapper taskMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ClaimProperties properties;
+
+    @Transactional
+    public TaskClaimResponse claim(TaskClaimRequest request) {
+        Duration lease = request.getLeaseSeconds() != null
+                ? Duration.ofSeconds(request.getLeaseSeconds())
+                : properties.getDefaultLease();
+        if (lease.compareTo(properties.getMaxLease()) > 0) {
+            lease = properties.getMaxLease();
+        }
+        int count = request.getCount() != null ? request.getCount() : 1;
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime leaseUntil = now.plus(lease);
+
+        List<Task> claimed = taskStore.claim(request.getWorker(), count, leaseUntil, now);
+        List<TaskResponse> tasks = new ArrayList<>(claimed.size());
+        for (Task task : claimed) {
+            TaskSnapshot before = TaskSnapshot.of(task);
+            task.setAssignedTo(request.getWorker());
+            task.setLeaseExpiresAt(leaseUntil);
+            task.setUpdatedAt(now);
+            eventPublisher.publishEvent(TaskChangedEvent.updated(before, TaskSnapshot.of(task)));
+            tasks.add(taskMapper.toResponse(task));
+        }
+        return new TaskClaimResponse(request.getWorker(), leaseUntil, tasks);
+    }
+
+    /**
+     * Returns one batch of tasks with an expired lease to the queue.
+     *
+     * @return the number of tasks released
+     */
+    @Transactional
+    public int releaseExpiredLeases() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Task> released = taskStore.releaseExpiredLeases(now, properties.getReaper().getBatchSize());
+        for (Task task : released) {
+            TaskSnapshot before = TaskSnapshot.of(task);
+            task.setAssignedTo(null);
+            task.setLeaseExpiresAt(null);
+            task.setUpdatedAt(now);
+            eventPublisher.publishEvent(TaskChangedEvent.updated(before, TaskSnapshot.of(task)));
+        }
+        return released.size();
+    }
+}
@@ -0,0 +1,77 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.PagedResponse;
+import com.taskmanager.dto.TaskProgressResponse;
+import com.taskmanager.dto.TaskResponse;
+import com.taskmanager.entity.Task;
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.event.TaskSnapshot;
+import com.taskmanager.exception.TaskNotFoundException;
+import com.taskmanager.store.TaskStore;
+import com.taskmanager.tag.TagIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Whole-subtree operations on the task hierarchy. Each one reads or writes the subtree with one
+ * statement over the closure table instead of walking it level by level, so cost follows the
+ * number of tasks involved, not the depth of the tree.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskHierarchyService {
+
+    private final TaskStore taskStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TagIndex tagIndex;
+
+    /**
+     * One page of the tasks below {@code id} at any depth, filtered and sorted like the task list.
+     */
+    @Transactional(readOnly = true)
+    public PagedResponse<TaskResponse> getSubtree(Long id, TaskListQuery listQuery) {
+        if (!taskStore.existsById(id)) {
+            throw new TaskNotFoundException(id);
+        }
+        Page<TaskResponse> page = taskStore.findSubtree(id, listQuery.resolveTags(tagIndex));
+        return new PagedResponse<>(
+                page.getContent(),
+                page.getTotalElements(),
+                page.getTotalPages(),
+                page.getNumber(),
+                page.getSize()
+        );
+    }
+
+    @Transactional(readOnly = true)
+    public TaskProgressResponse getProgress(Long id) {
+        return taskStore.subtreeProgress(id)
+                .orElseThrow(() -> new TaskNotFoundException(id));
+    }
+
+    /**
+     * Toggles the task and gives every task below it the same new state.
+     *
+     * @return the progress of the subtree after the change
+     */
+    @Transactional
+    public TaskProgressResponse toggleSubtree(Long id) {
+        Task root = taskStore.findById(id)
+                .orElseThrow(() -> new TaskNotFoundException(id));
+        boolean completed = !root.getIsCompleted();
+        LocalDateTime now = LocalDateTime.now();
+        for (Task task : taskStore.setSubtreeCompleted(id, completed, now)) {
+            TaskSnapshot before = TaskSnapshot.of(task);
+            task.setIsCompleted(completed);
+            task.setUpdatedAt(now);
+            eventPublisher.publishEvent(TaskChangedEvent.updated(before, TaskSnapshot.of(task)));
+        }
+        return taskStore.subtreeProgress(id)
+                .orElseThrow(() -> new TaskNotFoundException(id));
+    }
+}
@@ -0,0 +1,96 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.TaskField;
+import com.taskmanager.dto.TaskHistoryResponse;
+import com.taskmanager.dto.TaskResponse;
+import com.taskmanager.dto.TaskRevisionResponse;
+import com.taskmanager.entity.TaskRevision;
+import com.taskmanager.exception.TaskNotFoundException;
+import com.taskmanager.history.RevisionCodec;
+import com.taskmanager.repository.TaskRevisionRepository;
+import com.taskmanager.store.TaskStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class TaskHistoryService {
+
+    static final int MAX_PAGE_SIZE = 100;
+
+    private final TaskRevisionRepository revisionRepository;
+    private final TaskStore taskStore;
+
+    /**
+     * Revisions newest first, keyset-paged by revision number.
+     *
+     * @param before only revisions older than this one, or {@code null} to start at the newest
+     */
+    @Transactional(readOnly = true)
+    public TaskHistoryResponse getHistory(Long taskId, Integer before, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<TaskRevision> rows = revisionRepository.findByTaskIdAndRevisionLessThanOrderByRevisionDesc(
+                taskId, before != null ? before : Integer.MAX_VALUE, Limit.of(pageSize + 1));
+        if (rows.isEmpty() && before == null && !taskStore.existsById(taskId)) {
+            throw new TaskNotFoundException(taskId);
+        }
+        boolean hasMore = rows.size() > pageSize;
+        List<TaskRevision> page = hasMore ? rows.subList(0, pageSize) : rows;
+        Integer nextBefore = hasMore ? page.get(page.size() - 1).getRevision() : null;
+        return new TaskHistoryResponse(page.stream().map(TaskHistoryService::toResponse).toList(), nextBefore);
+    }
+
+    /**
+     * Rebuilds a task as it was at {@code at} from the last snapshot before it and the diffs since.
+     *
+     * @throws TaskNotFoundException if the task did not exist at that time
+     */
+    @Transactional(readOnly = true)
+    public TaskResponse getStateAt(Long taskId, LocalDateTime at) {
+        TaskRevision snapshot = revisionRepository
+                .findFirstByTaskIdAndSnapshotTrueAndChangedAtLessThanEqualOrderByRevisionDesc(taskId, at)
+                .orElseThrow(() -> new TaskNotFoundException(taskId));
+        Map<TaskField, Object> state = RevisionCodec.decode(snapshot.getChanges());
+        LocalDateTime updatedAt = snapshot.getChangedAt();
+        for (TaskRevision diff : revisionRepository.findByTaskIdAndRevisionGreaterThanAndChangedAtLessThanEqualOrderByRevisionAsc(
+                taskId, snapshot.getRevision(), at)) {
+            if (diff.getKind() == TaskRevision.Kind.DELETED) {
+                throw new TaskNotFoundException(taskId);
+            }
+            state.putAll(RevisionCodec.decode(diff.getChanges()));
+            updatedAt = diff.getChangedAt();
+        }
+        return TaskResponse.builder()
+                .id(taskId)
+                .title((String) state.get(TaskField.TITLE))
+                .description((String) state.get(TaskField.DESCRIPTION))
+                .isCompleted((Boolean) state.get(TaskField.IS_COMPLETED))
+                .dueDate((LocalDateTime) state.get(TaskField.DUE_DATE))
+                .assignedTo((String) state.get(TaskField.ASSIGNED_TO))
+                .parentId((Long) state.get(TaskField.PARENT_ID))
+                .createdAt((LocalDateTime) state.get(TaskField.CREATED_AT))
+                .updatedAt(updatedAt)
+                .build();
+    }
+
+    private static TaskRevisionResponse toResponse(TaskRevision revision) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        RevisionCodec.decode(revision.getChanges())
+                .forEach((field, value) -> changes.put(field.getPropertyName(), value));
+        return TaskRevisionResponse.builder()
+                .revision(revision.getRevision())
+                .kind(revision.getKind())
+                .snapshot(revision.getSnapshot())
+                .changedAt(revision.getChangedAt())
+                .changedBy(revision.getChangedBy())
+                .changes(changes)
+                .build();
+    }
+}
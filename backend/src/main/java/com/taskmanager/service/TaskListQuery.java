@@ -0,0 +1,179 @@
+package com.taskmanager.service;
+
+import com.taskmanager.dto.TaskResponse;
+import com.taskmanager.entity.Task;
+import com.taskmanager.exception.PageTooDeepException;
+import com.taskmanager.mapper.TaskMapper;
+import com.taskmanager.repository.TaskSpecifications;
+import com.taskmanager.tag.TagIndex;
+import com.taskmanager.tag.TagMatch;
+import lombok.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Set;
+
+/**
+ * Normalized parameters of a task list request: page size capped, sort field whitelisted, tags
+ * normalized. A tag filter is resolved to a {@link TagMatch} by {@link TaskService} when the tag
+ * index is ready; otherwise it runs as a subquery.
+ */
+@Value
+public class TaskListQuery {
+
+    public static final Set<String> ALLOWED_SORT_FIELDS = Set.of("title", "dueDate", "createdAt");
+    public static final String DEFAULT_SORT_FIELD = "createdAt";
+    public static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * Deepest row a page may end at where it is merged from several sources, each read from its
+     * first row: the sharded store and lists with computed occurrences.
+     */
+    public static final int MAX_MERGE_DEPTH = 10_000;
+
+    /**
+     * Largest tag match passed to the database as an id list; larger matches filter by subquery.
+     */
+    public static final int MAX_CANDIDATE_IDS = 4096;
+
+    Boolean isCompleted;
+    LocalDateTime dueDateFrom;
+    LocalDateTime dueDateTo;
+    String sortBy;
+    Sort.Direction direction;
+    int page;
+    int size;
+
+    /**
+     * Tags a task must all carry; empty for no constraint.
+     */
+    Set<String> tags;
+
+    /**
+     * Tags of which a task must carry at least one; empty for no constraint.
+     */
+    Set<String> anyTags;
+
+    /**
+     * The tag filter resolved by the tag index, or {@code null} if unresolved.
+     */
+    TagMatch tagMatch;
+
+    public static TaskListQuery of(Boolean isCompleted,
+                                   LocalDateTime dueDateFrom,
+                                   LocalDateTime dueDateTo,
+                                   String sortBy,
+                                   String sortDirection,
+                                   int page,
+                                   int size) {
+        String safeSortBy = ALLOWED_SORT_FIELDS.contains(sortBy) ? sortBy : DEFAULT_SORT_FIELD;
+        Sort.Direction direction = "desc".equalsIgnoreCase(sortDirection) ? Sort.Direction.DESC : Sort.Direction.ASC;
+        return new TaskListQuery(isCompleted, dueDateFrom, dueDateTo, safeSortBy, direction,
+                page, Math.min(size, MAX_PAGE_SIZE), Set.of(), Set.of(), null);
+    }
+
+    /**
+     * @param tags    tags a task must all carry, or {@code null}
+     * @param anyTags tags of which a task must carry one, or {@code null}
+     */
+    public TaskListQuery withTags(Collection<String> tags, Collection<String> anyTags) {
+        return new TaskListQuery(isCompleted, dueDateFrom, dueDateTo, sortBy, direction, page, size,
+                TaskMapper.normalizeTags(tags), TaskMapper.normalizeTags(anyTags), null);
+    }
+
+    public TaskListQuery withPage(int page, int size) {
+        return new TaskListQuery(isCompleted, dueDateFrom, dueDateTo, sortBy, direction, page, size,
+                tags, anyTags, tagMatch);
+    }
+
+    public TaskListQuery withTagMatch(TagMatch tagMatch) {
+        return new TaskListQuery(isCompleted, dueDateFrom, dueDateTo, sortBy, direction, page, size,
+                tags, anyTags, tagMatch);
+    }
+
+    /**
+     * Resolves the tag filter against the tag index; unresolved while the index is not ready.
+     */
+    public TaskListQuery resolveTags(TagIndex tagIndex) {
+        if (!hasTagFilter()) {
+            return this;
+        }
+        return tagIndex.match(tags, anyTags)
+                .map(this::withTagMatch)
+                .orElse(this);
+    }
+
+    /**
+     * Rows up to the end of the page, which a merge reads from each of its sources.
+     *
+     * @throws PageTooDeepException if the page ends past {@link #MAX_MERGE_DEPTH}
+     */
+    public int mergeDepth() {
+        long end = (long) page * size + size;
+        if (end > MAX_MERGE_DEPTH) {
+            throw new PageTooDeepException(MAX_MERGE_DEPTH);
+        }
+        return (int) end;
+    }
+
+    public Pageable toPageable() {
+        return PageRequest.of(page, size, Sort.by(direction, sortBy));
+    }
+
+    /**
+     * Order of {@link com.taskmanager.repository.TaskQueryPlans}: NULLs last ascending and first
+     * descending, ties by id. Occurrences not yet materialized, which have no id, come after the
+     * tasks they tie with ascending, in series order.
+     */
+    public Comparator<TaskResponse> comparator() {
+        Comparator<TaskResponse> bySortField = switch (sortBy) {
+            case "title" -> Comparator.comparing(TaskResponse::getTitle, Comparator.nullsLast(Comparator.naturalOrder()));
+            case "dueDate" -> Comparator.comparing(TaskResponse::getDueDate, Comparator.nullsLast(Comparator.naturalOrder()));
+            default -> Comparator.comparing(TaskResponse::getCreatedAt, Comparator.nullsLast(Comparator.naturalOrder()));
+        };
+        Comparator<TaskResponse> ascending = bySortField
+                .thenComparing(TaskResponse::getId, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(TaskResponse::getSeriesId, Comparator.nullsLast(Comparator.naturalOrder()));
+        return direction == Sort.Direction.DESC ? ascending.reversed() : ascending;
+    }
+
+    public Specification<Task> toSpecification() {
+        Specification<Task> specification = Specification.where(TaskSpecifications.isCompleted(isCompleted))
+                .and(TaskSpecifications.dueDateFrom(dueDateFrom))
+                .and(TaskSpecifications.dueDateTo(dueDateTo));
+        if (tagMatch != null && tagMatch.cardinality() <= MAX_CANDIDATE_IDS) {
+            return specification.and(TaskSpecifications.idIn(tagMatch.ids()));
+        }
+        return specification.and(TaskSpecifications.hasAllTags(tags))
+                .and(TaskSpecifications.hasAnyTag(anyTags));
+    }
+
+    public boolean hasFilters() {
+        return isCompleted != null || dueDateFrom != null || dueDateTo != null || hasTagFilter();
+    }
+
+    public boolean hasTagFilter() {
+        return !tags.isEmpty() || !anyTags.isEmpty();
+    }
+
+    /**
+     * Whether {@code task} passes the completion and due date filters and, if resolved, the tag filter.
+     */
+    public boolean matches(TaskResponse task) {
+        if (isCompleted != null && !isCompleted.equals(task.getIsCompleted())) {
+            return false;
+        }
+        if (dueDateFrom != null && (task.getDueDate() == null || task.getDueDate().isBefore(dueDateFrom))) {
+            return false;
+        }
+        if (dueDateTo != null && (task.getDueDate() == null || task.getDueDate().isAfter(dueDateTo))) {
+            return false;
+        }
+        return tagMatch == null || tagMatch.contains(task.getId());
+    }
+}
@@ -0,0 +1,153 @@
+package com.taskmanager.service;
+
+import com.taskmanager.config.RecurrenceProperties;
+import com.taskmanager.dto.TaskResponse;
+import com.taskmanager.entity.Task;
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.event.TaskSnapshot;
+import com.taskmanager.exception.InvalidRecurrenceException;
+import com.taskmanager.recurrence.RecurrenceRule;
+import com.taskmanager.store.MaterializedSeries;
+import com.taskmanager.store.TaskStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Occurrences of recurring tasks. Within the horizon they are created as tasks by the
+ * {@link com.taskmanager.scheduler.RecurrenceMaterializer}, one chunk of series per transaction;
+ * past it they are computed for each list request that reaches that far. An occurrence copies its
+ * series' title, description, assignee and tags, starts open and is top-level.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TaskRecurrenceService {
+
+    private final TaskStore taskStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RecurrenceProperties properties;
+
+    /**
+     * A time every series is known to have its occurrences created up to. A lookup that finds no
+     * series behind {@code to} shows every series had reached {@code to} when it ran, and a series
+     * never falls back: it is only extended, and one set up later starts no earlier than then.
+     */
+    private final AtomicReference<LocalDateTime> allMaterializedUntil = new AtomicReference<>(LocalDateTime.MIN);
+
+    /**
+     * Creates the occurrences up to {@code horizon} of one chunk of series, starting just past
+     * {@code afterId}, and publishes them.
+     */
+    @Transactional
+    public MaterializedSeries materializeChunk(LocalDateTime horizon, Long afterId, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        MaterializedSeries chunk = taskStore.materializeSeries(horizon, afterId, limit,
+                series -> occurrences(series, horizon, now));
+        for (Task occurrence : chunk.getCreated()) {
+            eventPublisher.publishEvent(TaskChangedEvent.created(TaskSnapshot.of(occurrence)));
+        }
+        return chunk;
+    }
+
+    /**
+     * The occurrences not yet created as tasks that {@code query} matches, in list order. Empty
+     * unless the query bounds the due date from above and admits open tasks; capped at
+     * {@link RecurrenceProperties#getMaxListedOccurrences()}. Looks up no series when the range ends
+     * before every series' created occurrences do.
+     */
+    public List<TaskResponse> virtualOccurrences(TaskListQuery query) {
+        if (query.getDueDateTo() == null || Boolean.TRUE.equals(query.getIsCompleted())
+                || !query.getDueDateTo().isAfter(allMaterializedUntil.get())) {
+            return List.of();
+        }
+        LocalDateTime lookedUpAt = LocalDateTime.now();
+        List<Task> behind = taskStore.findSeriesMaterializedBefore(query.getDueDateTo(), properties.getMaxListedSeries());
+        if (behind.isEmpty()) {
+            LocalDateTime reached = query.getDueDateTo().isBefore(lookedUpAt) ? query.getDueDateTo() : lookedUpAt;
+            allMaterializedUntil.accumulateAndGet(reached, (current, next) -> next.isAfter(current) ? next : current);
+            return List.of();
+        }
+        List<TaskResponse> occurrences = new ArrayList<>();
+        for (Task series : behind) {
+            int remaining = properties.getMaxListedOccurrences() - occurrences.size();
+            if (remaining <= 0) {
+                break;
+            }
+            if (!matchesTags(series, query)) {
+                continue;
+            }
+            LocalDateTime after = series.getMaterializedUntil();
+            if (query.getDueDateFrom() != null && query.getDueDateFrom().isAfter(after)) {
+                after = query.getDueDateFrom().minusNanos(1);
+            }
+            for (LocalDateTime dueDate : dueDates(series, after, query.getDueDateTo(), remaining)) {
+                occurrences.add(TaskResponse.builder()
+                        .title(series.getTitle())
+                        .description(series.getDescription())
+                        .isCompleted(false)
+                        .dueDate(dueDate)
+                        .assignedTo(series.getAssignedTo())
+                        .tags(series.getTags().stream().sorted().toList())
+                        .seriesId(series.getId())
+                        .build());
+            }
+        }
+        occurrences.sort(query.comparator());
+        return occurrences;
+    }
+
+    /**
+     * New occurrences of {@code series} up to {@code horizon}, at most the per-series limit; advances
+     * its {@code materializedUntil} as far as they reach.
+     */
+    private List<Task> occurrences(Task series, LocalDateTime horizon, LocalDateTime now) {
+        int limit = properties.getMaxOccurrencesPerSeries();
+        List<LocalDateTime> dueDates = dueDates(series, series.getMaterializedUntil(), horizon, limit);
+        series.setMaterializedUntil(dueDates.size() < limit ? horizon : dueDates.get(dueDates.size() - 1));
+        List<Task> occurrences = new ArrayList<>(dueDates.size());
+        for (LocalDateTime dueDate : dueDates) {
+            occurrences.add(Task.builder()
+                    .title(series.getTitle())
+                    .description(series.getDescription())
+                    .isCompleted(false)
+                    .dueDate(dueDate)
+                    .assignedTo(series.getAssignedTo())
+                    .seriesId(series.getId())
+                    .tags(new LinkedHashSet<>(series.getTags()))
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build());
+        }
+        return occurrences;
+    }
+
+    /**
+     * A stored rule that no longer parses yields nothing rather than failing every run.
+     */
+    private static List<LocalDateTime> dueDates(Task series, LocalDateTime after, LocalDateTime to, int limit) {
+        if (series.getDueDate() == null) {
+            return List.of();
+        }
+        try {
+            return RecurrenceRule.parse(series.getRecurrence()).occurrences(series.getDueDate(), after, to, limit);
+        } catch (InvalidRecurrenceException e) {
+            log.warn("Ignoring the invalid recurrence rule of task {}: {}", series.getId(), e.getMessage());
+            return List.of();
+        }
+    }
+
+    private static boolean matchesTags(Task series, TaskListQuery query) {
+        return series.getTags().containsAll(query.getTags())
+                && (query.getAnyTags().isEmpty() || !Collections.disjoint(series.getTags(), query.getAnyTags()));
+    }
+}
@@ -0,0 +1,71 @@
+package com.taskmanager.service;
+
+import com.taskmanager.config.ReportProperties;
+import com.taskmanager.dto.TaskReportResponse;
+import com.taskmanager.entity.TaskRollup;
+import com.taskmanager.exception.InvalidReportException;
+import com.taskmanager.report.RollupBucket;
+import com.taskmanager.repository.TaskRollups;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Reports from the daily rollups rather than the tasks table, so a report reads at most one row
+ * per day and assignee in its range, however many tasks there are.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskReportService {
+
+    private final TaskRollups rollups;
+    private final ReportProperties properties;
+
+    /**
+     * @param from first day of the range, widened to the start of its bucket
+     * @param to   last day of the range, inclusive, widened to the end of its bucket
+     * @param assignedTo only this assignee's tasks, or {@code null} for everyone's
+     */
+    public TaskReportResponse report(String bucket, LocalDate from, LocalDate to, String assignedTo) {
+        RollupBucket size = RollupBucket.parse(bucket);
+        if (from.isAfter(to)) {
+            throw new InvalidReportException("from", "From must not be after to");
+        }
+        LocalDate start = size.start(from);
+        LocalDate end = size.next(size.start(to));
+        if (ChronoUnit.DAYS.between(start, end) > properties.getMaxDays()) {
+            throw new InvalidReportException("to", "A report spans at most " + properties.getMaxDays() + " days");
+        }
+        String assignee = assignedTo == null || assignedTo.isBlank() ? null : assignedTo.trim();
+
+        Iterator<TaskRollup> days = rollups.find(start, end.minusDays(1), assignee).iterator();
+        TaskRollup day = days.hasNext() ? days.next() : null;
+        List<TaskReportResponse.Bucket> buckets = new ArrayList<>();
+        for (LocalDate current = start; current.isBefore(end); current = size.next(current)) {
+            LocalDate next = size.next(current);
+            Map<String, TaskReportResponse.AssigneeCounts> assignees = new TreeMap<>();
+            long created = 0;
+            long completed = 0;
+            while (day != null && day.getActivityDate().isBefore(next)) {
+                TaskReportResponse.AssigneeCounts counts = assignees.computeIfAbsent(day.getAssignedTo(),
+                        name -> new TaskReportResponse.AssigneeCounts(name.isEmpty() ? null : name, 0, 0));
+                counts.setCreated(counts.getCreated() + day.getCreatedCount());
+                counts.setCompleted(counts.getCompleted() + day.getCompletedCount());
+                created += day.getCreatedCount();
+                completed += day.getCompletedCount();
+                day = days.hasNext() ? days.next() : null;
+            }
+            assignees.values().removeIf(counts -> counts.getCreated() == 0 && counts.getCompleted() == 0);
+            buckets.add(new TaskReportResponse.Bucket(current, created, completed, List.copyOf(assignees.values())));
+        }
+        return new TaskReportResponse(size.name().toLowerCase(Locale.ROOT), start, end.minusDays(1), buckets);
+    }
+}
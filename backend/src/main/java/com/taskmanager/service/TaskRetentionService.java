@@ -0,0 +1,46 @@
+package com.taskmanager.service;
+
+import com.taskmanager.entity.Task;
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.event.TaskSnapshot;
+import com.taskmanager.store.PurgeCursor;
+import com.taskmanager.store.PurgedTasks;
+import com.taskmanager.store.TaskStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Deletes completed tasks past their retention period for the
+ * {@link com.taskmanager.scheduler.RetentionPurger}, one chunk per transaction.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskRetentionService {
+
+    private final TaskStore taskStore;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Deletes one chunk of completed tasks last updated before {@code cutoff}, starting just past
+     * {@code after}, and publishes the deletions and the moves of subtasks that outlived their parent.
+     */
+    @Transactional
+    public PurgedTasks purgeChunk(LocalDateTime cutoff, PurgeCursor after, int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        PurgedTasks purged = taskStore.purgeCompleted(cutoff, after, limit, now);
+        for (Task child : purged.getPromoted()) {
+            TaskSnapshot before = TaskSnapshot.of(child);
+            child.setParentId(purged.getNewParents().get(child.getId()));
+            child.setUpdatedAt(now);
+            eventPublisher.publishEvent(TaskChangedEvent.updated(before, TaskSnapshot.of(child)));
+        }
+        for (Task task : purged.getDeleted()) {
+            eventPublisher.publishEvent(TaskChangedEvent.deleted(TaskSnapshot.of(task)));
+        }
+        return purged;
+    }
+}
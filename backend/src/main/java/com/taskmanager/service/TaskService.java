@@ -1,35 +1,57 @@
 package com.taskmanager.service;
 
+import com.taskmanager.cache.TaskCache;
+import com.taskmanager.cache.TaskListCoalescer;
 import com.taskmanager.dto.*;
 import com.taskmanager.entity.Task;
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.event.TaskSnapshot;
+import com.taskmanager.exception.InvalidParentException;
+import com.taskmanager.exception.InvalidRecurrenceException;
 import com.taskmanager.exception.TaskNotFoundException;
 import com.taskmanager.mapper.TaskMapper;
-import com.taskmanager.repository.TaskRepository;
-import com.taskmanager.repository.TaskSpecifications;
+import com.taskmanager.readmodel.TaskIdPage;
+import com.taskmanager.readmodel.TaskReadModel;
+import com.taskmanager.recurrence.RecurrenceRule;
+import com.taskmanager.resilience.DatabaseGuard;
+import com.taskmanager.store.TaskRowSink;
+import com.taskmanager.store.TaskStore;
+import com.taskmanager.tag.TagIndex;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
+@Observed(name = "taskmanager.service")
 public class TaskService {
 
-    private static final Set<String> ALLOWED_SORT_FIELDS = Set.of("title", "dueDate", "createdAt");
-    private static final int MAX_PAGE_SIZE = 100;
-
-    private final TaskRepository taskRepository;
+    private final TaskStore taskStore;
     private final TaskMapper taskMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectProvider<TaskReadModel> readModelProvider;
+    private final TaskCache taskCache;
+    private final TagIndex tagIndex;
+    private final TaskListCoalescer listCoalescer;
+    private final DatabaseGuard databaseGuard;
+    private final TaskRecurrenceService recurrenceService;
 
-    @Transactional(readOnly = true)
     public PagedResponse<TaskResponse> getAllTasks(
             Boolean isCompleted,
             LocalDateTime dueDateFrom,
@@ -38,86 +60,479 @@ public class TaskService {
             String sortDirection,
             int page,
             int size) {
+        return getAllTasks(isCompleted, dueDateFrom, dueDateTo, sortBy, sortDirection, page, size, null);
+    }
 
-        size = Math.min(size, MAX_PAGE_SIZE);
+    /**
+     * @param fields sparse fieldset, or {@code null} for all fields; a selection reads only those columns
+     */
+    public PagedResponse<TaskResponse> getAllTasks(
+            Boolean isCompleted,
+            LocalDateTime dueDateFrom,
+            LocalDateTime dueDateTo,
+            String sortBy,
+            String sortDirection,
+            int page,
+            int size,
+            Set<TaskField> fields) {
+        return getAllTasks(TaskListQuery.of(isCompleted, dueDateFrom, dueDateTo, sortBy, sortDirection, page, size), fields);
+    }
 
-        String safeSortBy = ALLOWED_SORT_FIELDS.contains(sortBy) ? sortBy : "createdAt";
-        Sort.Direction direction = "desc".equalsIgnoreCase(sortDirection) ? Sort.Direction.DESC : Sort.Direction.ASC;
-        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, safeSortBy));
+    /**
+     * Loads through {@link TaskListCoalescer}, which opens the read-only transaction and, with list
+     * coalescing on, lets identical concurrent calls share one load. Not transactional itself, since
+     * calls inside a transaction are not shared.
+     * A due date range that reaches past the materialized occurrences of a recurring task also lists
+     * the later ones, computed without an id.
+     *
+     * @param fields sparse fieldset, or {@code null} for all fields; a selection reads only those columns
+     */
+    public PagedResponse<TaskResponse> getAllTasks(TaskListQuery listQuery, Set<TaskField> fields) {
+        return listCoalescer.execute(listQuery, fields, () -> loadPage(listQuery, fields));
+    }
 
-        Specification<Task> spec = Specification.where(TaskSpecifications.isCompleted(isCompleted))
-                .and(TaskSpecifications.dueDateFrom(dueDateFrom))
-                .and(TaskSpecifications.dueDateTo(dueDateTo));
+    /**
+     * Streaming counterpart of {@link #getAllTasks}: feeds the page to {@code sink} row by row, from the
+     * result set and without a list of responses being built. Only when list coalescing has been turned
+     * on is the page loaded whole, so identical requests can share it.
+     *
+     * @param fields sparse fieldset, or {@code null} for all fields; a selection reads only those columns
+     * @return the total number of matching tasks
+     */
+    public long streamAllTasks(TaskListQuery listQuery, Set<TaskField> fields, TaskRowSink sink) {
+        if (listCoalescer.isEnabled()) {
+            PagedResponse<TaskResponse> page = getAllTasks(listQuery, fields);
+            page.getContent().forEach(sink::accept);
+            return page.getTotalElements();
+        }
+        return listCoalescer.stream(listQuery, fields, sink, target -> streamPage(listQuery, fields, target));
+    }
 
-        Page<Task> taskPage = taskRepository.findAll(spec, pageable);
+    private PagedResponse<TaskResponse> loadPage(TaskListQuery listQuery, Set<TaskField> fields) {
+        TaskListQuery query = listQuery.resolveTags(tagIndex);
+        Pageable pageable = query.toPageable();
+        if (query.getTagMatch() != null && query.getTagMatch().isEmpty()) {
+            return new PagedResponse<>(List.of(), 0, 0, pageable.getPageNumber(), pageable.getPageSize());
+        }
+
+        List<TaskResponse> occurrences = recurrenceService.virtualOccurrences(query);
+        if (!occurrences.isEmpty()) {
+            return withOccurrences(query, occurrences, fields);
+        }
+
+        TaskReadModel readModel = fields == null ? readModelProvider.getIfAvailable() : null;
+        if (readModel != null) {
+            Optional<TaskIdPage> idPage = readModel.query(query);
+            if (idPage.isPresent()) {
+                return toPagedResponse(idPage.get(), pageable);
+            }
+        }
+
+        return toPagedResponse(taskStore.findPage(query, fields));
+    }
 
-        List<TaskResponse> content = taskPage.getContent()
-                .stream()
-                .map(taskMapper::toResponse)
+    /**
+     * Merges computed occurrences into the page. The tasks up to the page's end are read as one
+     * page, so a deep page costs {@code offset + size} rows, as on the sharded store, but one query
+     * and at most one count, and pages past {@link TaskListQuery#MAX_MERGE_DEPTH} are rejected. The
+     * tasks are read with all fields, which the merge needs to sort on, and the page is cut down to
+     * {@code fields} afterwards.
+     */
+    private PagedResponse<TaskResponse> withOccurrences(TaskListQuery query,
+                                                        List<TaskResponse> occurrences,
+                                                        Set<TaskField> fields) {
+        Pageable pageable = query.toPageable();
+        int end = query.mergeDepth();
+        Page<TaskResponse> tasks = taskStore.findPage(query.withPage(0, end), null);
+        List<TaskResponse> merged = new ArrayList<>(occurrences.size() + tasks.getNumberOfElements());
+        merged.addAll(occurrences);
+        merged.addAll(tasks.getContent());
+        long total = occurrences.size() + tasks.getTotalElements();
+        merged.sort(query.comparator());
+        int from = (int) Math.min(pageable.getOffset(), merged.size());
+        int to = Math.min(end, merged.size());
+        List<TaskResponse> content = merged.subList(from, to).stream()
+                .map(task -> select(task, fields))
                 .toList();
+        int totalPages = (int) ((total + pageable.getPageSize() - 1) / pageable.getPageSize());
+        return new PagedResponse<>(content, total, totalPages, pageable.getPageNumber(), pageable.getPageSize());
+    }
 
-        return new PagedResponse<>(
-                content,
-                taskPage.getTotalElements(),
-                taskPage.getTotalPages(),
-                taskPage.getNumber(),
-                taskPage.getSize()
-        );
+    /**
+     * The task with only {@code fields} set, as a sparse read returns it; all of it when {@code null}.
+     */
+    private static TaskResponse select(TaskResponse task, Set<TaskField> fields) {
+        if (fields == null) {
+            return task;
+        }
+        TaskResponse selected = new TaskResponse();
+        for (TaskField field : fields) {
+            switch (field) {
+                case ID -> selected.setId(task.getId());
+                case TITLE -> selected.setTitle(task.getTitle());
+                case DESCRIPTION -> selected.setDescription(task.getDescription());
+                case IS_COMPLETED -> selected.setIsCompleted(task.getIsCompleted());
+                case DUE_DATE -> selected.setDueDate(task.getDueDate());
+                case ASSIGNED_TO -> selected.setAssignedTo(task.getAssignedTo());
+                case PARENT_ID -> selected.setParentId(task.getParentId());
+                case CREATED_AT -> selected.setCreatedAt(task.getCreatedAt());
+                case UPDATED_AT -> selected.setUpdatedAt(task.getUpdatedAt());
+            }
+        }
+        return selected;
     }
 
-    @Transactional(readOnly = true)
+    private long streamPage(TaskListQuery listQuery, Set<TaskField> fields, TaskRowSink sink) {
+        TaskListQuery query = listQuery.resolveTags(tagIndex);
+        if (query.getTagMatch() != null && query.getTagMatch().isEmpty()) {
+            return 0;
+        }
+        List<TaskResponse> occurrences = recurrenceService.virtualOccurrences(query);
+        if (!occurrences.isEmpty()) {
+            PagedResponse<TaskResponse> page = withOccurrences(query, occurrences, fields);
+            page.getContent().forEach(sink::accept);
+            return page.getTotalElements();
+        }
+        if (fields != null) {
+            Page<TaskResponse> page = taskStore.findPage(query, fields);
+            page.forEach(sink::accept);
+            return page.getTotalElements();
+        }
+        TaskReadModel readModel = readModelProvider.getIfAvailable();
+        if (readModel != null) {
+            Optional<TaskIdPage> idPage = readModel.query(query);
+            if (idPage.isPresent()) {
+                Map<Long, TaskResponse> found = loadResponses(idPage.get().getIds());
+                for (Long id : idPage.get().getIds()) {
+                    TaskResponse response = found.get(id);
+                    if (response != null) {
+                        sink.accept(response);
+                    }
+                }
+                return idPage.get().getTotalElements();
+            }
+        }
+        return taskStore.streamPage(query, sink);
+    }
+
+    /**
+     * Not transactional on purpose: a cache hit should not borrow a connection. A miss reads through
+     * {@link DatabaseGuard}, under its deadline and circuit breaker.
+     */
     public TaskResponse getTaskById(Long id) {
-        Task task = taskRepository.findById(id)
+        return getTaskById(id, null);
+    }
+
+    /**
+     * @param fields sparse fieldset, or {@code null} for all fields; a selection reads only those columns
+     */
+    public TaskResponse getTaskById(Long id, Set<TaskField> fields) {
+        TaskResponse cached = taskCache.get(id);
+        if (cached != null) {
+            return cached;
+        }
+        if (fields != null) {
+            return databaseGuard.execute(status -> taskStore.findById(id, fields))
+                    .orElseThrow(() -> new TaskNotFoundException(id));
+        }
+        long version = taskCache.version(id);
+        Task task = databaseGuard.execute(status -> taskStore.findById(id))
                 .orElseThrow(() -> new TaskNotFoundException(id));
-        return taskMapper.toResponse(task);
+        TaskResponse response = taskMapper.toResponse(task);
+        taskCache.put(response, version);
+        return response;
+    }
+
+    /**
+     * Fetches several tasks at once, from the cache first and then in a single query for the rest.
+     * Missing ids are reported rather than failing the call.
+     */
+    public TaskLookupResponse lookupTasks(List<Long> ids) {
+        List<Long> distinctIds = List.copyOf(new LinkedHashSet<>(ids));
+        Map<Long, TaskResponse> found = loadResponses(distinctIds);
+
+        List<TaskResponse> tasks = new ArrayList<>(found.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : distinctIds) {
+            TaskResponse response = found.get(id);
+            if (response != null) {
+                tasks.add(response);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new TaskLookupResponse(tasks, missingIds);
     }
 
     @Transactional
     public TaskResponse createTask(TaskCreateRequest request) {
         Task task = taskMapper.toEntity(request);
-        Task saved = taskRepository.save(task);
+        if (task.getParentId() != null) {
+            requireParent(task.getParentId());
+        }
+        if (request.getRecurrence() != null) {
+            recur(task, request.getRecurrence());
+            alignSeries(task);
+        }
+        Task saved = taskStore.save(task);
+        if (saved.getParentId() != null) {
+            taskStore.attach(saved.getId(), saved.getParentId());
+        }
+        eventPublisher.publishEvent(TaskChangedEvent.created(TaskSnapshot.of(saved)));
         return taskMapper.toResponse(saved);
     }
 
     @Transactional
     public TaskResponse updateTask(Long id, TaskUpdateRequest request) {
-        Task task = taskRepository.findById(id)
+        Task task = taskStore.findById(id)
                 .orElseThrow(() -> new TaskNotFoundException(id));
+        TaskSnapshot before = TaskSnapshot.of(task);
+        String recurrence = task.getRecurrence();
 
+        boolean changed = false;
         if (request.getTitle() != null) {
-            task.setTitle(request.getTitle());
+            changed |= changeIfDifferent(task.getTitle(), request.getTitle(), task::setTitle);
         }
         if (request.getDescription() != null) {
-            task.setDescription(request.getDescription());
+            changed |= changeIfDifferent(task.getDescription(), request.getDescription(), task::setDescription);
         }
         if (request.getIsCompleted() != null) {
-            task.setIsCompleted(request.getIsCompleted());
+            changed |= changeIfDifferent(task.getIsCompleted(), request.getIsCompleted(), task::setIsCompleted);
         }
         if (request.getDueDate() != null) {
-            task.setDueDate(request.getDueDate());
+            changed |= changeIfDifferent(task.getDueDate(), request.getDueDate(), task::setDueDate);
         }
         if (request.getAssignedTo() != null) {
-            task.setAssignedTo(request.getAssignedTo());
+            changed |= changeIfDifferent(task.getAssignedTo(), request.getAssignedTo(), assignee -> reassign(task, assignee));
+        }
+        if (request.getTags() != null) {
+            changed |= retag(task, request.getTags());
+        }
+        if (request.getParentId() != null) {
+            changed |= changeIfDifferent(task.getParentId(), request.getParentId(), parent -> reparent(task, parent));
         }
+        if (request.getRecurrence() != null) {
+            changed |= recur(task, request.getRecurrence());
+        }
+        alignSeriesIfChanged(task, before, recurrence);
 
-        Task updated = taskRepository.save(task);
-        return taskMapper.toResponse(updated);
+        return saveIfChanged(task, before, changed);
+    }
+
+    /**
+     * Applies a JSON Merge Patch. Unlike {@link #updateTask}, {@code null} members clear
+     * {@code dueDate}, {@code assignedTo}, {@code description} and {@code tags}, a {@code null}
+     * {@code parentId} makes the task top-level and a {@code null} {@code recurrence} ends the series.
+     */
+    @Transactional
+    public TaskResponse patchTask(Long id, TaskMergePatch patch) {
+        Task task = taskStore.findById(id)
+                .orElseThrow(() -> new TaskNotFoundException(id));
+        TaskSnapshot before = TaskSnapshot.of(task);
+        String recurrence = task.getRecurrence();
+
+        boolean changed = false;
+        if (patch.has(TaskField.TITLE)) {
+            changed |= changeIfDifferent(task.getTitle(), patch.getTitle(), task::setTitle);
+        }
+        if (patch.has(TaskField.DESCRIPTION)) {
+            changed |= changeIfDifferent(task.getDescription(), patch.getDescription(), task::setDescription);
+        }
+        if (patch.has(TaskField.IS_COMPLETED)) {
+            changed |= changeIfDifferent(task.getIsCompleted(), patch.getIsCompleted(), task::setIsCompleted);
+        }
+        if (patch.has(TaskField.DUE_DATE)) {
+            changed |= changeIfDifferent(task.getDueDate(), patch.getDueDate(), task::setDueDate);
+        }
+        if (patch.has(TaskField.ASSIGNED_TO)) {
+            changed |= changeIfDifferent(task.getAssignedTo(), patch.getAssignedTo(), assignee -> reassign(task, assignee));
+        }
+        if (patch.hasTags()) {
+            changed |= retag(task, patch.getTags());
+        }
+        if (patch.has(TaskField.PARENT_ID)) {
+            changed |= changeIfDifferent(task.getParentId(), patch.getParentId(), parent -> reparent(task, parent));
+        }
+        if (patch.hasRecurrence()) {
+            changed |= recur(task, patch.getRecurrence());
+        }
+        alignSeriesIfChanged(task, before, recurrence);
+
+        return saveIfChanged(task, before, changed);
     }
 
     @Transactional
     public TaskResponse toggleTask(Long id) {
-        Task task = taskRepository.findById(id)
+        Task task = taskStore.findById(id)
                 .orElseThrow(() -> new TaskNotFoundException(id));
+        TaskSnapshot before = TaskSnapshot.of(task);
         task.setIsCompleted(!task.getIsCompleted());
-        Task updated = taskRepository.save(task);
+        Task updated = taskStore.save(task);
+        eventPublisher.publishEvent(TaskChangedEvent.updated(before, TaskSnapshot.of(updated)));
         return taskMapper.toResponse(updated);
     }
 
+    /**
+     * Deletes a task. Its subtasks are kept and move up to its parent.
+     */
     @Transactional
     public void deleteTask(Long id) {
-        if (!taskRepository.existsById(id)) {
-            throw new TaskNotFoundException(id);
+        Task task = taskStore.findById(id).orElseThrow(() -> new TaskNotFoundException(id));
+        TaskSnapshot deleted = TaskSnapshot.of(task);
+        LocalDateTime now = LocalDateTime.now();
+        List<Task> promoted = taskStore.detach(id, now);
+        if (!promoted.isEmpty()) {
+            Long parentId = task.getParentId();
+            for (Task child : promoted) {
+                TaskSnapshot before = TaskSnapshot.of(child);
+                child.setParentId(parentId);
+                child.setUpdatedAt(now);
+                eventPublisher.publishEvent(TaskChangedEvent.updated(before, TaskSnapshot.of(child)));
+            }
+        }
+        taskStore.deleteById(id);
+        eventPublisher.publishEvent(TaskChangedEvent.deleted(deleted));
+    }
+
+    private PagedResponse<TaskResponse> toPagedResponse(Page<TaskResponse> page) {
+        return new PagedResponse<>(
+                page.getContent(),
+                page.getTotalElements(),
+                page.getTotalPages(),
+                page.getNumber(),
+                page.getSize()
+        );
+    }
+
+    private PagedResponse<TaskResponse> toPagedResponse(TaskIdPage idPage, Pageable pageable) {
+        Map<Long, TaskResponse> found = loadResponses(idPage.getIds());
+        List<TaskResponse> content = idPage.getIds().stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .toList();
+        int totalPages = (int) ((idPage.getTotalElements() + pageable.getPageSize() - 1) / pageable.getPageSize());
+        return new PagedResponse<>(content, idPage.getTotalElements(), totalPages,
+                pageable.getPageNumber(), pageable.getPageSize());
+    }
+
+    private Map<Long, TaskResponse> loadResponses(List<Long> ids) {
+        Map<Long, TaskResponse> found = new HashMap<>(taskCache.getAll(ids));
+        List<Long> uncached = ids.stream()
+                .filter(id -> !found.containsKey(id))
+                .toList();
+        if (!uncached.isEmpty()) {
+            Map<Long, Long> versions = new HashMap<>();
+            uncached.forEach(id -> versions.put(id, taskCache.version(id)));
+            for (Task task : databaseGuard.execute(status -> taskStore.findAllById(uncached))) {
+                TaskResponse response = taskMapper.toResponse(task);
+                taskCache.put(response, versions.get(task.getId()));
+                found.put(task.getId(), response);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Writes only when a field actually changed, so a no-op update neither issues an UPDATE nor
+     * bumps {@code updatedAt}. {@code @DynamicUpdate} on {@link Task} limits the UPDATE to changed columns.
+     */
+    private TaskResponse saveIfChanged(Task task, TaskSnapshot before, boolean changed) {
+        if (!changed) {
+            return taskMapper.toResponse(task);
+        }
+        Task updated = taskStore.save(task);
+        eventPublisher.publishEvent(TaskChangedEvent.updated(before, TaskSnapshot.of(updated)));
+        return taskMapper.toResponse(updated);
+    }
+
+    /**
+     * Replaces the task's tags. A tag-only change does not dirty any column, so {@code updatedAt}
+     * is set here for the update to reach the row.
+     */
+    private static boolean retag(Task task, Set<String> tags) {
+        Set<String> normalized = TaskMapper.normalizeTags(tags);
+        if (normalized.equals(task.getTags())) {
+            return false;
+        }
+        task.getTags().clear();
+        task.getTags().addAll(normalized);
+        task.setUpdatedAt(LocalDateTime.now());
+        return true;
+    }
+
+    /**
+     * Sets the recurrence rule in canonical form, or ends the series for {@code null}. A rule-only
+     * change does not dirty any column JPA auditing watches, so {@code updatedAt} is set here.
+     */
+    private static boolean recur(Task task, String recurrence) {
+        String canonical = recurrence == null ? null : RecurrenceRule.parse(recurrence).toString();
+        if (Objects.equals(canonical, task.getRecurrence())) {
+            return false;
+        }
+        task.setRecurrence(canonical);
+        task.setUpdatedAt(LocalDateTime.now());
+        return true;
+    }
+
+    private static void alignSeriesIfChanged(Task task, TaskSnapshot before, String recurrence) {
+        if (!Objects.equals(task.getRecurrence(), recurrence) || !Objects.equals(task.getDueDate(), before.getDueDate())) {
+            alignSeries(task);
+        }
+    }
+
+    /**
+     * After a change to its rule or due date, a recurring task needs a due date, its first
+     * occurrence, and has its occurrences created from the later of that date and now: occurrences
+     * already created are kept, and a rule set on an old task does not fill in the past.
+     */
+    private static void alignSeries(Task task) {
+        if (task.getRecurrence() == null) {
+            task.setMaterializedUntil(null);
+            return;
+        }
+        if (task.getDueDate() == null) {
+            throw new InvalidRecurrenceException("A recurring task needs a due date, its first occurrence");
+        }
+        LocalDateTime from = task.getDueDate().isAfter(LocalDateTime.now()) ? task.getDueDate() : LocalDateTime.now();
+        if (task.getMaterializedUntil() == null || task.getMaterializedUntil().isBefore(from)) {
+            task.setMaterializedUntil(from);
+        }
+    }
+
+    /**
+     * Moves the task, with its subtree, below {@code parentId} or to the top level for {@code null}.
+     * A task cannot move below itself or one of its own subtasks.
+     */
+    private void reparent(Task task, Long parentId) {
+        if (parentId != null) {
+            requireParent(parentId);
+            if (taskStore.isInSubtree(task.getId(), parentId)) {
+                throw new InvalidParentException("A task cannot become a subtask of itself or of one of its subtasks");
+            }
+        }
+        task.setParentId(parentId);
+        taskStore.move(task.getId(), parentId);
+    }
+
+    private void requireParent(Long parentId) {
+        if (!taskStore.existsById(parentId)) {
+            throw new InvalidParentException("Parent task " + parentId + " does not exist");
+        }
+    }
+
+    /**
+     * A direct reassignment ends any claim lease, so the lease reaper leaves the new assignee alone.
+     */
+    private static void reassign(Task task, String assignee) {
+        task.setAssignedTo(assignee);
+        task.setLeaseExpiresAt(null);
+    }
+
+    private static <T> boolean changeIfDifferent(T current, T requested, Consumer<T> setter) {
+        if (Objects.equals(current, requested)) {
+            return false;
         }
-        taskRepository.deleteById(id);
+        setter.accept(requested);
+        return true;
     }
 }
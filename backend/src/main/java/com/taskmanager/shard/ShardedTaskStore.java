@@ -0,0 +1,510 @@
+package com.taskmanager.shard;
+
+import com.taskmanager.dto.TaskField;
+import com.taskmanager.dto.TaskProgressResponse;
+import com.taskmanager.dto.TaskResponse;
+import com.taskmanager.entity.Task;
+import com.taskmanager.exception.SubtasksUnsupportedException;
+import com.taskmanager.exception.TagFilterUnavailableException;
+import com.taskmanager.mapper.TaskMapper;
+import com.taskmanager.readmodel.TaskColumnRow;
+import com.taskmanager.repository.TaskLeases;
+import com.taskmanager.repository.TaskQueryPlans;
+import com.taskmanager.repository.TaskRecurrences;
+import com.taskmanager.repository.TaskRetention;
+import com.taskmanager.repository.TaskRowMappers;
+import com.taskmanager.repository.TaskTags;
+import com.taskmanager.service.TaskListQuery;
+import com.taskmanager.store.MaterializedSeries;
+import com.taskmanager.store.PurgeCursor;
+import com.taskmanager.store.PurgedTasks;
+import com.taskmanager.store.TaskStore;
+import com.taskmanager.tag.TagMatch;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ObjLongConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Spreads tasks over several databases. A new task is placed by the hash of {@code assignedTo}
+ * (unassigned tasks round-robin) and keeps that shard for life: the shard number is part of its
+ * id, so single-id operations go straight to one database.
+ * <p>
+ * List queries scatter to every shard in parallel, each returning its first {@code offset + size}
+ * rows through the shard's {@link TaskQueryPlans}, and gather them with a k-way merge on the
+ * requested sort. Deep pages therefore cost {@code offset + size} rows per shard. The merge
+ * compares titles with {@link String#compareTo}, so shards should use the "C" collation for title
+ * sorting to be exact.
+ * <p>
+ * Sparse fieldsets read full rows here; the response filter still drops the unselected fields.
+ * Tags live beside their task in each shard's {@code task_tags}. A tag-filtered list needs the
+ * filter resolved by the tag index to at most {@link TaskListQuery#MAX_CANDIDATE_IDS} tasks, which
+ * are fetched by id and filtered, sorted and paged here.
+ * A save or delete writes the task and its tags in one transaction on its shard. Claims, retention
+ * purges and recurrence materialization lock rows in one shard transaction per shard. All of these
+ * are independent of the caller's transaction, which only spans the primary database.
+ * Subtasks are not supported: a subtree could span shards, which the per-shard closure statements
+ * cannot follow, so every task here stays top-level.
+ */
+public class ShardedTaskStore implements TaskStore, AutoCloseable {
+
+    private static final int SCAN_FETCH_SIZE = 10_000;
+
+    private final List<JdbcTemplate> shards;
+    private final List<TaskQueryPlans> plans;
+    private final List<TaskLeases> leases;
+    private final List<TaskTags> tags;
+    private final List<TaskRetention> retention;
+    private final List<TaskRecurrences> recurrences;
+    private final List<TransactionTemplate> transactions;
+    private final ShardIds ids;
+    private final TaskMapper taskMapper;
+    private final Clock clock;
+    private final ExecutorService scatterExecutor = Executors.newVirtualThreadPerTaskExecutor();
+    private final List<AutoCloseable> resources;
+    private int nextUnassignedShard;
+    private int nextClaimShard;
+
+    public ShardedTaskStore(List<JdbcTemplate> shards, ShardIds ids, TaskMapper taskMapper, Clock clock,
+                            List<AutoCloseable> resources) {
+        if (shards.isEmpty() || shards.size() > ShardIds.MAX_SHARDS) {
+            throw new IllegalArgumentException("between 1 and " + ShardIds.MAX_SHARDS + " shards are required");
+        }
+        this.shards = List.copyOf(shards);
+        this.plans = shards.stream().map(TaskQueryPlans::new).toList();
+        this.leases = shards.stream().map(TaskLeases::new).toList();
+        this.tags = shards.stream().map(TaskTags::new).toList();
+        this.retention = shards.stream().map(TaskRetention::new).toList();
+        this.recurrences = shards.stream().map(TaskRecurrences::new).toList();
+        this.transactions = shards.stream()
+                .map(shard -> new TransactionTemplate(new DataSourceTransactionManager(shard.getDataSource())))
+                .toList();
+        this.ids = ids;
+        this.taskMapper = taskMapper;
+        this.clock = clock;
+        this.resources = List.copyOf(resources);
+    }
+
+    public int shardCount() {
+        return shards.size();
+    }
+
+    /**
+     * Shard for a new task.
+     */
+    public int shardFor(String assignedTo) {
+        if (assignedTo == null) {
+            synchronized (this) {
+                nextUnassignedShard = (nextUnassignedShard + 1) % shards.size();
+                return nextUnassignedShard;
+            }
+        }
+        return Math.floorMod(assignedTo.hashCode(), shards.size());
+    }
+
+    @Override
+    public Optional<Task> findById(Long id) {
+        if (!isKnownShard(id)) {
+            return Optional.empty();
+        }
+        List<Task> found = shard(id).query(
+                "SELECT " + TaskRowMappers.COLUMNS + " FROM tasks WHERE id = ?", TaskRowMappers.TASK, id);
+        Optional<Task> task = found.stream().findFirst();
+        task.ifPresent(t -> t.getTags().addAll(tags.get(ShardIds.shardOf(id)).find(List.of(id)).getOrDefault(id, List.of())));
+        return task;
+    }
+
+    @Override
+    public List<Task> findAllById(Collection<Long> ids) {
+        List<List<Long>> byShard = new ArrayList<>(shards.size());
+        for (int i = 0; i < shards.size(); i++) {
+            byShard.add(new ArrayList<>());
+        }
+        for (Long id : new LinkedHashSet<>(ids)) {
+            if (isKnownShard(id)) {
+                byShard.get(ShardIds.shardOf(id)).add(id);
+            }
+        }
+        return scatter(shard -> {
+            List<Long> shardIds = byShard.get(shard);
+            if (shardIds.isEmpty()) {
+                return List.<Task>of();
+            }
+            String placeholders = String.join(", ", Collections.nCopies(shardIds.size(), "?"));
+            List<Task> found = shards.get(shard).query(
+                    "SELECT " + TaskRowMappers.COLUMNS + " FROM tasks WHERE id IN (" + placeholders + ")",
+                    TaskRowMappers.TASK, shardIds.toArray());
+            Map<Long, List<String>> shardTags = tags.get(shard).find(shardIds);
+            found.forEach(task -> task.getTags().addAll(shardTags.getOrDefault(task.getId(), List.of())));
+            return found;
+        }).stream().flatMap(List::stream).toList();
+    }
+
+    @Override
+    public Task save(Task task) {
+        if (task.getParentId() != null) {
+            throw new SubtasksUnsupportedException();
+        }
+        LocalDateTime now = LocalDateTime.now(clock);
+        if (task.getId() == null) {
+            task.setId(ids.next(shardFor(task.getAssignedTo())));
+            task.setCreatedAt(now);
+            task.setUpdatedAt(now);
+            int shard = ShardIds.shardOf(task.getId());
+            transactions.get(shard).executeWithoutResult(status -> {
+                shards.get(shard).update(
+                        "INSERT INTO tasks (" + TaskRowMappers.COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                        task.getId(), task.getTitle(), task.getDescription(), task.getIsCompleted(), task.getDueDate(),
+                        task.getAssignedTo(), null, task.getRecurrence(), task.getSeriesId(), task.getMaterializedUntil(),
+                        task.getCreatedAt(), task.getUpdatedAt());
+                tags.get(shard).insert(task.getId(), task.getTags());
+            });
+            return task;
+        }
+        task.setUpdatedAt(now);
+        int shard = ShardIds.shardOf(task.getId());
+        transactions.get(shard).executeWithoutResult(status -> {
+            // A reassignment ends any lease held by the previous assignee.
+            shards.get(shard).update(
+                    "UPDATE tasks SET title = ?, description = ?, is_completed = ?, due_date = ?, assigned_to = ?, updated_at = ?,"
+                            + " recurrence = ?, materialized_until = ?,"
+                            + " lease_expires_at = CASE WHEN assigned_to IS NOT DISTINCT FROM ? THEN lease_expires_at END"
+                            + " WHERE id = ?",
+                    task.getTitle(), task.getDescription(), task.getIsCompleted(), task.getDueDate(), task.getAssignedTo(),
+                    task.getUpdatedAt(), task.getRecurrence(), task.getMaterializedUntil(), task.getAssignedTo(), task.getId());
+            tags.get(shard).replace(task.getId(), task.getTags());
+        });
+        return task;
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        if (!isKnownShard(id)) {
+            return false;
+        }
+        Integer count = shard(id).queryForObject("SELECT COUNT(*) FROM tasks WHERE id = ?", Integer.class, id);
+        return count != null && count > 0;
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        if (isKnownShard(id)) {
+            int shard = ShardIds.shardOf(id);
+            transactions.get(shard).executeWithoutResult(status -> {
+                tags.get(shard).delete(id);
+                shards.get(shard).update("DELETE FROM tasks WHERE id = ?", id);
+            });
+        }
+    }
+
+    @Override
+    public void deleteAll() {
+        for (int shard = 0; shard < shards.size(); shard++) {
+            JdbcTemplate jdbcTemplate = shards.get(shard);
+            transactions.get(shard).executeWithoutResult(status -> {
+                jdbcTemplate.update("DELETE FROM task_tags");
+                jdbcTemplate.update("DELETE FROM tasks");
+            });
+        }
+    }
+
+    @Override
+    public Page<TaskResponse> findPage(TaskListQuery query, Set<TaskField> fields) {
+        Pageable pageable = query.toPageable();
+        if (query.hasTagFilter()) {
+            return findTaggedPage(query, pageable);
+        }
+        int perShard = query.mergeDepth();
+        List<List<TaskResponse>> heads = scatter(shard -> plans.get(shard).findFirst(query, perShard));
+        long total = scatter(shard -> plans.get(shard).count(query)).stream().mapToLong(Long::longValue).sum();
+        List<TaskResponse> content = merge(heads, query.comparator(), pageable.getOffset(), pageable.getPageSize());
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    @Override
+    public Optional<TaskResponse> findById(Long id, Set<TaskField> fields) {
+        return findById(id).map(taskMapper::toResponse);
+    }
+
+    /**
+     * Reads the first {@code limit} from every shard and merges them. Tags are not loaded.
+     */
+    @Override
+    public List<Task> findOpenDueBetween(LocalDateTime from, LocalDateTime to, int limit) {
+        List<List<Task>> heads = scatter(shard -> shards.get(shard).query(
+                "SELECT " + TaskRowMappers.COLUMNS + " FROM tasks WHERE is_completed = FALSE AND due_date BETWEEN ? AND ?"
+                        + " ORDER BY due_date ASC, id ASC LIMIT ?",
+                TaskRowMappers.TASK, from, to, limit));
+        return merge(heads, Comparator.comparing(Task::getDueDate).thenComparing(Task::getId), 0, limit);
+    }
+
+    @Override
+    public void forEachTag(ObjLongConsumer<String> consumer) {
+        tags.forEach(shardTags -> shardTags.forEach(consumer));
+    }
+
+    @Override
+    public void forEachColumnRow(Consumer<TaskColumnRow> consumer) {
+        for (JdbcTemplate shard : shards) {
+            JdbcTemplate scan = new JdbcTemplate(shard.getDataSource());
+            scan.setFetchSize(SCAN_FETCH_SIZE);
+            scan.query("SELECT id, is_completed, due_date, created_at, title FROM tasks", rs -> {
+                consumer.accept(new TaskColumnRow(rs.getLong("id"), rs.getBoolean("is_completed"),
+                        rs.getObject("due_date", LocalDateTime.class), rs.getObject("created_at", LocalDateTime.class),
+                        rs.getString("title")));
+            });
+        }
+    }
+
+    /**
+     * Claims shard by shard, starting one shard further on each call, until {@code limit} tasks are
+     * claimed. Due-date order therefore holds within a shard but not across shards.
+     */
+    @Override
+    public List<Task> claim(String worker, int limit, LocalDateTime leaseUntil, LocalDateTime now) {
+        int first;
+        synchronized (this) {
+            first = nextClaimShard;
+            nextClaimShard = (nextClaimShard + 1) % shards.size();
+        }
+        List<Task> claimed = new ArrayList<>(limit);
+        for (int i = 0; i < shards.size() && claimed.size() < limit; i++) {
+            int shard = (first + i) % shards.size();
+            int remaining = limit - claimed.size();
+            claimed.addAll(transactions.get(shard).execute(
+                    status -> leases.get(shard).claim(worker, remaining, leaseUntil, now)));
+        }
+        return claimed;
+    }
+
+    @Override
+    public List<Task> releaseExpiredLeases(LocalDateTime now, int limit) {
+        List<Task> released = new ArrayList<>();
+        for (int shard = 0; shard < shards.size() && released.size() < limit; shard++) {
+            int remaining = limit - released.size();
+            TaskLeases shardLeases = leases.get(shard);
+            released.addAll(transactions.get(shard).execute(status -> shardLeases.releaseExpired(now, remaining)));
+        }
+        return released;
+    }
+
+    /**
+     * Deletes up to {@code limit} tasks from each shard. The next chunk starts after the earliest
+     * last key among the shards that filled theirs; the others have nothing left before it.
+     */
+    @Override
+    public PurgedTasks purgeCompleted(LocalDateTime cutoff, PurgeCursor after, int limit, LocalDateTime now) {
+        List<Task> deleted = new ArrayList<>();
+        PurgeCursor next = null;
+        for (int shard = 0; shard < shards.size(); shard++) {
+            TaskRetention shardRetention = retention.get(shard);
+            List<Task> chunk = transactions.get(shard).execute(status -> {
+                List<Task> expired = shardRetention.lockExpired(cutoff, after, limit);
+                shardRetention.delete(expired.stream().map(Task::getId).toList());
+                return expired;
+            });
+            deleted.addAll(chunk);
+            if (chunk.size() >= limit) {
+                PurgeCursor last = PurgeCursor.after(chunk.get(chunk.size() - 1));
+                if (next == null || last.isBefore(next)) {
+                    next = last;
+                }
+            }
+        }
+        return new PurgedTasks(deleted, List.of(), Map.of(), next);
+    }
+
+    /**
+     * Materializes up to {@code limit} series on each shard, one shard transaction each. Occurrences
+     * stay on their series' shard, whatever their assignee, so the unique {@code (series_id, due_date)}
+     * index of that shard covers them all. The next chunk starts after the lowest last id among the
+     * shards that filled theirs.
+     */
+    @Override
+    public MaterializedSeries materializeSeries(LocalDateTime horizon, Long afterId, int limit,
+                                                Function<Task, List<Task>> occurrences) {
+        List<Task> created = new ArrayList<>();
+        Long next = null;
+        for (int shard = 0; shard < shards.size(); shard++) {
+            int current = shard;
+            List<Task> series = transactions.get(shard).execute(status -> {
+                List<Task> locked = recurrences.get(current).lockDue(horizon, afterId, limit);
+                fillTags(current, locked);
+                List<Task> inserted = new ArrayList<>();
+                for (Task task : locked) {
+                    for (Task occurrence : occurrences.apply(task)) {
+                        occurrence.setId(ids.next(current));
+                        inserted.add(occurrence);
+                    }
+                }
+                recurrences.get(current).insert(inserted);
+                tags.get(current).insertAll(inserted);
+                recurrences.get(current).markMaterialized(locked);
+                created.addAll(inserted);
+                return locked;
+            });
+            if (series.size() >= limit) {
+                Long last = series.get(series.size() - 1).getId();
+                if (next == null || last < next) {
+                    next = last;
+                }
+            }
+        }
+        return new MaterializedSeries(created, next);
+    }
+
+    /**
+     * Reads the first {@code limit} from every shard and keeps the lowest ids.
+     */
+    @Override
+    public List<Task> findSeriesMaterializedBefore(LocalDateTime to, int limit) {
+        List<List<Task>> heads = scatter(shard -> {
+            List<Task> series = recurrences.get(shard).findMaterializedBefore(to, limit);
+            fillTags(shard, series);
+            return series;
+        });
+        return merge(heads, Comparator.comparing(Task::getId), 0, limit);
+    }
+
+    private void fillTags(int shard, List<Task> tasks) {
+        Map<Long, List<String>> shardTags = tags.get(shard).find(tasks.stream().map(Task::getId).toList());
+        tasks.forEach(task -> task.getTags().addAll(shardTags.getOrDefault(task.getId(), List.of())));
+    }
+
+    @Override
+    public void attach(long taskId, long parentId) {
+        throw new SubtasksUnsupportedException();
+    }
+
+    @Override
+    public boolean isInSubtree(long rootId, long taskId) {
+        return rootId == taskId;
+    }
+
+    @Override
+    public void move(long taskId, Long parentId) {
+        if (parentId != null) {
+            throw new SubtasksUnsupportedException();
+        }
+    }
+
+    @Override
+    public List<Task> detach(long taskId, LocalDateTime now) {
+        return List.of();
+    }
+
+    @Override
+    public Page<TaskResponse> findSubtree(long rootId, TaskListQuery query) {
+        throw new SubtasksUnsupportedException();
+    }
+
+    @Override
+    public Optional<TaskProgressResponse> subtreeProgress(long rootId) {
+        throw new SubtasksUnsupportedException();
+    }
+
+    @Override
+    public List<Task> setSubtreeCompleted(long rootId, boolean completed, LocalDateTime now) {
+        throw new SubtasksUnsupportedException();
+    }
+
+    @Override
+    public void close() throws Exception {
+        scatterExecutor.shutdownNow();
+        for (AutoCloseable resource : resources) {
+            resource.close();
+        }
+    }
+
+    private Page<TaskResponse> findTaggedPage(TaskListQuery query, Pageable pageable) {
+        TagMatch match = query.getTagMatch();
+        if (match == null || match.cardinality() > TaskListQuery.MAX_CANDIDATE_IDS) {
+            throw new TagFilterUnavailableException(TaskListQuery.MAX_CANDIDATE_IDS);
+        }
+        List<TaskResponse> matching = findAllById(match.ids()).stream()
+                .map(taskMapper::toResponse)
+                .filter(query::matches)
+                .sorted(query.comparator())
+                .toList();
+        int from = (int) Math.min(pageable.getOffset(), matching.size());
+        int to = Math.min(from + pageable.getPageSize(), matching.size());
+        return new PageImpl<>(matching.subList(from, to), pageable, matching.size());
+    }
+
+    static <T> List<T> merge(List<List<T>> sortedRuns, Comparator<T> order, long offset, int limit) {
+        PriorityQueue<Head<T>> queue = new PriorityQueue<>(Math.max(1, sortedRuns.size()),
+                (a, b) -> order.compare(a.value(), b.value()));
+        for (List<T> run : sortedRuns) {
+            Iterator<T> iterator = run.iterator();
+            if (iterator.hasNext()) {
+                queue.add(new Head<>(iterator.next(), iterator));
+            }
+        }
+        List<T> merged = new ArrayList<>(limit);
+        long skipped = 0;
+        while (!queue.isEmpty() && merged.size() < limit) {
+            Head<T> head = queue.poll();
+            if (skipped < offset) {
+                skipped++;
+            } else {
+                merged.add(head.value());
+            }
+            if (head.rest().hasNext()) {
+                queue.add(new Head<>(head.rest().next(), head.rest()));
+            }
+        }
+        return merged;
+    }
+
+    private <R> List<R> scatter(Function<Integer, R> perShard) {
+        if (shards.size() == 1) {
+            return List.of(perShard.apply(0));
+        }
+        List<CompletableFuture<R>> futures = IntStream.range(0, shards.size())
+                .mapToObj(shard -> CompletableFuture.supplyAsync(() -> perShard.apply(shard), scatterExecutor))
+                .toList();
+        try {
+            return futures.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private boolean isKnownShard(Long id) {
+        return id != null && id > 0 && ShardIds.shardOf(id) < shards.size();
+    }
+
+    private JdbcTemplate shard(Long id) {
+        return shards.get(ShardIds.shardOf(id));
+    }
+
+    private record Head<T>(T value, Iterator<T> rest) {
+    }
+}
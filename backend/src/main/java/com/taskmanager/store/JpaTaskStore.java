@@ -0,0 +1,242 @@
+package com.taskmanager.store;
+
+import com.taskmanager.dto.TaskField;
+import com.taskmanager.dto.TaskProgressResponse;
+import com.taskmanager.dto.TaskResponse;
+import com.taskmanager.entity.Task;
+import com.taskmanager.mapper.TaskMapper;
+import com.taskmanager.readmodel.TaskColumnRow;
+import com.taskmanager.repository.TaskHierarchy;
+import com.taskmanager.repository.TaskLeases;
+import com.taskmanager.repository.TaskProjectionRepository;
+import com.taskmanager.repository.TaskQueryPlans;
+import com.taskmanager.repository.TaskRecurrences;
+import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.repository.TaskRetention;
+import com.taskmanager.repository.TaskSpecifications;
+import com.taskmanager.repository.TaskTags;
+import com.taskmanager.service.TaskListQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ObjLongConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Default store on the single configured datasource: JPA for entities, precompiled SQL for lists
+ * and JPQL tuple queries for sparse fieldsets. Tag-filtered lists go through the Criteria API with
+ * the {@link TaskListQuery#toSpecification()} predicates, as do subtree lists, which add a
+ * {@code task_closure} subquery.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnExpression("!${taskmanager.sharding.enabled:false} and !${taskmanager.embedded.enabled:false}")
+public class JpaTaskStore implements TaskStore {
+
+    private final TaskRepository taskRepository;
+    private final TaskQueryPlans taskQueryPlans;
+    private final TaskProjectionRepository taskProjectionRepository;
+    private final TaskLeases taskLeases;
+    private final TaskTags taskTags;
+    private final TaskHierarchy taskHierarchy;
+    private final TaskRetention taskRetention;
+    private final TaskRecurrences taskRecurrences;
+    private final TaskMapper taskMapper;
+
+    @Override
+    public Optional<Task> findById(Long id) {
+        return taskRepository.findById(id);
+    }
+
+    @Override
+    public List<Task> findAllById(Collection<Long> ids) {
+        return taskRepository.findAllById(ids);
+    }
+
+    @Override
+    public Task save(Task task) {
+        return taskRepository.save(task);
+    }
+
+    @Override
+    public boolean existsById(Long id) {
+        return taskRepository.existsById(id);
+    }
+
+    @Override
+    public void deleteById(Long id) {
+        taskRepository.deleteById(id);
+    }
+
+    @Override
+    public void deleteAll() {
+        taskRepository.deleteAll();
+    }
+
+    @Override
+    public Page<TaskResponse> findPage(TaskListQuery query, Set<TaskField> fields) {
+        if (query.hasTagFilter()) {
+            return taskRepository.findAll(query.toSpecification(), listOrder(query)).map(taskMapper::toResponse);
+        }
+        if (fields != null) {
+            return taskProjectionRepository.findPage(query, fields);
+        }
+        return taskQueryPlans.findPage(query);
+    }
+
+    @Override
+    public long streamPage(TaskListQuery query, TaskRowSink sink) {
+        if (query.hasTagFilter()) {
+            return TaskStore.super.streamPage(query, sink);
+        }
+        return taskQueryPlans.streamPage(query, sink);
+    }
+
+    /**
+     * The requested page in the order of {@link TaskQueryPlans}: NULLs last ascending and first
+     * descending, ties broken by id.
+     */
+    private static Pageable listOrder(TaskListQuery query) {
+        Sort.Order order = query.getDirection().isAscending()
+                ? Sort.Order.asc(query.getSortBy()).nullsLast()
+                : Sort.Order.desc(query.getSortBy()).nullsFirst();
+        return PageRequest.of(query.getPage(), query.getSize(), Sort.by(order, new Sort.Order(query.getDirection(), "id")));
+    }
+
+    @Override
+    public Optional<TaskResponse> findById(Long id, Set<TaskField> fields) {
+        return taskProjectionRepository.findById(id, fields);
+    }
+
+    @Override
+    public List<Task> findOpenDueBetween(LocalDateTime from, LocalDateTime to, int limit) {
+        return taskRepository.findByIsCompletedFalseAndDueDateBetweenOrderByDueDateAsc(from, to, Limit.of(limit));
+    }
+
+    @Override
+    public void forEachTag(ObjLongConsumer<String> consumer) {
+        taskTags.forEach(consumer);
+    }
+
+    @Override
+    public void forEachColumnRow(Consumer<TaskColumnRow> consumer) {
+        try (Stream<TaskColumnRow> rows = taskRepository.streamColumnRows()) {
+            rows.forEach(consumer);
+        }
+    }
+
+    @Override
+    public List<Task> claim(String worker, int limit, LocalDateTime leaseUntil, LocalDateTime now) {
+        return taskLeases.claim(worker, limit, leaseUntil, now);
+    }
+
+    @Override
+    public List<Task> releaseExpiredLeases(LocalDateTime now, int limit) {
+        return taskLeases.releaseExpired(now, limit);
+    }
+
+    /**
+     * Detaches the chunk's parents one at a time, so a subtask whose parent and grandparent both go
+     * ends up below the nearest ancestor that stays.
+     */
+    @Override
+    public PurgedTasks purgeCompleted(LocalDateTime cutoff, PurgeCursor after, int limit, LocalDateTime now) {
+        List<Task> expired = taskRetention.lockExpired(cutoff, after, limit);
+        if (expired.isEmpty()) {
+            return PurgedTasks.none();
+        }
+        List<Long> ids = expired.stream().map(Task::getId).toList();
+        Map<Long, Task> promoted = new LinkedHashMap<>();
+        for (Long parentId : taskHierarchy.parentsAmong(ids)) {
+            taskHierarchy.detach(parentId, now).forEach(child -> promoted.putIfAbsent(child.getId(), child));
+        }
+        promoted.keySet().removeAll(ids);
+        taskHierarchy.unlinkLeaves(ids);
+        taskRetention.delete(ids);
+        PurgeCursor next = expired.size() < limit ? null : PurgeCursor.after(expired.get(expired.size() - 1));
+        return new PurgedTasks(expired, List.copyOf(promoted.values()), taskHierarchy.parentsOf(promoted.keySet()), next);
+    }
+
+    @Override
+    public MaterializedSeries materializeSeries(LocalDateTime horizon, Long afterId, int limit,
+                                                Function<Task, List<Task>> occurrences) {
+        List<Task> series = taskRecurrences.lockDue(horizon, afterId, limit);
+        if (series.isEmpty()) {
+            return MaterializedSeries.none();
+        }
+        fillTags(series);
+        List<Task> created = new ArrayList<>();
+        for (Task task : series) {
+            created.addAll(occurrences.apply(task));
+        }
+        taskRecurrences.insert(created);
+        taskTags.insertAll(created);
+        taskRecurrences.markMaterialized(series);
+        Long next = series.size() < limit ? null : series.get(series.size() - 1).getId();
+        return new MaterializedSeries(created, next);
+    }
+
+    @Override
+    public List<Task> findSeriesMaterializedBefore(LocalDateTime to, int limit) {
+        List<Task> series = taskRecurrences.findMaterializedBefore(to, limit);
+        fillTags(series);
+        return series;
+    }
+
+    private void fillTags(List<Task> tasks) {
+        Map<Long, List<String>> tags = taskTags.find(tasks.stream().map(Task::getId).toList());
+        tasks.forEach(task -> task.getTags().addAll(tags.getOrDefault(task.getId(), List.of())));
+    }
+
+    @Override
+    public void attach(long taskId, long parentId) {
+        taskHierarchy.attach(taskId, parentId);
+    }
+
+    @Override
+    public boolean isInSubtree(long rootId, long taskId) {
+        return taskHierarchy.isInSubtree(rootId, taskId);
+    }
+
+    @Override
+    public void move(long taskId, Long parentId) {
+        taskHierarchy.move(taskId, parentId);
+    }
+
+    @Override
+    public List<Task> detach(long taskId, LocalDateTime now) {
+        return taskHierarchy.detach(taskId, now);
+    }
+
+    @Override
+    public Page<TaskResponse> findSubtree(long rootId, TaskListQuery query) {
+        return taskRepository.findAll(TaskSpecifications.inSubtree(rootId).and(query.toSpecification()), listOrder(query))
+                .map(taskMapper::toResponse);
+    }
+
+    @Override
+    public Optional<TaskProgressResponse> subtreeProgress(long rootId) {
+        return taskHierarchy.progress(rootId);
+    }
+
+    @Override
+    public List<Task> setSubtreeCompleted(long rootId, boolean completed, LocalDateTime now) {
+        return taskHierarchy.setCompleted(rootId, completed, now);
+    }
+}
@@ -0,0 +1,28 @@
+package com.taskmanager.store;
+
+import com.taskmanager.entity.Task;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * One chunk of a materialization run over recurring tasks.
+ */
+@Value
+public class MaterializedSeries {
+
+    /**
+     * The occurrences inserted, with their ids.
+     */
+    List<Task> created;
+
+    /**
+     * Id of the last recurring task in this chunk, where the next chunk starts after, or
+     * {@code null} when no series are left behind this one.
+     */
+    Long next;
+
+    public static MaterializedSeries none() {
+        return new MaterializedSeries(List.of(), null);
+    }
+}
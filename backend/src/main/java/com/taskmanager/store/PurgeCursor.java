@@ -0,0 +1,26 @@
+package com.taskmanager.store;
+
+import com.taskmanager.entity.Task;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Position in the {@code (updated_at, id)} order that retention purges walk, just past the last
+ * task a chunk looked at.
+ */
+@Value
+public class PurgeCursor {
+
+    LocalDateTime updatedAt;
+    long id;
+
+    public static PurgeCursor after(Task task) {
+        return new PurgeCursor(task.getUpdatedAt(), task.getId());
+    }
+
+    public boolean isBefore(PurgeCursor other) {
+        int byTime = updatedAt.compareTo(other.updatedAt);
+        return byTime < 0 || byTime == 0 && id < other.id;
+    }
+}
@@ -0,0 +1,38 @@
+package com.taskmanager.store;
+
+import com.taskmanager.entity.Task;
+import lombok.Value;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One chunk of a retention purge.
+ */
+@Value
+public class PurgedTasks {
+
+    /**
+     * The deleted tasks as they were before the purge.
+     */
+    List<Task> deleted;
+
+    /**
+     * Subtasks that outlived a deleted parent, as they were before they moved up.
+     */
+    List<Task> promoted;
+
+    /**
+     * The parent each promoted subtask ended up below, by subtask id; no entry for the top level.
+     */
+    Map<Long, Long> newParents;
+
+    /**
+     * Where the next chunk starts, or {@code null} when no expired tasks are left behind this one.
+     */
+    PurgeCursor next;
+
+    public static PurgedTasks none() {
+        return new PurgedTasks(List.of(), List.of(), Map.of(), null);
+    }
+}
@@ -0,0 +1,22 @@
+package com.taskmanager.store;
+
+import com.taskmanager.dto.TaskResponse;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Receives the tasks of a streamed list page in order. JDBC-backed paths pass the current result
+ * set row so no response object is built; paths that already hold responses pass those.
+ */
+public interface TaskRowSink {
+
+    /**
+     * @param rs   positioned on a row with the columns of {@link com.taskmanager.repository.TaskRowMappers#COLUMNS}
+     * @param tags the row's tags in order
+     */
+    void accept(ResultSet rs, List<String> tags) throws SQLException;
+
+    void accept(TaskResponse task);
+}
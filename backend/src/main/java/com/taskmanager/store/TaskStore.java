@@ -0,0 +1,165 @@
+package com.taskmanager.store;
+
+import com.taskmanager.dto.TaskField;
+import com.taskmanager.dto.TaskProgressResponse;
+import com.taskmanager.dto.TaskResponse;
+import com.taskmanager.entity.Task;
+import com.taskmanager.readmodel.TaskColumnRow;
+import com.taskmanager.service.TaskListQuery;
+import org.springframework.data.domain.Page;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Storage beneath {@link com.taskmanager.service.TaskService}. Entity operations mirror the
+ * {@code JpaRepository} methods they replace; list and projected reads return responses directly.
+ */
+public interface TaskStore {
+
+    Optional<Task> findById(Long id);
+
+    List<Task> findAllById(Collection<Long> ids);
+
+    /**
+     * Inserts a task without an id, assigning one, or updates an existing task.
+     */
+    Task save(Task task);
+
+    boolean existsById(Long id);
+
+    void deleteById(Long id);
+
+    /**
+     * Deletes every task, with its tags.
+     */
+    void deleteAll();
+
+    /**
+     * @param fields sparse fieldset, or {@code null} for all fields
+     */
+    Page<TaskResponse> findPage(TaskListQuery query, Set<TaskField> fields);
+
+    /**
+     * Feeds one list page with all fields to {@code sink} as it is read, without collecting it.
+     * The default reads the page through {@link #findPage} first.
+     *
+     * @return the total number of matching tasks
+     */
+    default long streamPage(TaskListQuery query, TaskRowSink sink) {
+        Page<TaskResponse> page = findPage(query, null);
+        page.forEach(sink::accept);
+        return page.getTotalElements();
+    }
+
+    /**
+     * @param fields sparse fieldset to read
+     */
+    Optional<TaskResponse> findById(Long id, Set<TaskField> fields);
+
+    /**
+     * Up to {@code limit} open tasks due between {@code from} and {@code to} inclusive, earliest first.
+     * Their tags need not be loaded.
+     */
+    List<Task> findOpenDueBetween(LocalDateTime from, LocalDateTime to, int limit);
+
+    /**
+     * Streams every (tag, task id) pair in the store, in no particular order.
+     */
+    void forEachTag(ObjLongConsumer<String> consumer);
+
+    /**
+     * Streams the columns the read model keeps of every task in the store, in no particular order.
+     * JPA-backed stores need a transaction around the call.
+     */
+    void forEachColumnRow(Consumer<TaskColumnRow> consumer);
+
+    /**
+     * Assigns up to {@code limit} open, unassigned tasks to {@code worker} until {@code leaseUntil},
+     * earliest due date first, skipping tasks that concurrent claimers hold.
+     *
+     * @return the claimed tasks as they were before the claim
+     */
+    List<Task> claim(String worker, int limit, LocalDateTime leaseUntil, LocalDateTime now);
+
+    /**
+     * Unassigns up to {@code limit} open tasks whose lease ended before {@code now}.
+     *
+     * @return the released tasks as they were before the release
+     */
+    List<Task> releaseExpiredLeases(LocalDateTime now, int limit);
+
+    /**
+     * Deletes one chunk of completed tasks last updated before {@code cutoff}, in {@code (updatedAt, id)}
+     * order from just past {@code after}, or from the start for {@code null}. Tasks locked by a
+     * concurrent transaction are skipped. Subtasks of a deleted task that are not deleted with it move up
+     * to its parent.
+     *
+     * @param limit most tasks per chunk; a store may apply it to each of its partitions
+     */
+    PurgedTasks purgeCompleted(LocalDateTime cutoff, PurgeCursor after, int limit, LocalDateTime now);
+
+    /**
+     * Materializes one chunk of recurring tasks: locks up to {@code limit} of those materialized only
+     * until before {@code horizon}, in id order from just past {@code afterId}, or from the start for
+     * {@code null}, skipping those a concurrent transaction holds. Each is passed with its tags to
+     * {@code occurrences}, which returns its new occurrences and advances its
+     * {@code materializedUntil}; the occurrences are inserted in one batch per chunk.
+     *
+     * @param limit most series per chunk; a store may apply it to each of its partitions
+     */
+    MaterializedSeries materializeSeries(LocalDateTime horizon, Long afterId, int limit,
+                                         Function<Task, List<Task>> occurrences);
+
+    /**
+     * Up to {@code limit} recurring tasks materialized only until before {@code to}, in id order,
+     * with their tags.
+     */
+    List<Task> findSeriesMaterializedBefore(LocalDateTime to, int limit);
+
+    /**
+     * Records a newly created task, which has no subtasks yet, as a subtask of {@code parentId}.
+     */
+    void attach(long taskId, long parentId);
+
+    /**
+     * Whether {@code taskId} is {@code rootId} or one of its descendants.
+     */
+    boolean isInSubtree(long rootId, long taskId);
+
+    /**
+     * Moves a task with its subtree below {@code parentId}, or to the top level for {@code null}.
+     * The task's own {@code parentId} is saved separately.
+     */
+    void move(long taskId, Long parentId);
+
+    /**
+     * Takes a task about to be deleted out of the hierarchy, promoting its subtasks to its parent.
+     *
+     * @return the promoted subtasks as they were before the change
+     */
+    List<Task> detach(long taskId, LocalDateTime now);
+
+    /**
+     * One page of the tasks below {@code rootId} at any depth that match {@code query}.
+     */
+    Page<TaskResponse> findSubtree(long rootId, TaskListQuery query);
+
+    /**
+     * @return the completion of the tasks below {@code rootId}, or empty if it does not exist
+     */
+    Optional<TaskProgressResponse> subtreeProgress(long rootId);
+
+    /**
+     * Sets the completion of {@code rootId} and all tasks below it in one statement.
+     *
+     * @return the tasks whose state changed, as they were before
+     */
+    List<Task> setSubtreeCompleted(long rootId, boolean completed, LocalDateTime now);
+}
@@ -0,0 +1,343 @@
+package com.taskmanager.tag;
+
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.event.TaskSnapshot;
+import com.taskmanager.event.TasksInvalidatedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * In-process inverted index from tag to the ids of the tasks carrying it, one compressed bitmap
+ * per tag. Tag predicates resolve to a {@link TagMatch} by intersecting and uniting bitmaps, which
+ * costs time proportional to the compressed sizes rather than to the number of tagged rows.
+ * <p>
+ * The index is built by a scan of all tags at startup and then kept current by committed
+ * changes; changes that commit during the scan are replayed once it finishes. Until then, or when
+ * disabled, {@link #match} returns empty and callers filter in the database. Each node holds its
+ * own index: other nodes' changes, announced by {@link TasksInvalidatedEvent}, are applied by
+ * reading the tags of the tasks named, or by a new scan when the announcement names none. Scans and
+ * reads run one at a time on a worker thread of the index's own.
+ */
+@Slf4j
+public class TagIndex {
+
+    private final Consumer<ObjLongConsumer<String>> source;
+    private final Function<Set<Long>, Map<Long, ? extends Collection<String>>> reader;
+    private final boolean enabled;
+    private final ExecutorService worker;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<TaskChangedEvent> backlog = new ArrayList<>();
+    private final Set<Long> changedDuringRead = new HashSet<>();
+    private Map<String, Roaring64NavigableMap> bitmaps = new HashMap<>();
+    private boolean building;
+    private boolean reading;
+    private volatile boolean ready;
+
+    /**
+     * @param source feeds every (tag, task id) pair of the store to the given consumer
+     * @param reader the current tags of the given tasks; tasks without tags or no longer stored may be absent
+     */
+    public TagIndex(Consumer<ObjLongConsumer<String>> source,
+                    Function<Set<Long>, Map<Long, ? extends Collection<String>>> reader,
+                    boolean enabled) {
+        this.source = source;
+        this.reader = reader;
+        this.enabled = enabled;
+        this.worker = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "tag-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startRebuild() {
+        if (enabled) {
+            worker.execute(this::rebuild);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    /**
+     * Replaces the index with a fresh scan of the store; does nothing when disabled.
+     */
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            building = true;
+            backlog.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        long started = System.nanoTime();
+        Map<String, Roaring64NavigableMap> scanned = new HashMap<>();
+        try {
+            source.accept((tag, taskId) -> scanned.computeIfAbsent(tag, t -> newBitmap()).addLong(taskId));
+        } catch (RuntimeException e) {
+            log.warn("Tag index build failed, tag filters use the database", e);
+            lock.writeLock().lock();
+            try {
+                building = false;
+                backlog.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return;
+        }
+        scanned.values().forEach(Roaring64NavigableMap::runOptimize);
+
+        lock.writeLock().lock();
+        try {
+            bitmaps = scanned;
+            backlog.forEach(this::apply);
+            backlog.clear();
+            building = false;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Tag index built with {} tags in {} ms", scanned.size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (ready) {
+                apply(event);
+            } else if (building) {
+                backlog.add(event);
+            }
+            if (reading) {
+                changedDuringRead.add(event.getTaskId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void onTasksInvalidated(TasksInvalidatedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (event.isAll()) {
+            worker.execute(this::rebuild);
+        } else {
+            Set<Long> taskIds = event.getTaskIds();
+            worker.execute(() -> refresh(taskIds));
+        }
+    }
+
+    /**
+     * Re-reads the tags of the given tasks, changed by another node, and puts them in the index.
+     * Tasks this node changes meanwhile keep what their own change put there, since it committed
+     * after the read started. A failed read leaves the index unready and starts a new scan.
+     */
+    public void refresh(Set<Long> taskIds) {
+        lock.writeLock().lock();
+        try {
+            if (!ready) {
+                return;
+            }
+            reading = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Map<Long, ? extends Collection<String>> current;
+        try {
+            current = reader.apply(taskIds);
+        } catch (RuntimeException e) {
+            log.warn("Reading the tags of changed tasks failed, rebuilding the tag index", e);
+            lock.writeLock().lock();
+            try {
+                reading = false;
+                changedDuringRead.clear();
+                ready = false;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            rebuild();
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            reading = false;
+            if (ready) {
+                for (Long taskId : taskIds) {
+                    if (!changedDuringRead.contains(taskId)) {
+                        replace(taskId, current.get(taskId));
+                    }
+                }
+            }
+            changedDuringRead.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the tasks carrying every tag in {@code allOf} and at least one tag in {@code anyOf};
+     * an empty collection places no constraint. Tags must be normalized.
+     *
+     * @return the match, or empty while the index is not ready
+     */
+    public Optional<TagMatch> match(Collection<String> allOf, Collection<String> anyOf) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            if (!ready) {
+                return Optional.empty();
+            }
+            Roaring64NavigableMap result = null;
+            if (!allOf.isEmpty()) {
+                List<Roaring64NavigableMap> required = new ArrayList<>(allOf.size());
+                for (String tag : allOf) {
+                    Roaring64NavigableMap bitmap = bitmaps.get(tag);
+                    if (bitmap == null) {
+                        return Optional.of(TagMatch.empty());
+                    }
+                    required.add(bitmap);
+                }
+                // Smallest first, so every intersection step works on the fewest ids.
+                required.sort(Comparator.comparingLong(Roaring64NavigableMap::getLongCardinality));
+                result = copy(required.get(0));
+                for (int i = 1; i < required.size() && !result.isEmpty(); i++) {
+                    result.and(required.get(i));
+                }
+            }
+            if (!anyOf.isEmpty()) {
+                Roaring64NavigableMap union = newBitmap();
+                for (String tag : anyOf) {
+                    Roaring64NavigableMap bitmap = bitmaps.get(tag);
+                    if (bitmap != null) {
+                        union.or(bitmap);
+                    }
+                }
+                if (result == null) {
+                    result = union;
+                } else {
+                    result.and(union);
+                }
+            }
+            return Optional.of(new TagMatch(result != null ? result : newBitmap()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int tagCount() {
+        lock.readLock().lock();
+        try {
+            return bitmaps.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Applies the tag difference between the event's before and after states, so a change read
+     * without its tags, which carries none on either side, leaves the index alone.
+     */
+    private void apply(TaskChangedEvent event) {
+        long taskId = event.getTaskId();
+        if (event.getType() == TaskChangedEvent.ChangeType.DELETED) {
+            replace(taskId, null);
+            return;
+        }
+        Set<String> before = tags(event.getBefore());
+        Set<String> after = tags(event.getAfter());
+        for (String tag : before) {
+            if (!after.contains(tag)) {
+                Roaring64NavigableMap bitmap = bitmaps.get(tag);
+                if (bitmap != null) {
+                    bitmap.removeLong(taskId);
+                    if (bitmap.isEmpty()) {
+                        bitmaps.remove(tag);
+                    }
+                }
+            }
+        }
+        for (String tag : after) {
+            if (!before.contains(tag)) {
+                bitmaps.computeIfAbsent(tag, t -> newBitmap()).addLong(taskId);
+            }
+        }
+    }
+
+    /**
+     * Puts the task under exactly the given tags, none when {@code null}.
+     */
+    private void replace(long taskId, Collection<String> tags) {
+        Iterator<Map.Entry<String, Roaring64NavigableMap>> iterator = bitmaps.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Roaring64NavigableMap> entry = iterator.next();
+            if (tags == null || !tags.contains(entry.getKey())) {
+                entry.getValue().removeLong(taskId);
+                if (entry.getValue().isEmpty()) {
+                    iterator.remove();
+                }
+            }
+        }
+        if (tags != null) {
+            tags.forEach(tag -> bitmaps.computeIfAbsent(tag, t -> newBitmap()).addLong(taskId));
+        }
+    }
+
+    private static Set<String> tags(TaskSnapshot snapshot) {
+        return snapshot == null || snapshot.getTags() == null ? Set.of() : new HashSet<>(snapshot.getTags());
+    }
+
+    /**
+     * Without cached cardinalities, so reads under the shared lock never write to a bitmap.
+     */
+    static Roaring64NavigableMap newBitmap() {
+        return new Roaring64NavigableMap(false, false);
+    }
+
+    private static Roaring64NavigableMap copy(Roaring64NavigableMap bitmap) {
+        Roaring64NavigableMap copy = newBitmap();
+        copy.or(bitmap);
+        return copy;
+    }
+}
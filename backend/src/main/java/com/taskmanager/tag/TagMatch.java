@@ -0,0 +1,53 @@
+package com.taskmanager.tag;
+
+import org.roaringbitmap.longlong.LongIterator;
+import org.roaringbitmap.longlong.Roaring64NavigableMap;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ids of the tasks that satisfy a tag predicate, as resolved by {@link TagIndex}. Owns its bitmap,
+ * so it stays valid while the index keeps changing.
+ */
+public final class TagMatch {
+
+    private final Roaring64NavigableMap ids;
+
+    TagMatch(Roaring64NavigableMap ids) {
+        this.ids = ids;
+    }
+
+    public static TagMatch empty() {
+        return new TagMatch(TagIndex.newBitmap());
+    }
+
+    public boolean contains(long id) {
+        return ids.contains(id);
+    }
+
+    public long cardinality() {
+        return ids.getLongCardinality();
+    }
+
+    public boolean isEmpty() {
+        return ids.isEmpty();
+    }
+
+    /**
+     * The matching ids in ascending order.
+     */
+    public List<Long> ids() {
+        List<Long> list = new ArrayList<>((int) Math.min(cardinality(), Integer.MAX_VALUE));
+        LongIterator iterator = ids.getLongIterator();
+        while (iterator.hasNext()) {
+            list.add(iterator.next());
+        }
+        return list;
+    }
+
+    @Override
+    public String toString() {
+        return "TagMatch[" + cardinality() + " ids]";
+    }
+}
@@ -0,0 +1,112 @@
+package com.taskmanager.tracing;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Appends finished spans to a local file as JSON lines, one span per line, for tracing without a
+ * collector to send them to. Each line carries the span's trace and parent ids, name, kind, start
+ * time and duration in microseconds, status and attributes. Batches are written by the span
+ * processor's thread and flushed once per batch.
+ */
+@Slf4j
+public class FileSpanExporter implements SpanExporter {
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final Path file;
+    private Writer writer;
+
+    public FileSpanExporter(Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+        try {
+            Writer out = writer();
+            for (SpanData span : spans) {
+                write(span, out);
+                out.write('\n');
+            }
+            out.flush();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            log.warn("Failed to write {} spans to {}", spans.size(), file, e);
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    private Writer writer() throws IOException {
+        if (writer == null) {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.WRITE);
+        }
+        return writer;
+    }
+
+    private void write(SpanData span, Writer out) throws IOException {
+        JsonGenerator generator = jsonFactory.createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.writeStartObject();
+        generator.writeStringField("traceId", span.getTraceId());
+        generator.writeStringField("spanId", span.getSpanId());
+        if (span.getParentSpanContext().isValid()) {
+            generator.writeStringField("parentSpanId", span.getParentSpanId());
+        }
+        generator.writeStringField("name", span.getName());
+        generator.writeStringField("kind", span.getKind().name());
+        generator.writeNumberField("startEpochNanos", span.getStartEpochNanos());
+        generator.writeNumberField("durationMicros", (span.getEndEpochNanos() - span.getStartEpochNanos()) / 1_000);
+        generator.writeStringField("status", span.getStatus().getStatusCode().name());
+        generator.writeObjectFieldStart("attributes");
+        for (Map.Entry<AttributeKey<?>, Object> attribute : span.getAttributes().asMap().entrySet()) {
+            generator.writeStringField(attribute.getKey().getKey(), String.valueOf(attribute.getValue()));
+        }
+        generator.writeEndObject();
+        generator.writeEndObject();
+        generator.close();
+    }
+
+    @Override
+    public synchronized CompletableResultCode flush() {
+        try {
+            if (writer != null) {
+                writer.flush();
+            }
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    @Override
+    public synchronized CompletableResultCode shutdown() {
+        try {
+            if (writer != null) {
+                writer.close();
+                writer = null;
+            }
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            return CompletableResultCode.ofFailure();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.taskmanager.tracing;
+
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Keeps the most recent finished spans in memory, oldest dropped first once {@code capacity} is
+ * reached, for tests and for inspecting traces on a node without a collector.
+ */
+public class InMemorySpanCollector implements SpanExporter {
+
+    private final int capacity;
+    private final ArrayDeque<SpanData> spans;
+
+    public InMemorySpanCollector(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.spans = new ArrayDeque<>(Math.min(capacity, 1024));
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> batch) {
+        for (SpanData span : batch) {
+            if (spans.size() == capacity) {
+                spans.removeFirst();
+            }
+            spans.addLast(span);
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+
+    /**
+     * The retained spans in the order they finished.
+     */
+    public synchronized List<SpanData> spans() {
+        return List.copyOf(spans);
+    }
+
+    /**
+     * The retained spans of one trace, in the order they finished.
+     */
+    public synchronized List<SpanData> spans(String traceId) {
+        return spans.stream().filter(span -> span.getTraceId().equals(traceId)).toList();
+    }
+
+    public synchronized void clear() {
+        spans.clear();
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public synchronized CompletableResultCode shutdown() {
+        spans.clear();
+        return CompletableResultCode.ofSuccess();
+    }
+}
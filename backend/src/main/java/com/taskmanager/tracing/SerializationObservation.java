@@ -0,0 +1,68 @@
+package com.taskmanager.tracing;
+
+import com.taskmanager.dto.TaskResponse;
+import com.taskmanager.store.TaskRowSink;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Observes the writing of a streamed list page as a {@value #OBSERVATION} observation. The
+ * observation starts with the first row the wrapped sink receives, so the time spent loading the
+ * page before that is left to the service and JDBC spans, and ends at {@link #stop}. When rows are
+ * streamed straight from the result set, reading each row falls inside it as well.
+ */
+public class SerializationObservation implements TaskRowSink {
+
+    public static final String OBSERVATION = "taskmanager.serialize";
+
+    private final TaskRowSink sink;
+    private final Observation observation;
+    private Observation.Scope scope;
+
+    public SerializationObservation(TaskRowSink sink, ObservationRegistry registry) {
+        this.sink = sink;
+        this.observation = Observation.createNotStarted(OBSERVATION, registry)
+                .contextualName("serialize json")
+                .lowCardinalityKeyValue("format", "json");
+    }
+
+    @Override
+    public void accept(ResultSet rs, List<String> tags) throws SQLException {
+        startIfIdle();
+        sink.accept(rs, tags);
+    }
+
+    @Override
+    public void accept(TaskResponse task) {
+        startIfIdle();
+        sink.accept(task);
+    }
+
+    /**
+     * Starts the observation unless a row already did, for the writing that follows the last row.
+     */
+    public void startIfIdle() {
+        if (scope == null) {
+            observation.start();
+            scope = observation.openScope();
+        }
+    }
+
+    /**
+     * Ends the observation, recording {@code error} if the page failed; does nothing if it never started.
+     */
+    public void stop(Throwable error) {
+        if (scope == null) {
+            return;
+        }
+        scope.close();
+        if (error != null) {
+            observation.error(error);
+        }
+        observation.stop();
+    }
+}
@@ -0,0 +1,62 @@
+package com.taskmanager.tracing;
+
+/**
+ * Counts the JDBC statements a thread executes through {@link TracingDataSource} while a scope is
+ * open. Scopes nest: closing an inner scope adds its count to the enclosing one. Without an open
+ * scope, counting is a single thread-local read.
+ */
+public final class StatementCounter {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private StatementCounter() {
+    }
+
+    /**
+     * Starts counting on the current thread until the returned scope is closed, on the same thread.
+     */
+    public static Scope open() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    static void increment() {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.count++;
+        }
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final Scope outer;
+        private int count;
+        private boolean closed;
+
+        private Scope(Scope outer) {
+            this.outer = outer;
+        }
+
+        /**
+         * Statements executed in this scope so far, including closed inner scopes.
+         */
+        public int count() {
+            return count;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (outer != null) {
+                outer.count += count;
+                CURRENT.set(outer);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
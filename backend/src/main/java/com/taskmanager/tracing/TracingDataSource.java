@@ -0,0 +1,157 @@
+package com.taskmanager.tracing;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Observes every JDBC statement execution as a {@value #OBSERVATION} observation, which tracing turns
+ * into a span of its own below whatever span is current, and counts it for {@link StatementCounter}.
+ * The SQL text is recorded without parameter values. Statements run outside any observation, such
+ * as those of background jobs, get no observation, so the wrapper costs a few thread-local reads when
+ * nothing is being traced.
+ * <p>
+ * The span covers the execute call: for a query that is the round trip that produces the first
+ * rows, not the reading of later ones.
+ */
+public class TracingDataSource extends DelegatingDataSource {
+
+    public static final String OBSERVATION = "taskmanager.jdbc";
+
+    private static final int MAX_STATEMENT_LENGTH = 500;
+
+    private final Supplier<ObservationRegistry> registrySupplier;
+    private final boolean spans;
+    private volatile ObservationRegistry registry;
+
+    /**
+     * @param registry looked up on the first statement, since the data source is built before the
+     *                 tracing infrastructure
+     * @param spans    whether statements are observed; when not, they are only counted
+     */
+    public TracingDataSource(DataSource target, Supplier<ObservationRegistry> registry, boolean spans) {
+        super(target);
+        this.registrySupplier = registry;
+        this.spans = spans;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return traced(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return traced(super.getConnection(username, password));
+    }
+
+    private Connection traced(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(proxy, connection, method, args);
+                    if (result instanceof Statement statement && method.getReturnType().isInterface()) {
+                        String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                        return tracedStatement(statement, method.getReturnType(), sql);
+                    }
+                    return result;
+                });
+    }
+
+    /**
+     * @param preparedSql the SQL a prepared or callable statement was created with, {@code null} for a
+     *                    plain statement, which receives its SQL on each execute call
+     */
+    private Object tracedStatement(Statement statement, Class<?> type, String preparedSql) {
+        return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    if (!method.getName().startsWith("execute")) {
+                        return invoke(proxy, statement, method, args);
+                    }
+                    StatementCounter.increment();
+                    if (!spans) {
+                        return invoke(proxy, statement, method, args);
+                    }
+                    ObservationRegistry registry = registry();
+                    if (registry.getCurrentObservation() == null) {
+                        return invoke(proxy, statement, method, args);
+                    }
+                    String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+                    Observation observation = observation(registry, sql, method.getName().equals("executeBatch"));
+                    observation.start();
+                    try (Observation.Scope scope = observation.openScope()) {
+                        return invoke(proxy, statement, method, args);
+                    } catch (Throwable e) {
+                        observation.error(e);
+                        throw e;
+                    } finally {
+                        observation.stop();
+                    }
+                });
+    }
+
+    private ObservationRegistry registry() {
+        ObservationRegistry current = registry;
+        if (current == null) {
+            current = registrySupplier.get();
+            registry = current;
+        }
+        return current;
+    }
+
+    private static Observation observation(ObservationRegistry registry, String sql, boolean batch) {
+        String operation = operation(sql);
+        Observation observation = Observation.createNotStarted(OBSERVATION, registry)
+                .contextualName("jdbc " + operation)
+                .lowCardinalityKeyValue(KeyValue.of("db.operation", operation))
+                .lowCardinalityKeyValue(KeyValue.of("db.batch", String.valueOf(batch)));
+        if (sql != null) {
+            observation.highCardinalityKeyValue(KeyValue.of("db.statement",
+                    sql.length() > MAX_STATEMENT_LENGTH ? sql.substring(0, MAX_STATEMENT_LENGTH) : sql));
+        }
+        return observation;
+    }
+
+    /**
+     * The statement's leading keyword in lower case, such as {@code select}.
+     */
+    static String operation(String sql) {
+        if (sql == null) {
+            return "unknown";
+        }
+        String trimmed = sql.stripLeading();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        return end == 0 ? "unknown" : trimmed.substring(0, end).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Forwards {@code method} to {@code target}, except that equality and hash code are those of the
+     * proxy, which is what callers hold and compare.
+     */
+    private static Object invoke(Object proxy, Object target, Method method, Object[] args) throws Throwable {
+        if (method.getName().equals("equals") && method.getParameterCount() == 1) {
+            return proxy == args[0];
+        }
+        if (method.getName().equals("hashCode") && method.getParameterCount() == 0) {
+            return System.identityHashCode(proxy);
+        }
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
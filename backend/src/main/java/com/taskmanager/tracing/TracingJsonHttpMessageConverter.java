@@ -0,0 +1,53 @@
+package com.taskmanager.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Jackson converter that observes each response body it writes as a
+ * {@value SerializationObservation#OBSERVATION} observation, tagged with the body's type.
+ */
+public class TracingJsonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final ObservationRegistry registry;
+
+    public TracingJsonHttpMessageConverter(ObjectMapper objectMapper, ObservationRegistry registry) {
+        super(objectMapper);
+        this.registry = registry;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        if (registry.getCurrentObservation() == null) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+        Observation observation = Observation.createNotStarted(SerializationObservation.OBSERVATION, registry)
+                .contextualName("serialize json")
+                .lowCardinalityKeyValue("format", "json")
+                .lowCardinalityKeyValue("type", bodyType(object));
+        observation.start();
+        try (Observation.Scope scope = observation.openScope()) {
+            super.writeInternal(object, type, outputMessage);
+        } catch (IOException | RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            observation.stop();
+        }
+    }
+
+    private static String bodyType(Object object) {
+        Object body = object instanceof MappingJacksonValue value ? value.getValue() : object;
+        return body.getClass().getSimpleName();
+    }
+}
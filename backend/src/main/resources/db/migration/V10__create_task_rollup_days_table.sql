@@ -0,0 +1,4 @@
+CREATE TABLE task_rollup_days (
+    activity_date DATE PRIMARY KEY,
+    rebuilt_at    TIMESTAMP
+);
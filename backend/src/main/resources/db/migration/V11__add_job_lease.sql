@@ -0,0 +1,4 @@
+ALTER TABLE jobs ADD COLUMN owner VARCHAR(200);
+ALTER TABLE jobs ADD COLUMN lease_until TIMESTAMP;
+
+CREATE INDEX idx_jobs_status ON jobs (status);
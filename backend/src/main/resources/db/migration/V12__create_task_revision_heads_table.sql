@@ -0,0 +1,10 @@
+CREATE TABLE task_revision_heads (
+    task_id       BIGINT PRIMARY KEY,
+    last_revision INTEGER NOT NULL,
+    last_snapshot INTEGER NOT NULL
+);
+
+INSERT INTO task_revision_heads (task_id, last_revision, last_snapshot)
+SELECT task_id, MAX(revision), MAX(CASE WHEN is_snapshot THEN revision ELSE 0 END)
+FROM task_revisions
+GROUP BY task_id;
@@ -0,0 +1,7 @@
+CREATE TABLE task_rollup_removals (
+    activity_date   DATE NOT NULL,
+    assigned_to     VARCHAR(100) NOT NULL,
+    created_count   BIGINT NOT NULL,
+    completed_count BIGINT NOT NULL,
+    PRIMARY KEY (activity_date, assigned_to)
+);
@@ -0,0 +1,15 @@
+CREATE TABLE jobs (
+    id                  BIGSERIAL PRIMARY KEY,
+    type                VARCHAR(20) NOT NULL,
+    status              VARCHAR(20) NOT NULL,
+    parameters          VARCHAR(2000),
+    total_items         BIGINT,
+    processed_items     BIGINT NOT NULL DEFAULT 0,
+    checkpoint_position BIGINT NOT NULL DEFAULT 0,
+    checkpoint_bytes    BIGINT NOT NULL DEFAULT 0,
+    cancel_requested    BOOLEAN NOT NULL DEFAULT FALSE,
+    error               VARCHAR(1000),
+    created_at          TIMESTAMP NOT NULL,
+    started_at          TIMESTAMP,
+    finished_at         TIMESTAMP
+);
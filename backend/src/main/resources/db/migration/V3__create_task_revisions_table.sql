@@ -0,0 +1,12 @@
+CREATE TABLE task_revisions (
+    id          BIGSERIAL PRIMARY KEY,
+    task_id     BIGINT NOT NULL,
+    revision    INTEGER NOT NULL,
+    kind        VARCHAR(10) NOT NULL,
+    is_snapshot BOOLEAN NOT NULL,
+    changed_at  TIMESTAMP NOT NULL,
+    changed_by  VARCHAR(100),
+    changes     BYTEA NOT NULL
+);
+
+CREATE UNIQUE INDEX uk_task_revisions_task_revision ON task_revisions (task_id, revision);
@@ -0,0 +1,3 @@
+ALTER TABLE tasks ADD COLUMN lease_expires_at TIMESTAMP;
+
+CREATE INDEX idx_tasks_lease_expires_at ON tasks (lease_expires_at);
@@ -0,0 +1,12 @@
+ALTER TABLE tasks ADD COLUMN parent_id BIGINT;
+
+CREATE INDEX idx_tasks_parent_id ON tasks (parent_id);
+
+CREATE TABLE task_closure (
+    ancestor_id   BIGINT NOT NULL,
+    descendant_id BIGINT NOT NULL,
+    depth         INTEGER NOT NULL,
+    PRIMARY KEY (ancestor_id, descendant_id)
+);
+
+CREATE INDEX idx_task_closure_descendant ON task_closure (descendant_id);
@@ -0,0 +1,7 @@
+CREATE TABLE leader_locks (
+    name         VARCHAR(100) PRIMARY KEY,
+    owner        VARCHAR(200) NOT NULL,
+    locked_until TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_tasks_completed_updated_at ON tasks (is_completed, updated_at, id);
@@ -0,0 +1,6 @@
+ALTER TABLE tasks ADD COLUMN recurrence VARCHAR(200);
+ALTER TABLE tasks ADD COLUMN series_id BIGINT;
+ALTER TABLE tasks ADD COLUMN materialized_until TIMESTAMP;
+
+CREATE INDEX idx_tasks_materialized_until ON tasks (materialized_until);
+CREATE UNIQUE INDEX uk_tasks_series_due_date ON tasks (series_id, due_date);
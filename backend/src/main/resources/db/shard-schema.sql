@@ -0,0 +1,36 @@
+CREATE TABLE IF NOT EXISTS tasks (
+    id BIGINT PRIMARY KEY,
+    title VARCHAR(100) NOT NULL,
+    description VARCHAR(500),
+    is_completed BOOLEAN NOT NULL,
+    due_date TIMESTAMP,
+    assigned_to VARCHAR(100),
+    parent_id BIGINT,
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP,
+    lease_expires_at TIMESTAMP,
+    recurrence VARCHAR(200),
+    series_id BIGINT,
+    materialized_until TIMESTAMP
+);
+
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS lease_expires_at TIMESTAMP;
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS parent_id BIGINT;
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS recurrence VARCHAR(200);
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS series_id BIGINT;
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS materialized_until TIMESTAMP;
+
+CREATE INDEX IF NOT EXISTS idx_tasks_created_at ON tasks (created_at);
+CREATE INDEX IF NOT EXISTS idx_tasks_due_date ON tasks (due_date);
+CREATE INDEX IF NOT EXISTS idx_tasks_lease_expires_at ON tasks (lease_expires_at);
+CREATE INDEX IF NOT EXISTS idx_tasks_completed_updated_at ON tasks (is_completed, updated_at, id);
+CREATE INDEX IF NOT EXISTS idx_tasks_materialized_until ON tasks (materialized_until);
+CREATE UNIQUE INDEX IF NOT EXISTS uk_tasks_series_due_date ON tasks (series_id, due_date);
+
+CREATE TABLE IF NOT EXISTS task_tags (
+    task_id BIGINT NOT NULL REFERENCES tasks (id) ON DELETE CASCADE,
+    tag VARCHAR(50) NOT NULL,
+    PRIMARY KEY (task_id, tag)
+);
+
+CREATE INDEX IF NOT EXISTS idx_task_tags_tag ON task_tags (tag);
@@ -0,0 +1,119 @@
+package com.taskmanager.benchmark;
+
+import com.taskmanager.dto.TaskClaimRequest;
+import com.taskmanager.dto.TaskResponse;
+import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.service.TaskClaimService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Hundreds of workers draining the queue through {@link TaskClaimService} at once. Reports claim
+ * throughput and latency and checks that no task was handed out twice.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {"taskmanager.scheduler.enabled=false", "taskmanager.claims.reaper.enabled=false",
+        "taskmanager.history.enabled=false", "spring.jpa.show-sql=false"})
+@ActiveProfiles("test")
+class ClaimContentionBenchmark {
+
+    private static final int TASKS = 20_000;
+    private static final int[] CLAIMERS = {100, 300};
+    private static final int[] BATCH_SIZES = {1, 10};
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskClaimService taskClaimService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void drainQueueWithConcurrentClaimers() {
+        for (int claimers : CLAIMERS) {
+            for (int batch : BATCH_SIZES) {
+                seed();
+                run(claimers, batch);
+            }
+        }
+    }
+
+    private void run(int claimers, int batch) {
+        Set<Long> claimed = ConcurrentHashMap.newKeySet();
+        AtomicInteger duplicates = new AtomicInteger();
+        AtomicInteger emptyClaims = new AtomicInteger();
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+
+        long start = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < claimers; i++) {
+                String worker = "worker-" + i;
+                executor.submit(() -> {
+                    int idleRounds = 0;
+                    while (idleRounds < 3) {
+                        long claimStart = System.nanoTime();
+                        List<TaskResponse> tasks = taskClaimService.claim(
+                                TaskClaimRequest.builder().worker(worker).count(batch).build()).getTasks();
+                        latencies.add(System.nanoTime() - claimStart);
+                        if (tasks.isEmpty()) {
+                            emptyClaims.incrementAndGet();
+                            idleRounds++;
+                        }
+                        for (TaskResponse task : tasks) {
+                            if (!claimed.add(task.getId())) {
+                                duplicates.incrementAndGet();
+                            }
+                        }
+                    }
+                });
+            }
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        System.out.printf("%3d claimers, batch %2d: %6d tasks in %.2f s (%.0f tasks/s), %d claims, p50 %.2f ms,"
+                        + " p99 %.2f ms, %d empty, %d duplicates%n",
+                claimers, batch, claimed.size(), seconds, claimed.size() / seconds, sorted.length,
+                percentile(sorted, 0.50), percentile(sorted, 0.99), emptyClaims.get(), duplicates.get());
+        assertThat(duplicates.get()).isZero();
+        assertThat(claimed).hasSize(TASKS);
+    }
+
+    private void seed() {
+        taskRepository.deleteAllInBatch();
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0);
+        List<Object[]> rows = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            Timestamp created = Timestamp.valueOf(base.plusSeconds(i));
+            rows.add(new Object[]{"Task " + i, false, Timestamp.valueOf(base.plusMinutes(i % 10_000)), created, created});
+        }
+        jdbcTemplate.batchUpdate(
+                "insert into tasks (title, is_completed, due_date, created_at, updated_at) values (?, ?, ?, ?, ?)", rows);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.min(sorted.length - 1, (int) (sorted.length * p))] / 1e6;
+    }
+}
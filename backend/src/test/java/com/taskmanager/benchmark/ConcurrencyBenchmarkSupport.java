@@ -0,0 +1,110 @@
+package com.taskmanager.benchmark;
+
+import com.taskmanager.entity.Task;
+import com.taskmanager.repository.TaskRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives many concurrent keep-alive clients against {@code GET /api/tasks} and prints
+ * throughput and latency percentiles. Subclasses pick the server stack through profiles.
+ */
+@Tag("benchmark")
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"taskmanager.rate-limit.enabled=false", "spring.jpa.show-sql=false"})
+abstract class ConcurrencyBenchmarkSupport {
+
+    private static final int CLIENTS = 2_000;
+    private static final int REQUESTS_PER_CLIENT = 20;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @BeforeEach
+    void seed() {
+        taskRepository.deleteAll();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            tasks.add(Task.builder().title("Task " + i).isCompleted(i % 3 == 0).build());
+        }
+        taskRepository.saveAll(tasks);
+    }
+
+    @Test
+    void concurrentListRequests() throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(30))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        URI uri = URI.create("http://localhost:" + port + "/api/tasks?isCompleted=false&size=20");
+        ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        AtomicInteger failures = new AtomicInteger();
+
+        long start = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int c = 0; c < CLIENTS; c++) {
+                futures.add(clients.submit(() -> {
+                    for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(
+                                    HttpRequest.newBuilder(uri).GET().build(),
+                                    HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                failures.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            failures.incrementAndGet();
+                        }
+                        latencies.add(System.nanoTime() - sent);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        long elapsedNanos = System.nanoTime() - start;
+
+        long[] sorted = latencies.stream().mapToLong(Long::longValue).sorted().toArray();
+        System.out.printf("%s: %d requests in %d ms, %.0f req/s, p50=%.1f ms, p99=%.1f ms, failures=%d%n",
+                getClass().getSimpleName(),
+                sorted.length,
+                elapsedNanos / 1_000_000,
+                sorted.length / (elapsedNanos / 1e9),
+                percentile(sorted, 0.50) / 1e6,
+                percentile(sorted, 0.99) / 1e6,
+                failures.get());
+
+        assertThat(sorted).hasSize(CLIENTS * REQUESTS_PER_CLIENT);
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.round(p * (sorted.length - 1)))];
+    }
+}
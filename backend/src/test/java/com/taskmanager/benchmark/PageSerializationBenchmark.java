@@ -0,0 +1,123 @@
+package com.taskmanager.benchmark;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.dto.PagedResponse;
+import com.taskmanager.dto.TaskResponse;
+import com.taskmanager.mapper.TaskJsonWriter;
+import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.repository.TaskRowMappers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Time and heap allocation per list page: rows mapped to {@link TaskResponse} and serialized as a
+ * {@link PagedResponse} by Jackson, against rows streamed through {@link TaskJsonWriter}. Both
+ * read the page from H2 and write to a discarding stream; allocation is measured with the
+ * per-thread allocation counter of {@link com.sun.management.ThreadMXBean}.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {"taskmanager.scheduler.enabled=false", "spring.jpa.show-sql=false"})
+@ActiveProfiles("test")
+class PageSerializationBenchmark {
+
+    private static final int TASKS = 5_000;
+    private static final int[] PAGE_SIZES = {10, 100, 1_000};
+    private static final int MIN_ITERATIONS = 200;
+    private static final OutputStream DISCARD = OutputStream.nullOutputStream();
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @BeforeEach
+    void seed() {
+        taskRepository.deleteAllInBatch();
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0);
+        List<Object[]> rows = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            Timestamp due = i % 7 == 0 ? null : Timestamp.valueOf(base.plusHours(i % 5_000));
+            Timestamp created = Timestamp.valueOf(base.plusSeconds(i).plusNanos(i * 1_000L));
+            rows.add(new Object[]{"Task " + i, "Description of task " + i, i % 3 == 0, due, "user" + i % 50, created, created});
+        }
+        jdbcTemplate.batchUpdate("insert into tasks (title, description, is_completed, due_date, assigned_to, created_at, updated_at)"
+                + " values (?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    @Test
+    void comparePageSerialization() {
+        for (int size : PAGE_SIZES) {
+            String select = "SELECT " + TaskRowMappers.COLUMNS + " FROM tasks ORDER BY created_at, id LIMIT " + size;
+            int iterations = Math.max(MIN_ITERATIONS, 200_000 / size);
+            Result dto = measure(iterations, () -> {
+                List<TaskResponse> content = jdbcTemplate.query(select, TaskRowMappers.RESPONSE);
+                write(() -> objectMapper.writeValue(DISCARD, new PagedResponse<>(content, TASKS, TASKS / size, 0, size)));
+            });
+            Result streamed = measure(iterations, () -> write(() -> {
+                try (JsonGenerator generator = objectMapper.getFactory().createGenerator(DISCARD)) {
+                    TaskJsonWriter writer = new TaskJsonWriter(generator, null);
+                    writer.writeStart();
+                    jdbcTemplate.query(select, rs -> {
+                        writer.accept(rs, List.of());
+                    });
+                    writer.writeEnd(TASKS, PageRequest.of(0, size));
+                }
+            }));
+            System.out.printf("page size %4d: DTO + Jackson %8.1f us %9d B/page, streamed %8.1f us %9d B/page%n",
+                    size, dto.micros, dto.bytes, streamed.micros, streamed.bytes);
+        }
+    }
+
+    private Result measure(int iterations, Runnable page) {
+        for (int i = 0; i < iterations / 5; i++) {
+            page.run();
+        }
+        long threadId = Thread.currentThread().threadId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            page.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        return new Result(elapsed / 1e3 / iterations, allocated / iterations);
+    }
+
+    private static void write(IoAction action) {
+        try {
+            action.run();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private interface IoAction {
+        void run() throws IOException;
+    }
+
+    private record Result(double micros, long bytes) {
+    }
+}
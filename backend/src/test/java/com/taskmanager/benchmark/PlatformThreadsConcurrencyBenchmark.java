@@ -0,0 +1,7 @@
+package com.taskmanager.benchmark;
+
+import org.springframework.test.context.ActiveProfiles;
+
+@ActiveProfiles("test")
+class PlatformThreadsConcurrencyBenchmark extends ConcurrencyBenchmarkSupport {
+}
@@ -0,0 +1,88 @@
+package com.taskmanager.benchmark;
+
+import com.taskmanager.repository.TaskQueryPlans;
+import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.service.TaskListQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Compares list queries through the precompiled per-shape SQL with the Specification/Criteria path.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {"taskmanager.scheduler.enabled=false", "spring.jpa.show-sql=false"})
+@ActiveProfiles("test")
+class QueryPlanBenchmark {
+
+    private static final int TASKS = 50_000;
+    private static final int ITERATIONS = 2_000;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskQueryPlans taskQueryPlans;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<TaskListQuery> queries = List.of(
+            TaskListQuery.of(null, null, null, "createdAt", "desc", 0, 20),
+            TaskListQuery.of(false, null, null, "dueDate", "asc", 3, 20),
+            TaskListQuery.of(null, LocalDateTime.of(2025, 3, 1, 0, 0), null, "title", "desc", 0, 20),
+            TaskListQuery.of(true, LocalDateTime.of(2025, 2, 1, 0, 0), LocalDateTime.of(2025, 2, 14, 0, 0), "title", "asc", 0, 50));
+
+    @BeforeEach
+    void seed() {
+        taskRepository.deleteAllInBatch();
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0);
+        List<Object[]> rows = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            Timestamp due = i % 7 == 0 ? null : Timestamp.valueOf(base.plusHours(i % 5_000));
+            Timestamp created = Timestamp.valueOf(base.plusSeconds(i));
+            String title = "Task " + Long.toHexString((i * 2654435761L) & 0xffffff);
+            rows.add(new Object[]{title, i % 3 == 0, due, created, created});
+        }
+        jdbcTemplate.batchUpdate(
+                "insert into tasks (title, is_completed, due_date, created_at, updated_at) values (?, ?, ?, ?, ?)", rows);
+    }
+
+    @Test
+    void compareListQueries() {
+        System.out.printf("Precompiled plans: %d data statements%n", taskQueryPlans.planCount());
+        for (TaskListQuery query : queries) {
+            double specification = measure(q -> transactionTemplate.executeWithoutResult(
+                    status -> taskRepository.findAll(q.toSpecification(), q.toPageable())), query);
+            double precompiled = measure(q -> transactionTemplate.executeWithoutResult(
+                    status -> taskQueryPlans.findPage(q)), query);
+            System.out.printf("%s: specification %.3f ms/query, precompiled %.3f ms/query%n",
+                    query, specification, precompiled);
+        }
+    }
+
+    private static double measure(Consumer<TaskListQuery> run, TaskListQuery query) {
+        for (int i = 0; i < ITERATIONS / 10; i++) {
+            run.accept(query);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            run.accept(query);
+        }
+        return (System.nanoTime() - start) / 1e6 / ITERATIONS;
+    }
+}
@@ -0,0 +1,96 @@
+package com.taskmanager.benchmark;
+
+import com.taskmanager.readmodel.TaskColumnRow;
+import com.taskmanager.readmodel.TaskColumns;
+import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.service.TaskListQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Compares list queries answered by the columnar read model with the Specification path on the database.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {"taskmanager.scheduler.enabled=false", "spring.jpa.show-sql=false"})
+@ActiveProfiles("test")
+class ReadModelBenchmark {
+
+    private static final int TASKS = 200_000;
+    private static final int ITERATIONS = 200;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<TaskListQuery> queries = List.of(
+            TaskListQuery.of(null, null, null, "createdAt", "desc", 0, 20),
+            TaskListQuery.of(false, null, null, "dueDate", "asc", 3, 20),
+            TaskListQuery.of(false, LocalDateTime.of(2026, 1, 1, 0, 0), LocalDateTime.of(2026, 6, 30, 0, 0), "title", "asc", 0, 50));
+
+    @BeforeEach
+    void seed() {
+        taskRepository.deleteAllInBatch();
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0);
+        List<Object[]> rows = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            Timestamp due = i % 7 == 0 ? null : Timestamp.valueOf(base.plusHours(i % 20_000));
+            Timestamp created = Timestamp.valueOf(base.plusSeconds(i));
+            String title = "Task " + Long.toHexString((i * 2654435761L) & 0xffffff);
+            rows.add(new Object[]{title, i % 3 == 0, due, created, created});
+        }
+        jdbcTemplate.batchUpdate(
+                "insert into tasks (title, is_completed, due_date, created_at, updated_at) values (?, ?, ?, ?, ?)", rows);
+    }
+
+    @Test
+    void compareListQueries() {
+        long buildStart = System.nanoTime();
+        TaskColumns columns = transactionTemplate.execute(status -> {
+            TreeMap<Long, TaskColumnRow> scanned = new TreeMap<>();
+            try (Stream<TaskColumnRow> stream = taskRepository.streamColumnRows()) {
+                stream.forEach(row -> scanned.put(row.getId(), row));
+            }
+            return TaskColumns.empty().apply(scanned);
+        });
+        System.out.printf("Read model build: %d tasks in %d ms, ~%d bytes/task%n",
+                columns.size(), (System.nanoTime() - buildStart) / 1_000_000, columns.estimatedBytesPerTask());
+
+        for (TaskListQuery query : queries) {
+            double database = measure(q -> transactionTemplate.executeWithoutResult(
+                    status -> taskRepository.findAll(q.toSpecification(), q.toPageable())), query);
+            double readModel = measure(q -> transactionTemplate.executeWithoutResult(
+                    status -> taskRepository.findAllById(columns.query(q).getIds())), query);
+            System.out.printf("%s: database %.2f ms/query, read model %.2f ms/query%n", query, database, readModel);
+        }
+    }
+
+    private static double measure(Consumer<TaskListQuery> run, TaskListQuery query) {
+        for (int i = 0; i < ITERATIONS / 10; i++) {
+            run.accept(query);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            run.accept(query);
+        }
+        return (System.nanoTime() - start) / 1e6 / ITERATIONS;
+    }
+}
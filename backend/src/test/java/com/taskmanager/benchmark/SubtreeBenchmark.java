@@ -0,0 +1,209 @@
+package com.taskmanager.benchmark;
+
+import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.service.TaskHierarchyService;
+import com.taskmanager.service.TaskListQuery;
+import com.taskmanager.store.TaskStore;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Subtree reads and writes through the closure table against the two usual ways of following
+ * {@code parent_id}: a recursive CTE, and a walk that issues one query per level. Runs on a deep
+ * chain, where the walk costs one round trip per level, and on a wide two-level tree, where each
+ * level is large.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {"taskmanager.scheduler.enabled=false", "spring.jpa.show-sql=false"})
+@ActiveProfiles("test")
+class SubtreeBenchmark {
+
+    private static final int DEPTH = 1_000;
+    private static final int FAN_OUT = 200;
+    private static final int LEAVES_PER_CHILD = 50;
+    private static final int ITERATIONS = 20;
+
+    private static final String RECURSIVE = "WITH RECURSIVE subtree (id) AS ("
+            + " SELECT id FROM tasks WHERE parent_id = ?"
+            + " UNION ALL SELECT t.id FROM tasks t JOIN subtree s ON t.parent_id = s.id)";
+
+    private static final String RECURSIVE_PROGRESS = RECURSIVE
+            + " SELECT COUNT(*) AS total, COUNT(CASE WHEN t.is_completed THEN 1 END) AS completed"
+            + " FROM subtree s JOIN tasks t ON t.id = s.id";
+
+    private static final String RECURSIVE_PAGE = RECURSIVE
+            + " SELECT t.id, t.title, t.created_at FROM subtree s JOIN tasks t ON t.id = s.id"
+            + " ORDER BY t.created_at, t.id LIMIT 20";
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskHierarchyService taskHierarchyService;
+
+    @Autowired
+    private TaskStore taskStore;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void deepChain() {
+        int[] parents = new int[DEPTH];
+        for (int i = 0; i < DEPTH; i++) {
+            parents[i] = i - 1;
+        }
+        long[] ids = seed(parents);
+        compare("deep chain from the root", ids[0]);
+        compare("deep chain from the middle", ids[DEPTH / 2]);
+    }
+
+    @Test
+    void wideTree() {
+        int size = 1 + FAN_OUT + FAN_OUT * LEAVES_PER_CHILD;
+        int[] parents = new int[size];
+        parents[0] = -1;
+        for (int child = 0; child < FAN_OUT; child++) {
+            parents[1 + child] = 0;
+        }
+        for (int leaf = 0; leaf < FAN_OUT * LEAVES_PER_CHILD; leaf++) {
+            parents[1 + FAN_OUT + leaf] = 1 + leaf / LEAVES_PER_CHILD;
+        }
+        long[] ids = seed(parents);
+        compare("wide tree from the root", ids[0]);
+        compare("wide tree from one child", ids[1]);
+    }
+
+    @AfterEach
+    void clear() {
+        jdbcTemplate.update("delete from task_closure");
+        taskRepository.deleteAllInBatch();
+    }
+
+    private void compare(String tree, long rootId) {
+        TaskListQuery firstPage = TaskListQuery.of(null, null, null, "createdAt", "asc", 0, 20);
+        double closurePage = measure(() -> taskHierarchyService.getSubtree(rootId, firstPage));
+        double recursivePage = measure(() -> jdbcTemplate.queryForList(RECURSIVE_PAGE, rootId));
+        System.out.printf("%s, first page: closure %.2f ms, recursive CTE %.2f ms%n", tree, closurePage, recursivePage);
+
+        long[] counts = new long[3];
+        double closureProgress = measure(() -> counts[0] = taskHierarchyService.getProgress(rootId).getSubtasks());
+        double recursiveProgress = measure(() -> counts[1] = (Long) jdbcTemplate.queryForMap(RECURSIVE_PROGRESS, rootId).get("total"));
+        double walkProgress = measure(() -> counts[2] = walk(rootId).size());
+        System.out.printf("%s, progress over %d tasks: closure %.2f ms, recursive CTE %.2f ms, per-level walk %.2f ms%n",
+                tree, counts[0], closureProgress, recursiveProgress, walkProgress);
+        if (counts[0] != counts[1] || counts[0] != counts[2]) {
+            throw new AssertionError("subtree sizes disagree for " + tree);
+        }
+
+        boolean[] state = {false};
+        double closureToggle = measure(() -> transactionTemplate.execute(
+                status -> taskStore.setSubtreeCompleted(rootId, state[0] = !state[0], LocalDateTime.now())));
+        double walkToggle = measure(() -> transactionTemplate.execute(status -> {
+            state[0] = !state[0];
+            List<Long> subtree = walk(rootId);
+            subtree.add(rootId);
+            for (int from = 0; from < subtree.size(); from += 1_000) {
+                List<Long> chunk = subtree.subList(from, Math.min(from + 1_000, subtree.size()));
+                List<Object> args = new ArrayList<>(chunk.size() + 2);
+                args.add(state[0]);
+                args.add(LocalDateTime.now());
+                args.addAll(chunk);
+                jdbcTemplate.update("update tasks set is_completed = ?, updated_at = ? where id in ("
+                        + placeholders(chunk.size()) + ")", args.toArray());
+            }
+            return null;
+        }));
+        System.out.printf("%s, set subtree completion: closure single update %.2f ms, per-level walk %.2f ms%n",
+                tree, closureToggle, walkToggle);
+    }
+
+    /**
+     * Descendants of {@code rootId}, found with one query per level.
+     */
+    private List<Long> walk(long rootId) {
+        List<Long> found = new ArrayList<>();
+        List<Long> level = List.of(rootId);
+        while (!level.isEmpty()) {
+            List<Long> next = new ArrayList<>();
+            for (int from = 0; from < level.size(); from += 1_000) {
+                List<Long> chunk = level.subList(from, Math.min(from + 1_000, level.size()));
+                next.addAll(jdbcTemplate.queryForList(
+                        "select id from tasks where parent_id in (" + placeholders(chunk.size()) + ")",
+                        Long.class, chunk.toArray()));
+            }
+            found.addAll(next);
+            level = next;
+        }
+        return found;
+    }
+
+    /**
+     * Inserts one task per entry of {@code parents}, which holds each task's parent index or -1,
+     * parents first, together with its {@code parent_id} and closure rows.
+     *
+     * @return the ids of the tasks, by index
+     */
+    private long[] seed(int[] parents) {
+        clear();
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0);
+        List<Object[]> tasks = new ArrayList<>(parents.length);
+        for (int i = 0; i < parents.length; i++) {
+            Timestamp created = Timestamp.valueOf(base.plusSeconds(i));
+            tasks.add(new Object[]{"Task " + i, i % 4 == 0, created, created});
+        }
+        jdbcTemplate.batchUpdate(
+                "insert into tasks (title, is_completed, created_at, updated_at) values (?, ?, ?, ?)", tasks);
+        long[] ids = jdbcTemplate.queryForList("select id from tasks order by id", Long.class).stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+
+        List<Object[]> parentIds = new ArrayList<>(parents.length);
+        List<Object[]> closure = new ArrayList<>();
+        for (int i = 0; i < parents.length; i++) {
+            if (parents[i] < 0) {
+                continue;
+            }
+            parentIds.add(new Object[]{ids[parents[i]], ids[i]});
+            int depth = 1;
+            for (int ancestor = parents[i]; ancestor >= 0; ancestor = parents[ancestor]) {
+                closure.add(new Object[]{ids[ancestor], ids[i], depth++});
+            }
+        }
+        jdbcTemplate.batchUpdate("update tasks set parent_id = ? where id = ?", parentIds);
+        jdbcTemplate.batchUpdate("insert into task_closure (ancestor_id, descendant_id, depth) values (?, ?, ?)", closure);
+        System.out.printf("Seeded %d tasks with %d closure rows%n", parents.length, closure.size());
+        return ids;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+
+    private static double measure(Supplier<?> run) {
+        for (int i = 0; i < ITERATIONS / 5; i++) {
+            run.get();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            run.get();
+        }
+        return (System.nanoTime() - start) / 1e6 / ITERATIONS;
+    }
+}
@@ -0,0 +1,227 @@
+package com.taskmanager.benchmark;
+
+import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.service.TaskListQuery;
+import com.taskmanager.service.TaskService;
+import com.taskmanager.tag.TagIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+/**
+ * Tag filters resolved by the bitmap index. The first part runs the index alone over millions of
+ * tasks and thousands of tags against a scan of per-task tag arrays; the second compares whole list
+ * requests on H2, bitmap ids against the grouped {@code task_tags} subquery.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {"taskmanager.scheduler.enabled=false", "spring.jpa.show-sql=false"})
+@ActiveProfiles("test")
+class TagIndexBenchmark {
+
+    private static final int INDEX_TASKS = 3_000_000;
+    private static final int DATABASE_TASKS = 100_000;
+    private static final int TAGS = 5_000;
+    private static final int MAX_TAGS_PER_TASK = 6;
+    private static final int ITERATIONS = 50;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TagIndex tagIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final List<Predicate> predicates = List.of(
+            new Predicate("two common tags", Set.of(tag(0), tag(1)), Set.of()),
+            new Predicate("common and rare tag", Set.of(tag(0), tag(900)), Set.of()),
+            new Predicate("any of ten tags", Set.of(), tagRange(10, 20)),
+            new Predicate("common tag and any of five", Set.of(tag(2)), tagRange(40, 45)));
+
+    @Test
+    void compareIndexWithScan() {
+        int[][] taskTags = new int[INDEX_TASKS][];
+        SplittableRandom random = new SplittableRandom(42);
+        for (int task = 0; task < INDEX_TASKS; task++) {
+            taskTags[task] = randomTags(random);
+        }
+
+        long buildStart = System.nanoTime();
+        TagIndex index = new TagIndex(consumer -> {
+            for (int task = 0; task < INDEX_TASKS; task++) {
+                for (int tag : taskTags[task]) {
+                    consumer.accept(tag(tag), task + 1L);
+                }
+            }
+        }, taskIds -> Map.of(), true);
+        index.rebuild();
+        System.out.printf("Tag index build: %d tasks, %d tags in %d ms%n",
+                INDEX_TASKS, index.tagCount(), (System.nanoTime() - buildStart) / 1_000_000);
+
+        for (Predicate predicate : predicates) {
+            long[] matches = new long[2];
+            double bitmap = measure(() -> matches[0] = index.match(predicate.allOf, predicate.anyOf).orElseThrow().cardinality());
+            double scan = measure(() -> matches[1] = scan(taskTags, predicate));
+            System.out.printf("%s: %d matches, bitmap %.3f ms, scan %.3f ms%n", predicate.name, matches[0], bitmap, scan);
+            if (matches[0] != matches[1]) {
+                throw new AssertionError("bitmap and scan disagree for " + predicate.name);
+            }
+        }
+    }
+
+    @Test
+    void compareListRequestsWithSubquery() {
+        seedDatabase();
+        tagIndex.rebuild();
+
+        for (Predicate predicate : predicates) {
+            TaskListQuery query = TaskListQuery.of(false, null, null, "createdAt", "desc", 0, 20)
+                    .withTags(predicate.allOf, predicate.anyOf);
+            double indexed = measure(() -> taskService.getAllTasks(query, null));
+            double subquery = measure(() -> transactionTemplate.execute(
+                    status -> taskRepository.findAll(query.toSpecification(), query.toPageable())));
+            System.out.printf("%s: bitmap + id list %.2f ms/request, task_tags subquery %.2f ms/request%n",
+                    predicate.name, indexed, subquery);
+        }
+    }
+
+    @AfterEach
+    void clearTags() {
+        jdbcTemplate.update("delete from task_tags");
+    }
+
+    private void seedDatabase() {
+        clearTags();
+        taskRepository.deleteAllInBatch();
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0);
+        SplittableRandom random = new SplittableRandom(7);
+        List<Object[]> tasks = new ArrayList<>(DATABASE_TASKS);
+        for (int i = 0; i < DATABASE_TASKS; i++) {
+            Timestamp created = Timestamp.valueOf(base.plusSeconds(i));
+            tasks.add(new Object[]{"Task " + i, i % 3 == 0, created, created});
+        }
+        jdbcTemplate.batchUpdate(
+                "insert into tasks (title, is_completed, created_at, updated_at) values (?, ?, ?, ?)", tasks);
+
+        List<Long> ids = jdbcTemplate.queryForList("select id from tasks", Long.class);
+        List<Object[]> tags = new ArrayList<>(ids.size() * MAX_TAGS_PER_TASK / 2);
+        for (Long id : ids) {
+            for (int tag : randomTags(random)) {
+                tags.add(new Object[]{id, tag(tag)});
+            }
+        }
+        jdbcTemplate.batchUpdate("insert into task_tags (task_id, tag) values (?, ?)", tags);
+    }
+
+    /**
+     * One to {@link #MAX_TAGS_PER_TASK} distinct tags, skewed so low tag numbers are common.
+     */
+    private static int[] randomTags(SplittableRandom random) {
+        int count = 1 + random.nextInt(MAX_TAGS_PER_TASK);
+        int[] tags = new int[count];
+        int filled = 0;
+        while (filled < count) {
+            double u = random.nextDouble();
+            int tag = (int) (TAGS * u * u * u);
+            boolean duplicate = false;
+            for (int i = 0; i < filled; i++) {
+                duplicate |= tags[i] == tag;
+            }
+            if (!duplicate) {
+                tags[filled++] = tag;
+            }
+        }
+        return tags;
+    }
+
+    private static long scan(int[][] taskTags, Predicate predicate) {
+        int[] allOf = predicate.allOf.stream().mapToInt(TagIndexBenchmark::tagNumber).toArray();
+        int[] anyOf = predicate.anyOf.stream().mapToInt(TagIndexBenchmark::tagNumber).toArray();
+        long matches = 0;
+        for (int[] tags : taskTags) {
+            if (containsAll(tags, allOf) && (anyOf.length == 0 || containsAny(tags, anyOf))) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    private static boolean containsAll(int[] tags, int[] required) {
+        for (int tag : required) {
+            if (!contains(tags, tag)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean containsAny(int[] tags, int[] wanted) {
+        for (int tag : wanted) {
+            if (contains(tags, tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean contains(int[] tags, int tag) {
+        for (int candidate : tags) {
+            if (candidate == tag) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static double measure(Supplier<?> run) {
+        for (int i = 0; i < ITERATIONS / 5; i++) {
+            run.get();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            run.get();
+        }
+        return (System.nanoTime() - start) / 1e6 / ITERATIONS;
+    }
+
+    private static String tag(int number) {
+        return "tag-" + number;
+    }
+
+    private static int tagNumber(String tag) {
+        return Integer.parseInt(tag.substring(4));
+    }
+
+    private static Set<String> tagRange(int from, int to) {
+        Set<String> tags = new HashSet<>();
+        for (int i = from; i < to; i++) {
+            tags.add(tag(i));
+        }
+        return tags;
+    }
+
+    private record Predicate(String name, Set<String> allOf, Set<String> anyOf) {
+    }
+}
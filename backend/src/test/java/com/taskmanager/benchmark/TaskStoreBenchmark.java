@@ -0,0 +1,121 @@
+package com.taskmanager.benchmark;
+
+import com.taskmanager.config.EmbeddedStoreProperties;
+import com.taskmanager.embedded.EmbeddedTaskStore;
+import com.taskmanager.entity.Task;
+import com.taskmanager.service.TaskListQuery;
+import com.taskmanager.store.JpaTaskStore;
+import com.taskmanager.store.TaskStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * Runs the same inserts, point reads and list queries against the JPA store and the embedded
+ * store. Inserts come from several writers at once, which is where group commit pays off.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {"taskmanager.scheduler.enabled=false", "taskmanager.history.enabled=false",
+        "spring.jpa.show-sql=false"})
+@ActiveProfiles("test")
+class TaskStoreBenchmark {
+
+    private static final int TASKS = 50_000;
+    private static final int WRITERS = 16;
+    private static final int ITERATIONS = 2_000;
+
+    @Autowired
+    private JpaTaskStore jpaTaskStore;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @TempDir
+    Path directory;
+
+    private final List<TaskListQuery> queries = List.of(
+            TaskListQuery.of(null, null, null, "createdAt", "desc", 0, 20),
+            TaskListQuery.of(false, null, null, "dueDate", "asc", 3, 20),
+            TaskListQuery.of(null, LocalDateTime.of(2025, 3, 1, 0, 0), null, "title", "desc", 0, 20),
+            TaskListQuery.of(true, LocalDateTime.of(2025, 2, 1, 0, 0), LocalDateTime.of(2025, 2, 14, 0, 0), "dueDate", "asc", 0, 50));
+
+    @Test
+    void compareStores() throws Exception {
+        jpaTaskStore.deleteAll();
+        run("jpa", jpaTaskStore, operation -> transactionTemplate.executeWithoutResult(status -> operation.run()));
+
+        EmbeddedStoreProperties properties = new EmbeddedStoreProperties();
+        properties.setDirectory(directory.toString());
+        try (EmbeddedTaskStore embedded = new EmbeddedTaskStore(properties, Clock.systemDefaultZone(), new SimpleMeterRegistry())) {
+            run("embedded", embedded, Runnable::run);
+        }
+    }
+
+    private void run(String name, TaskStore store, Consumer<Runnable> inTransaction) throws Exception {
+        Queue<Long> inserted = new ConcurrentLinkedQueue<>();
+        double insert = insertConcurrently(store, inTransaction, inserted);
+        System.out.printf("%s: insert %.3f ms/task with %d writers%n", name, insert, WRITERS);
+
+        List<Long> ids = List.copyOf(inserted);
+        double read = measure(() -> store.findById(ids.get(ThreadLocalRandom.current().nextInt(ids.size()))));
+        System.out.printf("%s: findById %.3f ms/read%n", name, read);
+        for (TaskListQuery query : queries) {
+            double list = measure(() -> inTransaction.accept(() -> store.findPage(query, null)));
+            System.out.printf("%s: %s %.3f ms/query%n", name, query, list);
+        }
+    }
+
+    private double insertConcurrently(TaskStore store, Consumer<Runnable> inTransaction, Queue<Long> ids) throws Exception {
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 0, 0);
+        ExecutorService writers = Executors.newFixedThreadPool(WRITERS);
+        long start = System.nanoTime();
+        List<Future<?>> done = new ArrayList<>();
+        for (int writer = 0; writer < WRITERS; writer++) {
+            int first = writer;
+            done.add(writers.submit(() -> {
+                for (int i = first; i < TASKS; i += WRITERS) {
+                    Task task = Task.builder()
+                            .title("Task " + Long.toHexString((i * 2654435761L) & 0xffffff))
+                            .isCompleted(i % 3 == 0)
+                            .dueDate(i % 7 == 0 ? null : base.plusHours(i % 5_000))
+                            .build();
+                    inTransaction.accept(() -> ids.add(store.save(task).getId()));
+                }
+            }));
+        }
+        for (Future<?> future : done) {
+            future.get();
+        }
+        writers.shutdown();
+        return (System.nanoTime() - start) / 1e6 / TASKS;
+    }
+
+    private static double measure(Runnable run) {
+        for (int i = 0; i < ITERATIONS / 10; i++) {
+            run.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            run.run();
+        }
+        return (System.nanoTime() - start) / 1e6 / ITERATIONS;
+    }
+}
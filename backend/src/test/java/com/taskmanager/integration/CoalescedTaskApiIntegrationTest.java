@@ -0,0 +1,10 @@
+package com.taskmanager.integration;
+
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Runs the full API contract with list coalescing on, where list pages are loaded whole and shared.
+ */
+@TestPropertySource(properties = "taskmanager.list-coalescing.enabled=true")
+class CoalescedTaskApiIntegrationTest extends TaskApiIntegrationTest {
+}
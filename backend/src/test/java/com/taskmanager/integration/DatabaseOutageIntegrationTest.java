@@ -0,0 +1,179 @@
+package com.taskmanager.integration;
+
+import com.taskmanager.dto.TaskCreateRequest;
+import com.taskmanager.entity.Task;
+import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.resilience.StaleResponses;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Read deadlines, the circuit breaker and the stale list fallback, against a data source that is
+ * taken down or slowed while the application runs. List coalescing is left at its default, off, so
+ * the fallback is the one for streamed pages.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "taskmanager.scheduler.enabled=false",
+        "taskmanager.claims.reaper.enabled=false",
+        "taskmanager.rate-limit.enabled=false",
+        "taskmanager.tracing.jdbc-spans=false",
+        "taskmanager.jfr.enabled=false",
+        "taskmanager.resilience.read-timeout=1s",
+        "taskmanager.resilience.breaker.failure-threshold=2",
+        "taskmanager.resilience.breaker.open-duration=300ms"})
+@ActiveProfiles("test")
+class DatabaseOutageIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private FaultyDataSource faultyDataSource;
+
+    private Long taskId;
+
+    @TestConfiguration
+    static class FaultInjection {
+
+        @Bean
+        static BeanPostProcessor faultyDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource && !(bean instanceof FaultyDataSource)
+                            ? new FaultyDataSource(dataSource)
+                            : bean;
+                }
+            };
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        RestAssured.port = port;
+        RestAssured.basePath = "/api/tasks";
+        taskRepository.deleteAll();
+        taskRepository.save(task("Alpha"));
+        taskId = taskRepository.save(task("Beta")).getId();
+    }
+
+    @AfterEach
+    void recover() {
+        faultyDataSource.heal();
+        // The breaker closes on the first read after the open period.
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!answersFresh()) {
+            assertThat(System.nanoTime()).as("breaker closes after the outage").isLessThan(deadline);
+            sleep(Duration.ofMillis(100));
+        }
+    }
+
+    @Test
+    @DisplayName("serves the last good list page marked stale while the database is down")
+    void outage_servesStaleListPage() {
+        given().queryParam("sortBy", "title")
+                .when().get()
+                .then()
+                .statusCode(200)
+                .header(StaleResponses.HEADER, nullValue())
+                .body("content.title", contains("Alpha", "Beta"));
+
+        faultyDataSource.goDown();
+
+        given().queryParam("sortBy", "title")
+                .when().get()
+                .then()
+                .statusCode(200)
+                .header(StaleResponses.HEADER, equalTo("true"))
+                .header("Age", notNullValue())
+                .body("content.title", contains("Alpha", "Beta"))
+                .body("totalElements", equalTo(2));
+        given().queryParam("isCompleted", true)
+                .when().get()
+                .then()
+                .statusCode(503)
+                .header("Retry-After", notNullValue())
+                .body("status", equalTo(503));
+    }
+
+    @Test
+    @DisplayName("rejects writes and uncached reads at once while the breaker is open")
+    void openBreaker_failsFast() {
+        faultyDataSource.goDown();
+        given().when().get("/{id}", taskId).then().statusCode(503);
+        given().when().get("/{id}", taskId).then().statusCode(503);
+        int requests = faultyDataSource.connectionRequests();
+
+        given().contentType(ContentType.JSON).body(TaskCreateRequest.builder().title("Gamma").build())
+                .when().post()
+                .then()
+                .statusCode(503)
+                .header("Retry-After", notNullValue());
+        given().when().get("/{id}", taskId).then().statusCode(503);
+        assertThat(faultyDataSource.connectionRequests()).isEqualTo(requests);
+
+        faultyDataSource.heal();
+        sleep(Duration.ofMillis(400));
+        given().when().get("/{id}", taskId).then().statusCode(200).body("title", equalTo("Beta"));
+        given().contentType(ContentType.JSON).body(TaskCreateRequest.builder().title("Gamma").build())
+                .when().post()
+                .then()
+                .statusCode(201);
+    }
+
+    @Test
+    @DisplayName("cuts slow reads off at the read deadline")
+    void slowDatabase_readsHitDeadline() {
+        given().queryParam("sortBy", "title").when().get().then().statusCode(200);
+
+        faultyDataSource.slowDown(Duration.ofSeconds(5));
+
+        long start = System.nanoTime();
+        given().when().get("/{id}", taskId).then().statusCode(503);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(4));
+        given().queryParam("sortBy", "title")
+                .when().get()
+                .then()
+                .statusCode(200)
+                .header(StaleResponses.HEADER, equalTo("true"));
+    }
+
+    private static Task task(String title) {
+        return Task.builder().title(title).build();
+    }
+
+    private static boolean answersFresh() {
+        Response response = given().when().get();
+        return response.statusCode() == 200 && response.header(StaleResponses.HEADER) == null;
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
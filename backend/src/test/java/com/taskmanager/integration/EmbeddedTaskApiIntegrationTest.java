@@ -0,0 +1,35 @@
+package com.taskmanager.integration;
+
+import com.taskmanager.dto.ExportJobRequest;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.TestPropertySource;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Runs the full API contract against the embedded store instead of JPA.
+ */
+@TestPropertySource(properties = {
+        "taskmanager.embedded.enabled=true",
+        "taskmanager.embedded.directory=${java.io.tmpdir}/taskmanager-embedded-${random.uuid}",
+        "taskmanager.embedded.segment-size=1MB",
+        "taskmanager.embedded.sync=false"})
+class EmbeddedTaskApiIntegrationTest extends TaskApiIntegrationTest {
+
+    @Test
+    @DisplayName("jobs, which work on the primary database's tasks table, are rejected with 501")
+    void submitJob_returns501() {
+        given()
+                .basePath("/api/jobs")
+                .contentType(ContentType.JSON)
+                .body(ExportJobRequest.builder().build())
+        .when()
+                .post("/exports")
+        .then()
+                .statusCode(501)
+                .body("message", equalTo("Jobs are not supported by the configured task store"));
+    }
+}
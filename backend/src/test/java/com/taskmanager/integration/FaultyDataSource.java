@@ -0,0 +1,123 @@
+package com.taskmanager.integration;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Data source that can be taken down or slowed, for testing how the API behaves when the database
+ * fails. Down, every connection request fails as a pool would after losing the server. Slow, every
+ * statement takes the given latency before it runs; a statement whose query timeout is shorter
+ * waits out the timeout and fails with {@link SQLTimeoutException}, as a driver would.
+ */
+class FaultyDataSource extends DelegatingDataSource {
+
+    private final AtomicInteger connectionRequests = new AtomicInteger();
+    private volatile boolean down;
+    private volatile Duration latency = Duration.ZERO;
+
+    FaultyDataSource(DataSource target) {
+        super(target);
+    }
+
+    void goDown() {
+        down = true;
+    }
+
+    void slowDown(Duration latency) {
+        this.latency = latency;
+    }
+
+    void heal() {
+        down = false;
+        latency = Duration.ZERO;
+    }
+
+    int connectionRequests() {
+        return connectionRequests.get();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return faulty(() -> super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return faulty(() -> super.getConnection(username, password));
+    }
+
+    private Connection faulty(ConnectionSource source) throws SQLException {
+        connectionRequests.incrementAndGet();
+        if (down) {
+            throw new SQLTransientConnectionException("Connection refused (simulated outage)");
+        }
+        Connection connection = source.get();
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(proxy, connection, method, args);
+                    if (result instanceof Statement statement && method.getReturnType().isInterface()) {
+                        return slowStatement(statement, method.getReturnType());
+                    }
+                    return result;
+                });
+    }
+
+    private Object slowStatement(Statement statement, Class<?> type) {
+        return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    if (method.getName().startsWith("execute")) {
+                        delay(statement.getQueryTimeout());
+                    }
+                    return invoke(proxy, statement, method, args);
+                });
+    }
+
+    private void delay(int queryTimeoutSeconds) throws SQLException {
+        Duration delay = latency;
+        if (delay.isZero()) {
+            return;
+        }
+        boolean timesOut = queryTimeoutSeconds > 0 && delay.compareTo(Duration.ofSeconds(queryTimeoutSeconds)) > 0;
+        try {
+            Thread.sleep(timesOut ? Duration.ofSeconds(queryTimeoutSeconds) : delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (timesOut) {
+            throw new SQLTimeoutException("Query timed out after " + queryTimeoutSeconds + "s (simulated latency)");
+        }
+    }
+
+    /**
+     * Forwards {@code method} to {@code target}, except that equality and hash code are those of the
+     * proxy, which is what callers hold and compare.
+     */
+    private static Object invoke(Object proxy, Object target, Method method, Object[] args) throws Throwable {
+        if (method.getName().equals("equals") && method.getParameterCount() == 1) {
+            return proxy == args[0];
+        }
+        if (method.getName().equals("hashCode") && method.getParameterCount() == 0) {
+            return System.identityHashCode(proxy);
+        }
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private interface ConnectionSource {
+        Connection get() throws SQLException;
+    }
+}
@@ -0,0 +1,163 @@
+package com.taskmanager.integration;
+
+import com.taskmanager.TaskManagerApplication;
+import com.taskmanager.dto.TaskCreateRequest;
+import com.taskmanager.invalidation.LoopbackInvalidationTransport;
+import io.restassured.http.ContentType;
+import io.restassured.response.ValidatableResponse;
+import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Two nodes in one JVM sharing one database, each with its own task cache and cached list pages,
+ * kept in step by the invalidation bus over the loopback transport.
+ */
+class InvalidationIntegrationTest {
+
+    private static final String CHANNEL = "invalidation-test-" + UUID.randomUUID();
+
+    private static ConfigurableApplicationContext first;
+    private static ConfigurableApplicationContext second;
+
+    @BeforeAll
+    static void startNodes() {
+        first = startNode("create-drop");
+        second = startNode("none");
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        if (second != null) {
+            second.close();
+        }
+        if (first != null) {
+            first.close();
+        }
+    }
+
+    @Test
+    @DisplayName("a task cached on one node is dropped there once another node changes it")
+    void change_onOtherNode_evictsCachedTask() {
+        Long id = create(first, "Shared");
+        node(second).when().get("/{id}", id).then().statusCode(200).body("isCompleted", equalTo(false));
+
+        node(first).when().patch("/{id}/toggle", id).then().statusCode(200);
+
+        awaitTask(second, id, response -> response.extract().jsonPath().getBoolean("isCompleted"))
+                .body("isCompleted", equalTo(true));
+    }
+
+    @Test
+    @DisplayName("a cached list page on one node is dropped once another node creates a task")
+    void create_onOtherNode_dropsCachedPages() {
+        String title = "Listed " + UUID.randomUUID();
+        assertThat(newestTitles(second)).doesNotContain(title);
+
+        create(first, title);
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!newestTitles(second).contains(title) && System.currentTimeMillis() < deadline) {
+            pause();
+        }
+        assertThat(newestTitles(second)).contains(title);
+    }
+
+    @Test
+    @DisplayName("a gap in a node's sequence numbers makes the others flush their whole cache")
+    void sequenceGap_flushesEverything() {
+        Long id = create(first, "Before");
+        node(second).when().get("/{id}", id).then().statusCode(200).body("title", equalTo("Before"));
+        // Changed behind both nodes' backs: no event, so only a flush can bring it to the second node.
+        first.getBean(JdbcTemplate.class).update("UPDATE tasks SET title = 'Behind' WHERE id = ?", id);
+        node(second).when().get("/{id}", id).then().body("title", equalTo("Before"));
+
+        // A node whose messages 1 to 4 never arrived.
+        try (LoopbackInvalidationTransport lossy = new LoopbackInvalidationTransport(CHANNEL)) {
+            lossy.send("lossy-node:5:T:" + (id + 1_000));
+        }
+
+        awaitTask(second, id, response -> "Behind".equals(response.extract().jsonPath().getString("title")))
+                .body("title", equalTo("Behind"));
+    }
+
+    private static ConfigurableApplicationContext startNode(String ddlAuto) {
+        return new SpringApplicationBuilder(TaskManagerApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:invalidation;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.hibernate.ddl-auto=" + ddlAuto,
+                        "spring.jpa.show-sql=false",
+                        "taskmanager.scheduler.enabled=false",
+                        "taskmanager.list-coalescing.enabled=true",
+                        "taskmanager.list-coalescing.result-ttl=10m",
+                        "taskmanager.invalidation.enabled=true",
+                        "taskmanager.invalidation.transport=loopback",
+                        "taskmanager.invalidation.channel=" + CHANNEL,
+                        "taskmanager.invalidation.batch-window=10ms")
+                .run();
+    }
+
+    private static RequestSpecification node(ConfigurableApplicationContext context) {
+        int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+        return given().port(port).basePath("/api/tasks");
+    }
+
+    private static Long create(ConfigurableApplicationContext context, String title) {
+        return node(context)
+                .contentType(ContentType.JSON)
+                .body(TaskCreateRequest.builder().title(title).build())
+                .when().post()
+                .then().statusCode(201)
+                .extract().jsonPath().getLong("id");
+    }
+
+    /**
+     * Titles on the first page of the newest tasks, a page the node caches.
+     */
+    private static List<String> newestTitles(ConfigurableApplicationContext context) {
+        return node(context)
+                .queryParam("size", 100)
+                .queryParam("sortBy", "createdAt")
+                .queryParam("sortDirection", "desc")
+                .when().get()
+                .then().statusCode(200)
+                .extract().jsonPath().getList("content.title", String.class);
+    }
+
+    private static ValidatableResponse awaitTask(ConfigurableApplicationContext context, Long id,
+                                                 Predicate<ValidatableResponse> done) {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (true) {
+            ValidatableResponse response = node(context).when().get("/{id}", id).then().statusCode(200);
+            if (done.test(response) || System.currentTimeMillis() > deadline) {
+                return response;
+            }
+            pause();
+        }
+    }
+
+    private static void pause() {
+        try {
+            Thread.sleep(50);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.taskmanager.integration;
+
+import com.taskmanager.dto.BulkUpdateJobRequest;
+import com.taskmanager.dto.ExportJobRequest;
+import com.taskmanager.dto.ImportJobRequest;
+import com.taskmanager.dto.TaskCreateRequest;
+import com.taskmanager.entity.Job;
+import com.taskmanager.entity.Task;
+import com.taskmanager.job.JobRunner;
+import com.taskmanager.repository.JobRepository;
+import com.taskmanager.repository.TaskRepository;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.restassured.response.ValidatableResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "taskmanager.jobs.chunk-size=7")
+@ActiveProfiles("test")
+class JobApiIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private JobRunner jobRunner;
+
+    @BeforeEach
+    void setUp() {
+        RestAssured.port = port;
+        RestAssured.basePath = "/api/jobs";
+        taskRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("import job creates every task in chunks")
+    void importJob_createsTasks() {
+        List<TaskCreateRequest> tasks = IntStream.range(0, 30)
+                .mapToObj(i -> TaskCreateRequest.builder().title("Imported " + i).assignedTo("Importer").build())
+                .toList();
+
+        Long jobId = submit("/imports", ImportJobRequest.builder().tasks(tasks).build());
+
+        awaitStatus(jobId, "SUCCEEDED")
+                .body("totalItems", equalTo(30))
+                .body("processedItems", equalTo(30))
+                .body("progress", equalTo(100));
+        assertThat(taskRepository.count()).isEqualTo(30);
+    }
+
+    @Test
+    @DisplayName("export job streams matching tasks as NDJSON")
+    void exportJob_writesMatchingTasks() {
+        for (int i = 0; i < 20; i++) {
+            taskRepository.save(Task.builder().title("Task " + i).isCompleted(i % 2 == 0).build());
+        }
+
+        Long jobId = submit("/exports", ExportJobRequest.builder().isCompleted(true).build());
+        awaitStatus(jobId, "SUCCEEDED").body("processedItems", equalTo(10));
+
+        String body = given().when().get("/{id}/result", jobId)
+                .then()
+                .statusCode(200)
+                .contentType("application/x-ndjson")
+                .extract().asString();
+        List<String> lines = body.lines().toList();
+        assertThat(lines).hasSize(10).allMatch(line -> line.contains("\"isCompleted\":true"));
+    }
+
+    @Test
+    @DisplayName("bulk update job changes only matching tasks")
+    void bulkUpdateJob_updatesMatchingTasks() {
+        for (int i = 0; i < 15; i++) {
+            taskRepository.save(Task.builder()
+                    .title("Task " + i)
+                    .isCompleted(false)
+                    .assignedTo(i < 10 ? "Alice" : "Bob")
+                    .build());
+        }
+
+        Long jobId = submit("/bulk-updates", BulkUpdateJobRequest.builder()
+                .filterIsCompleted(false)
+                .isCompleted(true)
+                .build());
+
+        awaitStatus(jobId, "SUCCEEDED").body("processedItems", equalTo(15));
+        assertThat(taskRepository.findAll()).allMatch(Task::getIsCompleted);
+        assertThat(taskRepository.findAll()).filteredOn(task -> "Bob".equals(task.getAssignedTo())).hasSize(5);
+    }
+
+    @Test
+    @DisplayName("bulk reassignment ends the old assignee's claim lease")
+    void bulkUpdateJob_reassignment_clearsLease() {
+        Task claimed = taskRepository.save(Task.builder()
+                .title("Claimed")
+                .isCompleted(false)
+                .assignedTo("worker-1")
+                .leaseExpiresAt(LocalDateTime.now().plusHours(1))
+                .build());
+
+        Long jobId = submit("/bulk-updates", BulkUpdateJobRequest.builder().assignedTo("Carol").build());
+
+        awaitStatus(jobId, "SUCCEEDED");
+        Task reassigned = taskRepository.findById(claimed.getId()).orElseThrow();
+        assertThat(reassigned.getAssignedTo()).isEqualTo("Carol");
+        assertThat(reassigned.getLeaseExpiresAt()).isNull();
+    }
+
+    @Test
+    @DisplayName("bulk update without a change is rejected")
+    void bulkUpdateJob_withoutChange_returns400() {
+        given()
+                .contentType(ContentType.JSON)
+                .body(BulkUpdateJobRequest.builder().filterIsCompleted(false).build())
+        .when()
+                .post("/bulk-updates")
+        .then()
+                .statusCode(400);
+    }
+
+    @Test
+    @DisplayName("finished jobs cannot be cancelled and non-exports have no result")
+    void finishedJob_cancelAndResult_return409() {
+        Long jobId = submit("/imports", ImportJobRequest.builder()
+                .tasks(List.of(TaskCreateRequest.builder().title("Only").build()))
+                .build());
+        awaitStatus(jobId, "SUCCEEDED");
+
+        given().when().post("/{id}/cancel", jobId).then().statusCode(409);
+        given().when().get("/{id}/result", jobId).then().statusCode(409);
+    }
+
+    @Test
+    @DisplayName("running job leased by another node is left alone")
+    void resume_skipsJobWithLiveLease() throws InterruptedException {
+        Job job = jobRepository.save(runningJob("other-node", LocalDateTime.now().plusMinutes(10)));
+
+        jobRunner.resumeUnfinished();
+        Thread.sleep(200);
+
+        Job after = jobRepository.findById(job.getId()).orElseThrow();
+        assertThat(after.getStatus()).isEqualTo(Job.Status.RUNNING);
+        assertThat(after.getOwner()).isEqualTo("other-node");
+        assertThat(after.getProcessedItems()).isZero();
+    }
+
+    @Test
+    @DisplayName("running job whose lease lapsed is taken over and finished")
+    void resume_takesOverJobWithExpiredLease() {
+        for (int i = 0; i < 5; i++) {
+            taskRepository.save(Task.builder().title("Task " + i).isCompleted(false).build());
+        }
+        Job job = jobRepository.save(runningJob("dead-node", LocalDateTime.now().minusMinutes(1)));
+
+        jobRunner.resumeUnfinished();
+
+        awaitStatus(job.getId(), "SUCCEEDED").body("processedItems", equalTo(5));
+        assertThat(jobRepository.findById(job.getId()).orElseThrow().getOwner()).isNotEqualTo("dead-node");
+    }
+
+    @Test
+    @DisplayName("unknown job returns 404")
+    void unknownJob_returns404() {
+        given().when().get("/{id}", 999_999).then().statusCode(404);
+    }
+
+    private Job runningJob(String owner, LocalDateTime leaseUntil) {
+        return Job.builder()
+                .type(Job.Type.EXPORT)
+                .status(Job.Status.RUNNING)
+                .parameters("{}")
+                .createdAt(LocalDateTime.now())
+                .startedAt(LocalDateTime.now())
+                .owner(owner)
+                .leaseUntil(leaseUntil)
+                .build();
+    }
+
+    private Long submit(String path, Object request) {
+        return given()
+                .contentType(ContentType.JSON)
+                .body(request)
+        .when()
+                .post(path)
+        .then()
+                .statusCode(202)
+                .header("Location", containsString("/api/jobs/"))
+                .extract().jsonPath().getLong("id");
+    }
+
+    private ValidatableResponse awaitStatus(Long jobId, String status) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (true) {
+            ValidatableResponse response = given().when().get("/{id}", jobId).then().statusCode(200);
+            String current = response.extract().jsonPath().getString("status");
+            if (status.equals(current) || System.currentTimeMillis() > deadline) {
+                return response.body("status", equalTo(status));
+            }
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
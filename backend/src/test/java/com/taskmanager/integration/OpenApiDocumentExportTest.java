@@ -0,0 +1,46 @@
+package com.taskmanager.integration;
+
+import io.restassured.RestAssured;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Generates the OpenAPI document at build time. Only runs through {@code ./gradlew exportOpenApi},
+ * which sets {@code openapi.output}.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "openapi.output", matches = ".+")
+class OpenApiDocumentExportTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void exportOpenApiDocument() throws Exception {
+        String document = given()
+                .port(port)
+                .basePath("")
+        .when()
+                .get("/api/docs")
+        .then()
+                .statusCode(200)
+                .extract()
+                .asString();
+
+        Path output = Path.of(System.getProperty("openapi.output"));
+        Files.createDirectories(output.getParent());
+        Files.writeString(output, document);
+
+        assertThat(document).contains("/api/tasks");
+    }
+}
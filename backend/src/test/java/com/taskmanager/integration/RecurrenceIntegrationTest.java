@@ -0,0 +1,194 @@
+package com.taskmanager.integration;
+
+import com.taskmanager.dto.TaskCreateRequest;
+import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.scheduler.RecurrenceMaterializer;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.restassured.path.json.JsonPath;
+import io.restassured.response.ValidatableResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Set;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Recurring tasks: occurrences created within the horizon, computed past it, and the rule's lifecycle.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "taskmanager.scheduler.enabled=false",
+        "taskmanager.recurrence.horizon=21d",
+        "taskmanager.recurrence.chunk-size=2",
+        "taskmanager.recurrence.pause=0ms"})
+@ActiveProfiles("test")
+class RecurrenceIntegrationTest {
+
+    private static final String EVERY_WEEKDAY = "FREQ=WEEKLY;BYDAY=MO,TU,WE,TH,FR";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RecurrenceMaterializer recurrenceMaterializer;
+
+    /**
+     * Nine o'clock on the first Monday after today, so the horizon covers the first three weeks.
+     */
+    private LocalDateTime monday;
+
+    @BeforeEach
+    void setUp() {
+        RestAssured.port = port;
+        RestAssured.basePath = "/api/tasks";
+        jdbcTemplate.update("DELETE FROM task_closure");
+        jdbcTemplate.update("DELETE FROM leader_locks");
+        taskRepository.deleteAll();
+        monday = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY)).atTime(9, 0);
+    }
+
+    @Test
+    @DisplayName("a range past the horizon lists computed occurrences, which the materializer turns into tasks")
+    void list_beyondHorizon_computesOccurrences() {
+        Long series = create("Stand-up", monday, EVERY_WEEKDAY)
+                .body("recurrence", equalTo(EVERY_WEEKDAY))
+                .extract().jsonPath().getLong("id");
+
+        JsonPath before = sixWeeks();
+        assertThat(before.getInt("totalElements")).isEqualTo(30);
+        assertThat(before.getList("content.id")).first().isEqualTo(series.intValue());
+        assertThat(before.getList("content.id").subList(1, 30)).containsOnlyNulls();
+        assertThat(before.getList("content.seriesId").subList(1, 30)).containsOnly(series.intValue());
+
+        // Two to three weeks of weekdays, depending on how far off Monday is.
+        int created = recurrenceMaterializer.materialize();
+        assertThat(created).isBetween(9, 14);
+
+        JsonPath after = sixWeeks();
+        assertThat(after.getInt("totalElements")).isEqualTo(30);
+        assertThat(after.getList("content.dueDate")).isEqualTo(before.getList("content.dueDate"));
+        List<Integer> ids = after.getList("content.id");
+        assertThat(ids.subList(0, created + 1)).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(ids.subList(created + 1, 30)).containsOnlyNulls();
+        assertThat(after.getList("content.tags", List.class)).allMatch(tags -> tags.equals(List.of("daily")));
+    }
+
+    @Test
+    @DisplayName("computed occurrences honor sparse fieldsets, and pages past the merge depth are rejected")
+    void list_withOccurrences_fieldsAndDepth() {
+        create("Stand-up", monday, EVERY_WEEKDAY);
+
+        given().queryParam("dueDateFrom", monday.toString())
+                .queryParam("dueDateTo", monday.plusWeeks(1).minusDays(1).toString())
+                .queryParam("fields", "title")
+                .when().get()
+                .then().statusCode(200)
+                .body("content", hasSize(5))
+                .body("content[1].title", equalTo("Stand-up"))
+                .body("content[1]", not(hasKey("dueDate")))
+                .body("content[1]", not(hasKey("tags")));
+
+        given().queryParam("dueDateFrom", monday.toString())
+                .queryParam("dueDateTo", monday.plusWeeks(1).minusDays(1).toString())
+                .queryParam("page", Integer.MAX_VALUE)
+                .queryParam("size", 100)
+                .when().get()
+                .then().statusCode(400)
+                .body("errors[0].field", equalTo("page"));
+    }
+
+    @Test
+    @DisplayName("materializing twice creates each occurrence once")
+    void materialize_isIdempotent() {
+        create("First", monday, "FREQ=DAILY");
+        create("Second", monday, "FREQ=DAILY;INTERVAL=2");
+        create("Third", monday, "FREQ=WEEKLY");
+
+        int created = recurrenceMaterializer.materialize();
+
+        assertThat(created).isPositive();
+        assertThat(recurrenceMaterializer.materialize()).isZero();
+        Integer duplicates = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM (SELECT series_id, due_date FROM tasks WHERE series_id IS NOT NULL"
+                        + " GROUP BY series_id, due_date HAVING COUNT(*) > 1) d", Integer.class);
+        assertThat(duplicates).isZero();
+        Integer instances = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tasks WHERE series_id IS NOT NULL", Integer.class);
+        assertThat(instances).isEqualTo(created);
+    }
+
+    @Test
+    @DisplayName("ending a series leaves its created occurrences and stops the computed ones")
+    void endSeries_stopsComputedOccurrences() {
+        Long series = create("Report", monday, "FREQ=WEEKLY;BYDAY=MO,TU,WE,TH,FR").extract().jsonPath().getLong("id");
+        int created = recurrenceMaterializer.materialize();
+
+        given().contentType("application/merge-patch+json")
+                .body("{\"recurrence\": null}")
+                .when().patch("/{id}", series)
+                .then().statusCode(200)
+                .body("recurrence", nullValue());
+
+        JsonPath page = sixWeeks();
+        assertThat(page.getList("content.id")).doesNotContainNull();
+        assertThat(page.getInt("totalElements")).isEqualTo(created + 1);
+    }
+
+    @Test
+    @DisplayName("an invalid rule, or a rule without a due date, is rejected on the recurrence field")
+    void create_invalidRule_rejected() {
+        given().contentType(ContentType.JSON)
+                .body(TaskCreateRequest.builder().title("Yearly").dueDate(monday).recurrence("FREQ=YEARLY").build())
+                .when().post()
+                .then().statusCode(400)
+                .body("errors[0].field", equalTo("recurrence"));
+
+        given().contentType(ContentType.JSON)
+                .body(TaskCreateRequest.builder().title("Undated").recurrence("FREQ=DAILY").build())
+                .when().post()
+                .then().statusCode(400)
+                .body("errors[0].field", equalTo("recurrence"));
+    }
+
+    private ValidatableResponse create(String title, LocalDateTime dueDate, String recurrence) {
+        return given().contentType(ContentType.JSON)
+                .body(TaskCreateRequest.builder()
+                        .title(title)
+                        .dueDate(dueDate)
+                        .recurrence(recurrence)
+                        .tags(Set.of("Daily"))
+                        .build())
+                .when().post()
+                .then().statusCode(201);
+    }
+
+    private JsonPath sixWeeks() {
+        return given()
+                .queryParam("dueDateFrom", monday.toString())
+                .queryParam("dueDateTo", monday.plusWeeks(6).minusDays(1).toString())
+                .queryParam("sortBy", "dueDate")
+                .queryParam("size", 100)
+                .when().get()
+                .then().statusCode(200)
+                .extract().jsonPath();
+    }
+}
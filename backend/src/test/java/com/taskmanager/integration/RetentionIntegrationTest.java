@@ -0,0 +1,155 @@
+package com.taskmanager.integration;
+
+import com.taskmanager.dto.TaskCreateRequest;
+import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.scheduler.RetentionPurger;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Retention purges: which tasks go, what happens to their subtasks and tags, and the cluster-wide lock.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "taskmanager.scheduler.enabled=false",
+        "taskmanager.retention.enabled=true",
+        "taskmanager.retention.completed-older-than=30d",
+        "taskmanager.retention.chunk-size=2",
+        "taskmanager.retention.pause=0ms"})
+@ActiveProfiles("test")
+class RetentionIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RetentionPurger retentionPurger;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Long root;
+    private Long a;
+    private Long a1;
+    private Long a2;
+    private Long old1;
+    private Long recent;
+    private Long openOld;
+
+    /**
+     * Four expired tasks: a, below an open root and above a1 and a2, and three top-level ones, one of
+     * them tagged. A recently completed task and an old open one are kept.
+     */
+    @BeforeEach
+    void setUp() {
+        RestAssured.port = port;
+        RestAssured.basePath = "/api/tasks";
+        jdbcTemplate.update("DELETE FROM task_closure");
+        jdbcTemplate.update("DELETE FROM leader_locks");
+        taskRepository.deleteAll();
+        root = create("root", null, null);
+        a = create("a", root, null);
+        a1 = create("a1", a, null);
+        a2 = create("a2", a, null);
+        old1 = create("old1", null, Set.of("archive"));
+        Long old2 = create("old2", null, null);
+        Long old3 = create("old3", null, null);
+        recent = create("recent", null, null);
+        openOld = create("openOld", null, null);
+
+        age(root, false, 100);
+        age(a, true, 60);
+        age(old1, true, 50);
+        age(old2, true, 45);
+        age(old3, true, 31);
+        age(a2, true, 1);
+        age(recent, true, 29);
+        age(openOld, false, 365);
+    }
+
+    @Test
+    @DisplayName("deletes expired completed tasks in chunks, promoting surviving subtasks")
+    void purge_deletesExpiredTasks() {
+        given().when().get("/{id}", a).then().statusCode(200);
+        double before = deletedCount();
+
+        assertThat(retentionPurger.purge()).isEqualTo(4);
+
+        given().when().get("/{id}", a).then().statusCode(404);
+        given().when().get("/{id}", old1).then().statusCode(404);
+        given().when().get("/{id}", a1).then().statusCode(200).body("parentId", equalTo(root.intValue()));
+        given().queryParam("sortBy", "title")
+                .when().get()
+                .then()
+                .body("content.title", contains("a1", "a2", "openOld", "recent", "root"));
+        given().queryParam("sortBy", "title")
+                .when().get("/{id}/subtree", root)
+                .then()
+                .body("content.title", contains("a1", "a2"));
+        assertThat(count("SELECT COUNT(*) FROM task_tags WHERE task_id = ?", old1)).isZero();
+        assertThat(count("SELECT COUNT(*) FROM task_closure WHERE ancestor_id = ? OR descendant_id = ?", a, a)).isZero();
+        assertThat(deletedCount() - before).isEqualTo(4);
+        assertThat(retentionPurger.purge()).isZero();
+    }
+
+    @Test
+    @DisplayName("skips the run while another node holds the lock, and takes over once it lapses")
+    void purge_respectsLock() {
+        jdbcTemplate.update("INSERT INTO leader_locks (name, owner, locked_until) VALUES (?, ?, ?)",
+                RetentionPurger.LOCK, "other-node", LocalDateTime.now().plusHours(1));
+
+        assertThat(retentionPurger.purge()).isZero();
+        given().when().get("/{id}", old1).then().statusCode(200);
+
+        jdbcTemplate.update("UPDATE leader_locks SET locked_until = ? WHERE name = ?",
+                LocalDateTime.now().minusMinutes(1), RetentionPurger.LOCK);
+
+        assertThat(retentionPurger.purge()).isEqualTo(4);
+        String owner = jdbcTemplate.queryForObject("SELECT owner FROM leader_locks WHERE name = ?",
+                String.class, RetentionPurger.LOCK);
+        assertThat(owner).isNotEqualTo("other-node");
+    }
+
+    private double deletedCount() {
+        return meterRegistry.get(RetentionPurger.DELETED_METRIC).counter().count();
+    }
+
+    private long count(String sql, Object... args) {
+        Long count = jdbcTemplate.queryForObject(sql, Long.class, args);
+        return count != null ? count : 0;
+    }
+
+    private void age(Long id, boolean completed, int daysAgo) {
+        jdbcTemplate.update("UPDATE tasks SET is_completed = ?, updated_at = ? WHERE id = ?",
+                completed, LocalDateTime.now().minusDays(daysAgo), id);
+    }
+
+    private Long create(String title, Long parentId, Set<String> tags) {
+        TaskCreateRequest request = TaskCreateRequest.builder().title(title).parentId(parentId).tags(tags).build();
+        return given().contentType(ContentType.JSON).body(request)
+                .when().post()
+                .then().statusCode(201)
+                .extract().jsonPath().getLong("id");
+    }
+}
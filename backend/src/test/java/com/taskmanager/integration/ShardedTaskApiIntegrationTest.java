@@ -0,0 +1,128 @@
+package com.taskmanager.integration;
+
+import com.taskmanager.dto.TaskCreateRequest;
+import com.taskmanager.shard.ShardIds;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "taskmanager.sharding.enabled=true",
+        "taskmanager.sharding.shards[0].url=" + ShardedTaskApiIntegrationTest.SHARD_URL + "0;DB_CLOSE_DELAY=-1",
+        "taskmanager.sharding.shards[0].username=sa",
+        "taskmanager.sharding.shards[1].url=" + ShardedTaskApiIntegrationTest.SHARD_URL + "1;DB_CLOSE_DELAY=-1",
+        "taskmanager.sharding.shards[1].username=sa",
+        "taskmanager.sharding.shards[2].url=" + ShardedTaskApiIntegrationTest.SHARD_URL + "2;DB_CLOSE_DELAY=-1",
+        "taskmanager.sharding.shards[2].username=sa"
+})
+@ActiveProfiles("test")
+class ShardedTaskApiIntegrationTest {
+
+    static final String SHARD_URL = "jdbc:h2:mem:shard";
+    private static final int SHARDS = 3;
+
+    @LocalServerPort
+    private int port;
+
+    private final List<JdbcTemplate> shards = IntStream.range(0, SHARDS)
+            .mapToObj(i -> new JdbcTemplate(new DriverManagerDataSource(SHARD_URL + i + ";DB_CLOSE_DELAY=-1", "sa", "")))
+            .toList();
+
+    @BeforeEach
+    void setUp() {
+        RestAssured.port = port;
+        RestAssured.basePath = "/api/tasks";
+        shards.forEach(shard -> shard.update("DELETE FROM tasks"));
+    }
+
+    @Test
+    @DisplayName("tasks spread over shards and each id routes to the shard holding it")
+    void createdTasks_areSpreadAndRoutedById() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            ids.add(createTask("Task " + i, "user-" + i, LocalDateTime.of(2026, 5, 1, 9, 0).plusDays(i)));
+        }
+
+        for (int shard = 0; shard < SHARDS; shard++) {
+            assertThat(shards.get(shard).queryForObject("SELECT COUNT(*) FROM tasks", Long.class)).isPositive();
+        }
+        for (Long id : ids) {
+            Long stored = shards.get(ShardIds.shardOf(id))
+                    .queryForObject("SELECT COUNT(*) FROM tasks WHERE id = ?", Long.class, id);
+            assertThat(stored).isEqualTo(1L);
+
+            given().when().get("/{id}", id).then().statusCode(200).body("id", equalTo(id));
+        }
+        assertThat(ids).isSorted();
+    }
+
+    @Test
+    @DisplayName("list queries merge all shards in the requested order")
+    void list_mergesShardsInOrder() {
+        List<LocalDateTime> dueDates = new ArrayList<>();
+        for (int i = 0; i < 15; i++) {
+            LocalDateTime due = LocalDateTime.of(2026, 5, 1, 9, 0).plusHours((i * 7L) % 15);
+            dueDates.add(due);
+            createTask("Task " + i, "user-" + i, due);
+        }
+        dueDates.sort(Comparator.reverseOrder());
+
+        List<String> page = given()
+                .queryParam("sortBy", "dueDate")
+                .queryParam("sortDirection", "desc")
+                .queryParam("page", 1)
+                .queryParam("size", 4)
+        .when()
+                .get()
+        .then()
+                .statusCode(200)
+                .body("totalElements", equalTo(15))
+                .body("content", hasSize(4))
+                .extract().jsonPath().getList("content.dueDate");
+
+        assertThat(page.stream().map(LocalDateTime::parse).toList()).isEqualTo(dueDates.subList(4, 8));
+    }
+
+    @Test
+    @DisplayName("updates and deletes go to the owning shard")
+    void updateAndDelete_routeToOwningShard() {
+        Long id = createTask("Routed", "Alice", null);
+
+        given().when().patch("/{id}/toggle", id).then().statusCode(200).body("isCompleted", equalTo(true));
+        given().when().delete("/{id}", id).then().statusCode(204);
+        given().when().get("/{id}", id).then().statusCode(404);
+    }
+
+    private Long createTask(String title, String assignedTo, LocalDateTime dueDate) {
+        TaskCreateRequest request = TaskCreateRequest.builder()
+                .title(title)
+                .assignedTo(assignedTo)
+                .dueDate(dueDate)
+                .build();
+        return given()
+                .contentType(ContentType.JSON)
+                .body(request)
+        .when()
+                .post()
+        .then()
+                .statusCode(201)
+                .extract().jsonPath().getLong("id");
+    }
+}
@@ -1,9 +1,10 @@
 package com.taskmanager.integration;
 
 import com.taskmanager.dto.TaskCreateRequest;
+import com.taskmanager.dto.TaskLookupRequest;
 import com.taskmanager.dto.TaskUpdateRequest;
 import com.taskmanager.entity.Task;
-import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.store.TaskStore;
 import io.restassured.RestAssured;
 import io.restassured.http.ContentType;
 import org.junit.jupiter.api.*;
@@ -13,6 +14,7 @@ import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.Matchers.*;
@@ -26,13 +28,13 @@ class TaskApiIntegrationTest {
     private int port;
 
     @Autowired
-    private TaskRepository taskRepository;
+    private TaskStore taskStore;
 
     @BeforeEach
     void setUp() {
         RestAssured.port = port;
         RestAssured.basePath = "/api/tasks";
-        taskRepository.deleteAll();
+        taskStore.deleteAll();
     }
 
     @Test
@@ -103,7 +105,7 @@ class TaskApiIntegrationTest {
     void getAllTasks_filterByCompleted_returnsFiltered() {
         Task completed = createSampleTask("Completed Task");
         completed.setIsCompleted(true);
-        taskRepository.save(completed);
+        taskStore.save(completed);
         createSampleTask("Incomplete Task");
 
         given()
@@ -182,6 +184,26 @@ class TaskApiIntegrationTest {
                 .body("description", equalTo("Updated Description"));
     }
 
+    @Test
+    @DisplayName("PATCH /api/tasks/{id} - merge patch should clear dueDate and keep other fields")
+    void patchTask_mergePatchClearsDueDate() {
+        Task task = createSampleTask("Patch Me");
+        task.setDueDate(LocalDateTime.of(2026, 6, 15, 10, 0));
+        task.setAssignedTo("Tester");
+        taskStore.save(task);
+
+        given()
+                .contentType("application/merge-patch+json")
+                .body("{\"dueDate\": null}")
+        .when()
+                .patch("/{id}", task.getId())
+        .then()
+                .statusCode(200)
+                .body("dueDate", nullValue())
+                .body("assignedTo", equalTo("Tester"))
+                .body("title", equalTo("Patch Me"));
+    }
+
     @Test
     @DisplayName("PATCH /api/tasks/{id}/toggle - should toggle completion status")
     void toggleTask_togglesCompletionStatus() {
@@ -223,12 +245,61 @@ class TaskApiIntegrationTest {
                 .statusCode(404);
     }
 
+    @Test
+    @DisplayName("POST /api/tasks/lookup - should return found tasks in order and list missing ids")
+    void lookupTasks_returnsFoundInOrderAndMissingIds() {
+        Task first = createSampleTask("First");
+        Task second = createSampleTask("Second");
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(TaskLookupRequest.builder()
+                        .ids(List.of(second.getId(), 99999L, first.getId()))
+                        .build())
+        .when()
+                .post("/lookup")
+        .then()
+                .statusCode(200)
+                .body("tasks.title", contains("Second", "First"))
+                .body("missingIds", contains(99999));
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks?fields=title,isCompleted - should return only the selected fields")
+    void getAllTasks_withFields_returnsSparseFieldset() {
+        createSampleTask("Sparse");
+
+        given()
+                .queryParam("fields", "title,isCompleted")
+        .when()
+                .get()
+        .then()
+                .statusCode(200)
+                .body("content[0].title", equalTo("Sparse"))
+                .body("content[0].isCompleted", equalTo(false))
+                .body("content[0].id", notNullValue())
+                .body("content[0]", not(hasKey("description")))
+                .body("content[0]", not(hasKey("createdAt")));
+    }
+
+    @Test
+    @DisplayName("GET /api/tasks?fields=unknown - should return 400")
+    void getAllTasks_withUnknownField_returns400() {
+        given()
+                .queryParam("fields", "title,secret")
+        .when()
+                .get()
+        .then()
+                .statusCode(400)
+                .body("message", containsString("secret"));
+    }
+
     private Task createSampleTask(String title) {
         Task task = Task.builder()
                 .title(title)
                 .description("Sample description")
                 .isCompleted(false)
                 .build();
-        return taskRepository.save(task);
+        return taskStore.save(task);
     }
 }
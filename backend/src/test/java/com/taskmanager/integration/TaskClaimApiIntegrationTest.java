@@ -0,0 +1,172 @@
+package com.taskmanager.integration;
+
+import com.taskmanager.dto.TaskClaimRequest;
+import com.taskmanager.dto.TaskResponse;
+import com.taskmanager.entity.Task;
+import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.service.TaskClaimService;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "taskmanager.claims.reaper.enabled=false")
+@ActiveProfiles("test")
+class TaskClaimApiIntegrationTest {
+
+    private static final LocalDateTime DUE = LocalDateTime.of(2026, 6, 1, 12, 0);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskClaimService taskClaimService;
+
+    @BeforeEach
+    void setUp() {
+        RestAssured.port = port;
+        RestAssured.basePath = "/api/tasks";
+        taskRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("claims open unassigned tasks in due date order, skipping assigned and completed ones")
+    void claim_earliestDueFirst() {
+        save("Later", DUE.plusDays(2), null, false);
+        save("Undated", null, null, false);
+        save("Soonest", DUE, null, false);
+        save("Taken", DUE.minusDays(1), "Alice", false);
+        save("Done", DUE.minusDays(1), null, true);
+
+        given().contentType(ContentType.JSON)
+                .body(Map.of("worker", "worker-1", "count", 2, "leaseSeconds", 60))
+                .when().post("/claim")
+                .then()
+                .statusCode(200)
+                .body("worker", equalTo("worker-1"))
+                .body("leaseExpiresAt", notNullValue())
+                .body("tasks.title", contains("Soonest", "Later"))
+                .body("tasks.assignedTo", everyItem(equalTo("worker-1")));
+
+        given().contentType(ContentType.JSON)
+                .body(Map.of("worker", "worker-2", "count", 5))
+                .when().post("/claim")
+                .then()
+                .statusCode(200)
+                .body("tasks.title", contains("Undated"));
+
+        given().contentType(ContentType.JSON)
+                .body(Map.of("worker", "worker-3"))
+                .when().post("/claim")
+                .then()
+                .statusCode(200)
+                .body("tasks", empty());
+    }
+
+    @Test
+    @DisplayName("rejects a claim without a worker or with too large a count")
+    void claim_validation() {
+        given().contentType(ContentType.JSON)
+                .body(Map.of("count", 1))
+                .when().post("/claim")
+                .then()
+                .statusCode(400);
+
+        given().contentType(ContentType.JSON)
+                .body(Map.of("worker", "w", "count", TaskClaimRequest.MAX_COUNT + 1))
+                .when().post("/claim")
+                .then()
+                .statusCode(400);
+    }
+
+    @Test
+    @DisplayName("concurrent claimers never receive the same task")
+    void claim_concurrentClaimersAreDisjoint() {
+        for (int i = 0; i < 30; i++) {
+            save("Task " + i, DUE.plusMinutes(i), null, false);
+        }
+
+        List<List<TaskResponse>> results;
+        try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+            List<CompletableFuture<List<TaskResponse>>> claims = IntStream.range(0, 40)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(() -> taskClaimService.claim(
+                            TaskClaimRequest.builder().worker("worker-" + i).count(2).build()).getTasks(), executor))
+                    .toList();
+            results = claims.stream().map(CompletableFuture::join).toList();
+        }
+
+        List<Long> claimedIds = results.stream().flatMap(List::stream).map(TaskResponse::getId).toList();
+        assertThat(claimedIds).doesNotHaveDuplicates().isNotEmpty();
+        assertThat(taskRepository.findAll().stream().filter(task -> task.getAssignedTo() != null).map(Task::getId))
+                .containsExactlyInAnyOrderElementsOf(claimedIds);
+    }
+
+    @Test
+    @DisplayName("the reaper returns tasks with an expired lease to the queue")
+    void releaseExpiredLeases_freesTasks() throws InterruptedException {
+        Long expiring = save("Expiring", DUE, null, false).getId();
+        Long held = save("Held", DUE.plusDays(1), null, false).getId();
+        taskClaimService.claim(TaskClaimRequest.builder().worker("slow").count(1).leaseSeconds(1L).build());
+        taskClaimService.claim(TaskClaimRequest.builder().worker("steady").count(1).leaseSeconds(600L).build());
+
+        Thread.sleep(1_100);
+
+        assertThat(taskClaimService.releaseExpiredLeases()).isEqualTo(1);
+        assertThat(taskRepository.findById(expiring).orElseThrow().getAssignedTo()).isNull();
+        assertThat(taskRepository.findById(held).orElseThrow().getAssignedTo()).isEqualTo("steady");
+
+        given().contentType(ContentType.JSON)
+                .body(Map.of("worker", "next"))
+                .when().post("/claim")
+                .then()
+                .statusCode(200)
+                .body("tasks.id", contains(expiring.intValue()));
+    }
+
+    @Test
+    @DisplayName("reassigning a claimed task ends its lease")
+    void reassign_endsLease() throws InterruptedException {
+        Long id = save("Claimed", DUE, null, false).getId();
+        taskClaimService.claim(TaskClaimRequest.builder().worker("worker").leaseSeconds(1L).build());
+
+        given().contentType(ContentType.JSON)
+                .body(Map.of("assignedTo", "Bob"))
+                .when().put("/{id}", id)
+                .then()
+                .statusCode(200);
+        Thread.sleep(1_100);
+
+        assertThat(taskClaimService.releaseExpiredLeases()).isZero();
+        assertThat(taskRepository.findById(id).orElseThrow().getAssignedTo()).isEqualTo("Bob");
+    }
+
+    private Task save(String title, LocalDateTime dueDate, String assignedTo, boolean completed) {
+        return taskRepository.save(Task.builder()
+                .title(title)
+                .dueDate(dueDate)
+                .assignedTo(assignedTo)
+                .isCompleted(completed)
+                .build());
+    }
+}
@@ -0,0 +1,191 @@
+package com.taskmanager.integration;
+
+import com.taskmanager.dto.TaskCreateRequest;
+import com.taskmanager.repository.TaskRepository;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Subtasks: closure maintenance on create, move and delete, and the subtree endpoints.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class TaskHierarchyIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long root;
+    private Long a;
+    private Long a1;
+    private Long a2;
+    private Long b;
+
+    /**
+     * A root with subtasks a and b, where a has subtasks a1 and a2.
+     */
+    @BeforeEach
+    void setUp() {
+        RestAssured.port = port;
+        RestAssured.basePath = "/api/tasks";
+        jdbcTemplate.update("DELETE FROM task_closure");
+        taskRepository.deleteAll();
+        root = create("root", null);
+        a = create("a", root);
+        a1 = create("a1", a);
+        a2 = create("a2", a);
+        b = create("b", root);
+    }
+
+    @Test
+    @DisplayName("lists a subtree at every depth, without its root, paginated and filtered")
+    void subtree_listsDescendants() {
+        given().queryParam("sortBy", "title")
+                .when().get("/{id}/subtree", root)
+                .then()
+                .statusCode(200)
+                .body("content.title", contains("a", "a1", "a2", "b"))
+                .body("content[1].parentId", equalTo(a.intValue()))
+                .body("totalElements", equalTo(4));
+        given().queryParam("sortBy", "title").queryParam("size", 1).queryParam("page", 1)
+                .when().get("/{id}/subtree", a)
+                .then()
+                .body("content.title", contains("a2"))
+                .body("totalElements", equalTo(2));
+        given().when().patch("/{id}/toggle", a1).then().statusCode(200);
+        given().queryParam("isCompleted", true)
+                .when().get("/{id}/subtree", root)
+                .then()
+                .body("content.id", contains(a1.intValue()));
+        given().when().get("/{id}/subtree", b)
+                .then()
+                .statusCode(200)
+                .body("content", empty());
+        given().when().get("/{id}/subtree", 999_999).then().statusCode(404);
+    }
+
+    @Test
+    @DisplayName("rolls completion up over the whole subtree")
+    void progress_rollsUp() {
+        given().when().patch("/{id}/toggle", a1).then().statusCode(200);
+
+        given().when().get("/{id}/progress", root)
+                .then()
+                .statusCode(200)
+                .body("taskId", equalTo(root.intValue()))
+                .body("subtasks", equalTo(4))
+                .body("completedSubtasks", equalTo(1))
+                .body("percentComplete", equalTo(25.0f));
+        given().when().get("/{id}/progress", a1)
+                .then()
+                .body("subtasks", equalTo(0))
+                .body("percentComplete", equalTo(100.0f));
+        given().when().get("/{id}/progress", 999_999).then().statusCode(404);
+    }
+
+    @Test
+    @DisplayName("toggles a task and everything below it to the same state")
+    void toggleSubtree_setsWholeSubtree() {
+        given().when().patch("/{id}/toggle", a2).then().statusCode(200);
+
+        given().when().patch("/{id}/subtree/toggle", a)
+                .then()
+                .statusCode(200)
+                .body("percentComplete", equalTo(100.0f));
+        given().when().get("/{id}", a).then().body("isCompleted", equalTo(true));
+        given().when().get("/{id}", a1).then().body("isCompleted", equalTo(true));
+        given().when().get("/{id}", b).then().body("isCompleted", equalTo(false));
+        given().when().get("/{id}/progress", root).then().body("completedSubtasks", equalTo(3));
+
+        given().when().patch("/{id}/subtree/toggle", a)
+                .then()
+                .body("completedSubtasks", equalTo(0));
+        given().when().get("/{id}", a2).then().body("isCompleted", equalTo(false));
+    }
+
+    @Test
+    @DisplayName("moves a task with its subtree and refuses cycles and unknown parents")
+    void reparent_movesSubtree() {
+        given().contentType(ContentType.JSON).body(Map.of("parentId", b))
+                .when().put("/{id}", a)
+                .then().statusCode(200).body("parentId", equalTo(b.intValue()));
+
+        given().queryParam("sortBy", "title")
+                .when().get("/{id}/subtree", b)
+                .then()
+                .body("content.title", contains("a", "a1", "a2"));
+        given().when().get("/{id}/progress", root).then().body("subtasks", equalTo(4));
+
+        given().contentType("application/merge-patch+json").body(Map.of("parentId", a1))
+                .when().patch("/{id}", b)
+                .then().statusCode(400)
+                .body("errors[0].field", equalTo("parentId"));
+        given().contentType(ContentType.JSON).body(Map.of("parentId", 999_999))
+                .when().put("/{id}", a)
+                .then().statusCode(400);
+
+        given().contentType("application/merge-patch+json").body("{\"parentId\": null}")
+                .when().patch("/{id}", a)
+                .then().statusCode(200).body("parentId", nullValue());
+        given().when().get("/{id}/progress", root).then().body("subtasks", equalTo(1));
+        given().when().get("/{id}/subtree", a).then().body("totalElements", equalTo(2));
+    }
+
+    @Test
+    @DisplayName("deleting a task promotes its subtasks to its parent")
+    void delete_promotesSubtasks() {
+        given().when().delete("/{id}", a).then().statusCode(204);
+
+        given().when().get("/{id}", a1).then().body("parentId", equalTo(root.intValue()));
+        given().queryParam("sortBy", "title")
+                .when().get("/{id}/subtree", root)
+                .then()
+                .body("content.title", contains("a1", "a2", "b"));
+
+        given().when().delete("/{id}", root).then().statusCode(204);
+        given().when().get("/{id}", b).then().body("parentId", nullValue());
+        assertNoClosureRows();
+    }
+
+    @Test
+    @DisplayName("rejects a subtask of a task that does not exist")
+    void create_unknownParent_returns400() {
+        given().contentType(ContentType.JSON).body(Map.of("title", "Orphan", "parentId", 999_999))
+                .when().post()
+                .then().statusCode(400);
+    }
+
+    private void assertNoClosureRows() {
+        Long remaining = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM task_closure WHERE ancestor_id = ? OR descendant_id = ?", Long.class, root, root);
+        assertThat(remaining).isZero();
+    }
+
+    private Long create(String title, Long parentId) {
+        TaskCreateRequest request = TaskCreateRequest.builder().title(title).parentId(parentId).build();
+        return given().contentType(ContentType.JSON).body(request)
+                .when().post()
+                .then().statusCode(201)
+                .extract().jsonPath().getLong("id");
+    }
+}
@@ -0,0 +1,163 @@
+package com.taskmanager.integration;
+
+import com.taskmanager.dto.TaskCreateRequest;
+import com.taskmanager.history.TaskHistoryRecorder;
+import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.repository.TaskRevisionRepository;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Map;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"taskmanager.history.snapshot-interval=3", "taskmanager.history.flush-interval=1h"})
+@ActiveProfiles("test")
+class TaskHistoryIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskRevisionRepository revisionRepository;
+
+    @Autowired
+    private TaskHistoryRecorder recorder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        RestAssured.port = port;
+        RestAssured.basePath = "/api/tasks";
+        recorder.flush();
+        taskRepository.deleteAll();
+        revisionRepository.deleteAll();
+        jdbcTemplate.update("DELETE FROM task_revision_heads");
+    }
+
+    @Test
+    @DisplayName("records creation, field diffs and periodic snapshots with the acting user")
+    void history_recordsDiffsAndSnapshots() {
+        Long id = create("Draft");
+        patch(id, Map.of("title", "Second"));
+        patch(id, Map.of("assignedTo", "Bob"));
+        given().header("X-User", "carol").when().patch("/{id}/toggle", id).then().statusCode(200);
+        recorder.flush();
+
+        given().when().get("/{id}/history", id)
+                .then()
+                .statusCode(200)
+                .body("revisions.revision", contains(4, 3, 2, 1))
+                .body("revisions.kind", contains("UPDATED", "UPDATED", "UPDATED", "CREATED"))
+                .body("revisions.snapshot", contains(true, false, false, true))
+                .body("revisions[0].changedBy", equalTo("carol"))
+                .body("revisions[0].changes.title", equalTo("Second"))
+                .body("revisions[1].changes", equalTo(Map.of("assignedTo", "Bob")))
+                .body("revisions[2].changes", equalTo(Map.of("title", "Second")))
+                .body("revisions[3].changes.title", equalTo("Draft"))
+                .body("nextBefore", nullValue());
+    }
+
+    @Test
+    @DisplayName("continues the revision sequence another node has advanced")
+    void history_continuesSequenceFromHead() {
+        Long id = create("Draft");
+        recorder.flush();
+        jdbcTemplate.update("UPDATE task_revision_heads SET last_revision = 7, last_snapshot = 7 WHERE task_id = ?", id);
+
+        patch(id, Map.of("title", "Second"));
+        recorder.flush();
+
+        given().when().get("/{id}/history", id)
+                .then()
+                .statusCode(200)
+                .body("revisions.revision", contains(8, 1))
+                .body("revisions[0].snapshot", equalTo(false));
+    }
+
+    @Test
+    @DisplayName("pages backwards with the nextBefore cursor")
+    void history_keysetPaging() {
+        Long id = create("v0");
+        for (int i = 1; i <= 4; i++) {
+            patch(id, Map.of("title", "v" + i));
+        }
+        recorder.flush();
+
+        Integer nextBefore = given().queryParam("size", 2).when().get("/{id}/history", id)
+                .then()
+                .statusCode(200)
+                .body("revisions.revision", contains(5, 4))
+                .extract().path("nextBefore");
+
+        given().queryParam("size", 2).queryParam("before", nextBefore).when().get("/{id}/history", id)
+                .then()
+                .statusCode(200)
+                .body("revisions.revision", contains(3, 2))
+                .body("nextBefore", equalTo(2));
+
+        given().queryParam("size", 2).queryParam("before", 2).when().get("/{id}/history", id)
+                .then()
+                .statusCode(200)
+                .body("revisions.revision", contains(1))
+                .body("nextBefore", nullValue());
+    }
+
+    @Test
+    @DisplayName("rebuilds the state at a point in time and reports deleted tasks as missing")
+    void stateAt_rebuildsFromSnapshotAndDiffs() {
+        Long id = create("Original");
+        patch(id, Map.of("title", "Renamed"));
+        patch(id, Map.of("description", "Details"));
+        String afterDescription = given().when().get("/{id}", id).then().extract().path("updatedAt");
+        patch(id, Map.of("title", "Final"));
+        given().when().delete("/{id}", id).then().statusCode(204);
+        recorder.flush();
+
+        given().queryParam("time", afterDescription).when().get("/{id}/history/at", id)
+                .then()
+                .statusCode(200)
+                .body("title", equalTo("Renamed"))
+                .body("description", equalTo("Details"))
+                .body("isCompleted", equalTo(false));
+
+        given().queryParam("time", "2100-01-01T00:00:00").when().get("/{id}/history/at", id)
+                .then()
+                .statusCode(404);
+    }
+
+    @Test
+    @DisplayName("returns 404 for a task that never existed")
+    void history_unknownTask() {
+        given().when().get("/{id}/history", 999_999L).then().statusCode(404);
+    }
+
+    private Long create(String title) {
+        return given().contentType(ContentType.JSON)
+                .body(TaskCreateRequest.builder().title(title).build())
+                .when().post()
+                .then().statusCode(201)
+                .extract().jsonPath().getLong("id");
+    }
+
+    private void patch(Long id, Map<String, Object> patch) {
+        given().contentType(ContentType.JSON).body(patch)
+                .when().patch("/{id}", id)
+                .then().statusCode(200);
+    }
+}
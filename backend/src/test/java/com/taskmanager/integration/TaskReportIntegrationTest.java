@@ -0,0 +1,225 @@
+package com.taskmanager.integration;
+
+import com.taskmanager.dto.RollupBackfillJobRequest;
+import com.taskmanager.dto.TaskCreateRequest;
+import com.taskmanager.entity.Task;
+import com.taskmanager.report.TaskRollupRecorder;
+import com.taskmanager.repository.TaskRepository;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.restassured.path.json.JsonPath;
+import io.restassured.response.ValidatableResponse;
+import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "taskmanager.reports.flush-interval=1h")
+@ActiveProfiles("test")
+class TaskReportIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskRollupRecorder recorder;
+
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        RestAssured.port = port;
+        RestAssured.basePath = "";
+        recorder.flush();
+        jdbcTemplate.update("DELETE FROM task_daily_rollups");
+        jdbcTemplate.update("DELETE FROM task_rollup_days");
+        jdbcTemplate.update("DELETE FROM task_rollup_removals");
+        jdbcTemplate.update("DELETE FROM task_closure");
+        taskRepository.deleteAll();
+        today = LocalDate.now();
+    }
+
+    @Test
+    @DisplayName("created and completed tasks show up per assignee once flushed")
+    void report_countsLiveChanges() {
+        Long first = create("Alice");
+        create("Alice");
+        create(null);
+        given().when().patch("/api/tasks/{id}/toggle", first).then().statusCode(200);
+
+        recorder.flush();
+
+        report("day", today, today)
+                .body("buckets", hasSize(1))
+                .body("buckets[0].start", equalTo(today.toString()))
+                .body("buckets[0].created", equalTo(3))
+                .body("buckets[0].completed", equalTo(1))
+                .body("buckets[0].assignees", hasSize(2))
+                .body("buckets[0].assignees[0].assignedTo", nullValue())
+                .body("buckets[0].assignees[1].assignedTo", equalTo("Alice"))
+                .body("buckets[0].assignees[1].created", equalTo(2))
+                .body("buckets[0].assignees[1].completed", equalTo(1));
+        report("day", today, today, "Alice").body("buckets[0].created", equalTo(2));
+    }
+
+    @Test
+    @DisplayName("weekly buckets start on Monday and cover the range, with zeros where nothing happened")
+    void report_weeklyBuckets_zeroFilled() {
+        create("Alice");
+        recorder.flush();
+
+        JsonPath report = report("week", today.minusWeeks(2), today).extract().jsonPath();
+
+        LocalDate monday = today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        assertThat(report.getString("from")).isEqualTo(monday.minusWeeks(2).toString());
+        assertThat(report.getString("to")).isEqualTo(monday.plusDays(6).toString());
+        assertThat(report.getList("buckets.start"))
+                .containsExactly(monday.minusWeeks(2).toString(), monday.minusWeeks(1).toString(), monday.toString());
+        assertThat(report.getList("buckets.created", Integer.class)).containsExactly(0, 0, 1);
+    }
+
+    @Test
+    @DisplayName("a backfill rebuilds past days from the tasks, and running it again changes nothing")
+    void backfill_rebuildsPastDays() {
+        LocalDate threeDaysAgo = today.minusDays(3);
+        saveAt("Bob", false, threeDaysAgo);
+        saveAt("Bob", true, threeDaysAgo);
+        saveAt(null, false, today.minusDays(1));
+
+        for (int run = 0; run < 2; run++) {
+            backfill(today.minusDays(5)).body("totalItems", equalTo(5));
+
+            report("day", today.minusDays(5), today.minusDays(1))
+                    .body("buckets.created", contains(0, 0, 2, 0, 1))
+                    .body("buckets.completed", contains(0, 0, 1, 0, 0))
+                    .body("buckets[2].assignees[0].assignedTo", equalTo("Bob"));
+        }
+    }
+
+    @Test
+    @DisplayName("a change to a past day counted before a backfill and flushed after it is not applied twice")
+    void backfill_racingChangeToPastDay_countedOnce() {
+        LocalDate twoDaysAgo = today.minusDays(2);
+        Long id = saveAt("Bob", true, twoDaysAgo);
+        backfill(twoDaysAgo);
+
+        given().when().patch("/api/tasks/{id}/toggle", id).then().statusCode(200);
+        backfill(twoDaysAgo);
+        recorder.flush();
+
+        report("day", twoDaysAgo, twoDaysAgo)
+                .body("buckets[0].created", equalTo(1))
+                .body("buckets[0].completed", equalTo(0));
+    }
+
+    @Test
+    @DisplayName("a deleted task keeps counting on a rebuilt day, through later backfills too")
+    void backfill_deletedTask_keepsCounting() {
+        LocalDate twoDaysAgo = today.minusDays(2);
+        Long id = saveAt("Bob", true, twoDaysAgo);
+        saveAt("Bob", false, twoDaysAgo);
+        backfill(twoDaysAgo);
+
+        given().when().delete("/api/tasks/{id}", id).then().statusCode(204);
+        recorder.flush();
+        report("day", twoDaysAgo, twoDaysAgo)
+                .body("buckets[0].created", equalTo(2))
+                .body("buckets[0].completed", equalTo(1));
+
+        backfill(twoDaysAgo);
+        report("day", twoDaysAgo, twoDaysAgo)
+                .body("buckets[0].created", equalTo(2))
+                .body("buckets[0].completed", equalTo(1));
+    }
+
+    @Test
+    @DisplayName("an unknown bucket, an inverted range or too long a range is rejected")
+    void report_invalidParameters_return400() {
+        report("year", today, today, null, 400).body("errors[0].field", equalTo("bucket"));
+        report("day", today, today.minusDays(1), null, 400).body("errors[0].field", equalTo("from"));
+        report("day", today.minusYears(10), today, null, 400).body("errors[0].field", equalTo("to"));
+    }
+
+    private Long create(String assignedTo) {
+        return given().contentType(ContentType.JSON)
+                .body(TaskCreateRequest.builder().title("Report me").assignedTo(assignedTo).build())
+                .when().post("/api/tasks")
+                .then().statusCode(201)
+                .extract().jsonPath().getLong("id");
+    }
+
+    /**
+     * Saved through the repository, which publishes no change events, then moved to noon on {@code day}.
+     */
+    private Long saveAt(String assignedTo, boolean completed, LocalDate day) {
+        Task task = taskRepository.save(Task.builder().title("Old").assignedTo(assignedTo).isCompleted(completed).build());
+        jdbcTemplate.update("UPDATE tasks SET created_at = ?, updated_at = ? WHERE id = ?",
+                day.atTime(12, 0), day.atTime(12, 0), task.getId());
+        return task.getId();
+    }
+
+    private ValidatableResponse backfill(LocalDate from) {
+        Long jobId = given().contentType(ContentType.JSON)
+                .body(RollupBackfillJobRequest.builder().from(from).build())
+                .when().post("/api/jobs/rollup-backfills")
+                .then().statusCode(202)
+                .extract().jsonPath().getLong("id");
+        return awaitStatus(jobId, "SUCCEEDED");
+    }
+
+    private ValidatableResponse report(String bucket, LocalDate from, LocalDate to) {
+        return report(bucket, from, to, null);
+    }
+
+    private ValidatableResponse report(String bucket, LocalDate from, LocalDate to, String assignedTo) {
+        return report(bucket, from, to, assignedTo, 200);
+    }
+
+    private ValidatableResponse report(String bucket, LocalDate from, LocalDate to, String assignedTo, int status) {
+        RequestSpecification request = given()
+                .queryParam("bucket", bucket)
+                .queryParam("from", from.toString())
+                .queryParam("to", to.toString());
+        if (assignedTo != null) {
+            request.queryParam("assignedTo", assignedTo);
+        }
+        return request.when().get("/api/reports/tasks").then().statusCode(status);
+    }
+
+    private ValidatableResponse awaitStatus(Long jobId, String status) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (true) {
+            ValidatableResponse response = given().when().get("/api/jobs/{id}", jobId).then().statusCode(200);
+            String current = response.extract().jsonPath().getString("status");
+            if (status.equals(current) || System.currentTimeMillis() > deadline) {
+                return response.body("status", equalTo(status));
+            }
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.taskmanager.integration;
+
+import com.taskmanager.dto.TaskCreateRequest;
+import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.tag.TagIndex;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Tag storage and tag filters, resolved through the bitmap index.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class TaskTagIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TagIndex tagIndex;
+
+    @BeforeEach
+    void setUp() {
+        RestAssured.port = port;
+        RestAssured.basePath = "/api/tasks";
+        taskRepository.deleteAll();
+        tagIndex.rebuild();
+    }
+
+    @Test
+    @DisplayName("stores tags trimmed, lower-cased, deduplicated and sorted")
+    void create_normalizesTags() {
+        Long id = create("Tagged", Set.of(" Urgent ", "backend", "URGENT "), false);
+
+        given().when().get("/{id}", id)
+                .then()
+                .statusCode(200)
+                .body("tags", contains("backend", "urgent"));
+        given().when().get()
+                .then()
+                .statusCode(200)
+                .body("content[0].tags", contains("backend", "urgent"));
+    }
+
+    @Test
+    @DisplayName("rejects blank tags and more than 20 tags")
+    void create_invalidTags_returns400() {
+        given().contentType(ContentType.JSON)
+                .body(Map.of("title", "Bad", "tags", List.of(" ")))
+                .when().post()
+                .then().statusCode(400);
+        given().contentType(ContentType.JSON)
+                .body(Map.of("title", "Bad", "tags", IntStream.range(0, 21).mapToObj(i -> "t" + i).toList()))
+                .when().post()
+                .then().statusCode(400);
+    }
+
+    @Test
+    @DisplayName("filters by all-of and any-of tags combined with the other filters")
+    void list_filtersByTags() {
+        Long ab = create("ab", Set.of("a", "b"), false);
+        Long a = create("a", Set.of("a"), false);
+        Long bc = create("bc", Set.of("b", "c"), false);
+        Long abDone = create("ab done", Set.of("a", "b"), true);
+        create("untagged", Set.of(), false);
+
+        given().queryParam("tags", "a,B").queryParam("sortBy", "title")
+                .when().get()
+                .then()
+                .statusCode(200)
+                .body("content.id", contains(ab.intValue(), abDone.intValue()))
+                .body("totalElements", equalTo(2));
+        given().queryParam("anyTags", "c,a").queryParam("sortBy", "title").queryParam("sortDirection", "desc")
+                .when().get()
+                .then()
+                .body("content.id", contains(bc.intValue(), abDone.intValue(), ab.intValue(), a.intValue()));
+        given().queryParam("tags", "b").queryParam("anyTags", "a,x").queryParam("isCompleted", false)
+                .when().get()
+                .then()
+                .body("content.id", contains(ab.intValue()))
+                .body("totalElements", equalTo(1));
+        given().queryParam("tags", "a,unknown")
+                .when().get()
+                .then()
+                .statusCode(200)
+                .body("content", empty())
+                .body("totalElements", equalTo(0));
+        given().queryParam("tags", "a").queryParam("size", 1).queryParam("page", 1).queryParam("sortBy", "title")
+                .when().get()
+                .then()
+                .body("content.id", contains(ab.intValue()))
+                .body("totalElements", equalTo(3));
+    }
+
+    @Test
+    @DisplayName("PUT and PATCH replace the tag set and filters follow")
+    void update_replacesTags() {
+        Long id = create("Retag", Set.of("old"), false);
+
+        given().contentType(ContentType.JSON).body(Map.of("tags", List.of("New", "other")))
+                .when().put("/{id}", id)
+                .then().statusCode(200).body("tags", contains("new", "other"));
+        given().queryParam("tags", "old").when().get().then().body("totalElements", equalTo(0));
+        given().queryParam("tags", "new").when().get().then().body("content.id", contains(id.intValue()));
+
+        given().contentType("application/merge-patch+json").body("{\"tags\": null}")
+                .when().patch("/{id}", id)
+                .then().statusCode(200).body("tags", empty());
+        given().queryParam("anyTags", "new,other").when().get().then().body("totalElements", equalTo(0));
+    }
+
+    @Test
+    @DisplayName("a deleted task no longer matches its tags")
+    void delete_removesTags() {
+        Long id = create("Doomed", Set.of("gone"), false);
+        given().when().delete("/{id}", id).then().statusCode(204);
+
+        given().queryParam("tags", "gone").when().get().then().body("totalElements", equalTo(0));
+    }
+
+    private Long create(String title, Set<String> tags, boolean completed) {
+        TaskCreateRequest request = TaskCreateRequest.builder().title(title).tags(tags).build();
+        Long id = given().contentType(ContentType.JSON).body(request)
+                .when().post()
+                .then().statusCode(201)
+                .extract().jsonPath().getLong("id");
+        if (completed) {
+            given().when().patch("/{id}/toggle", id).then().statusCode(200);
+        }
+        return id;
+    }
+}
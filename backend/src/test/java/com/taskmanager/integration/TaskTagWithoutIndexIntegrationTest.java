@@ -0,0 +1,10 @@
+package com.taskmanager.integration;
+
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Runs the tag contract with the bitmap index off, so every tag filter is a SQL subquery.
+ */
+@TestPropertySource(properties = "taskmanager.tags.index-enabled=false")
+class TaskTagWithoutIndexIntegrationTest extends TaskTagIntegrationTest {
+}
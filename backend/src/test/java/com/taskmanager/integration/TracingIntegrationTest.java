@@ -0,0 +1,149 @@
+package com.taskmanager.integration;
+
+import com.taskmanager.entity.Task;
+import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.tracing.InMemorySpanCollector;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.restassured.RestAssured;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static io.restassured.RestAssured.given;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Spans for a request from the HTTP server down to SQL statements and serialization, continuing the
+ * caller's W3C trace context and honouring its sampling decision.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "taskmanager.scheduler.enabled=false",
+        "taskmanager.tracing.exporter=memory",
+        "management.tracing.sampling.probability=1.0"})
+@AutoConfigureObservability(metrics = false)
+@ActiveProfiles("test")
+class TracingIntegrationTest {
+
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String CALLER_SPAN_ID = "00f067aa0ba902b7";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private InMemorySpanCollector collector;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    private Long taskId;
+
+    @BeforeEach
+    void setUp() {
+        RestAssured.port = port;
+        RestAssured.basePath = "/api/tasks";
+        taskRepository.deleteAll();
+        taskRepository.save(Task.builder().title("Alpha").build());
+        taskId = taskRepository.save(Task.builder().title("Beta").build()).getId();
+        collector.clear();
+    }
+
+    @Test
+    @DisplayName("traces a list request through controller, service, SQL and serialization in the caller's trace")
+    void listRequest_spansEveryLayer() {
+        given().header("traceparent", "00-" + TRACE_ID + "-" + CALLER_SPAN_ID + "-01")
+                .queryParam("isCompleted", false)
+                .when().get()
+                .then().statusCode(200);
+
+        List<SpanData> spans = awaitServerSpan(TRACE_ID);
+        SpanData server = span(spans, SpanKind.SERVER.name()).orElseThrow();
+        SpanData controller = span(spans, "task-controller#get-all-tasks").orElseThrow();
+        SpanData service = span(spans, "task-service#stream-all-tasks").orElseThrow();
+        assertThat(server.getParentSpanId()).isEqualTo(CALLER_SPAN_ID);
+        assertThat(controller.getParentSpanId()).isEqualTo(server.getSpanId());
+        assertThat(service.getParentSpanId()).isEqualTo(controller.getSpanId());
+
+        List<SpanData> statements = spans.stream().filter(span -> span.getName().equals("jdbc select")).toList();
+        assertThat(statements).isNotEmpty();
+        assertThat(statements).allSatisfy(statement -> {
+            assertThat(statement.getStartEpochNanos()).isGreaterThanOrEqualTo(service.getStartEpochNanos());
+            assertThat(statement.getEndEpochNanos()).isLessThanOrEqualTo(service.getEndEpochNanos());
+        });
+        assertThat(statements).anySatisfy(statement ->
+                assertThat(statement.getAttributes().asMap().toString()).contains("db.statement").containsIgnoringCase("from tasks"));
+        assertThat(span(spans, "serialize json")).isPresent();
+    }
+
+    @Test
+    @DisplayName("serializes single-task responses in a span of their own")
+    void getById_spansSerialization() {
+        given().header("traceparent", "00-" + TRACE_ID + "-" + CALLER_SPAN_ID + "-01")
+                .when().get("/{id}", taskId)
+                .then().statusCode(200);
+
+        List<SpanData> spans = awaitServerSpan(TRACE_ID);
+        assertThat(span(spans, "task-service#get-task-by-id")).isPresent();
+        SpanData serialization = span(spans, "serialize json").orElseThrow();
+        assertThat(serialization.getAttributes().asMap().toString()).contains("TaskResponse");
+    }
+
+    @Test
+    @DisplayName("records nothing for a caller that did not sample its trace")
+    void unsampledCaller_recordsNoSpans() {
+        String unsampled = "0af7651916cd43dd8448eb211c80319c";
+        given().header("traceparent", "00-" + unsampled + "-b7ad6b7169203331-00")
+                .when().get()
+                .then().statusCode(200);
+        given().header("traceparent", "00-" + TRACE_ID + "-" + CALLER_SPAN_ID + "-01")
+                .when().get()
+                .then().statusCode(200);
+
+        awaitServerSpan(TRACE_ID);
+        assertThat(collector.spans(unsampled)).isEmpty();
+    }
+
+    /**
+     * Spans of {@code traceId} once its server span, which ends last, has been exported.
+     */
+    private List<SpanData> awaitServerSpan(String traceId) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (true) {
+            tracerProvider.forceFlush().join(1, TimeUnit.SECONDS);
+            List<SpanData> spans = collector.spans(traceId);
+            if (span(spans, SpanKind.SERVER.name()).isPresent()) {
+                return spans;
+            }
+            assertThat(System.nanoTime()).as("server span of trace %s exported", traceId).isLessThan(deadline);
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * The first span with the given name, or of the given kind.
+     */
+    private static Optional<SpanData> span(List<SpanData> spans, String nameOrKind) {
+        return spans.stream()
+                .filter(span -> span.getName().equals(nameOrKind) || span.getKind().name().equals(nameOrKind))
+                .findFirst();
+    }
+}
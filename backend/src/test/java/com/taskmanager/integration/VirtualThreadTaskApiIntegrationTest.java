@@ -0,0 +1,10 @@
+package com.taskmanager.integration;
+
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Runs the full API contract against the virtual-thread request stack.
+ */
+@ActiveProfiles("virtual-threads")
+class VirtualThreadTaskApiIntegrationTest extends TaskApiIntegrationTest {
+}
@@ -0,0 +1,113 @@
+package com.taskmanager.unit;
+
+import com.taskmanager.resilience.CircuitBreaker;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final CircuitBreaker breaker = new CircuitBreaker(3, Duration.ofSeconds(10), now::get);
+
+    @Test
+    @DisplayName("opens after consecutive failures only")
+    void onFailure_consecutiveFailures_open() {
+        fail();
+        fail();
+        breaker.onSuccess(breaker.tryAcquire());
+        fail();
+        fail();
+        assertThat(breaker.tryAcquire()).isNotEqualTo(CircuitBreaker.REJECTED);
+
+        fail();
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.isOpen()).isTrue();
+        assertThat(breaker.tryAcquire()).isEqualTo(CircuitBreaker.REJECTED);
+        assertThat(breaker.retryAfter()).isEqualTo(Duration.ofSeconds(10));
+    }
+
+    @Test
+    @DisplayName("lets one trial call through after the open period and closes on its success")
+    void tryAcquire_afterOpenPeriod_allowsSingleTrial() {
+        open();
+        now.addAndGet(Duration.ofSeconds(4).toNanos());
+        assertThat(breaker.retryAfter()).isEqualTo(Duration.ofSeconds(6));
+        now.addAndGet(Duration.ofSeconds(6).toNanos());
+
+        long trial = breaker.tryAcquire();
+        assertThat(trial).isNotEqualTo(CircuitBreaker.REJECTED);
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquire()).isEqualTo(CircuitBreaker.REJECTED);
+        assertThat(breaker.isOpen()).isTrue();
+
+        breaker.onSuccess(trial);
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.isOpen()).isFalse();
+        assertThat(breaker.tryAcquire()).isNotEqualTo(CircuitBreaker.REJECTED);
+    }
+
+    @Test
+    @DisplayName("opens again for a full period when the trial call fails")
+    void onFailure_trialFails_reopens() {
+        open();
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        long trial = breaker.tryAcquire();
+
+        breaker.onFailure(trial);
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.retryAfter()).isEqualTo(Duration.ofSeconds(10));
+        assertThat(breaker.tryAcquire()).isEqualTo(CircuitBreaker.REJECTED);
+    }
+
+    @Test
+    @DisplayName("a call started before the breaker opened cannot close it, nor decide the trial")
+    void onSuccess_staleCall_ignored() {
+        long slow = breaker.tryAcquire();
+        open();
+
+        breaker.onSuccess(slow);
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.isOpen()).isTrue();
+
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        long trial = breaker.tryAcquire();
+        breaker.onSuccess(slow);
+        breaker.onFailure(slow);
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+
+        breaker.onSuccess(trial);
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    @DisplayName("stops rejecting once the open period is over, before any trial call")
+    void isOpen_afterOpenPeriod_false() {
+        open();
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+
+        assertThat(breaker.isOpen()).isFalse();
+        assertThat(breaker.retryAfter()).isZero();
+    }
+
+    private void open() {
+        for (int i = 0; i < 3; i++) {
+            fail();
+        }
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    private void fail() {
+        breaker.onFailure(breaker.tryAcquire());
+    }
+}
@@ -0,0 +1,276 @@
+package com.taskmanager.unit;
+
+import com.taskmanager.config.EmbeddedStoreProperties;
+import com.taskmanager.dto.TaskResponse;
+import com.taskmanager.embedded.EmbeddedTaskStore;
+import com.taskmanager.entity.Task;
+import com.taskmanager.exception.TaskNotFoundException;
+import com.taskmanager.exception.TaskVersionConflictException;
+import com.taskmanager.readmodel.TaskColumnRow;
+import com.taskmanager.service.TaskListQuery;
+import com.taskmanager.store.PurgedTasks;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Page;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+class EmbeddedTaskStoreTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 5, 1, 9, 0);
+
+    private final Clock clock = Clock.fixed(Instant.parse("2026-05-01T09:00:00Z"), ZoneOffset.UTC);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("a crashed store comes back with every acknowledged change and keeps counting ids")
+    void crash_recoversFromLog() throws Exception {
+        Path crashed = directory.resolve("crashed");
+        try (EmbeddedTaskStore store = open(directory.resolve("live"))) {
+            Task first = store.save(task("First", null));
+            store.save(task("Second", NOW.plusDays(1)));
+            first.setTitle("First, renamed");
+            first.setTags(Set.of("urgent"));
+            store.save(first);
+            store.deleteById(store.save(task("Doomed", null)).getId());
+            // What the disk holds if the process dies now, before a clean shutdown compacts.
+            copy(directory.resolve("live"), crashed);
+        }
+
+        try (EmbeddedTaskStore recovered = open(crashed)) {
+            assertThat(recovered.findAllById(List.of(1L, 2L, 3L)))
+                    .extracting(Task::getTitle)
+                    .containsExactly("First, renamed", "Second");
+            assertThat(recovered.findById(1L).orElseThrow().getTags()).containsExactly("urgent");
+            assertThat(recovered.save(task("Fourth", null)).getId()).isEqualTo(4L);
+        }
+    }
+
+    @Test
+    @DisplayName("a record torn by the crash is dropped and everything before it kept")
+    void crash_midRecord_dropsTornRecord() throws Exception {
+        Path live = directory.resolve("live");
+        Path beforeThird = directory.resolve("before");
+        Path afterThird = directory.resolve("after");
+        try (EmbeddedTaskStore store = open(live)) {
+            store.save(task("One", null));
+            store.save(task("Two", null));
+            copy(live, beforeThird);
+            store.save(task("Three", null));
+            copy(live, afterThird);
+        }
+        // Only the header and a few bytes of the third record reached the disk.
+        Path segment = lastSegment(afterThird);
+        byte[] complete = Files.readAllBytes(segment);
+        byte[] partial = Files.readAllBytes(beforeThird.resolve(segment.getFileName()));
+        int recordStart = Arrays.mismatch(complete, partial);
+        System.arraycopy(complete, recordStart, partial, recordStart, 12);
+        Files.write(segment, partial);
+
+        try (EmbeddedTaskStore recovered = open(afterThird)) {
+            assertThat(recovered.findAllById(List.of(1L, 2L, 3L))).extracting(Task::getTitle).containsExactly("One", "Two");
+        }
+    }
+
+    @Test
+    @DisplayName("compaction replaces the log with a snapshot that later changes build on")
+    void compact_replacesLogWithSnapshot() throws Exception {
+        try (EmbeddedTaskStore store = open(directory)) {
+            for (int i = 0; i < 50; i++) {
+                store.save(task("Task " + i, NOW.plusHours(i)));
+            }
+            store.compact();
+            store.deleteById(10L);
+            store.save(task("After snapshot", null));
+            try (Stream<Path> files = Files.list(directory)) {
+                assertThat(files.map(path -> path.getFileName().toString()).sorted())
+                        .hasSize(2)
+                        .anyMatch(name -> name.startsWith("snapshot-"))
+                        .anyMatch(name -> name.startsWith("wal-"));
+            }
+            copy(directory, directory.resolve("crashed"));
+        }
+
+        try (EmbeddedTaskStore recovered = open(directory.resolve("crashed"))) {
+            assertThat(recovered.existsById(10L)).isFalse();
+            assertThat(recovered.findById(51L)).map(Task::getTitle).hasValue("After snapshot");
+            assertThat(recovered.findPage(TaskListQuery.of(null, null, null, "createdAt", "asc", 0, 100), null)
+                    .getTotalElements()).isEqualTo(50);
+        }
+    }
+
+    @Test
+    @DisplayName("pages follow the list order, NULLs last ascending, and count every match")
+    void findPage_ordersFiltersAndCounts() throws Exception {
+        try (EmbeddedTaskStore store = open(directory)) {
+            store.save(task("No due date", null));
+            store.save(task("Later", NOW.plusDays(2)));
+            store.save(task("Sooner", NOW.plusDays(1)));
+            Task done = task("Done", NOW.plusDays(3));
+            done.setIsCompleted(true);
+            store.save(done);
+
+            Page<TaskResponse> ascending = store.findPage(TaskListQuery.of(null, null, null, "dueDate", "asc", 0, 3), null);
+            assertThat(ascending.getContent()).extracting(TaskResponse::getTitle).containsExactly("Sooner", "Later", "Done");
+            assertThat(ascending.getTotalElements()).isEqualTo(4);
+
+            Page<TaskResponse> descending = store.findPage(TaskListQuery.of(null, null, null, "dueDate", "desc", 0, 2), null);
+            assertThat(descending.getContent()).extracting(TaskResponse::getTitle).containsExactly("No due date", "Done");
+
+            Page<TaskResponse> open = store.findPage(
+                    TaskListQuery.of(false, NOW, NOW.plusDays(5), "title", "asc", 0, 1), null);
+            assertThat(open.getContent()).extracting(TaskResponse::getTitle).containsExactly("Later");
+            assertThat(open.getTotalElements()).isEqualTo(2);
+
+            assertThat(store.findOpenDueBetween(NOW, NOW.plusDays(5), 10)).extracting(Task::getTitle)
+                    .containsExactly("Sooner", "Later");
+        }
+    }
+
+    @Test
+    @DisplayName("purging a parent and its parent moves the subtask to the nearest ancestor that stays")
+    void purgeCompleted_promotesToNearestSurvivor() throws Exception {
+        try (EmbeddedTaskStore store = open(directory)) {
+            Long root = store.save(task("Root", null)).getId();
+            Task middle = task("Middle", null);
+            middle.setParentId(root);
+            middle.setIsCompleted(true);
+            Long middleId = store.save(middle).getId();
+            Task leaf = task("Leaf", null);
+            leaf.setParentId(middleId);
+            leaf.setIsCompleted(true);
+            Long leafId = store.save(leaf).getId();
+            Task child = task("Child", null);
+            child.setParentId(leafId);
+            Long childId = store.save(child).getId();
+
+            PurgedTasks purged = store.purgeCompleted(NOW.plusMinutes(1), null, 10, NOW);
+
+            assertThat(purged.getDeleted()).extracting(Task::getId).containsExactlyInAnyOrder(middleId, leafId);
+            assertThat(purged.getPromoted()).extracting(Task::getId).containsExactly(childId);
+            assertThat(purged.getNewParents()).containsEntry(childId, root);
+            assertThat(store.findById(childId).orElseThrow().getParentId()).isEqualTo(root);
+            assertThat(store.subtreeProgress(root).orElseThrow().getSubtasks()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("the read model's scan sees every task's current columns")
+    void forEachColumnRow_currentVersions() throws Exception {
+        try (EmbeddedTaskStore store = open(directory)) {
+            Task first = store.save(task("First", NOW.plusDays(1)));
+            store.save(task("Second", null));
+            first.setIsCompleted(true);
+            store.save(first);
+            List<TaskColumnRow> rows = new ArrayList<>();
+
+            store.forEachColumnRow(rows::add);
+
+            assertThat(rows).extracting(TaskColumnRow::getId, TaskColumnRow::getTitle, TaskColumnRow::getIsCompleted)
+                    .containsExactlyInAnyOrder(tuple(1L, "First", true), tuple(2L, "Second", false));
+        }
+    }
+
+    @Test
+    @DisplayName("a save from a stale copy or of a deleted task is refused instead of overwriting")
+    void save_refusesStaleCopyAndMissingTask() throws Exception {
+        try (EmbeddedTaskStore store = open(directory)) {
+            long id = store.save(task("Original", null)).getId();
+            Task first = store.findById(id).orElseThrow();
+            Task second = store.findById(id).orElseThrow();
+            first.setTitle("First");
+            store.save(first);
+            second.setDescription("Second");
+            assertThatThrownBy(() -> store.save(second)).isInstanceOf(TaskVersionConflictException.class);
+            assertThat(store.findById(id).orElseThrow().getTitle()).isEqualTo("First");
+            first.setTitle("First, again");
+            store.save(first);
+
+            store.claim("worker", 1, NOW.plusMinutes(5), NOW);
+            first.setTitle("Overwrites the claim");
+            assertThatThrownBy(() -> store.save(first)).isInstanceOf(TaskVersionConflictException.class);
+
+            Task deleted = store.findById(id).orElseThrow();
+            store.deleteById(id);
+            assertThatThrownBy(() -> store.save(deleted)).isInstanceOf(TaskNotFoundException.class);
+            assertThat(store.existsById(id)).isFalse();
+        }
+    }
+
+    @Test
+    @DisplayName("changes the log fails to write are undone in memory, and the store keeps what the log holds")
+    void walFailure_undoesChanges() throws Exception {
+        EmbeddedStoreProperties properties = new EmbeddedStoreProperties();
+        properties.setDirectory(directory.resolve("failing").toString());
+        properties.setSegmentSize(DataSize.ofBytes(256));
+        EmbeddedTaskStore store = new EmbeddedTaskStore(properties, clock, new SimpleMeterRegistry());
+        Task kept = store.save(task("Kept", null));
+        // The next record needs a new segment, which cannot be created without the directory.
+        try (Stream<Path> files = Files.list(directory.resolve("failing"))) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory.resolve("failing"));
+
+        Task renamed = store.findById(kept.getId()).orElseThrow();
+        renamed.setTitle("Renamed " + "x".repeat(300));
+        assertThatThrownBy(() -> store.save(renamed)).isInstanceOf(UncheckedIOException.class);
+        assertThatThrownBy(() -> store.save(task("Lost", null))).isInstanceOf(UncheckedIOException.class);
+
+        assertThat(store.findById(kept.getId()).orElseThrow().getTitle()).isEqualTo("Kept");
+        Page<TaskResponse> page = store.findPage(TaskListQuery.of(null, null, null, "title", "asc", 0, 100), null);
+        assertThat(page.getContent()).extracting(TaskResponse::getTitle).containsExactly("Kept");
+        assertThat(page.getTotalElements()).isEqualTo(1);
+        assertThatThrownBy(store::close).isInstanceOf(UncheckedIOException.class);
+    }
+
+    private EmbeddedTaskStore open(Path path) throws IOException {
+        EmbeddedStoreProperties properties = new EmbeddedStoreProperties();
+        properties.setDirectory(path.toString());
+        properties.setSegmentSize(DataSize.ofKilobytes(64));
+        return new EmbeddedTaskStore(properties, clock, new SimpleMeterRegistry());
+    }
+
+    private static Task task(String title, LocalDateTime dueDate) {
+        return Task.builder().title(title).dueDate(dueDate).build();
+    }
+
+    private static void copy(Path from, Path to) throws IOException {
+        Files.createDirectories(to);
+        try (Stream<Path> files = Files.list(from)) {
+            for (Path file : files.filter(Files::isRegularFile).toList()) {
+                Files.copy(file, to.resolve(file.getFileName()));
+            }
+        }
+    }
+
+    private static Path lastSegment(Path path) throws IOException {
+        try (Stream<Path> files = Files.list(path)) {
+            return files.filter(file -> file.getFileName().toString().startsWith("wal-"))
+                    .max(Path::compareTo)
+                    .orElseThrow();
+        }
+    }
+}
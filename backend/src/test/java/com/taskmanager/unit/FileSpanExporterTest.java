@@ -0,0 +1,62 @@
+package com.taskmanager.unit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.tracing.FileSpanExporter;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FileSpanExporterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("appends one JSON line per finished span, linked to its parent")
+    void writesSpansAsJsonLines() throws IOException {
+        Path file = directory.resolve("traces/spans.jsonl");
+        SdkTracerProvider provider = SdkTracerProvider.builder()
+                .addSpanProcessor(SimpleSpanProcessor.create(new FileSpanExporter(file)))
+                .build();
+        Tracer tracer = provider.get("test");
+
+        Span parent = tracer.spanBuilder("http get /api/tasks").setSpanKind(SpanKind.SERVER).startSpan();
+        Span child = tracer.spanBuilder("jdbc select")
+                .setParent(Context.current().with(parent))
+                .setAttribute("db.statement", "SELECT id FROM tasks")
+                .startSpan();
+        child.end();
+        parent.end();
+        provider.shutdown().join(5, TimeUnit.SECONDS);
+
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines).hasSize(2);
+        JsonNode first = objectMapper.readTree(lines.get(0));
+        JsonNode second = objectMapper.readTree(lines.get(1));
+        assertThat(first.get("name").asText()).isEqualTo("jdbc select");
+        assertThat(first.get("parentSpanId").asText()).isEqualTo(parent.getSpanContext().getSpanId());
+        assertThat(first.get("traceId").asText()).isEqualTo(parent.getSpanContext().getTraceId());
+        assertThat(first.get("attributes").get("db.statement").asText()).isEqualTo("SELECT id FROM tasks");
+        assertThat(first.get("durationMicros").asLong()).isNotNegative();
+        assertThat(second.get("kind").asText()).isEqualTo("SERVER");
+        assertThat(second.has("parentSpanId")).isFalse();
+        assertThat(second.get("status").asText()).isEqualTo("UNSET");
+    }
+}
@@ -0,0 +1,76 @@
+package com.taskmanager.unit;
+
+import com.taskmanager.scheduler.HashedTimingWheel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HashedTimingWheelTest {
+
+    private static final long TICK = 100;
+    private static final long START = 1_000_000;
+
+    private HashedTimingWheel<Long, String> wheel;
+    private List<String> fired;
+
+    @BeforeEach
+    void setUp() {
+        wheel = new HashedTimingWheel<>(TICK, 8, START);
+        fired = new ArrayList<>();
+    }
+
+    @Test
+    @DisplayName("fires a timer once its tick has elapsed, not before")
+    void firesAfterDeadline() {
+        wheel.schedule(1L, START + 250, "task-1");
+
+        wheel.advanceTo(START + 200, (key, payload) -> fired.add(payload));
+        assertThat(fired).isEmpty();
+
+        wheel.advanceTo(START + 300, (key, payload) -> fired.add(payload));
+        assertThat(fired).containsExactly("task-1");
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("timers beyond one revolution wait for their round")
+    void timersBeyondOneRevolution() {
+        long revolution = TICK * 8;
+        wheel.schedule(1L, START + revolution * 2 + 50, "far");
+
+        wheel.advanceTo(START + revolution, (key, payload) -> fired.add(payload));
+        wheel.advanceTo(START + revolution * 2, (key, payload) -> fired.add(payload));
+        assertThat(fired).isEmpty();
+
+        wheel.advanceTo(START + revolution * 2 + TICK, (key, payload) -> fired.add(payload));
+        assertThat(fired).containsExactly("far");
+    }
+
+    @Test
+    @DisplayName("rescheduling a key replaces the earlier timer and cancel removes it")
+    void rescheduleAndCancel() {
+        wheel.schedule(1L, START + 100, "first");
+        wheel.schedule(1L, START + 500, "second");
+        wheel.schedule(2L, START + 100, "cancelled");
+        assertThat(wheel.cancel(2L)).isTrue();
+
+        wheel.advanceTo(START + 1_000, (key, payload) -> fired.add(payload));
+
+        assertThat(fired).containsExactly("second");
+    }
+
+    @Test
+    @DisplayName("a deadline in the past fires on the next elapsed tick")
+    void pastDeadlineFiresImmediately() {
+        wheel.schedule(1L, START - 5_000, "overdue");
+
+        wheel.advanceTo(START + TICK, (key, payload) -> fired.add(payload));
+
+        assertThat(fired).containsExactly("overdue");
+    }
+}
@@ -0,0 +1,147 @@
+package com.taskmanager.unit;
+
+import com.taskmanager.config.InvalidationProperties;
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.event.TasksInvalidatedEvent;
+import com.taskmanager.invalidation.InvalidationBus;
+import com.taskmanager.invalidation.InvalidationTransport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvalidationBusTest {
+
+    private final List<String> sent = new ArrayList<>();
+    private final List<TasksInvalidatedEvent> published = new ArrayList<>();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final InvalidationProperties properties = new InvalidationProperties();
+    private final InvalidationBus bus = new InvalidationBus(new RecordingTransport(), event -> {
+        if (event instanceof TasksInvalidatedEvent invalidated) {
+            published.add(invalidated);
+        }
+    }, properties, registry);
+
+    @Test
+    @DisplayName("changes within a batch window go out as one numbered message, each id once")
+    void publishPending_coalescesIds() {
+        bus.onTaskChanged(TaskChangedEvent.deleted(1L));
+        bus.onTaskChanged(TaskChangedEvent.deleted(2L));
+        bus.onTaskChanged(TaskChangedEvent.deleted(1L));
+        bus.publishPending();
+        bus.onTaskChanged(TaskChangedEvent.deleted(3L));
+        bus.publishPending();
+
+        assertThat(sent).hasSize(2);
+        assertThat(sent.get(0)).startsWith(bus.getNodeId() + ":1:T:").matches(".*:(1,2|2,1)");
+        assertThat(sent.get(1)).isEqualTo(bus.getNodeId() + ":2:T:3");
+    }
+
+    @Test
+    @DisplayName("a batch over the id limit is sent as a flush of everything")
+    void publishPending_overLimit_sendsFlush() {
+        properties.setMaxIds(2);
+        for (long id = 1; id <= 3; id++) {
+            bus.onTaskChanged(TaskChangedEvent.deleted(id));
+        }
+        bus.publishPending();
+
+        assertThat(sent).containsExactly(bus.getNodeId() + ":1:A:");
+    }
+
+    @Test
+    @DisplayName("an idle node sends a heartbeat with its last number")
+    void publishPending_idle_sendsHeartbeat() {
+        properties.setHeartbeat(Duration.ZERO);
+        bus.onTaskChanged(TaskChangedEvent.deleted(7L));
+        bus.publishPending();
+        bus.publishPending();
+
+        assertThat(sent).containsExactly(bus.getNodeId() + ":1:T:7", bus.getNodeId() + ":1:H:");
+    }
+
+    @Test
+    @DisplayName("messages in sequence evict their tasks; repeats and this node's own are ignored")
+    void onMessage_inSequence_evictsTasks() {
+        bus.onMessage("other:1:T:4,5");
+        bus.onMessage("other:2:T:6");
+        bus.onMessage("other:2:T:6");
+        bus.onMessage(bus.getNodeId() + ":9:T:8");
+
+        assertThat(published).extracting(TasksInvalidatedEvent::getTaskIds).containsExactly(Set.of(4L, 5L), Set.of(6L));
+        assertThat(published).noneMatch(TasksInvalidatedEvent::isAll);
+    }
+
+    @Test
+    @DisplayName("a gap in the numbers, also one a heartbeat reveals, flushes everything")
+    void onMessage_gap_flushes() {
+        bus.onMessage("other:1:T:4");
+        bus.onMessage("other:3:T:6");
+        bus.onMessage("other:3:H:");
+        bus.onMessage("other:4:T:7");
+
+        assertThat(published).extracting(TasksInvalidatedEvent::isAll).containsExactly(false, true, false);
+        assertThat(flushes("gap")).isEqualTo(1);
+
+        // Message 5 was lost and nothing but the heartbeat follows it.
+        bus.onMessage("other:5:H:");
+        assertThat(published).last().matches(TasksInvalidatedEvent::isAll);
+        assertThat(flushes("gap")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("a node first heard from past its first message may have sent more, so everything is flushed")
+    void onMessage_unknownNodePastStart_flushes() {
+        bus.onMessage("late:1:T:1");
+        bus.onMessage("early:12:T:2");
+
+        assertThat(published).extracting(TasksInvalidatedEvent::isAll).containsExactly(false, true);
+    }
+
+    @Test
+    @DisplayName("a reconnect flushes everything and takes each node's next number as it comes")
+    void onReset_flushesAndResynchronizes() {
+        bus.onMessage("other:1:T:1");
+        bus.onReset();
+        bus.onMessage("other:9:T:2");
+
+        assertThat(published).extracting(TasksInvalidatedEvent::isAll).containsExactly(false, true, false);
+        assertThat(published.get(2).getTaskIds()).containsExactly(2L);
+        assertThat(flushes("reset")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("a malformed message flushes everything")
+    void onMessage_malformed_flushes() {
+        bus.onMessage("garbage");
+
+        assertThat(published).singleElement().matches(TasksInvalidatedEvent::isAll);
+        assertThat(flushes("malformed")).isEqualTo(1);
+    }
+
+    private double flushes(String reason) {
+        return registry.get(InvalidationBus.FLUSHES_METRIC).tag("reason", reason).counter().count();
+    }
+
+    private class RecordingTransport implements InvalidationTransport {
+
+        @Override
+        public void start(Listener listener) {
+        }
+
+        @Override
+        public void send(String payload) {
+            sent.add(payload);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.taskmanager.unit;
+
+import com.taskmanager.config.RetentionProperties;
+import com.taskmanager.repository.LeaderLocks;
+import com.taskmanager.scheduler.LeasedChunkRunner;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class LeasedChunkRunnerTest {
+
+    private final LeaderLocks leaderLocks = mock(LeaderLocks.class);
+    private final RetentionProperties properties = new RetentionProperties();
+    private final LeasedChunkRunner runner = new LeasedChunkRunner("test job", "test-lock", leaderLocks, properties,
+            "this-node", Clock.systemDefaultZone(), Timer.builder("test.chunk").register(new SimpleMeterRegistry()));
+
+    LeasedChunkRunnerTest() {
+        properties.setPause(Duration.ZERO);
+    }
+
+    @Test
+    @DisplayName("runs nothing while another node holds the lease")
+    void run_notLeader_runsNothing() {
+        when(leaderLocks.tryAcquire(eq("test-lock"), eq("this-node"), any(), any())).thenReturn(false);
+
+        int chunks = runner.<Integer>run(cursor -> {
+            throw new AssertionError("ran without the lease");
+        }, 0);
+
+        assertThat(chunks).isEqualTo(LeasedChunkRunner.NOT_LEADER);
+        verify(leaderLocks, never()).release(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("passes each chunk the previous one's cursor until one returns none, then releases the lease")
+    void run_chainsCursors() {
+        when(leaderLocks.tryAcquire(eq("test-lock"), eq("this-node"), any(), any())).thenReturn(true);
+        List<Integer> seen = new ArrayList<>();
+
+        int chunks = runner.<Integer>run(cursor -> {
+            seen.add(cursor);
+            return cursor == null ? 1 : cursor < 3 ? cursor + 1 : null;
+        }, 0);
+
+        assertThat(chunks).isEqualTo(4);
+        assertThat(seen).containsExactly(null, 1, 2, 3);
+        verify(leaderLocks).release(eq("test-lock"), eq("this-node"), any());
+    }
+
+    @Test
+    @DisplayName("stops at the chunk limit, and once the lease passes to another node")
+    void run_stopsAtLimitAndLostLease() {
+        when(leaderLocks.tryAcquire(eq("test-lock"), eq("this-node"), any(), any())).thenReturn(true);
+        assertThat(runner.<Integer>run(cursor -> 1, 2)).isEqualTo(2);
+
+        when(leaderLocks.tryAcquire(eq("test-lock"), eq("this-node"), any(), any())).thenReturn(true, true, false);
+        assertThat(runner.<Integer>run(cursor -> 1, 0)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("releases the lease when a chunk fails")
+    void run_failure_releasesLease() {
+        when(leaderLocks.tryAcquire(eq("test-lock"), eq("this-node"), any(), any())).thenReturn(true);
+
+        assertThatThrownBy(() -> runner.<Integer>run(cursor -> {
+            throw new IllegalStateException("database down");
+        }, 0)).isInstanceOf(IllegalStateException.class);
+
+        verify(leaderLocks).release(eq("test-lock"), eq("this-node"), any());
+    }
+}
@@ -0,0 +1,84 @@
+package com.taskmanager.unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.taskmanager.config.RateLimitProperties;
+import com.taskmanager.ratelimit.ClientRateLimiter;
+import com.taskmanager.ratelimit.ConnectionWaitMonitor;
+import com.taskmanager.ratelimit.RateLimitFilter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+    private final RateLimitProperties properties = new RateLimitProperties();
+    private final ConnectionWaitMonitor waitMonitor = new ConnectionWaitMonitor();
+    private final RateLimitFilter filter;
+
+    RateLimitFilterTest() {
+        properties.setRead(new RateLimitProperties.Bucket(1, 0.5));
+        properties.setApiKeys(Set.of("known-key"));
+        filter = new RateLimitFilter(properties, new ClientRateLimiter(properties, clock::get),
+                waitMonitor, new ObjectMapper().findAndRegisterModules());
+    }
+
+    @Test
+    @DisplayName("an exhausted client gets 429 with Retry-After rounded up to whole seconds")
+    void overLimit_returns429WithRetryAfter() throws Exception {
+        assertThat(get("10.0.0.1", null).getStatus()).isEqualTo(200);
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+
+        MockHttpServletResponse response = get("10.0.0.1", null);
+
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+        assertThat(response.getContentAsString()).contains("Rate limit exceeded");
+        assertThat(get("10.0.0.2", null).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("only a known API key gets a budget of its own; any other key counts against the address")
+    void unknownApiKey_keyedByRemoteAddress() throws Exception {
+        assertThat(get("10.0.0.1", "made-up-1").getStatus()).isEqualTo(200);
+        assertThat(get("10.0.0.1", "made-up-2").getStatus()).isEqualTo(429);
+
+        assertThat(get("10.0.0.1", "known-key").getStatus()).isEqualTo(200);
+        assertThat(get("10.0.0.3", "known-key").getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    @DisplayName("a congested connection pool sheds requests with 503 and Retry-After")
+    void congestedPool_returns503() throws Exception {
+        properties.getShedding().setMaxShedRatio(1.0);
+        for (int i = 0; i < 50; i++) {
+            waitMonitor.record(TimeUnit.SECONDS.toNanos(1));
+        }
+
+        MockHttpServletResponse response = get("10.0.0.1", null);
+
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(response.getContentAsString()).contains("heavy load");
+    }
+
+    private MockHttpServletResponse get(String remoteAddress, String apiKey) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/tasks");
+        request.setRemoteAddr(remoteAddress);
+        if (apiKey != null) {
+            request.addHeader(properties.getApiKeyHeader(), apiKey);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+}
@@ -0,0 +1,88 @@
+package com.taskmanager.unit;
+
+import com.taskmanager.exception.InvalidRecurrenceException;
+import com.taskmanager.recurrence.RecurrenceRule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RecurrenceRuleTest {
+
+    // A Monday.
+    private static final LocalDateTime START = LocalDateTime.of(2025, 6, 2, 9, 0);
+
+    @Test
+    @DisplayName("every weekday at nine skips the weekend and keeps the time of day")
+    void weekly_byDay_everyWeekday() {
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=WEEKLY;BYDAY=MO,TU,WE,TH,FR");
+
+        List<LocalDateTime> occurrences = rule.occurrences(START, START, START.plusDays(7), 10);
+
+        assertThat(occurrences).hasSize(5)
+                .allMatch(occurrence -> occurrence.getHour() == 9)
+                .noneMatch(occurrence -> occurrence.getDayOfWeek() == DayOfWeek.SATURDAY
+                        || occurrence.getDayOfWeek() == DayOfWeek.SUNDAY);
+        assertThat(occurrences.get(0)).isEqualTo(START.plusDays(1));
+        assertThat(occurrences.get(4)).isEqualTo(START.plusDays(7));
+    }
+
+    @Test
+    @DisplayName("a distant range starts at its first occurrence, not at the rule's start")
+    void daily_interval_distantRange() {
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=DAILY;INTERVAL=3");
+        LocalDateTime after = START.plusYears(10);
+
+        List<LocalDateTime> occurrences = rule.occurrences(START, after, after.plusDays(7), 10);
+
+        assertThat(occurrences).isNotEmpty()
+                .allMatch(occurrence -> occurrence.isAfter(after))
+                .allMatch(occurrence -> ChronoUnit.DAYS.between(START, occurrence) % 3 == 0);
+        assertThat(occurrences.get(0)).isBefore(after.plusDays(4));
+    }
+
+    @Test
+    @DisplayName("a monthly rule on the 31st skips shorter months")
+    void monthly_skipsMissingDays() {
+        LocalDateTime start = LocalDateTime.of(2025, 1, 31, 8, 0);
+
+        List<LocalDateTime> occurrences = RecurrenceRule.parse("FREQ=MONTHLY")
+                .occurrences(start, start, start.plusMonths(6), 10);
+
+        assertThat(occurrences).extracting(LocalDateTime::getMonthValue).containsExactly(3, 5, 7);
+    }
+
+    @Test
+    @DisplayName("UNTIL ends the series and the limit caps the result")
+    void until_andLimit() {
+        RecurrenceRule rule = RecurrenceRule.parse("FREQ=DAILY;UNTIL=20250605");
+
+        assertThat(rule.occurrences(START, START, START.plusYears(1), 100)).hasSize(3);
+        assertThat(rule.occurrences(START, START, START.plusYears(1), 2)).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("rules are normalized to a canonical form")
+    void parse_canonicalForm() {
+        assertThat(RecurrenceRule.parse("rrule:byday=fr,mo;freq=weekly;interval=1").toString())
+                .isEqualTo("FREQ=WEEKLY;BYDAY=MO,FR");
+        assertThat(RecurrenceRule.parse("FREQ=DAILY;INTERVAL=2;UNTIL=20251231T170000Z").toString())
+                .isEqualTo("FREQ=DAILY;INTERVAL=2;UNTIL=20251231T170000");
+    }
+
+    @Test
+    @DisplayName("rules outside the supported subset are rejected")
+    void parse_rejectsUnsupported() {
+        assertThatThrownBy(() -> RecurrenceRule.parse("FREQ=YEARLY")).isInstanceOf(InvalidRecurrenceException.class);
+        assertThatThrownBy(() -> RecurrenceRule.parse("FREQ=DAILY;COUNT=3")).isInstanceOf(InvalidRecurrenceException.class);
+        assertThatThrownBy(() -> RecurrenceRule.parse("FREQ=DAILY;BYDAY=MO")).isInstanceOf(InvalidRecurrenceException.class);
+        assertThatThrownBy(() -> RecurrenceRule.parse("FREQ=DAILY;INTERVAL=0")).isInstanceOf(InvalidRecurrenceException.class);
+        assertThatThrownBy(() -> RecurrenceRule.parse("INTERVAL=2")).isInstanceOf(InvalidRecurrenceException.class);
+    }
+}
@@ -0,0 +1,94 @@
+package com.taskmanager.unit;
+
+import com.taskmanager.dto.TaskField;
+import com.taskmanager.event.TaskSnapshot;
+import com.taskmanager.history.RevisionCodec;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RevisionCodecTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2025, 6, 1, 9, 30, 15, 123_456_000);
+    private static final LocalDateTime DUE = LocalDateTime.of(2025, 6, 30, 17, 0);
+
+    private final TaskSnapshot before = snapshot("Write report", "Quarterly numbers", false, DUE, CREATED);
+
+    @Test
+    @DisplayName("diff holds only the changed fields")
+    void diff_onlyChangedFields() {
+        TaskSnapshot after = snapshot("Write report", "Quarterly numbers", true, null, LocalDateTime.of(2025, 6, 2, 8, 0));
+
+        Map<TaskField, Object> diff = RevisionCodec.diff(before, after);
+
+        assertThat(diff).containsOnlyKeys(TaskField.IS_COMPLETED, TaskField.DUE_DATE);
+        assertThat(diff.get(TaskField.IS_COMPLETED)).isEqualTo(true);
+        assertThat(diff.get(TaskField.DUE_DATE)).isNull();
+    }
+
+    @Test
+    @DisplayName("full state round-trips through the encoding, including microseconds and unicode")
+    void state_roundTrips() {
+        TaskSnapshot task = snapshot("Überprüfung ✓", null, false, DUE, CREATED);
+
+        Map<TaskField, Object> state = RevisionCodec.state(task);
+
+        assertThat(RevisionCodec.decode(RevisionCodec.encode(state))).isEqualTo(state);
+    }
+
+    @Test
+    @DisplayName("timestamps before the epoch round-trip")
+    void timestamp_beforeEpoch() {
+        Map<TaskField, Object> values = Map.of(TaskField.DUE_DATE, LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999_999_000));
+
+        assertThat(RevisionCodec.decode(RevisionCodec.encode(values))).isEqualTo(values);
+    }
+
+    @Test
+    @DisplayName("parent ids round-trip, as does clearing the parent")
+    void parentId_roundTrips() {
+        Map<TaskField, Object> values = new EnumMap<>(TaskField.class);
+        values.put(TaskField.PARENT_ID, 9_876_543_210L);
+        values.put(TaskField.TITLE, "Subtask");
+
+        assertThat(RevisionCodec.decode(RevisionCodec.encode(values))).isEqualTo(values);
+
+        values.put(TaskField.PARENT_ID, null);
+        assertThat(RevisionCodec.decode(RevisionCodec.encode(values))).isEqualTo(values);
+    }
+
+    @Test
+    @DisplayName("a toggle encodes in three bytes")
+    void toggle_isCompact() {
+        byte[] encoded = RevisionCodec.encode(Map.of(TaskField.IS_COMPLETED, true));
+
+        assertThat(encoded).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("rejects an unknown format version")
+    void decode_rejectsUnknownVersion() {
+        assertThatThrownBy(() -> RevisionCodec.decode(new byte[]{9}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static TaskSnapshot snapshot(String title, String description, boolean completed,
+                                         LocalDateTime dueDate, LocalDateTime updatedAt) {
+        return TaskSnapshot.builder()
+                .id(1L)
+                .title(title)
+                .description(description)
+                .isCompleted(completed)
+                .dueDate(dueDate)
+                .assignedTo("Alice")
+                .createdAt(CREATED)
+                .updatedAt(updatedAt)
+                .build();
+    }
+}
@@ -0,0 +1,60 @@
+package com.taskmanager.unit;
+
+import com.taskmanager.shard.ShardIds;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ShardIdsTest {
+
+    private final Clock clock = Clock.fixed(Instant.parse("2026-03-01T12:00:00Z"), ZoneOffset.UTC);
+
+    @Test
+    @DisplayName("encodes the shard in the id")
+    void shardOf_roundTrips() {
+        ShardIds ids = new ShardIds(clock, 5);
+
+        for (int shard = 0; shard < ShardIds.MAX_SHARDS; shard++) {
+            assertThat(ShardIds.shardOf(ids.next(shard))).isEqualTo(shard);
+        }
+    }
+
+    @Test
+    @DisplayName("stays unique and increasing when the sequence wraps within a millisecond")
+    void uniqueAndIncreasing_underFrozenClock() {
+        ShardIds ids = new ShardIds(clock, 0);
+        Set<Long> seen = new HashSet<>();
+        long previous = 0;
+
+        for (int i = 0; i < 5_000; i++) {
+            long id = ids.next(3);
+            assertThat(id).isGreaterThan(previous);
+            assertThat(seen.add(id)).isTrue();
+            previous = id;
+        }
+    }
+
+    @Test
+    @DisplayName("ids from different nodes never collide")
+    void differentNodes_doNotCollide() {
+        ShardIds first = new ShardIds(clock, 1);
+        ShardIds second = new ShardIds(clock, 2);
+
+        assertThat(first.next(0)).isNotEqualTo(second.next(0));
+    }
+
+    @Test
+    @DisplayName("rejects node ids outside the encodable range")
+    void rejectsInvalidNodeId() {
+        assertThatThrownBy(() -> new ShardIds(clock, ShardIds.MAX_NODES))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
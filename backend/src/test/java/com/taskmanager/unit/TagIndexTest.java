@@ -0,0 +1,158 @@
+package com.taskmanager.unit;
+
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.event.TaskSnapshot;
+import com.taskmanager.tag.TagIndex;
+import com.taskmanager.tag.TagMatch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.ObjLongConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TagIndexTest {
+
+    private final Map<Long, List<String>> stored = new HashMap<>(Map.of(
+            1L, List.of("a", "b"),
+            2L, List.of("a"),
+            3L, List.of("b", "c"),
+            5_000_000_000L, List.of("a", "b", "c")));
+
+    private TagIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TagIndex(this::scan, this::read, true);
+        index.rebuild();
+    }
+
+    @Test
+    @DisplayName("intersects all-of tags and unites any-of tags")
+    void match_combinesBitmaps() {
+        assertThat(ids(Set.of("a", "b"), Set.of())).containsExactly(1L, 5_000_000_000L);
+        assertThat(ids(Set.of(), Set.of("a", "c"))).containsExactly(1L, 2L, 3L, 5_000_000_000L);
+        assertThat(ids(Set.of("b"), Set.of("c", "unknown"))).containsExactly(3L, 5_000_000_000L);
+        assertThat(ids(Set.of("a", "unknown"), Set.of())).isEmpty();
+        assertThat(ids(Set.of(), Set.of("unknown"))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("applies the tag difference of committed changes and drops deleted tasks")
+    void onTaskChanged_appliesDiff() {
+        index.onTaskChanged(TaskChangedEvent.updated(snapshot(2L, "a"), snapshot(2L, "b", "d")));
+        index.onTaskChanged(TaskChangedEvent.created(snapshot(7L, "d")));
+        index.onTaskChanged(TaskChangedEvent.deleted(1L));
+
+        assertThat(ids(Set.of("a"), Set.of())).containsExactly(5_000_000_000L);
+        assertThat(ids(Set.of("b"), Set.of())).containsExactly(2L, 3L, 5_000_000_000L);
+        assertThat(ids(Set.of("d"), Set.of())).containsExactly(2L, 7L);
+    }
+
+    @Test
+    @DisplayName("leaves tags alone for changes read without them")
+    void onTaskChanged_withoutTags_keepsTags() {
+        index.onTaskChanged(TaskChangedEvent.updated(snapshot(3L), snapshot(3L)));
+
+        assertThat(ids(Set.of("c"), Set.of())).containsExactly(3L, 5_000_000_000L);
+    }
+
+    @Test
+    @DisplayName("replays changes that commit while the index is being built")
+    void rebuild_replaysConcurrentChanges() {
+        AtomicReference<TagIndex> building = new AtomicReference<>();
+        TagIndex rebuilt = new TagIndex(consumer -> {
+            scan(consumer);
+            building.get().onTaskChanged(TaskChangedEvent.updated(snapshot(2L, "a"), snapshot(2L, "c")));
+        }, this::read, true);
+        building.set(rebuilt);
+
+        assertThat(rebuilt.match(Set.of("a"), Set.of())).isEmpty();
+        rebuilt.rebuild();
+
+        assertThat(rebuilt.match(Set.of("c"), Set.of())).get().extracting(TagMatch::ids)
+                .isEqualTo(List.of(2L, 3L, 5_000_000_000L));
+        assertThat(rebuilt.tagCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("re-reads the tags of tasks another node changed")
+    void refresh_readsChangedTasks() {
+        stored.put(2L, List.of("c"));
+        stored.remove(3L);
+        stored.put(7L, List.of("a"));
+
+        index.refresh(Set.of(2L, 3L, 7L));
+
+        assertThat(ids(Set.of("a"), Set.of())).containsExactly(1L, 7L, 5_000_000_000L);
+        assertThat(ids(Set.of("c"), Set.of())).containsExactly(2L, 5_000_000_000L);
+    }
+
+    @Test
+    @DisplayName("keeps what a local change put in the index while the refresh was reading")
+    void refresh_localChangeDuringRead_wins() {
+        AtomicReference<TagIndex> refreshing = new AtomicReference<>();
+        TagIndex refreshed = new TagIndex(this::scan, taskIds -> {
+            Map<Long, List<String>> read = read(taskIds);
+            refreshing.get().onTaskChanged(TaskChangedEvent.updated(snapshot(2L, "a"), snapshot(2L, "d")));
+            return read;
+        }, true);
+        refreshing.set(refreshed);
+        refreshed.rebuild();
+
+        refreshed.refresh(Set.of(2L));
+
+        assertThat(refreshed.match(Set.of("d"), Set.of())).get().extracting(TagMatch::ids).isEqualTo(List.of(2L));
+        assertThat(refreshed.match(Set.of("a"), Set.of())).get().extracting(TagMatch::ids)
+                .isEqualTo(List.of(1L, 5_000_000_000L));
+    }
+
+    @Test
+    @DisplayName("rebuilds when a failed read leaves it unsure of the changed tasks")
+    void refresh_readFailure_rebuilds() {
+        TagIndex failing = new TagIndex(this::scan, taskIds -> {
+            throw new IllegalStateException("database down");
+        }, true);
+        failing.rebuild();
+        stored.put(2L, List.of("c"));
+
+        failing.refresh(Set.of(2L));
+
+        assertThat(failing.match(Set.of("c"), Set.of())).get().extracting(TagMatch::ids)
+                .isEqualTo(List.of(2L, 3L, 5_000_000_000L));
+    }
+
+    @Test
+    @DisplayName("stays unresolved when disabled")
+    void disabled_neverMatches() {
+        TagIndex disabled = new TagIndex(this::scan, this::read, false);
+        disabled.rebuild();
+
+        assertThat(disabled.isReady()).isFalse();
+        assertThat(disabled.match(Set.of("a"), Set.of())).isEmpty();
+    }
+
+    private void scan(ObjLongConsumer<String> consumer) {
+        stored.forEach((id, tags) -> tags.forEach(tag -> consumer.accept(tag, id)));
+    }
+
+    private Map<Long, List<String>> read(Set<Long> taskIds) {
+        Map<Long, List<String>> read = new HashMap<>(stored);
+        read.keySet().retainAll(taskIds);
+        return read;
+    }
+
+    private List<Long> ids(Set<String> allOf, Set<String> anyOf) {
+        return index.match(allOf, anyOf).orElseThrow().ids();
+    }
+
+    private static TaskSnapshot snapshot(long id, String... tags) {
+        return TaskSnapshot.builder().id(id).title("Task " + id).tags(List.of(tags)).build();
+    }
+}
@@ -0,0 +1,50 @@
+package com.taskmanager.unit;
+
+import com.taskmanager.cache.TaskCache;
+import com.taskmanager.dto.TaskResponse;
+import com.taskmanager.event.TaskChangedEvent;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskCacheTest {
+
+    private final TaskCache cache = new TaskCache(new ConcurrentMapCacheManager(TaskCache.CACHE_NAME));
+
+    @Test
+    @DisplayName("a response read before a change committed is not cached after the change's eviction")
+    void put_afterEviction_skipped() {
+        long version = cache.version(1L);
+        TaskResponse readBeforeCommit = TaskResponse.builder().id(1L).title("Old").build();
+
+        cache.onTaskChanged(TaskChangedEvent.deleted(1L));
+        cache.put(readBeforeCommit, version);
+
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    @Test
+    @DisplayName("a response read after the last eviction is cached")
+    void put_currentVersion_cached() {
+        cache.evict(1L);
+        long version = cache.version(1L);
+        TaskResponse response = TaskResponse.builder().id(1L).title("New").build();
+
+        cache.put(response, version);
+
+        assertThat(cache.get(1L)).isSameAs(response);
+    }
+
+    @Test
+    @DisplayName("clearing the cache holds back every read started before it")
+    void put_afterClear_skipped() {
+        long version = cache.version(7L);
+
+        cache.clear();
+        cache.put(TaskResponse.builder().id(7L).build(), version);
+
+        assertThat(cache.get(7L)).isNull();
+    }
+}
@@ -0,0 +1,84 @@
+package com.taskmanager.unit;
+
+import com.taskmanager.readmodel.TaskColumnRow;
+import com.taskmanager.readmodel.TaskColumns;
+import com.taskmanager.readmodel.TaskIdPage;
+import com.taskmanager.service.TaskListQuery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskColumnsTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 3, 1, 9, 0);
+
+    private TaskColumns columns;
+
+    @BeforeEach
+    void setUp() {
+        TreeMap<Long, TaskColumnRow> rows = new TreeMap<>();
+        rows.put(1L, row(1L, "Charlie", false, BASE.plusDays(3), 1));
+        rows.put(2L, row(2L, "Alpha", true, BASE.plusDays(1), 2));
+        rows.put(3L, row(3L, "Bravo", false, null, 3));
+        rows.put(4L, row(4L, "Delta", false, BASE.plusDays(2), 4));
+        columns = TaskColumns.empty().apply(rows);
+    }
+
+    @Test
+    @DisplayName("sorts by each field in both directions, missing due dates last ascending")
+    void sortsByEachField() {
+        assertThat(ids("title", "asc", null, null, null)).containsExactly(2L, 3L, 1L, 4L);
+        assertThat(ids("createdAt", "desc", null, null, null)).containsExactly(4L, 3L, 2L, 1L);
+        assertThat(ids("dueDate", "asc", null, null, null)).containsExactly(2L, 4L, 1L, 3L);
+        assertThat(ids("dueDate", "desc", null, null, null)).containsExactly(3L, 1L, 4L, 2L);
+    }
+
+    @Test
+    @DisplayName("applies completion and due-date filters like the specifications")
+    void appliesFilters() {
+        assertThat(ids("createdAt", "asc", false, null, null)).containsExactly(1L, 3L, 4L);
+        assertThat(ids("createdAt", "asc", null, BASE.plusDays(2), null)).containsExactly(1L, 4L);
+        assertThat(ids("createdAt", "asc", false, BASE, BASE.plusDays(2))).containsExactly(4L);
+    }
+
+    @Test
+    @DisplayName("paginates and reports the total of the filtered set")
+    void paginates() {
+        TaskIdPage page = columns.query(TaskListQuery.of(false, null, null, "title", "asc", 1, 2));
+
+        assertThat(page.getIds()).containsExactly(4L);
+        assertThat(page.getTotalElements()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("merges updates, inserts and deletes into every permutation")
+    void mergesChanges() {
+        TreeMap<Long, TaskColumnRow> changes = new TreeMap<>();
+        changes.put(2L, null);
+        changes.put(3L, row(3L, "Echo", true, BASE, 3));
+        changes.put(5L, row(5L, "Aardvark", false, BASE.plusDays(5), 5));
+
+        TaskColumns updated = columns.apply(changes);
+
+        assertThat(updated.size()).isEqualTo(4);
+        TaskIdPage byTitle = updated.query(TaskListQuery.of(null, null, null, "title", "asc", 0, 10));
+        assertThat(byTitle.getIds()).containsExactly(5L, 1L, 4L, 3L);
+        TaskIdPage completed = updated.query(TaskListQuery.of(true, null, null, "createdAt", "asc", 0, 10));
+        assertThat(completed.getIds()).containsExactly(3L);
+    }
+
+    private List<Long> ids(String sortBy, String direction, Boolean completed,
+                                     LocalDateTime from, LocalDateTime to) {
+        return columns.query(TaskListQuery.of(completed, from, to, sortBy, direction, 0, 10)).getIds();
+    }
+
+    private static TaskColumnRow row(Long id, String title, boolean completed, LocalDateTime due, int createdOffset) {
+        return new TaskColumnRow(id, completed, due, BASE.minusDays(10).plusHours(createdOffset), title);
+    }
+}
@@ -0,0 +1,83 @@
+package com.taskmanager.unit;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.taskmanager.dto.PagedResponse;
+import com.taskmanager.dto.TaskField;
+import com.taskmanager.dto.TaskResponse;
+import com.taskmanager.mapper.TaskJsonWriter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TaskJsonWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .setFilterProvider(new SimpleFilterProvider().setFailOnUnknownId(false));
+
+    private final List<TaskResponse> tasks = List.of(
+            task(1L, "Plain", LocalDateTime.of(2025, 6, 1, 9, 0), LocalDateTime.of(2025, 5, 1, 8, 30, 15)),
+            task(2L, "Quote \" and ünïcode", null, LocalDateTime.of(2025, 5, 1, 8, 30, 15, 123_456_000)),
+            task(3L, null, LocalDateTime.of(2025, 12, 31, 23, 59, 59, 500_000_000), LocalDateTime.of(2025, 5, 2, 0, 0, 0, 1)));
+
+    @Test
+    @DisplayName("writes the same JSON as Jackson's serialization of PagedResponse")
+    void matchesJacksonOutput() throws IOException {
+        String expected = objectMapper.writeValueAsString(new PagedResponse<>(tasks, 23, 8, 2, 3));
+
+        assertThat(stream(null, 23)).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("writes only the selected fields, in declaration order")
+    void sparseFieldset() throws IOException {
+        String json = stream(Set.of(TaskField.ID, TaskField.UPDATED_AT, TaskField.TITLE), 3);
+
+        assertThat(json).startsWith("{\"content\":[{\"id\":1,\"title\":\"Plain\",\"updatedAt\":\"2025-05-01T08:30:15\"}");
+    }
+
+    private String stream(Set<TaskField> fields, long total) throws IOException {
+        StringWriter out = new StringWriter();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            TaskJsonWriter writer = new TaskJsonWriter(generator, fields);
+            writer.writeStart();
+            tasks.forEach(writer::accept);
+            writer.writeEnd(total, PageRequest.of(2, 3));
+        }
+        return out.toString();
+    }
+
+    private static TaskResponse task(Long id, String title, LocalDateTime dueDate, LocalDateTime createdAt) {
+        return TaskResponse.builder()
+                .id(id)
+                .title(title)
+                .description(id % 2 == 0 ? "Description " + id : null)
+                .isCompleted(id % 2 == 1)
+                .dueDate(dueDate)
+                .assignedTo("Alice")
+                .parentId(id == 3 ? 1L : null)
+                .createdAt(createdAt)
+                .updatedAt(createdAt)
+                .tags(switch (id.intValue()) {
+                    case 1 -> List.of("backend", "ur\"gent");
+                    case 2 -> List.of();
+                    default -> null;
+                })
+                .recurrence(id == 1 ? "FREQ=WEEKLY;BYDAY=MO,TU,WE,TH,FR" : null)
+                .seriesId(id == 2 ? 1L : null)
+                .build();
+    }
+}
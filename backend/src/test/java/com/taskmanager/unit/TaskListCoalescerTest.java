@@ -0,0 +1,276 @@
+package com.taskmanager.unit;
+
+import com.taskmanager.cache.TaskListCoalescer;
+import com.taskmanager.config.ListCoalescingProperties;
+import com.taskmanager.dto.PagedResponse;
+import com.taskmanager.dto.TaskField;
+import com.taskmanager.dto.TaskResponse;
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.exception.DatabaseUnavailableException;
+import com.taskmanager.service.TaskListQuery;
+import com.taskmanager.store.TaskRowSink;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TaskListCoalescerTest {
+
+    private static final int CALLERS = 8;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+    private final TaskListQuery query = TaskListQuery.of(false, null, null, "createdAt", "desc", 0, 20);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("identical concurrent calls share one load and its page")
+    void execute_concurrentIdenticalCalls_shareLoad() throws Exception {
+        TaskListCoalescer coalescer = coalescer(true, Duration.ZERO);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        PagedResponse<TaskResponse> page = page();
+
+        Future<PagedResponse<TaskResponse>> leader = executor.submit(() -> coalescer.execute(query, null, () -> {
+            loads.incrementAndGet();
+            await(release);
+            return page;
+        }));
+        awaitRequests(1);
+        List<Future<PagedResponse<TaskResponse>>> followers = new ArrayList<>();
+        for (int i = 1; i < CALLERS; i++) {
+            followers.add(executor.submit(() -> coalescer.execute(
+                    TaskListQuery.of(false, null, null, "createdAt", "DESC", 0, 20), null, countingLoader(loads))));
+        }
+        awaitRequests(CALLERS);
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isSameAs(page);
+        for (Future<PagedResponse<TaskResponse>> follower : followers) {
+            assertThat(follower.get(5, TimeUnit.SECONDS)).isSameAs(page);
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(count("coalesced")).isEqualTo(CALLERS - 1);
+        assertThat(registry.get(TaskListCoalescer.RATIO_METRIC).gauge().value()).isEqualTo((CALLERS - 1) / (double) CALLERS);
+    }
+
+    @Test
+    @DisplayName("calls that differ in query or fieldset load separately")
+    void execute_differentKeys_loadSeparately() {
+        TaskListCoalescer coalescer = coalescer(true, Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+
+        coalescer.execute(query, null, countingLoader(loads));
+        coalescer.execute(query, Set.of(TaskField.TITLE), countingLoader(loads));
+        coalescer.execute(TaskListQuery.of(true, null, null, "createdAt", "desc", 0, 20), null, countingLoader(loads));
+        coalescer.execute(query.withTags(List.of("urgent"), null), null, countingLoader(loads));
+
+        assertThat(loads).hasValue(4);
+    }
+
+    @Test
+    @DisplayName("passes the leader's failure to every waiting call and forgets it")
+    void execute_loadFails_propagatesToFollowers() throws Exception {
+        TaskListCoalescer coalescer = coalescer(true, Duration.ZERO);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<PagedResponse<TaskResponse>> leader = executor.submit(() -> coalescer.execute(query, null, () -> {
+            await(release);
+            throw new IllegalStateException("database down");
+        }));
+        awaitRequests(1);
+        Future<PagedResponse<TaskResponse>> follower = executor.submit(() -> coalescer.execute(query, null, this::page));
+        awaitRequests(2);
+        release.countDown();
+
+        for (Future<PagedResponse<TaskResponse>> call : List.of(leader, follower)) {
+            assertThatThrownBy(() -> call.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(IllegalStateException.class)
+                    .hasRootCauseMessage("database down");
+        }
+        assertThat(coalescer.execute(query, null, this::page).getTotalElements()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("answers repeated calls from cached pages until a change commits")
+    void execute_resultTtl_cachesUntilChange() {
+        TaskListCoalescer coalescer = coalescer(true, Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+
+        coalescer.execute(query, null, countingLoader(loads));
+        coalescer.execute(query, null, countingLoader(loads));
+        assertThat(loads).hasValue(1);
+        assertThat(count("cached")).isEqualTo(1);
+
+        coalescer.onTaskChanged(TaskChangedEvent.deleted(1L));
+        coalescer.execute(query, null, countingLoader(loads));
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("does not cache a page whose load overlapped a committed change")
+    void execute_changeDuringLoad_skipsCache() {
+        TaskListCoalescer coalescer = coalescer(true, Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+
+        coalescer.execute(query, null, () -> {
+            loads.incrementAndGet();
+            coalescer.onTaskChanged(TaskChangedEvent.deleted(1L));
+            return page();
+        });
+        coalescer.execute(query, null, countingLoader(loads));
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("answers with the last good page while the database is unavailable")
+    void execute_databaseUnavailable_servesLastGoodPage() {
+        TaskListCoalescer coalescer = coalescer(true, Duration.ZERO);
+        PagedResponse<TaskResponse> page = page();
+        coalescer.execute(query, null, () -> page);
+        coalescer.onTaskChanged(TaskChangedEvent.deleted(1L));
+
+        PagedResponse<TaskResponse> fallback = coalescer.execute(query, null, () -> {
+            throw new DatabaseUnavailableException(5, null);
+        });
+
+        assertThat(fallback).isSameAs(page);
+        assertThat(count("stale")).isEqualTo(1);
+        assertThatThrownBy(() -> coalescer.execute(query, Set.of(TaskField.TITLE), () -> {
+            throw new DatabaseUnavailableException(5, null);
+        })).isInstanceOf(DatabaseUnavailableException.class);
+    }
+
+    @Test
+    @DisplayName("loads every call when disabled")
+    void execute_disabled_loadsEveryCall() {
+        TaskListCoalescer coalescer = coalescer(false, Duration.ofMinutes(1));
+        AtomicInteger loads = new AtomicInteger();
+
+        coalescer.execute(query, null, countingLoader(loads));
+        coalescer.execute(query, null, countingLoader(loads));
+
+        assertThat(loads).hasValue(2);
+        assertThat(coalescer.coalescingRatio()).isZero();
+    }
+
+    @Test
+    @DisplayName("answers with the last good page while the database is unavailable, also when disabled")
+    void execute_disabled_databaseUnavailable_servesLastGoodPage() {
+        TaskListCoalescer coalescer = coalescer(false, Duration.ZERO);
+        PagedResponse<TaskResponse> page = page();
+        coalescer.execute(query, null, () -> page);
+
+        PagedResponse<TaskResponse> fallback = coalescer.execute(query, null, () -> {
+            throw new DatabaseUnavailableException(5, null);
+        });
+
+        assertThat(fallback).isSameAs(page);
+        assertThat(count("stale")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("streams the last streamed page while the database is unavailable, unless rows went out")
+    void stream_databaseUnavailable_streamsLastGoodPage() {
+        TaskListCoalescer coalescer = coalescer(false, Duration.ZERO);
+        TaskResponse task = page().getContent().get(0);
+        coalescer.stream(query, null, new CollectingSink(), sink -> {
+            sink.accept(task);
+            return 1;
+        });
+
+        CollectingSink replayed = new CollectingSink();
+        long total = coalescer.stream(query, null, replayed, sink -> {
+            throw new DatabaseUnavailableException(5, null);
+        });
+
+        assertThat(total).isEqualTo(1);
+        assertThat(replayed.tasks).containsExactly(task);
+        assertThat(count("stale")).isEqualTo(1);
+        assertThatThrownBy(() -> coalescer.stream(query, null, new CollectingSink(), sink -> {
+            sink.accept(task);
+            throw new DatabaseUnavailableException(5, null);
+        })).isInstanceOf(DatabaseUnavailableException.class);
+    }
+
+    private TaskListCoalescer coalescer(boolean enabled, Duration resultTtl) {
+        ListCoalescingProperties properties = new ListCoalescingProperties();
+        properties.setEnabled(enabled);
+        properties.setResultTtl(resultTtl);
+        return new TaskListCoalescer(TransactionOperations.withoutTransaction(), properties, registry);
+    }
+
+    private Supplier<PagedResponse<TaskResponse>> countingLoader(AtomicInteger loads) {
+        return () -> {
+            loads.incrementAndGet();
+            return page();
+        };
+    }
+
+    private PagedResponse<TaskResponse> page() {
+        return new PagedResponse<>(List.of(TaskResponse.builder().id(1L).title("Task").build()), 1, 1, 0, 20);
+    }
+
+    private double count(String result) {
+        return registry.get(TaskListCoalescer.REQUESTS_METRIC).tag("result", result).counter().count();
+    }
+
+    /**
+     * Waits until {@code expected} calls have been counted, which a follower is just before it joins
+     * the load in flight.
+     */
+    private void awaitRequests(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (count("executed") + count("coalesced") + count("cached") < expected) {
+            if (System.nanoTime() > deadline) {
+                throw new AssertionError("only " + (count("executed") + count("coalesced")) + " calls arrived");
+            }
+            Thread.sleep(1);
+        }
+    }
+
+    private static final class CollectingSink implements TaskRowSink {
+
+        private final List<TaskResponse> tasks = new ArrayList<>();
+
+        @Override
+        public void accept(ResultSet rs, List<String> tags) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void accept(TaskResponse task) {
+            tasks.add(task);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
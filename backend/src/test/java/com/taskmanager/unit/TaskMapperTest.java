@@ -9,6 +9,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDateTime;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -83,4 +84,19 @@ class TaskMapperTest {
         assertThat(entity.getAssignedTo()).isNull();
         assertThat(entity.getIsCompleted()).isFalse();
     }
+
+    @Test
+    @DisplayName("should normalize tags on the way in and sort them on the way out")
+    void tags_normalizedAndSorted() {
+        TaskCreateRequest request = TaskCreateRequest.builder()
+                .title("Tagged")
+                .tags(Set.of(" Urgent", "backend ", "URGENT"))
+                .build();
+
+        Task entity = taskMapper.toEntity(request);
+        entity.getTags().add("alpha");
+
+        assertThat(entity.getTags()).containsExactlyInAnyOrder("urgent", "backend", "alpha");
+        assertThat(taskMapper.toResponse(entity).getTags()).containsExactly("alpha", "backend", "urgent");
+    }
 }
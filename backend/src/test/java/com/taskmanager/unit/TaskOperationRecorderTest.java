@@ -0,0 +1,127 @@
+package com.taskmanager.unit;
+
+import com.taskmanager.config.JfrProperties;
+import com.taskmanager.dto.PagedResponse;
+import com.taskmanager.dto.TaskResponse;
+import com.taskmanager.exception.TaskNotFoundException;
+import com.taskmanager.jfr.TaskOperationEvent;
+import com.taskmanager.jfr.TaskOperationRecorder;
+import com.taskmanager.jfr.TaskOperationReport;
+import com.taskmanager.jfr.TaskOperationReport.OperationStats;
+import com.taskmanager.service.TaskListQuery;
+import com.taskmanager.service.TaskService;
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The JFR events of TaskService calls, read back through the report.
+ */
+class TaskOperationRecorderTest {
+
+    private final JfrProperties properties = new JfrProperties();
+    private final TaskService target = mock(TaskService.class);
+    private TaskService taskService;
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void setUp() {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new TaskOperationRecorder(properties));
+        taskService = factory.getProxy();
+
+        List<TaskResponse> tasks = List.of(task(1L), task(2L), task(3L));
+        when(target.getAllTasks(any(TaskListQuery.class), isNull())).thenReturn(new PagedResponse<>(tasks, 3, 1, 0, 20));
+        when(target.getTaskById(anyLong(), isNull())).thenThrow(new TaskNotFoundException(9L));
+    }
+
+    @Test
+    @DisplayName("records each call with its filter shape, page size and rows, and reports percentiles per operation")
+    void recordsAndReportsOperations() throws IOException {
+        TaskListQuery query = TaskListQuery.of(true, null, null, "title", "desc", 0, 20).withTags(Set.of("urgent"), null);
+
+        Path file = record(() -> {
+            for (int i = 0; i < 10; i++) {
+                taskService.getAllTasks(query, null);
+            }
+            assertThatThrownBy(() -> taskService.getTaskById(9L, null)).isInstanceOf(TaskNotFoundException.class);
+        });
+
+        List<OperationStats> stats = TaskOperationReport.summarize(file, false);
+        OperationStats list = stat(stats, "getAllTasks");
+        assertThat(list.count()).isEqualTo(10);
+        assertThat(list.meanRows()).isEqualTo(3.0);
+        assertThat(list.errors()).isZero();
+        assertThat(list.p50()).isLessThanOrEqualTo(list.p90());
+        assertThat(list.p99()).isLessThanOrEqualTo(list.max());
+        OperationStats lookup = stat(stats, "getTaskById");
+        assertThat(lookup.count()).isEqualTo(1);
+        assertThat(lookup.errors()).isEqualTo(1);
+
+        List<OperationStats> byFilter = TaskOperationReport.summarize(file, true);
+        assertThat(byFilter).extracting(OperationStats::operation)
+                .contains("getAllTasks [isCompleted,tags sort=title:desc]");
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        TaskOperationReport.print(stats, new PrintStream(output, true, StandardCharsets.UTF_8));
+        assertThat(output.toString(StandardCharsets.UTF_8)).contains("getAllTasks", "p99 ms");
+    }
+
+    @Test
+    @DisplayName("leaves out calls shorter than their operation's threshold")
+    void appliesThresholds() throws IOException {
+        properties.getThresholds().put("getAllTasks", Duration.ofHours(1));
+        TaskListQuery query = TaskListQuery.of(null, null, null, "createdAt", "asc", 0, 10);
+
+        Path file = record(() -> {
+            taskService.getAllTasks(query, null);
+            assertThatThrownBy(() -> taskService.getTaskById(9L, null)).isInstanceOf(TaskNotFoundException.class);
+        });
+
+        assertThat(TaskOperationReport.summarize(file, false)).extracting(OperationStats::operation)
+                .containsExactly("getTaskById");
+    }
+
+    private Path record(Runnable calls) throws IOException {
+        Path file = directory.resolve("recording.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(TaskOperationEvent.NAME).withoutThreshold();
+            recording.start();
+            calls.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return file;
+    }
+
+    private static OperationStats stat(List<OperationStats> stats, String operation) {
+        return stats.stream().filter(stat -> stat.operation().equals(operation)).findFirst().orElseThrow();
+    }
+
+    private static TaskResponse task(Long id) {
+        return TaskResponse.builder().id(id).title("Task " + id).build();
+    }
+}
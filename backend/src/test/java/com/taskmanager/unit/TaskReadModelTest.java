@@ -0,0 +1,113 @@
+package com.taskmanager.unit;
+
+import com.taskmanager.config.ReadModelProperties;
+import com.taskmanager.entity.Task;
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.event.TaskSnapshot;
+import com.taskmanager.readmodel.TaskColumnRow;
+import com.taskmanager.readmodel.TaskIdPage;
+import com.taskmanager.readmodel.TaskReadModel;
+import com.taskmanager.service.TaskListQuery;
+import com.taskmanager.store.TaskStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TaskReadModelTest {
+
+    private static final LocalDateTime CREATED = LocalDateTime.of(2026, 1, 1, 9, 0);
+
+    private final TaskStore taskStore = mock(TaskStore.class);
+    private final Map<Long, Task> stored = new TreeMap<>();
+    private final TaskListQuery completed = TaskListQuery.of(true, null, null, "createdAt", "asc", 0, 20);
+
+    private TaskReadModel model;
+
+    @BeforeEach
+    void setUp() {
+        stored.put(1L, task(1L, false));
+        stored.put(2L, task(2L, true));
+        stored.put(3L, task(3L, false));
+        doAnswer(invocation -> {
+            Consumer<TaskColumnRow> consumer = invocation.getArgument(0);
+            stored.values().forEach(task -> consumer.accept(TaskColumnRow.of(task)));
+            return null;
+        }).when(taskStore).forEachColumnRow(any());
+        when(taskStore.findAllById(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            List<Task> found = new ArrayList<>();
+            ids.forEach(id -> {
+                if (stored.containsKey(id)) {
+                    found.add(stored.get(id));
+                }
+            });
+            return found;
+        });
+        model = new TaskReadModel(taskStore, new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                new ReadModelProperties());
+        model.rebuild();
+    }
+
+    @Test
+    @DisplayName("reads tasks another node changed and drops those it deleted")
+    void refresh_appliesOtherNodesChanges() {
+        stored.put(1L, task(1L, true));
+        stored.remove(2L);
+
+        model.refresh(Set.of(1L, 2L));
+
+        assertThat(ids(completed)).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("keeps this node's change to a task over a read that started before it committed")
+    void refresh_localChangeDuringRead_wins() {
+        stored.put(3L, task(3L, true));
+        when(taskStore.findAllById(anyCollection())).thenAnswer(invocation -> {
+            model.onTaskChanged(TaskChangedEvent.updated(TaskSnapshot.of(task(3L, true)),
+                    TaskSnapshot.of(task(3L, false))));
+            return List.of(task(3L, true));
+        });
+
+        model.refresh(Set.of(3L));
+
+        assertThat(ids(completed)).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("rescans the store when a rebuild is requested")
+    void rebuild_rescansStore() {
+        stored.put(4L, task(4L, true));
+
+        model.rebuild();
+
+        assertThat(ids(completed)).containsExactly(2L, 4L);
+    }
+
+    private List<Long> ids(TaskListQuery query) {
+        return model.query(query).map(TaskIdPage::getIds).orElseThrow();
+    }
+
+    private static Task task(Long id, boolean completed) {
+        return Task.builder().id(id).title("Task " + id).isCompleted(completed)
+                .createdAt(CREATED.plusMinutes(id)).build();
+    }
+}
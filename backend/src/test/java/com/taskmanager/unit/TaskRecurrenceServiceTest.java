@@ -0,0 +1,65 @@
+package com.taskmanager.unit;
+
+import com.taskmanager.config.RecurrenceProperties;
+import com.taskmanager.entity.Task;
+import com.taskmanager.service.TaskListQuery;
+import com.taskmanager.service.TaskRecurrenceService;
+import com.taskmanager.store.TaskStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskRecurrenceServiceTest {
+
+    private static final LocalDateTime LAST_WEEK = LocalDateTime.now().minusWeeks(1);
+
+    @Mock
+    private TaskStore taskStore;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Test
+    @DisplayName("looks up no series for a range that every series was found to have reached")
+    void virtualOccurrences_rangeBehindEverySeries_skipsLookup() {
+        TaskRecurrenceService service = new TaskRecurrenceService(taskStore, eventPublisher, new RecurrenceProperties());
+        when(taskStore.findSeriesMaterializedBefore(any(), anyInt())).thenReturn(List.of());
+
+        assertThat(service.virtualOccurrences(query(LAST_WEEK))).isEmpty();
+        assertThat(service.virtualOccurrences(query(LAST_WEEK.minusDays(1)))).isEmpty();
+        assertThat(service.virtualOccurrences(query(LAST_WEEK))).isEmpty();
+
+        verify(taskStore, times(1)).findSeriesMaterializedBefore(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("keeps looking up series for ranges past what an empty lookup showed")
+    void virtualOccurrences_laterRange_looksUp() {
+        TaskRecurrenceService service = new TaskRecurrenceService(taskStore, eventPublisher, new RecurrenceProperties());
+        when(taskStore.findSeriesMaterializedBefore(any(), anyInt())).thenReturn(List.of());
+        service.virtualOccurrences(query(LAST_WEEK));
+
+        Task series = Task.builder().id(1L).title("Standup").recurrence("FREQ=DAILY")
+                .dueDate(LAST_WEEK).materializedUntil(LAST_WEEK).build();
+        when(taskStore.findSeriesMaterializedBefore(any(), anyInt())).thenReturn(List.of(series));
+
+        assertThat(service.virtualOccurrences(query(LAST_WEEK.plusDays(3)))).isNotEmpty();
+        verify(taskStore, times(2)).findSeriesMaterializedBefore(any(), anyInt());
+    }
+
+    private static TaskListQuery query(LocalDateTime dueDateTo) {
+        return TaskListQuery.of(null, null, dueDateTo, "dueDate", "asc", 0, 20);
+    }
+}
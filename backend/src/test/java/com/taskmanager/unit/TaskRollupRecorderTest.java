@@ -0,0 +1,189 @@
+package com.taskmanager.unit;
+
+import com.taskmanager.config.ReportProperties;
+import com.taskmanager.entity.TaskRollup;
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.event.TaskSnapshot;
+import com.taskmanager.report.TaskRollupRecorder;
+import com.taskmanager.repository.TaskRollups;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+
+class TaskRollupRecorderTest {
+
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2025, 6, 2, 10, 0);
+    private static final LocalDateTime TUESDAY = MONDAY.plusDays(1);
+
+    private final RecordingRollups rollups = new RecordingRollups();
+    private final TaskRollupRecorder recorder = new TaskRollupRecorder(rollups,
+            new TransactionTemplate(mock(PlatformTransactionManager.class)), new ReportProperties());
+
+    @Test
+    @DisplayName("changes are summed per day and assignee, in key order")
+    void flush_sumsPerDayAndAssignee() {
+        recorder.onTaskChanged(TaskChangedEvent.created(task(1L, "bob", false, MONDAY)));
+        recorder.onTaskChanged(TaskChangedEvent.created(task(2L, "alice", false, MONDAY)));
+        recorder.onTaskChanged(TaskChangedEvent.created(task(3L, "alice", false, MONDAY)));
+        recorder.onTaskChanged(TaskChangedEvent.created(task(4L, null, false, MONDAY)));
+
+        recorder.flush();
+
+        assertThat(rollups.added).singleElement().satisfies(deltas -> assertThat(deltas)
+                .extracting(TaskRollup::getAssignedTo, TaskRollup::getCreatedCount, TaskRollup::getCompletedCount)
+                .containsExactly(
+                        tuple("", 1L, 0L),
+                        tuple("alice", 2L, 0L),
+                        tuple("bob", 1L, 0L)));
+    }
+
+    @Test
+    @DisplayName("completing counts on the day of the update, and edits that change no count write nothing")
+    void flush_completionAndNoOpEdits() {
+        TaskSnapshot open = task(1L, "alice", false, MONDAY);
+        TaskSnapshot done = task(1L, "alice", true, TUESDAY);
+        recorder.onTaskChanged(TaskChangedEvent.updated(open, done));
+        recorder.onTaskChanged(TaskChangedEvent.updated(open, task(1L, "alice", false, TUESDAY)));
+        recorder.onTaskChanged(TaskChangedEvent.deleted(1L));
+
+        recorder.flush();
+
+        assertThat(rollups.added).singleElement().satisfies(deltas -> {
+            assertThat(deltas).singleElement().satisfies(delta -> {
+                assertThat(delta.getActivityDate()).isEqualTo(LocalDate.of(2025, 6, 3));
+                assertThat(delta.getCreatedCount()).isZero();
+                assertThat(delta.getCompletedCount()).isEqualTo(1);
+            });
+        });
+    }
+
+    @Test
+    @DisplayName("reassigning a task moves its counts to the new assignee")
+    void flush_reassignmentMovesCounts() {
+        recorder.onTaskChanged(TaskChangedEvent.updated(
+                task(1L, "alice", true, MONDAY), task(1L, "bob", true, MONDAY)));
+
+        recorder.flush();
+
+        assertThat(rollups.added.get(0))
+                .extracting(TaskRollup::getAssignedTo, TaskRollup::getCreatedCount, TaskRollup::getCompletedCount)
+                .containsExactly(
+                        tuple("alice", -1L, -1L),
+                        tuple("bob", 1L, 1L));
+    }
+
+    @Test
+    @DisplayName("counts that fail to flush are kept for the next flush")
+    void flush_failure_keepsCounts() {
+        recorder.onTaskChanged(TaskChangedEvent.created(task(1L, "alice", false, MONDAY)));
+        rollups.failNext = true;
+
+        assertThatThrownBy(recorder::flush).isInstanceOf(IllegalStateException.class);
+        recorder.onTaskChanged(TaskChangedEvent.created(task(2L, "alice", false, MONDAY)));
+        recorder.flush();
+
+        assertThat(rollups.added).singleElement().satisfies(deltas ->
+                assertThat(deltas).singleElement().extracting(TaskRollup::getCreatedCount).isEqualTo(2L));
+    }
+
+    @Test
+    @DisplayName("a day a backfill has rebuilt is rebuilt again rather than added to")
+    void flush_rebuiltDay_rebuiltAgain() {
+        rollups.rebuiltDays.add(MONDAY.toLocalDate());
+        recorder.onTaskChanged(TaskChangedEvent.updated(
+                task(1L, "alice", true, MONDAY), task(1L, "alice", false, TUESDAY)));
+        recorder.onTaskChanged(TaskChangedEvent.created(task(2L, "bob", true, TUESDAY)));
+
+        recorder.flush();
+
+        assertThat(rollups.locked).containsExactly(MONDAY.toLocalDate(), TUESDAY.toLocalDate());
+        assertThat(rollups.rebuilt).containsExactly(MONDAY.toLocalDate());
+        assertThat(rollups.added).singleElement().satisfies(deltas -> assertThat(deltas)
+                .extracting(TaskRollup::getActivityDate, TaskRollup::getAssignedTo, TaskRollup::getCompletedCount)
+                .containsExactly(tuple(TUESDAY.toLocalDate(), "bob", 1L)));
+    }
+
+    @Test
+    @DisplayName("a deleted task's counts are recorded as removed, leaving the rollups, and its rebuilt days are rebuilt")
+    void flush_deletion_recordedAsRemoved() {
+        rollups.rebuiltDays.add(TUESDAY.toLocalDate());
+        recorder.onTaskChanged(TaskChangedEvent.deleted(task(1L, "alice", true, TUESDAY)));
+
+        recorder.flush();
+
+        assertThat(rollups.added).singleElement().satisfies(deltas -> assertThat(deltas).isEmpty());
+        assertThat(rollups.removed).singleElement().satisfies(removals -> assertThat(removals)
+                .extracting(TaskRollup::getActivityDate, TaskRollup::getCreatedCount, TaskRollup::getCompletedCount)
+                .containsExactly(
+                        tuple(MONDAY.toLocalDate(), 1L, 0L),
+                        tuple(TUESDAY.toLocalDate(), 0L, 1L)));
+        assertThat(rollups.rebuilt).containsExactly(TUESDAY.toLocalDate());
+    }
+
+    private static TaskSnapshot task(Long id, String assignedTo, boolean completed, LocalDateTime updatedAt) {
+        return TaskSnapshot.builder()
+                .id(id)
+                .title("Task " + id)
+                .isCompleted(completed)
+                .assignedTo(assignedTo)
+                .createdAt(MONDAY)
+                .updatedAt(updatedAt)
+                .tags(List.of())
+                .build();
+    }
+
+    private static class RecordingRollups extends TaskRollups {
+
+        private final List<List<TaskRollup>> added = new ArrayList<>();
+        private final List<List<TaskRollup>> removed = new ArrayList<>();
+        private final Set<LocalDate> rebuiltDays = new HashSet<>();
+        private final List<LocalDate> locked = new ArrayList<>();
+        private final List<LocalDate> rebuilt = new ArrayList<>();
+        private boolean failNext;
+
+        RecordingRollups() {
+            super(null);
+        }
+
+        @Override
+        public void add(List<TaskRollup> deltas) {
+            if (failNext) {
+                failNext = false;
+                throw new IllegalStateException("database down");
+            }
+            added.add(List.copyOf(deltas));
+        }
+
+        @Override
+        public void addRemoved(List<TaskRollup> removals) {
+            removed.add(List.copyOf(removals));
+        }
+
+        @Override
+        public Set<LocalDate> lockDays(SortedSet<LocalDate> days) {
+            locked.addAll(days);
+            Set<LocalDate> found = new HashSet<>(days);
+            found.retainAll(rebuiltDays);
+            return found;
+        }
+
+        @Override
+        public void rebuild(LocalDate day) {
+            rebuilt.add(day);
+        }
+    }
+}
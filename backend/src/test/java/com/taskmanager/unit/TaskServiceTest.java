@@ -1,12 +1,25 @@
 package com.taskmanager.unit;
 
 import com.taskmanager.TestFixtures;
+import com.taskmanager.cache.TaskCache;
+import com.taskmanager.cache.TaskListCoalescer;
 import com.taskmanager.dto.*;
 import com.taskmanager.entity.Task;
+import com.taskmanager.event.TaskChangedEvent;
+import com.taskmanager.exception.InvalidParentException;
+import com.taskmanager.exception.InvalidPatchException;
+import com.taskmanager.exception.InvalidRecurrenceException;
 import com.taskmanager.exception.TaskNotFoundException;
 import com.taskmanager.mapper.TaskMapper;
-import com.taskmanager.repository.TaskRepository;
+import com.taskmanager.readmodel.TaskReadModel;
+import com.taskmanager.resilience.DatabaseGuard;
+import com.taskmanager.service.TaskListQuery;
+import com.taskmanager.service.TaskRecurrenceService;
 import com.taskmanager.service.TaskService;
+import com.taskmanager.store.TaskRowSink;
+import com.taskmanager.store.TaskStore;
+import com.taskmanager.tag.TagIndex;
+import com.taskmanager.tag.TagMatch;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -15,13 +28,20 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.support.TransactionCallback;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -31,11 +51,32 @@ import static org.mockito.Mockito.*;
 class TaskServiceTest {
 
     @Mock
-    private TaskRepository taskRepository;
+    private TaskStore taskStore;
 
     @Mock
     private TaskMapper taskMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ObjectProvider<TaskReadModel> readModelProvider;
+
+    @Mock
+    private TaskCache taskCache;
+
+    @Mock
+    private TagIndex tagIndex;
+
+    @Mock
+    private TaskListCoalescer listCoalescer;
+
+    @Mock
+    private DatabaseGuard databaseGuard;
+
+    @Mock
+    private TaskRecurrenceService recurrenceService;
+
     @InjectMocks
     private TaskService taskService;
 
@@ -46,6 +87,13 @@ class TaskServiceTest {
     void setUp() {
         task = TestFixtures.createTask();
         taskResponse = TestFixtures.createTaskResponse();
+        lenient().when(listCoalescer.execute(any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(2).get());
+        lenient().when(listCoalescer.stream(any(), any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<ToLongFunction<TaskRowSink>>getArgument(3)
+                        .applyAsLong(invocation.getArgument(2)));
+        lenient().when(databaseGuard.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
     }
 
     @Nested
@@ -58,14 +106,60 @@ class TaskServiceTest {
             TaskCreateRequest request = TestFixtures.createTaskRequest();
 
             when(taskMapper.toEntity(request)).thenReturn(task);
-            when(taskRepository.save(task)).thenReturn(task);
+            when(taskStore.save(task)).thenReturn(task);
             when(taskMapper.toResponse(task)).thenReturn(taskResponse);
 
             TaskResponse result = taskService.createTask(request);
 
             assertThat(result).isNotNull();
             assertThat(result.getTitle()).isEqualTo("Test Task");
-            verify(taskRepository).save(task);
+            verify(taskStore).save(task);
+        }
+
+        @Test
+        @DisplayName("should publish a created event for the saved task")
+        void createTask_publishesCreatedEvent() {
+            TaskCreateRequest request = TestFixtures.createTaskRequest();
+
+            when(taskMapper.toEntity(request)).thenReturn(task);
+            when(taskStore.save(task)).thenReturn(task);
+            when(taskMapper.toResponse(task)).thenReturn(taskResponse);
+
+            taskService.createTask(request);
+
+            verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof TaskChangedEvent changed
+                    && changed.getType() == TaskChangedEvent.ChangeType.CREATED
+                    && changed.getTaskId().equals(1L)));
+        }
+
+        @Test
+        @DisplayName("should store a recurrence rule in canonical form, materialized from the due date")
+        void createTask_recurring_canonicalizesRule() {
+            TaskCreateRequest request = TestFixtures.createTaskRequest();
+            request.setRecurrence("rrule:freq=weekly;byday=fr,mo");
+            task.setDueDate(LocalDateTime.now().plusDays(1).withNano(0));
+
+            when(taskMapper.toEntity(request)).thenReturn(task);
+            when(taskStore.save(task)).thenReturn(task);
+            when(taskMapper.toResponse(task)).thenReturn(taskResponse);
+
+            taskService.createTask(request);
+
+            assertThat(task.getRecurrence()).isEqualTo("FREQ=WEEKLY;BYDAY=MO,FR");
+            assertThat(task.getMaterializedUntil()).isEqualTo(task.getDueDate());
+        }
+
+        @Test
+        @DisplayName("should reject a recurring task without a due date")
+        void createTask_recurringWithoutDueDate_throws() {
+            TaskCreateRequest request = TestFixtures.createTaskRequest();
+            request.setRecurrence("FREQ=DAILY");
+            task.setDueDate(null);
+            when(taskMapper.toEntity(request)).thenReturn(task);
+
+            assertThatThrownBy(() -> taskService.createTask(request))
+                    .isInstanceOf(InvalidRecurrenceException.class);
+            verify(taskStore, never()).save(any());
         }
     }
 
@@ -76,7 +170,7 @@ class TaskServiceTest {
         @Test
         @DisplayName("should return task when it exists")
         void getTaskById_existingId_returnsTask() {
-            when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+            when(taskStore.findById(1L)).thenReturn(Optional.of(task));
             when(taskMapper.toResponse(task)).thenReturn(taskResponse);
 
             TaskResponse result = taskService.getTaskById(1L);
@@ -88,12 +182,45 @@ class TaskServiceTest {
         @Test
         @DisplayName("should throw NotFoundException when task does not exist")
         void getTaskById_nonExistingId_throwsNotFoundException() {
-            when(taskRepository.findById(999L)).thenReturn(Optional.empty());
+            when(taskStore.findById(999L)).thenReturn(Optional.empty());
 
             assertThatThrownBy(() -> taskService.getTaskById(999L))
                     .isInstanceOf(TaskNotFoundException.class)
                     .hasMessageContaining("999");
         }
+
+        @Test
+        @DisplayName("should serve a cached task without querying the repository")
+        void getTaskById_cached_skipsRepository() {
+            when(taskCache.get(1L)).thenReturn(taskResponse);
+
+            TaskResponse result = taskService.getTaskById(1L);
+
+            assertThat(result).isSameAs(taskResponse);
+            verifyNoInteractions(taskStore);
+        }
+    }
+
+    @Nested
+    @DisplayName("lookupTasks")
+    class LookupTasks {
+
+        @Test
+        @DisplayName("should combine cached and fetched tasks in request order and report missing ids")
+        void lookupTasks_preservesOrderAndReportsMissing() {
+            Task second = TestFixtures.createTask(2L, "Second");
+            TaskResponse secondResponse = TaskResponse.builder().id(2L).title("Second").build();
+
+            when(taskCache.getAll(List.of(2L, 3L, 1L))).thenReturn(Map.of(1L, taskResponse));
+            when(taskStore.findAllById(List.of(2L, 3L))).thenReturn(List.of(second));
+            when(taskMapper.toResponse(second)).thenReturn(secondResponse);
+
+            TaskLookupResponse result = taskService.lookupTasks(List.of(2L, 3L, 1L, 2L));
+
+            assertThat(result.getTasks()).extracting(TaskResponse::getId).containsExactly(2L, 1L);
+            assertThat(result.getMissingIds()).containsExactly(3L);
+            verify(taskCache).put(secondResponse, 0L);
+        }
     }
 
     @Nested
@@ -114,25 +241,94 @@ class TaskServiceTest {
                     .isCompleted(false)
                     .build();
 
-            when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-            when(taskRepository.save(any(Task.class))).thenReturn(updatedTask);
+            when(taskStore.findById(1L)).thenReturn(Optional.of(task));
+            when(taskStore.save(any(Task.class))).thenReturn(updatedTask);
             when(taskMapper.toResponse(updatedTask)).thenReturn(updatedResponse);
 
             TaskResponse result = taskService.updateTask(1L, request);
 
             assertThat(result.getTitle()).isEqualTo("Updated Task");
-            verify(taskRepository).save(any(Task.class));
+            verify(taskStore).save(any(Task.class));
         }
 
         @Test
         @DisplayName("should throw NotFoundException when task does not exist")
         void updateTask_nonExistingId_throwsNotFoundException() {
             TaskUpdateRequest request = TestFixtures.updateTaskRequest();
-            when(taskRepository.findById(999L)).thenReturn(Optional.empty());
+            when(taskStore.findById(999L)).thenReturn(Optional.empty());
 
             assertThatThrownBy(() -> taskService.updateTask(999L, request))
                     .isInstanceOf(TaskNotFoundException.class);
         }
+
+        @Test
+        @DisplayName("should skip the write when nothing changes")
+        void updateTask_noChanges_skipsSave() {
+            TaskUpdateRequest request = TaskUpdateRequest.builder()
+                    .title(task.getTitle())
+                    .assignedTo(task.getAssignedTo())
+                    .build();
+            when(taskStore.findById(1L)).thenReturn(Optional.of(task));
+            when(taskMapper.toResponse(task)).thenReturn(taskResponse);
+
+            TaskResponse result = taskService.updateTask(1L, request);
+
+            assertThat(result).isSameAs(taskResponse);
+            verify(taskStore, never()).save(any(Task.class));
+            verifyNoInteractions(eventPublisher);
+        }
+
+        @Test
+        @DisplayName("should replace tags with their normalized form")
+        void updateTask_tags_replacesNormalizedTags() {
+            task.getTags().add("stale");
+            TaskUpdateRequest request = TaskUpdateRequest.builder()
+                    .tags(Set.of(" Urgent ", "backend"))
+                    .build();
+            when(taskStore.findById(1L)).thenReturn(Optional.of(task));
+            when(taskStore.save(task)).thenReturn(task);
+            when(taskMapper.toResponse(task)).thenReturn(taskResponse);
+
+            taskService.updateTask(1L, request);
+
+            assertThat(task.getTags()).containsExactlyInAnyOrder("urgent", "backend");
+            verify(eventPublisher).publishEvent(argThat((TaskChangedEvent event) ->
+                    event.getBefore().getTags().equals(List.of("stale"))
+                            && event.getAfter().getTags().equals(List.of("backend", "urgent"))));
+        }
+    }
+
+    @Nested
+    @DisplayName("patchTask")
+    class PatchTask {
+
+        @Test
+        @DisplayName("should clear fields set to null and leave absent fields unchanged")
+        void patchTask_nullClearsField() {
+            Map<String, Object> document = new HashMap<>();
+            document.put("dueDate", null);
+            document.put("assignedTo", null);
+
+            when(taskStore.findById(1L)).thenReturn(Optional.of(task));
+            when(taskStore.save(task)).thenReturn(task);
+            when(taskMapper.toResponse(task)).thenReturn(taskResponse);
+
+            taskService.patchTask(1L, TaskMergePatch.from(document));
+
+            assertThat(task.getDueDate()).isNull();
+            assertThat(task.getAssignedTo()).isNull();
+            assertThat(task.getTitle()).isEqualTo("Test Task");
+            verify(taskStore).save(task);
+        }
+
+        @Test
+        @DisplayName("should reject read-only and blank fields")
+        void patchTask_invalidMembers_rejected() {
+            assertThatThrownBy(() -> TaskMergePatch.from(Map.of("createdAt", "2026-01-01T00:00:00")))
+                    .isInstanceOf(InvalidPatchException.class);
+            assertThatThrownBy(() -> TaskMergePatch.from(Map.of("title", " ")))
+                    .isInstanceOf(InvalidPatchException.class);
+        }
     }
 
     @Nested
@@ -142,23 +338,102 @@ class TaskServiceTest {
         @Test
         @DisplayName("should delete existing task")
         void deleteTask_existingId_deletesSuccessfully() {
-            when(taskRepository.existsById(1L)).thenReturn(true);
+            when(taskStore.findById(1L)).thenReturn(Optional.of(task));
 
             taskService.deleteTask(1L);
 
-            verify(taskRepository).deleteById(1L);
+            verify(taskStore).deleteById(1L);
         }
 
         @Test
         @DisplayName("should throw NotFoundException when deleting non-existing task")
         void deleteTask_nonExistingId_throwsNotFoundException() {
-            when(taskRepository.existsById(999L)).thenReturn(false);
+            when(taskStore.findById(999L)).thenReturn(Optional.empty());
 
             assertThatThrownBy(() -> taskService.deleteTask(999L))
                     .isInstanceOf(TaskNotFoundException.class);
         }
     }
 
+    @Nested
+    @DisplayName("subtasks")
+    class Subtasks {
+
+        @Test
+        @DisplayName("should link a new subtask below its parent")
+        void createTask_withParent_attaches() {
+            TaskCreateRequest request = TestFixtures.createTaskRequest();
+            task.setParentId(7L);
+            when(taskMapper.toEntity(request)).thenReturn(task);
+            when(taskStore.existsById(7L)).thenReturn(true);
+            when(taskStore.save(task)).thenReturn(task);
+
+            taskService.createTask(request);
+
+            verify(taskStore).attach(1L, 7L);
+        }
+
+        @Test
+        @DisplayName("should reject a parent that does not exist")
+        void createTask_unknownParent_throws() {
+            TaskCreateRequest request = TestFixtures.createTaskRequest();
+            task.setParentId(7L);
+            when(taskMapper.toEntity(request)).thenReturn(task);
+            when(taskStore.existsById(7L)).thenReturn(false);
+
+            assertThatThrownBy(() -> taskService.createTask(request))
+                    .isInstanceOf(InvalidParentException.class);
+            verify(taskStore, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("should refuse to move a task below one of its own subtasks")
+        void patchTask_parentInOwnSubtree_throws() {
+            when(taskStore.findById(1L)).thenReturn(Optional.of(task));
+            when(taskStore.existsById(5L)).thenReturn(true);
+            when(taskStore.isInSubtree(1L, 5L)).thenReturn(true);
+
+            assertThatThrownBy(() -> taskService.patchTask(1L, TaskMergePatch.from(Map.of("parentId", 5))))
+                    .isInstanceOf(InvalidParentException.class);
+            verify(taskStore, never()).move(anyLong(), any());
+            verify(taskStore, never()).save(any());
+        }
+
+        @Test
+        @DisplayName("should move the subtree when the parent is cleared")
+        void patchTask_nullParent_movesToTopLevel() {
+            task.setParentId(7L);
+            Map<String, Object> document = new HashMap<>();
+            document.put("parentId", null);
+            when(taskStore.findById(1L)).thenReturn(Optional.of(task));
+            when(taskStore.save(task)).thenReturn(task);
+
+            taskService.patchTask(1L, TaskMergePatch.from(document));
+
+            assertThat(task.getParentId()).isNull();
+            verify(taskStore).move(1L, null);
+        }
+
+        @Test
+        @DisplayName("should promote the subtasks of a deleted task to its parent")
+        void deleteTask_promotesSubtasks() {
+            task.setParentId(7L);
+            Task child = TestFixtures.createTask();
+            child.setId(2L);
+            child.setParentId(1L);
+            when(taskStore.detach(eq(1L), any())).thenReturn(List.of(child));
+            when(taskStore.findById(1L)).thenReturn(Optional.of(task));
+
+            taskService.deleteTask(1L);
+
+            verify(eventPublisher).publishEvent(argThat((Object event) -> event instanceof TaskChangedEvent changed
+                    && changed.getTaskId().equals(2L)
+                    && changed.getBefore().getParentId().equals(1L)
+                    && changed.getAfter().getParentId().equals(7L)));
+            verify(taskStore).deleteById(1L);
+        }
+    }
+
     @Nested
     @DisplayName("toggleTask")
     class ToggleTask {
@@ -173,8 +448,8 @@ class TaskServiceTest {
             TaskResponse toggledResponse = TaskResponse.builder()
                     .id(1L).isCompleted(true).build();
 
-            when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-            when(taskRepository.save(any(Task.class))).thenReturn(toggled);
+            when(taskStore.findById(1L)).thenReturn(Optional.of(task));
+            when(taskStore.save(any(Task.class))).thenReturn(toggled);
             when(taskMapper.toResponse(toggled)).thenReturn(toggledResponse);
 
             TaskResponse result = taskService.toggleTask(1L);
@@ -192,8 +467,8 @@ class TaskServiceTest {
             TaskResponse toggledResponse = TaskResponse.builder()
                     .id(1L).isCompleted(false).build();
 
-            when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-            when(taskRepository.save(any(Task.class))).thenReturn(toggled);
+            when(taskStore.findById(1L)).thenReturn(Optional.of(task));
+            when(taskStore.save(any(Task.class))).thenReturn(toggled);
             when(taskMapper.toResponse(toggled)).thenReturn(toggledResponse);
 
             TaskResponse result = taskService.toggleTask(1L);
@@ -204,7 +479,7 @@ class TaskServiceTest {
         @Test
         @DisplayName("should throw NotFoundException when toggling non-existing task")
         void toggleTask_nonExistingId_throwsNotFoundException() {
-            when(taskRepository.findById(999L)).thenReturn(Optional.empty());
+            when(taskStore.findById(999L)).thenReturn(Optional.empty());
 
             assertThatThrownBy(() -> taskService.toggleTask(999L))
                     .isInstanceOf(TaskNotFoundException.class);
@@ -217,13 +492,10 @@ class TaskServiceTest {
 
         @Test
         @DisplayName("should return paginated results")
-        @SuppressWarnings("unchecked")
         void getAllTasks_returnsPaginatedResults() {
-            List<Task> tasks = List.of(task);
-            Page<Task> page = new PageImpl<>(tasks);
+            Page<TaskResponse> page = new PageImpl<>(List.of(taskResponse));
 
-            when(taskRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(page);
-            when(taskMapper.toResponse(task)).thenReturn(taskResponse);
+            when(taskStore.findPage(any(TaskListQuery.class), isNull())).thenReturn(page);
 
             PagedResponse<TaskResponse> result = taskService.getAllTasks(
                     null, null, null, "createdAt", "asc", 0, 10);
@@ -234,14 +506,75 @@ class TaskServiceTest {
 
         @Test
         @DisplayName("should enforce max page size")
-        @SuppressWarnings("unchecked")
         void getAllTasks_enforcesMaxPageSize() {
-            Page<Task> page = new PageImpl<>(List.of());
-            when(taskRepository.findAll(any(Specification.class), any(Pageable.class))).thenReturn(page);
+            Page<TaskResponse> page = new PageImpl<>(List.of());
+            when(taskStore.findPage(any(TaskListQuery.class), isNull())).thenReturn(page);
 
             taskService.getAllTasks(null, null, null, "createdAt", "asc", 0, 200);
 
-            verify(taskRepository).findAll(any(Specification.class), argThat((Pageable p) -> p.getPageSize() == 100));
+            verify(taskStore).findPage(argThat((TaskListQuery q) -> q.toPageable().getPageSize() == 100), isNull());
+        }
+
+        @Test
+        @DisplayName("should answer an empty page without the store when no task carries the tags")
+        void getAllTasks_noTaggedTasks_skipsStore() {
+            TaskListQuery query = TaskListQuery.of(null, null, null, "createdAt", "asc", 0, 10)
+                    .withTags(Set.of("Urgent"), null);
+            when(tagIndex.match(Set.of("urgent"), Set.of())).thenReturn(Optional.of(TagMatch.empty()));
+
+            PagedResponse<TaskResponse> result = taskService.getAllTasks(query, null);
+
+            assertThat(result.getContent()).isEmpty();
+            assertThat(result.getTotalElements()).isZero();
+            verifyNoInteractions(taskStore);
+        }
+
+        @Test
+        @DisplayName("should pass an unresolved tag filter to the store while the index is not ready")
+        void getAllTasks_indexNotReady_passesTagsToStore() {
+            TaskListQuery query = TaskListQuery.of(null, null, null, "createdAt", "asc", 0, 10)
+                    .withTags(null, List.of("a", "b"));
+            when(tagIndex.match(Set.of(), Set.of("a", "b"))).thenReturn(Optional.empty());
+            when(taskStore.findPage(any(TaskListQuery.class), isNull())).thenReturn(new PageImpl<>(List.of()));
+
+            taskService.getAllTasks(query, null);
+
+            verify(taskStore).findPage(argThat((TaskListQuery q) ->
+                    q.getTagMatch() == null && q.getAnyTags().equals(Set.of("a", "b"))), isNull());
+        }
+
+        @Test
+        @DisplayName("should merge computed occurrences into the page in list order and count them")
+        void getAllTasks_virtualOccurrences_mergedInOrder() {
+            LocalDateTime day = LocalDateTime.of(2030, 1, 7, 9, 0);
+            TaskListQuery query = TaskListQuery.of(null, day, day.plusDays(7), "dueDate", "asc", 0, 2);
+            TaskResponse first = TaskResponse.builder().seriesId(1L).dueDate(day).build();
+            TaskResponse third = TaskResponse.builder().seriesId(1L).dueDate(day.plusDays(2)).build();
+            TaskResponse stored = TaskResponse.builder().id(5L).dueDate(day.plusDays(1)).build();
+            when(recurrenceService.virtualOccurrences(any())).thenReturn(List.of(first, third));
+            when(taskStore.findPage(any(TaskListQuery.class), isNull())).thenReturn(new PageImpl<>(List.of(stored)));
+
+            PagedResponse<TaskResponse> result = taskService.getAllTasks(query, null);
+
+            assertThat(result.getContent()).containsExactly(first, stored);
+            assertThat(result.getTotalElements()).isEqualTo(3);
+            verify(taskStore).findPage(argThat((TaskListQuery q) -> q.getPage() == 0 && q.getSize() == 2), isNull());
+            verifyNoInteractions(readModelProvider);
+        }
+
+        @Test
+        @DisplayName("should read the tasks up to a deep page's end in one query when merging occurrences")
+        void getAllTasks_virtualOccurrences_deepPageReadOnce() {
+            LocalDateTime day = LocalDateTime.of(2030, 1, 7, 9, 0);
+            TaskListQuery query = TaskListQuery.of(null, day, day.plusDays(7), "dueDate", "asc", 3, 20);
+            when(recurrenceService.virtualOccurrences(any()))
+                    .thenReturn(List.of(TaskResponse.builder().seriesId(1L).dueDate(day).build()));
+            when(taskStore.findPage(any(TaskListQuery.class), isNull())).thenReturn(new PageImpl<>(List.of()));
+
+            taskService.getAllTasks(query, null);
+
+            verify(taskStore).findPage(argThat((TaskListQuery q) -> q.getPage() == 0 && q.getSize() == 80), isNull());
+            verifyNoMoreInteractions(taskStore);
         }
     }
 }
@@ -0,0 +1,74 @@
+package com.taskmanager.unit;
+
+import com.taskmanager.config.RateLimitProperties;
+import com.taskmanager.ratelimit.ClientRateLimiter;
+import com.taskmanager.ratelimit.TokenBucket;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+
+    @Test
+    @DisplayName("allows a burst up to capacity, then rejects with the wait until the next token")
+    void burstUpToCapacity_thenRejects() {
+        TokenBucket bucket = new TokenBucket(3, 10, clock::get);
+
+        assertThat(bucket.tryAcquire()).isZero();
+        assertThat(bucket.tryAcquire()).isZero();
+        assertThat(bucket.tryAcquire()).isZero();
+
+        assertThat(bucket.tryAcquire()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+    }
+
+    @Test
+    @DisplayName("refills at the configured rate")
+    void refillsOverTime() {
+        TokenBucket bucket = new TokenBucket(1, 10, clock::get);
+
+        assertThat(bucket.tryAcquire()).isZero();
+        assertThat(bucket.tryAcquire()).isPositive();
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(100));
+
+        assertThat(bucket.tryAcquire()).isZero();
+    }
+
+    @Test
+    @DisplayName("keeps separate read and write budgets per client")
+    void separateReadAndWriteBuckets() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRead(new RateLimitProperties.Bucket(1, 1));
+        properties.setWrite(new RateLimitProperties.Bucket(1, 1));
+        ClientRateLimiter limiter = new ClientRateLimiter(properties, clock::get);
+
+        assertThat(limiter.tryAcquire("ip:10.0.0.1", ClientRateLimiter.Kind.READ)).isZero();
+        assertThat(limiter.tryAcquire("ip:10.0.0.1", ClientRateLimiter.Kind.READ)).isPositive();
+
+        assertThat(limiter.tryAcquire("ip:10.0.0.1", ClientRateLimiter.Kind.WRITE)).isZero();
+        assertThat(limiter.tryAcquire("ip:10.0.0.2", ClientRateLimiter.Kind.READ)).isZero();
+    }
+
+    @Test
+    @DisplayName("a sweep drops only the buckets of clients that are full again")
+    void sweepIdle_dropsFullBuckets() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRead(new RateLimitProperties.Bucket(1, 1));
+        ClientRateLimiter limiter = new ClientRateLimiter(properties, clock::get);
+        limiter.tryAcquire("ip:10.0.0.1", ClientRateLimiter.Kind.READ);
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        limiter.tryAcquire("ip:10.0.0.2", ClientRateLimiter.Kind.READ);
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(600));
+
+        limiter.sweepIdle();
+
+        assertThat(limiter.trackedClients()).isEqualTo(1);
+        assertThat(limiter.tryAcquire("ip:10.0.0.2", ClientRateLimiter.Kind.READ)).isPositive();
+    }
+}